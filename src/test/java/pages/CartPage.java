@@ -4,6 +4,7 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.TestData;
+import utils.TimedWait;
 
 import java.time.Duration;
 import java.util.List;
@@ -29,7 +30,7 @@ public class CartPage {
 
     public CartPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
     }
 
     public void navigateToCart() {
@@ -8,6 +8,7 @@ import pages.modals.SignUpModal;
 import pages.modals.LoginModal;
 import pages.modals.AboutUsModal;
 import utils.TestData;  // Added missing import
+import utils.TimedWait;
 import java.util.List;                     // <-- for List<>
 import org.openqa.selenium.WebElement;      // <-- for WebElement
 
@@ -28,7 +29,7 @@ public class HomePage {
 
     public HomePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
     }
 
     public SignUpModal clickSignUpLink() {
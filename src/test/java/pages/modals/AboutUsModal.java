@@ -5,6 +5,7 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.TimedWait;
 import java.time.Duration;
 
 public class AboutUsModal {
@@ -20,7 +21,7 @@ public class AboutUsModal {
     // Constructor with WebDriver parameter
     public AboutUsModal(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(10));
     }
 
     public void waitForVisibility() {
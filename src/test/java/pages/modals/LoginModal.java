@@ -5,6 +5,7 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.TimedWait;
 
 import java.time.Duration;
 
@@ -23,7 +24,7 @@ public class LoginModal {
 
     public LoginModal(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(10));
         waitForModalToBeVisible();
     }
 
@@ -0,0 +1,198 @@
+package pages.modals;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.TimedWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderModal {
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+
+    // Locators
+    private static final By modalLocator = By.id("orderModal");
+    private final By purchaseButtonLocator = By.xpath("//div[@id='orderModal']//button[contains(text(),'Purchase')]");
+    private final By closeButtonLocator = By.xpath("//div[@id='orderModal']//button[contains(text(),'Close')]");
+
+    // Reads validity, validationMessage, value and class list of every input in one round trip
+    private static final String PROBE_SCRIPT =
+            "var modal = document.getElementById('orderModal');" +
+            "var state = {};" +
+            "if (!modal) { return state; }" +
+            "modal.querySelectorAll('input').forEach(function (el) {" +
+            "  state[el.id] = {" +
+            "    valid: el.validity.valid," +
+            "    validationMessage: el.validationMessage || ''," +
+            "    value: el.value," +
+            "    classList: Array.prototype.slice.call(el.classList)" +
+            "  };" +
+            "});" +
+            "return state;";
+
+    // Clears every input and fires the events a user edit would, so validation state is reset too
+    private static final String RESET_SCRIPT =
+            "var modal = document.getElementById('orderModal');" +
+            "if (!modal) { return; }" +
+            "modal.querySelectorAll('input').forEach(function (el) {" +
+            "  el.value = '';" +
+            "  el.classList.remove('is-invalid');" +
+            "  el.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  el.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "});";
+
+    public OrderModal(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new TimedWait(driver, Duration.ofSeconds(10));
+        wait.until(ExpectedConditions.visibilityOfElementLocated(modalLocator));
+    }
+
+    public boolean isDisplayed() {
+        return isOpen(driver);
+    }
+
+    /**
+     * Whether the order modal is open, without waiting for it as the constructor does
+     */
+    public static boolean isOpen(WebDriver driver) {
+        try {
+            return driver.findElement(modalLocator).isDisplayed();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot the state of every input in the order form with a single executeScript call
+     * @return field id to field state, in document order
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, FieldState> probeFormState() {
+        Object result = ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT);
+        Map<String, FieldState> fields = new LinkedHashMap<>();
+        if (result instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) result).entrySet()) {
+                fields.put(entry.getKey(), FieldState.fromScriptResult((Map<String, Object>) entry.getValue()));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Probe a single field; still one round trip, as the whole form is read at once
+     */
+    public FieldState probeField(String fieldId) {
+        FieldState state = probeFormState().get(fieldId);
+        if (state == null) {
+            throw new IllegalStateException("No input with id '" + fieldId + "' in #orderModal");
+        }
+        return state;
+    }
+
+    /**
+     * Clear every field without reopening the modal
+     */
+    public OrderModal resetFields() {
+        ((JavascriptExecutor) driver).executeScript(RESET_SCRIPT);
+        return this;
+    }
+
+    public OrderModal enterField(String fieldId, String value) {
+        WebElement field = driver.findElement(By.id(fieldId));
+        field.clear();
+        if (!value.isEmpty()) {
+            field.sendKeys(value);
+        }
+        return this;
+    }
+
+    /**
+     * Type the given values, field id to value, in iteration order
+     */
+    public OrderModal fillFields(Map<String, String> values) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            enterField(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public OrderModal focusField(String fieldId) {
+        driver.findElement(By.id(fieldId)).click();
+        return this;
+    }
+
+    public void clickPurchase() {
+        wait.until(ExpectedConditions.elementToBeClickable(purchaseButtonLocator)).click();
+    }
+
+    public void clickClose() {
+        wait.until(ExpectedConditions.elementToBeClickable(closeButtonLocator)).click();
+        wait.until(ExpectedConditions.invisibilityOfElementLocated(modalLocator));
+    }
+
+    /**
+     * State of one order form input as reported by the browser
+     */
+    public static class FieldState {
+        private final boolean valid;
+        private final String validationMessage;
+        private final String value;
+        private final List<String> classList;
+
+        public FieldState(boolean valid, String validationMessage, String value, List<String> classList) {
+            this.valid = valid;
+            this.validationMessage = validationMessage;
+            this.value = value;
+            this.classList = Collections.unmodifiableList(new ArrayList<>(classList));
+        }
+
+        @SuppressWarnings("unchecked")
+        static FieldState fromScriptResult(Map<String, Object> raw) {
+            Object classes = raw.get("classList");
+            return new FieldState(
+                    Boolean.TRUE.equals(raw.get("valid")),
+                    String.valueOf(raw.getOrDefault("validationMessage", "")),
+                    String.valueOf(raw.getOrDefault("value", "")),
+                    classes instanceof List ? (List<String>) classes : Collections.emptyList());
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public String getValidationMessage() {
+            return validationMessage;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public List<String> getClassList() {
+            return classList;
+        }
+
+        /**
+         * Same rule the checkout tests always used: a Bootstrap error class or a browser validation message
+         */
+        public boolean isInvalid() {
+            return !valid || classList.contains("is-invalid") || !validationMessage.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "value='" + value + "', valid=" + valid +
+                    (validationMessage.isEmpty() ? "" : ", message='" + validationMessage + "'") +
+                    ", classes=" + classList;
+        }
+    }
+}
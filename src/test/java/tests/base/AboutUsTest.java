@@ -1,12 +1,11 @@
 package tests.base;
 
-import com.aventstack.extentreports.ExtentTest;
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.ExtentReportManager;
 import utils.TestData;
+import utils.TimedWait;
 import java.time.Duration;
 import java.util.concurrent.TimeoutException;
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,18 +23,9 @@ public class AboutUsTest extends BaseTest {
     private final By closeButton = By.cssSelector("#videoModal button[aria-label='Close']");
     private final By xButton = By.cssSelector("#videoModal .close");
 
-    @BeforeEach
-    public void setUpTest(TestInfo testInfo) {
-        ExtentReportManager.setDriver(driver);
-        ExtentTest test = ExtentReportManager.createTest(
-                testInfo.getDisplayName(),
-                testInfo.getTestMethod().get().getAnnotation(DisplayName.class).value()
-        );
-    }
-
-    @AfterEach
-    public void tearDownTest() {
-        ExtentReportManager.flush();
+    @Override
+    protected String reportDescription() {
+        return "Testing the About us video modal of DemoBlaze website";
     }
 
     private void openAboutUsModal() {
@@ -151,7 +141,7 @@ public class AboutUsTest extends BaseTest {
 
             // Change to expect Selenium's TimeoutException instead
             assertThrows(org.openqa.selenium.TimeoutException.class, () -> {
-                new WebDriverWait(driver, Duration.ofSeconds(5))
+                new TimedWait(driver, Duration.ofSeconds(5))
                         .until(driver -> {
                             Object result = ((JavascriptExecutor)driver)
                                     .executeScript("return !arguments[0].paused", video);
@@ -0,0 +1,100 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.AccountPool;
+import utils.ExtentReportManager;
+import utils.StorefrontApi;
+import utils.StorefrontStandIn;
+import utils.TestData;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the account pool against a local stand-in of the storefront API. Runs without a browser.
+ */
+public class AccountPoolTest extends BrowserlessTest {
+    private static StorefrontStandIn standIn;
+    private static StorefrontApi api;
+
+    @BeforeAll
+    public static void startStorefront() {
+        standIn = StorefrontStandIn.start(4, Duration.ofMillis(1));
+        api = new StorefrontApi(standIn.getApiUrl());
+    }
+
+    @AfterAll
+    public static void stopStorefront() {
+        standIn.close();
+    }
+
+    @Override
+    protected String reportDescription() {
+        return "Testing the account pool";
+    }
+
+    /**
+     * TC_POOL_001: Every registered account is leased to one test at a time, and a lease fails once
+     * the pool stays empty for the lease timeout
+     */
+    @Test
+    @DisplayName("TC_POOL_001: Verify accounts are leased once and an empty pool times out")
+    public void testLeaseUntilExhausted() {
+        AccountPool pool = new AccountPool(api, 3, Duration.ofMillis(300));
+        Assertions.assertEquals(3, pool.capacity(), "Every sign-up registered an account");
+
+        Set<String> leased = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            leased.add(pool.lease().getUsername());
+        }
+        Assertions.assertEquals(3, leased.size(), "No account is leased twice");
+        Assertions.assertEquals(3, pool.inUse());
+
+        long start = System.nanoTime();
+        IllegalStateException exhausted = Assertions.assertThrows(IllegalStateException.class, pool::lease);
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        ExtentReportManager.logInfo(exhausted.getMessage());
+        Assertions.assertTrue(waitedMillis >= 300, "The lease waited for the timeout: " + waitedMillis + " ms");
+        Assertions.assertTrue(exhausted.getMessage().contains("3/3 in use"), exhausted.getMessage());
+        ExtentReportManager.logPass("Accounts leased once; empty pool timed out");
+    }
+
+    /**
+     * TC_POOL_002: A released account has its cart emptied and can be leased again
+     */
+    @Test
+    @DisplayName("TC_POOL_002: Verify a released account is emptied and leased again")
+    public void testReleaseClearsCart() {
+        AccountPool pool = new AccountPool(api, 1, Duration.ofMillis(300));
+        AccountPool.Account account = pool.lease();
+        String token = api.login(account.getUsername(), account.getPassword());
+        api.addToCart(token, 1);
+        api.addToCart(token, 8);
+        Assertions.assertEquals(2, api.viewCart(token).size());
+
+        pool.release(account);
+        Assertions.assertEquals(0, pool.inUse());
+        Assertions.assertEquals(List.of(), api.viewCart(token), "Releasing the account emptied its cart");
+        Assertions.assertSame(account, pool.lease(), "The released account is leased again");
+        ExtentReportManager.logInfo(pool.stats());
+        Assertions.assertTrue(pool.stats().contains("2 cart items cleared"), pool.stats());
+        ExtentReportManager.logPass("Released account emptied and leased again");
+    }
+
+    /**
+     * TC_POOL_003: Signing up an account that already exists counts as registered, so a retried
+     * warm-up does not lose accounts
+     */
+    @Test
+    @DisplayName("TC_POOL_003: Verify an existing account counts as registered")
+    public void testExistingAccountRegistered() {
+        String username = TestData.getUniqueUsername();
+        Assertions.assertTrue(api.signUpAsync(username, TestData.TEST_PASSWORD).join(), "A new account signs up");
+        Assertions.assertTrue(api.signUpAsync(username, TestData.TEST_PASSWORD).join(),
+                "The \"already exist\" answer counts as registered");
+        Assertions.assertFalse(api.login(username, TestData.TEST_PASSWORD).isEmpty(), "The account can log in");
+        ExtentReportManager.logPass("Existing account counted as registered");
+    }
+}
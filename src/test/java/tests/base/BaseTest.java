@@ -2,78 +2,236 @@ package tests.base;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.AccountPool;
+import utils.BrowserLease;
+import utils.BrowserResources;
+import utils.CommandProfiler;
 import utils.ExtentReportManager;
+import utils.ParallelismController;
+import utils.RoundTripBudget;
+import utils.SpanTracer;
+import utils.TestEvents;
+import utils.TestMetrics;
+import utils.TimeAccount;
+import utils.TimedWait;
 
 import java.time.Duration;
 
+/**
+ * Base of the browser tests. Every test gets its own instance, its own BrowserLease and its own
+ * report context, so the tests are safe to run with JUnit's parallel execution; classes that change
+ * server-side state other tests see declare it with a resource lock (see SharedAccountLock).
+ */
+@ExtendWith(TestOutcomeWatcher.class)
 public class BaseTest {
     protected WebDriver driver;
     protected WebDriverWait wait;
-
-    @BeforeAll
-    public static void setupReport() {
-        // Initialize ExtentReports
-        ExtentReportManager.init();
-    }
+    // Times every WebDriver command of the test; its profile is attached to the report
+    protected CommandProfiler profiler;
+    private AccountPool.Account account;
+    // This test's browser: its session slot, the browser itself and the sampler of its processes
+    private BrowserLease browser;
+    // Whether WebDriverManager has set up the chromedriver in this JVM
+    private static boolean chromedriverReady;
 
     @BeforeAll
     public static void setupClass() {
-        // Setup WebDriverManager
-        WebDriverManager.chromedriver().setup();
+        // Setup WebDriverManager once; classes starting in parallel would otherwise download the driver together
+        synchronized (BaseTest.class) {
+            if (!chromedriverReady) {
+                WebDriverManager.chromedriver().setup();
+                chromedriverReady = true;
+            }
+        }
         // Initialize ExtentReports
         ExtentReportManager.init();
     }
 
     @BeforeEach
     public void setUp(TestInfo testInfo) {
-        // Create test in ExtentReports
-        String testName = testInfo.getDisplayName();
-        ExtentReportManager.createTest(testName, "Testing registration functionality");
+        // Wait until the host has room for another browser
+        browser = BrowserLease.reserve();
 
-        // Set up browser
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--disable-notifications");
+        // Create test in ExtentReports
+        String testName = reportName(testInfo);
+        TimeAccount.start(getClass().getSimpleName(), testName);
+        TestEvents.testStarted(getClass().getSimpleName(), testName);
+        TestMetrics.testStarted(getClass().getSimpleName());
+        if (SpanTracer.isEnabled()) {
+            SpanTracer.start(getClass().getSimpleName(), testName);
+        }
+        ExtentReportManager.createTest(testName, reportDescription());
 
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
+        // Set up browser, decorated so every WebDriver command is timed
+        profiler = browser.getProfiler();
+        driver = browser.start(getClass().getSimpleName(), testName, () -> startBrowser(browserOptions()));
 
         // Set driver for screenshots
         ExtentReportManager.setDriver(driver);
 
         // Create a wait object for better element handling
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        wait = new TimedWait(driver, Duration.ofSeconds(10));
+
+        // Trace the browser's requests along with the test's spans
+        SpanTracer tracer = SpanTracer.current();
+        if (tracer != null && !tracer.traceNetwork(driver)) {
+            ExtentReportManager.logWarning("Browser does not support CDP; network requests are not traced");
+        }
+
+        // Let subclasses instrument the browser before any page is loaded
+        beforeFirstNavigation();
 
         // Navigate to the website
-        ExtentReportManager.logStep("Navigating to DemoBlaze website");
-        driver.get("https://www.demoblaze.com/");
+        ExtentReportManager.logStep("Navigating to " + startUrl());
+        driver.get(startUrl());
         ExtentReportManager.captureScreenshot("Home Page");
 
         // Wait for page to fully load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Page load wait was interrupted");
         }
+
+        // Profile only the test itself, not the setup above
+        profiler.reset();
+    }
+
+    /**
+     * Start a maximized Chrome session with the options every test uses
+     */
+    protected static WebDriver startBrowser() {
+        return startBrowser(defaultOptions());
+    }
+
+    /**
+     * Start a maximized Chrome session with the given options
+     */
+    protected static WebDriver startBrowser(ChromeOptions options) {
+        WebDriver browser = new ChromeDriver(options);
+        browser.manage().window().maximize();
+        return browser;
+    }
+
+    /**
+     * The options every test uses
+     */
+    private static ChromeOptions defaultOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--disable-notifications");
+        return options;
+    }
+
+    /**
+     * Options of the test's browser; subclasses can add arguments the site under test needs
+     */
+    protected ChromeOptions browserOptions() {
+        return defaultOptions();
+    }
+
+    /**
+     * Page the browser opens before each test
+     */
+    protected String startUrl() {
+        return "https://www.demoblaze.com/";
+    }
+
+    /**
+     * Name of the test in the report; subclasses can add context such as a class parameter
+     */
+    protected String reportName(TestInfo testInfo) {
+        return testInfo.getDisplayName();
+    }
+
+    /**
+     * Description of the test in the report
+     */
+    protected String reportDescription() {
+        return "Testing registration functionality";
+    }
+
+    /**
+     * Hook that runs after the browser starts and before it opens the first page,
+     * e.g. to register scripts that must run in every document
+     */
+    protected void beforeFirstNavigation() {
+        // Nothing to instrument by default
+    }
+
+    /**
+     * Account this test logs in with, leased from the AccountPool on first use and returned
+     * after the test
+     */
+    protected AccountPool.Account account() {
+        if (account == null) {
+            account = AccountPool.leaseAccount();
+        }
+        return account;
     }
 
     @AfterEach
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    public void tearDown(TestInfo testInfo) {
+        try {
+            if (profiler != null) {
+                ExtentReportManager.logStep("WebDriver command profile: " + profiler);
+                profiler.logToReport();
+                RoundTripBudget budget = roundTripBudget(testInfo);
+                if (budget != null) {
+                    profiler.enforce(budget);
+                }
+            }
+        } catch (RuntimeException | AssertionError e) {
+            // The test fails here rather than in its method; mark the trace before it is exported below
+            SpanTracer.testFailed(e);
+            throw e;
+        } finally {
+            // Quit the browser and free its session slot
+            if (browser != null) {
+                browser.close();
+                browser = null;
+            }
+            AccountPool.releaseAccount(account);
+            account = null;
+
+            // Where the test's wall time went, from setUp to here
+            TimeAccount timeAccount = TimeAccount.finish();
+            if (timeAccount != null) {
+                ExtentReportManager.logStep("Time accounting: " + timeAccount);
+                timeAccount.logToReport();
+            }
+            SpanTracer tracer = SpanTracer.finish();
+            if (tracer != null) {
+                tracer.logToReport();
+            }
+            // Nothing logged on this worker thread from now on belongs to this test
+            ExtentReportManager.clearContext();
         }
     }
 
+    /**
+     * The round-trip budget on the test method, else on its class, or null
+     */
+    private static RoundTripBudget roundTripBudget(TestInfo testInfo) {
+        return testInfo.getTestMethod()
+                .map(method -> method.getAnnotation(RoundTripBudget.class))
+                .or(() -> testInfo.getTestClass().map(testClass -> testClass.getAnnotation(RoundTripBudget.class)))
+                .orElse(null);
+    }
+
     @AfterAll
-    public static void tearDownReport() {
+    public static void tearDownReport(TestInfo testInfo) {
+        // Summarize where the time of this class's tests went
+        testInfo.getTestClass().ifPresent(testClass -> TimeAccount.logClassSummary(testClass.getSimpleName()));
+        // Host-level browser resource peaks of all tests so far
+        BrowserResources.logSuiteSummary();
+        ParallelismController.logSuiteSummary();
         // Generate the report - THIS IS CRITICAL
         ExtentReportManager.flush();
     }
-
-    // In BaseTest.java, update the setupClass method
-
-}
\ No newline at end of file
+}
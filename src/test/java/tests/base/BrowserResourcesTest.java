@@ -0,0 +1,73 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import utils.BrowserResources;
+import utils.ExtentReportManager;
+import utils.ProcessStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Checks the browser process sampler on a stand-in process tree. Runs without a browser, on Linux.
+ */
+public class BrowserResourcesTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing browser process sampling";
+    }
+
+    /**
+     * TC_RES_001: The session's process tree is found from its DevTools port and its memory,
+     * threads, open files and processes are sampled until it stops
+     */
+    @Test
+    @DisplayName("TC_RES_001: Verify a session's processes are sampled")
+    public void testSessionProcessesSampled() throws IOException, InterruptedException {
+        Assumptions.assumeTrue(ProcessStats.isSupported(), "/proc is not available");
+        Path userDataDir = Files.createTempDirectory("user-data");
+        Files.writeString(userDataDir.resolve("DevToolsActivePort"), "65001\n/devtools/browser/stand-in\n");
+        // A "browser" with the user data directory on its command line and a child process
+        Process browser = new ProcessBuilder("sh", "-c", "sleep 30 & wait", "sh",
+                "--user-data-dir=" + userDataDir).start();
+        try {
+            Thread.sleep(200);
+            BrowserResources resources = BrowserResources.start(fakeDriver("localhost:65001"),
+                    BrowserResourcesTest.class.getSimpleName(), "sampled test").orElseThrow(
+                    () -> new AssertionError("The stand-in browser was not found"));
+            Thread.sleep(1200);
+            resources.stop().logToReport();
+
+            Assertions.assertTrue(resources.getSampleCount() >= 2, "Sampled at the start, every second and at the stop");
+            Assertions.assertEquals(2, resources.getPeakProcesses(), "The shell and its sleep");
+            Assertions.assertTrue(resources.getPeakRssBytes() > 0);
+            Assertions.assertTrue(resources.getPeakThreads() >= 2);
+            Assertions.assertTrue(resources.getPeakOpenFiles() > 0);
+            Assertions.assertTrue(BrowserResources.start(fakeDriver("localhost:65002"), "", "").isEmpty(),
+                    "No process records an unknown port");
+            BrowserResources.logSuiteSummary();
+        } finally {
+            browser.descendants().forEach(ProcessHandle::destroy);
+            browser.destroy();
+            Files.delete(userDataDir.resolve("DevToolsActivePort"));
+            Files.delete(userDataDir);
+        }
+        ExtentReportManager.logPass("Session processes sampled");
+    }
+
+    /**
+     * A Chromium driver whose capabilities give the DevTools address
+     */
+    private static WebDriver fakeDriver(String debuggerAddress) {
+        ImmutableCapabilities capabilities = new ImmutableCapabilities("browserName", "chrome",
+                "goog:chromeOptions", Map.of("debuggerAddress", debuggerAddress));
+        return FakeDriver.create((command, args) -> command.equals("getCapabilities") ? capabilities : null,
+                HasCapabilities.class);
+    }
+}
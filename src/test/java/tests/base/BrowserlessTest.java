@@ -0,0 +1,36 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+
+/**
+ * Base of the tests that check the suite's own utilities without starting a browser. Every test
+ * gets its own report entry, named after its display name, and forgets it when it is over.
+ */
+public abstract class BrowserlessTest {
+
+    @BeforeAll
+    public static void setupReport() {
+        ExtentReportManager.init();
+    }
+
+    @BeforeEach
+    public void createReportEntry(TestInfo testInfo) {
+        ExtentReportManager.createTest(testInfo.getDisplayName(), reportDescription());
+    }
+
+    /**
+     * Description of the tests in the report, e.g. "Testing span tracing"
+     */
+    protected abstract String reportDescription();
+
+    @AfterEach
+    public void clearReportEntry() {
+        ExtentReportManager.clearContext();
+    }
+
+    @AfterAll
+    public static void tearDownReport() {
+        ExtentReportManager.flush();
+    }
+}
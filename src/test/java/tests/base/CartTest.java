@@ -10,7 +10,10 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import pages.CartPage;
 import pages.HomePage;
 import utils.ExtentReportManager;
+import utils.RoundTripBudget;
 import utils.TestData;
+import utils.TimeAccount;
+import utils.TimedWait;
 
 import java.time.Duration;
 import java.util.List;
@@ -27,7 +30,7 @@ public class CartTest extends BaseTest {
     public void setUpTest(TestInfo testInfo) {
         homePage = new HomePage(driver);
         cartPage = new CartPage(driver);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
+        wait = new TimedWait(driver, Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS));
         homePage.navigateToHome();
     }
 
@@ -39,19 +42,19 @@ public class CartTest extends BaseTest {
         try {
             ExtentReportManager.logStep("Adding product to cart");
             homePage.navigateToHome();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             homePage.clickAddToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.handleAlert();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.logPass("Product added to cart successfully");
             ExtentReportManager.captureScreenshot("ProductAddedToCart");
 
             ExtentReportManager.logStep("Navigating to cart");
             cartPage.navigateToCart();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("CartPageLoaded");
 
             ExtentReportManager.logStep("Verifying cart items and Place Order button");
@@ -61,15 +64,15 @@ public class CartTest extends BaseTest {
             if (items.isEmpty()) {
                 ExtentReportManager.logStep("Cart was empty, adding another product");
                 homePage.navigateToHome();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.clickProductByName(TestData.PRODUCT_NEXUS_6);
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickAddToCart();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.handleAlert();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 cartPage.navigateToCart();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 ExtentReportManager.captureScreenshot("CartAfterAddingSecondProduct");
             }
 
@@ -107,22 +110,22 @@ public class CartTest extends BaseTest {
 
             ExtentReportManager.logStep("Navigating to cart and placing order");
             cartPage.navigateToCart();
-            Thread.sleep(5000);
+            TimeAccount.sleep(5000);
             cartPage.clickPlaceOrderButton();
-            Thread.sleep(50000);
+            TimeAccount.sleep(50000);
             ExtentReportManager.captureScreenshot("OrderForm");
 
             ExtentReportManager.logStep("Filling order form");
             cartPage.fillOrderForm(TestData.TEST_NAME, TestData.TEST_COUNTRY, TestData.TEST_CITY,
                     TestData.TEST_CREDIT_CARD, TestData.TEST_MONTH, TestData.TEST_YEAR);
             cartPage.clickPurchaseButton();
-            Thread.sleep(5000);
+            TimeAccount.sleep(5000);
             cartPage.handleConfirmation();
             ExtentReportManager.captureScreenshot("PurchaseConfirmation");
 
             ExtentReportManager.logStep("Verifying cart is empty");
             cartPage.navigateToCart();
-            Thread.sleep(5000);
+            TimeAccount.sleep(5000);
             assertEquals(0, cartPage.getCartItemCount(), "Cart should be empty after purchase");
             ExtentReportManager.logPass("Cart is empty after purchase");
             ExtentReportManager.captureScreenshot("EmptyCart");
@@ -148,11 +151,11 @@ public class CartTest extends BaseTest {
 
             ExtentReportManager.logStep("Navigating to cart");
             cartPage.navigateToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             ExtentReportManager.logStep("Deleting first item");
             cartPage.deleteFirstItem();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             ExtentReportManager.captureScreenshot("AfterDeleteClick");
 
             ExtentReportManager.logStep("Verifying no alert appears");
@@ -182,37 +185,37 @@ public class CartTest extends BaseTest {
             // Step 1: Add first item to cart
             ExtentReportManager.logStep("Adding first product to cart");
             homePage.navigateToHome();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("ProductPage_SamsungS7");
 
             homePage.clickAddToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.handleAlert();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.logPass("First product added to cart");
             ExtentReportManager.captureScreenshot("AfterFirstProductAdded");
 
             // Step 2: Add second item to cart
             ExtentReportManager.logStep("Adding second product to cart");
             homePage.navigateToHome();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.clickProductByName(TestData.PRODUCT_NEXUS_6);
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("ProductPage_Nexus6");
 
             homePage.clickAddToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.handleAlert();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.logPass("Second product added to cart");
             ExtentReportManager.captureScreenshot("AfterSecondProductAdded");
 
             // Step 3: Navigate to cart and verify items
             ExtentReportManager.logStep("Navigating to cart page");
             cartPage.navigateToCart();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("CartPageWithItems");
 
             int initialCount = cartPage.getCartItemCount();
@@ -223,16 +226,16 @@ public class CartTest extends BaseTest {
                 ExtentReportManager.logWarning("Cart is empty, retrying with single product");
 
                 homePage.navigateToHome();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickAddToCart();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.handleAlert();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 cartPage.navigateToCart();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 initialCount = cartPage.getCartItemCount();
                 ExtentReportManager.logInfo("Retry cart count: " + initialCount);
                 ExtentReportManager.captureScreenshot("CartAfterRetry");
@@ -242,13 +245,13 @@ public class CartTest extends BaseTest {
             if (initialCount > 0) {
                 ExtentReportManager.logStep("Deleting first item from cart");
                 cartPage.deleteFirstItem();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 ExtentReportManager.captureScreenshot("AfterFirstDeletion");
 
                 // Refresh to ensure latest cart state
                 ExtentReportManager.logStep("Refreshing cart page");
                 driver.navigate().refresh();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("CartAfterRefresh");
 
                 int newCount = cartPage.getCartItemCount();
@@ -288,12 +291,12 @@ public class CartTest extends BaseTest {
                     .handleAlert();
             ExtentReportManager.logPass("Product '" + TestData.PRODUCT_SAMSUNG_S7 + "' added to cart");
             ExtentReportManager.captureScreenshot("ProductAddedToCart");
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             // Step 2: Navigate to cart
             ExtentReportManager.logStep("Navigating to cart page");
             cartPage.navigateToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             ExtentReportManager.captureScreenshot("CartPageLoaded");
 
             // Step 3: Get all cart items
@@ -387,34 +390,34 @@ public class CartTest extends BaseTest {
         try {
             // Clear cart first (original timing)
             cartPage.navigateToCart();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             cartPage.deleteAllItems();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.logInfo("Cart cleared");
 
             // Add products with original timing
             for (int i = 0; i < 3; i++) {
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 homePage.clickProductByIndex(i);
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 homePage.clickAddToCart();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 try {
                     homePage.handleAlert();
-                    Thread.sleep(3000);
+                    TimeAccount.sleep(3000);
                     ExtentReportManager.logInfo("Added product " + (i+1));
                 } catch (NoAlertPresentException e) {
                     ExtentReportManager.logWarning("No alert for product " + (i+1));
-                    Thread.sleep(3000); // Maintain original flow
+                    TimeAccount.sleep(3000); // Maintain original flow
                 }
             }
 
             // Verify with original timing
             cartPage.navigateToCart();
-            Thread.sleep(5000); // Long wait for cart update
+            TimeAccount.sleep(5000); // Long wait for cart update
 
             int itemCount = cartPage.getCartItemCount();
             ExtentReportManager.logInfo("Cart item count: " + itemCount);
@@ -425,16 +428,16 @@ public class CartTest extends BaseTest {
             } else {
                 // Fallback with original timing
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 homePage.clickAddToCart();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.handleAlert();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
 
                 cartPage.navigateToCart();
-                Thread.sleep(5000);
+                TimeAccount.sleep(5000);
                 assertTrue(cartPage.getCartItemCount() > 0, "Fallback product should be added");
                 ExtentReportManager.logPass("Test passed with fallback product");
             }
@@ -452,37 +455,37 @@ public class CartTest extends BaseTest {
         try {
             ExtentReportManager.logStep("Clearing cart");
             cartPage.navigateToCart();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             cartPage.deleteAllItems();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("EmptyCart");
 
             ExtentReportManager.logStep("Adding product with delays");
             homePage.navigateToHome();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             homePage.clickAddToCart();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             homePage.handleAlert();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("AfterAddingProduct");
 
             ExtentReportManager.logStep("Verifying initial cart count");
             cartPage.navigateToCart();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             int initialCount = cartPage.getCartItemCount();
             ExtentReportManager.logInfo("Initial cart count: " + initialCount);
 
             if (initialCount > 0) {
                 ExtentReportManager.logStep("Testing persistence after navigation");
                 homePage.navigateToHome();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 driver.navigate().refresh();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
 
                 cartPage.navigateToCart();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 int newCount = cartPage.getCartItemCount();
                 ExtentReportManager.logInfo("Cart count after refresh: " + newCount);
 
@@ -491,18 +494,18 @@ public class CartTest extends BaseTest {
             } else {
                 ExtentReportManager.logStep("Trying with different product");
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickProductByName(TestData.PRODUCT_NEXUS_6);
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 homePage.clickAddToCart();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.handleAlert();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
 
                 driver.navigate().refresh();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 cartPage.navigateToCart();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 int finalCount = cartPage.getCartItemCount();
                 ExtentReportManager.logInfo("Final cart count: " + finalCount);
 
@@ -524,33 +527,33 @@ public class CartTest extends BaseTest {
         try {
             // Original timing for setup
             cartPage.navigateToCart();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             cartPage.deleteAllItems();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.logInfo("Cart cleared");
 
             // Add same product twice with original timing
             for (int i = 0; i < 2; i++) {
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S6);
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 homePage.clickAddToCart();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 try {
                     homePage.handleAlert();
-                    Thread.sleep(3000);
+                    TimeAccount.sleep(3000);
                     ExtentReportManager.logInfo("Added product " + (i+1) + " time(s)");
                 } catch (NoAlertPresentException e) {
                     ExtentReportManager.logWarning("No alert for add " + (i+1));
-                    Thread.sleep(3000); // Maintain original flow
+                    TimeAccount.sleep(3000); // Maintain original flow
                 }
             }
 
             // Verify with long wait
             cartPage.navigateToCart();
-            Thread.sleep(5000); // Extended wait for cart update
+            TimeAccount.sleep(5000); // Extended wait for cart update
 
             int cartCount = cartPage.getCartItemCount();
             ExtentReportManager.logInfo("Cart count: " + cartCount);
@@ -561,16 +564,16 @@ public class CartTest extends BaseTest {
             } else {
                 // Fallback with original timing
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickProductByName(TestData.PRODUCT_NEXUS_6);
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 homePage.clickAddToCart();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.handleAlert();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
 
                 cartPage.navigateToCart();
-                Thread.sleep(5000);
+                TimeAccount.sleep(5000);
                 assertTrue(cartPage.getCartItemCount() > 0, "Fallback product should be added");
                 ExtentReportManager.logPass("Test passed with fallback product");
             }
@@ -582,15 +585,16 @@ public class CartTest extends BaseTest {
 
     @Test
     @DisplayName("TC_CART_010: Verify total cart capacity")
+    @RoundTripBudget(maxCommands = 150, maxIdleMillis = 45_000)
     public void testCartCapacity() throws InterruptedException {
         ExtentReportManager.createTest("TC_CART_010", "Verify total cart capacity");
 
         try {
             ExtentReportManager.logStep("Clearing cart");
             cartPage.navigateToCart();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             cartPage.deleteAllItems();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("EmptyCart");
 
             ExtentReportManager.logStep("Adding multiple products");
@@ -599,14 +603,14 @@ public class CartTest extends BaseTest {
 
             for (int i = 0; i < productsToAdd; i++) {
                 homePage.navigateToHome();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 try {
                     homePage.clickProductByIndex(i % 3);
-                    Thread.sleep(3000);
+                    TimeAccount.sleep(3000);
                     homePage.clickAddToCart();
-                    Thread.sleep(2000);
+                    TimeAccount.sleep(2000);
                     homePage.handleAlert();
-                    Thread.sleep(3000);
+                    TimeAccount.sleep(3000);
                     addedProducts++;
                     ExtentReportManager.logInfo("Successfully added product " + (i+1));
                 } catch (Exception e) {
@@ -617,7 +621,7 @@ public class CartTest extends BaseTest {
 
             ExtentReportManager.logStep("Verifying cart contents");
             cartPage.navigateToCart();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             int cartCount = cartPage.getCartItemCount();
             ExtentReportManager.logInfo("Products attempted: " + productsToAdd);
             ExtentReportManager.logInfo("Products added: " + addedProducts);
@@ -647,11 +651,11 @@ public class CartTest extends BaseTest {
             homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7)
                     .clickAddToCart()
                     .handleAlert();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             ExtentReportManager.logInfo("Added product: " + TestData.PRODUCT_SAMSUNG_S7);
 
             homePage.navigateToHome();
-            Thread.sleep(500);
+            TimeAccount.sleep(500);
             homePage.clickProductByName(TestData.PRODUCT_NEXUS_6)
                     .clickAddToCart()
                     .handleAlert();
@@ -659,7 +663,7 @@ public class CartTest extends BaseTest {
 
             // Verify cart total
             cartPage.navigateToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             double sum = 0;
             List<WebElement> items = cartPage.getAllCartItems();
@@ -814,9 +818,9 @@ public class CartTest extends BaseTest {
         try {
             // Original timing for clearing cart
             cartPage.navigateToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             cartPage.deleteAllItems();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
 
             // Verify empty state
             int itemCount = cartPage.getCartItemCount();
@@ -855,7 +859,7 @@ public class CartTest extends BaseTest {
 
             ExtentReportManager.logStep("Verifying cart contents");
             cartPage.navigateToCart();
-            Thread.sleep(5000);
+            TimeAccount.sleep(5000);
             ExtentReportManager.captureScreenshot("CartWithProduct");
 
             assertTrue(cartPage.isProductInCart(TestData.PRODUCT_SAMSUNG_S7), "Product should be in cart");
@@ -968,7 +972,7 @@ public class CartTest extends BaseTest {
         for (WebElement item : items) {
             item.findElement(By.xpath(".//a[text()='Delete']")).click();
             try {
-                Thread.sleep(1000); // Wait between deletions
+                TimeAccount.sleep(1000); // Wait between deletions
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -984,11 +988,11 @@ public class CartTest extends BaseTest {
             // 1. Add product to cart with original timing
             ExtentReportManager.logStep("Adding product to cart");
             homePage.navigateToHome();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S7);
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             homePage.clickAddToCart();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             try {
                 homePage.handleAlert();
@@ -996,12 +1000,12 @@ public class CartTest extends BaseTest {
             } catch (NoAlertPresentException e) {
                 ExtentReportManager.logWarning("No confirmation alert appeared");
             }
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
 
             // 2. Navigate to cart with original timing
             ExtentReportManager.logStep("Navigating to cart");
             cartPage.navigateToCart();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("CartBeforeDeletion");
 
             // 3. Get initial count
@@ -1012,16 +1016,16 @@ public class CartTest extends BaseTest {
             if (initialCount == 0) {
                 ExtentReportManager.logStep("Cart was empty, adding fallback product");
                 homePage.navigateToHome();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.clickProductByName(TestData.PRODUCT_NEXUS_6);
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 homePage.clickAddToCart();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 homePage.handleAlert();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 cartPage.navigateToCart();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 initialCount = cartPage.getCartItemCount();
                 ExtentReportManager.logInfo("New cart count: " + initialCount);
             }
@@ -1030,13 +1034,13 @@ public class CartTest extends BaseTest {
             if (initialCount > 0) {
                 ExtentReportManager.logStep("Deleting first item");
                 cartPage.deleteFirstItem();
-                Thread.sleep(3000);
+                TimeAccount.sleep(3000);
                 ExtentReportManager.captureScreenshot("AfterDeleteClick");
 
                 // 6. Refresh and verify with original timing
                 ExtentReportManager.logStep("Verifying deletion");
                 driver.navigate().refresh();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
 
                 int newCount = cartPage.getCartItemCount();
                 ExtentReportManager.logInfo("Cart count after deletion: " + newCount);
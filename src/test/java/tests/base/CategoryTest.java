@@ -5,6 +5,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.ExtentReportManager;
+import utils.TimeAccount;
 
 import java.util.Arrays;
 import java.util.List;
@@ -83,7 +84,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000); // Wait for products to load after category selection
+            TimeAccount.sleep(2000); // Wait for products to load after category selection
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -148,7 +149,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000); // Wait for products to load after category selection
+            TimeAccount.sleep(2000); // Wait for products to load after category selection
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -212,7 +213,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000); // Wait for products to load after category selection
+            TimeAccount.sleep(2000); // Wait for products to load after category selection
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -283,7 +284,7 @@ public class CategoryTest extends BaseTest {
         // Wait for products to load
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".card-title")));
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -303,7 +304,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -330,7 +331,7 @@ public class CategoryTest extends BaseTest {
         // Wait for products to load
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".card-title")));
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -350,7 +351,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -377,7 +378,7 @@ public class CategoryTest extends BaseTest {
         // Wait for products to load
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".card-title")));
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -397,7 +398,7 @@ public class CategoryTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
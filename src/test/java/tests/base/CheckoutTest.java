@@ -1,14 +1,33 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.HomePage;
 import pages.modals.LoginModal;
+import pages.modals.OrderModal;
 import utils.ExtentReportManager;
+import utils.SharedAccountLock;
 import utils.TestData;
-
+import utils.TimeAccount;
+import utils.TimedWait;
+import utils.ValidationMatrix;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Fills the cart of the account it logs in with
+@ResourceLock(providers = SharedAccountLock.class)
 public class CheckoutTest extends BaseTest {
 
     /**
@@ -33,7 +52,7 @@ public class CheckoutTest extends BaseTest {
 
         // Wait for order modal to appear
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -151,7 +170,7 @@ public class CheckoutTest extends BaseTest {
 
         // Wait for validation message
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -220,7 +239,7 @@ public class CheckoutTest extends BaseTest {
 
         // Wait for modal to close
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -251,7 +270,7 @@ public class CheckoutTest extends BaseTest {
 
         // Wait for modal to close
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -275,13 +294,64 @@ public class CheckoutTest extends BaseTest {
         ExtentReportManager.logPass("Order modal closes correctly and cart page remains unchanged");
     }
 
+    // The validation cases, in verification sheet order
+    private static final List<ValidationCase> VALIDATION_CASES = List.of(
+            accepted("TC_CHK_005", "Verify valid full name entry is accepted", "name", "Zeina Amr", "country"),
+            blocked("TC_CHK_006", "Verify empty name field blocks submission", "name", ""),
+            blocked("TC_CHK_007", "Verify numeric name input is rejected", "name", "12345"),
+            blocked("TC_CHK_008", "Verify special characters in name are rejected", "name", "@Zeina!"),
+            accepted("TC_CHK_009", "Verify valid country entry is accepted", "country", "Canada", "city"),
+            blocked("TC_CHK_010", "Verify empty country blocks submission", "country", ""),
+            accepted("TC_CHK_011", "Verify valid city input is accepted", "city", "Cairo", "card"),
+            blocked("TC_CHK_012", "Verify empty city field blocks submission", "city", ""),
+            accepted("TC_CHK_013", "Verify numeric credit card input is accepted", "card", "4111111111111111", "month"),
+            blocked("TC_CHK_014", "Verify credit card input with letters is rejected", "card", "4111abcd1234"),
+            blocked("TC_CHK_015", "Verify credit card field is required", "card", ""),
+            blocked("TC_CHK_016", "Verify invalid month (>12) is rejected", "month", "15"),
+            accepted("TC_CHK_017", "Verify valid year entry is accepted", "year", "2026", "month"),
+            blocked("TC_CHK_018", "Verify invalid year (past) is rejected", "year", "2010"),
+            new ValidationCase("TC_CHK_020", "Verify form blocks submission when all fields are blank",
+                    "name", blankOrderForm(), null, true)
+    );
+
+    /**
+     * TC_CHK_005 - TC_CHK_018, TC_CHK_020: Order form validation matrix
+     * Every case runs against one open order modal; fields are reset between rows
+     * instead of logging in, filling the cart and reopening the modal for each case.
+     */
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
+    @DisplayName("TC_CHK_005-TC_CHK_020: Verify order form field validation matrix")
+    public Stream<DynamicTest> testOrderFormValidationMatrix() {
+        ValidationMatrix<ValidationCase> matrix = ValidationMatrix.<ValidationCase>of("Order form validation")
+                .setUp(() -> {
+                    loginAndAddProductToCart();
+                    navigateToCartPage();
+                    openOrderModal();
+                })
+                .reset(() -> reopenOrderModalIfClosed().resetFields());
+
+        for (ValidationCase validationCase : VALIDATION_CASES) {
+            matrix.row(validationCase.id() + ": " + validationCase.description(), validationCase);
+        }
+
+        return matrix.run(validationCase -> {
+            OrderModal orderModal = new OrderModal(driver);
+            if (validationCase.expectBlocked()) {
+                checkSubmissionBlocked(orderModal, validationCase);
+            } else {
+                checkFieldAccepted(orderModal, validationCase);
+            }
+        });
+    }
+
     /**
-     * TC_CHK_005: Verify valid full name entry is accepted
+     * TC_CHK_019: Verify form submission with all valid fields
      */
     @Test
-    @DisplayName("TC_CHK_005: Verify valid full name entry is accepted")
-    public void testValidNameAccepted() {
-        ExtentReportManager.logStep("Testing that valid full name is accepted");
+    @DisplayName("TC_CHK_019: Verify form submission with all valid fields")
+    public void testFormSubmissionWithValidFields() {
+        ExtentReportManager.logStep("Testing form submission with all valid fields");
 
         // Login and add product to cart
         loginAndAddProductToCart();
@@ -292,1067 +362,316 @@ public class CheckoutTest extends BaseTest {
         // Open order modal
         openOrderModal();
 
-        // Enter valid name
+        // Fill all fields with valid data
         WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
                 By.id("orderModal")));
 
         WebElement nameField = orderModal.findElement(By.id("name"));
         nameField.clear();
         nameField.sendKeys("Zeina Amr");
-        ExtentReportManager.logInfo("Entered name: Zeina Amr");
 
-        // Move to next field to trigger any validation
         WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.click();
-
-        ExtentReportManager.captureScreenshot("After Entering Valid Name");
-
-        // Check if there are any validation errors for the name field
-        boolean validationError = isFieldInvalid(nameField);
-
-        Assertions.assertFalse(validationError, "Valid name should be accepted without errors");
-        ExtentReportManager.logPass("Valid full name is accepted without errors");
-    }
-
-    /**
-     * TC_CHK_006: Verify empty name field blocks submission
-     */
-    @Test
-    @DisplayName("TC_CHK_006: Verify empty name field blocks submission")
-    public void testEmptyNameBlocksSubmission() {
-        ExtentReportManager.logStep("Testing that empty name field blocks form submission");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
+        countryField.clear();
+        countryField.sendKeys("Canada");
 
-        // Navigate to cart page
-        navigateToCartPage();
+        WebElement cityField = orderModal.findElement(By.id("city"));
+        cityField.clear();
+        cityField.sendKeys("Cairo");
 
-        // Open order modal
-        openOrderModal();
+        WebElement cardField = orderModal.findElement(By.id("card"));
+        cardField.clear();
+        cardField.sendKeys("4111111111111111");
 
-        // Fill all fields except name
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
+        WebElement monthField = orderModal.findElement(By.id("month"));
+        monthField.clear();
+        monthField.sendKeys("12");
 
-        // Leave name empty
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
+        WebElement yearField = orderModal.findElement(By.id("year"));
+        yearField.clear();
+        yearField.sendKeys("2026");
 
-        // Fill other fields
-        fillFormFieldsExceptName(orderModal);
+        ExtentReportManager.captureScreenshot("Form Filled with Valid Data");
 
         // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with empty name field");
+        ExtentReportManager.logStep("Clicking Purchase button with valid form data");
         WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
         purchaseButton.click();
 
-        // Wait for validation
+        // Wait for confirmation
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(3000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Empty Name");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Empty name field should block form submission");
-    }
-
-    /**
-     * TC_CHK_007: Verify numeric name input is rejected
-     */
-    @Test
-    @DisplayName("TC_CHK_007: Verify numeric name input is rejected")
-    public void testNumericNameRejected() {
-        ExtentReportManager.logStep("Testing that numeric name input is rejected");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
+        ExtentReportManager.captureScreenshot("After Clicking Purchase with Valid Form");
 
-        // Navigate to cart page
-        navigateToCartPage();
+        // Check for order confirmation
+        try {
+            WebElement confirmationMessage = wait.until(ExpectedConditions.visibilityOfElementLocated(
+                    By.cssSelector(".sweet-alert h2")));
 
-        // Open order modal
-        openOrderModal();
+            boolean isSuccess = confirmationMessage.getText().contains("Thank you") ||
+                    confirmationMessage.getText().contains("Success");
 
-        // Enter numeric name
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
+            Assertions.assertTrue(isSuccess, "Order confirmation message should be displayed");
+            ExtentReportManager.logPass("Form submitted successfully with valid fields");
 
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("12345");
-        ExtentReportManager.logInfo("Entered numeric name: 12345");
+            // Close confirmation if present
+            try {
+                WebElement okButton = driver.findElement(By.cssSelector(".sweet-alert .confirm"));
+                okButton.click();
+            } catch (Exception e) {
+                ExtentReportManager.logWarning("Could not close confirmation: " + e.getMessage());
+            }
 
-        // Fill other fields
-        fillFormFieldsExceptName(orderModal);
+        } catch (Exception e) {
+            ExtentReportManager.logWarning("Could not find confirmation message: " + e.getMessage());
 
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with numeric name");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
+            // Check if we're back at the home page or cart page (alternative success indicator)
+            boolean backToHome = driver.getCurrentUrl().contains("index.html") ||
+                    driver.getCurrentUrl().endsWith("demoblaze.com/");
 
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            if (backToHome) {
+                ExtentReportManager.logPass("Form submitted successfully - redirected to home page");
+            } else {
+                Assertions.fail("Form submission did not result in confirmation or redirection");
+            }
         }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Numeric Name");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Numeric name input should be rejected");
     }
 
     /**
-     * TC_CHK_008: Verify special characters in name are rejected
+     * Helper method to log in and add a product to cart
      */
-    @Test
-    @DisplayName("TC_CHK_008: Verify special characters in name are rejected")
-    public void testSpecialCharsInNameRejected() {
-        ExtentReportManager.logStep("Testing that special characters in name are rejected");
+    private void loginAndAddProductToCart() {
+        ExtentReportManager.logStep("Logging in and adding product to cart");
 
-        // Login and add product to cart
-        loginAndAddProductToCart();
+        // Login
+        HomePage homePage = new HomePage(driver);
+        LoginModal loginModal = homePage.clickLoginLink();
 
-        // Navigate to cart page
-        navigateToCartPage();
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
+        ExtentReportManager.captureScreenshot("Login Form Filled");
 
-        // Open order modal
-        openOrderModal();
+        loginModal.clickLoginButton();
 
-        // Enter name with special characters
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
+        // Wait for login to complete
+        try {
+            TimeAccount.sleep(2000);
+        } catch (InterruptedException e) {
+            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+        }
 
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("@Zeina!");
-        ExtentReportManager.logInfo("Entered name with special characters: @Zeina!");
+        // Add a product to cart - Samsung Galaxy S6
+        ExtentReportManager.logStep("Adding product to cart");
 
-        // Fill other fields
-        fillFormFieldsExceptName(orderModal);
+        // Find and click on the Samsung Galaxy S6 product
+        WebElement productLink = wait.until(ExpectedConditions.elementToBeClickable(
+                By.linkText("Samsung galaxy s6")));
+        productLink.click();
 
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with special characters in name");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
+        // Wait for product page to load
+        try {
+            TimeAccount.sleep(2000);
+        } catch (InterruptedException e) {
+            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+        }
+
+        // Click Add to cart
+        WebElement addToCartButton = wait.until(ExpectedConditions.elementToBeClickable(
+                By.xpath("//a[contains(text(),'Add to cart')]")));
+        addToCartButton.click();
 
-        // Wait for validation
+        // Handle alert
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Special Characters in Name");
+        try {
+            driver.switchTo().alert().accept();
+        } catch (Exception e) {
+            ExtentReportManager.logWarning("No alert found after adding to cart: " + e.getMessage());
+        }
 
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Special characters in name should be rejected");
+        ExtentReportManager.logPass("Product added to cart successfully");
     }
 
     /**
-     * TC_CHK_009: Verify valid country entry is accepted
+     * Helper method to navigate to cart page
      */
-    @Test
-    @DisplayName("TC_CHK_009: Verify valid country entry is accepted")
-    public void testValidCountryAccepted() {
-        ExtentReportManager.logStep("Testing that valid country entry is accepted");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter valid country
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
+    private void navigateToCartPage() {
+        ExtentReportManager.logStep("Navigating to cart page");
 
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-        ExtentReportManager.logInfo("Entered country: Canada");
+        WebElement cartLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("cartur")));
+        cartLink.click();
 
-        // Move to next field to trigger any validation
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.click();
+        // Wait for cart page to load
+        try {
+            TimeAccount.sleep(2000);
+        } catch (InterruptedException e) {
+            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+        }
 
-        ExtentReportManager.captureScreenshot("After Entering Valid Country");
+        ExtentReportManager.captureScreenshot("Cart Page");
 
-        // Check if there are any validation errors for the country field
-        boolean validationError = isFieldInvalid(countryField);
+        // Verify cart page loaded
+        WebElement placeOrderButton = wait.until(ExpectedConditions.visibilityOfElementLocated(
+                By.xpath("//button[contains(text(),'Place Order')]")));
+        Assertions.assertTrue(placeOrderButton.isDisplayed(), "Place Order button should be displayed on cart page");
 
-        Assertions.assertFalse(validationError, "Valid country should be accepted without errors");
-        ExtentReportManager.logPass("Valid country entry is accepted without errors");
+        ExtentReportManager.logPass("Successfully navigated to cart page");
     }
 
     /**
-     * TC_CHK_010: Verify empty country blocks submission
+     * Helper method to open order modal
      */
-    @Test
-    @DisplayName("TC_CHK_010: Verify empty country blocks submission")
-    public void testEmptyCountryBlocksSubmission() {
-        ExtentReportManager.logStep("Testing that empty country field blocks form submission");
+    private void openOrderModal() {
+        ExtentReportManager.logStep("Opening order modal");
 
-        // Login and add product to cart
-        loginAndAddProductToCart();
+        WebElement placeOrderButton = wait.until(ExpectedConditions.elementToBeClickable(
+                By.xpath("//button[contains(text(),'Place Order')]")));
+        placeOrderButton.click();
 
-        // Navigate to cart page
-        navigateToCartPage();
+        // Wait for modal to appear
+        try {
+            TimeAccount.sleep(2000);
+        } catch (InterruptedException e) {
+            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+        }
 
-        // Open order modal
-        openOrderModal();
+        ExtentReportManager.captureScreenshot("Order Modal");
 
-        // Fill all fields except country
+        // Verify modal is displayed
         WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
                 By.id("orderModal")));
+        Assertions.assertTrue(orderModal.isDisplayed(), "Order modal should be displayed");
 
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
+        ExtentReportManager.logPass("Order modal opened successfully");
+    }
 
-        // Leave country empty
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
+    /**
+     * Helper method to make sure the order modal is open before the next validation case
+     * @return the open order modal
+     */
+    private OrderModal reopenOrderModalIfClosed() {
+        if (!OrderModal.isOpen(driver)) {
+            ExtentReportManager.logInfo("Order modal was closed by the previous case - reopening it");
+            navigateToCartPage();
+            openOrderModal();
+        }
+        return new OrderModal(driver);
+    }
 
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
+    /**
+     * Helper method to type a single valid value and check the field is not flagged
+     * @param orderModal The open order modal
+     * @param validationCase The case to run
+     */
+    private void checkFieldAccepted(OrderModal orderModal, ValidationCase validationCase) {
+        orderModal.fillFields(validationCase.inputs());
+        ExtentReportManager.logInfo("Entered " + validationCase.field() + ": " +
+                validationCase.inputs().get(validationCase.field()));
 
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
+        // Move to the next field to trigger any validation
+        orderModal.focusField(validationCase.focusField());
 
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
+        OrderModal.FieldState state = orderModal.probeField(validationCase.field());
+        ExtentReportManager.logInfo(validationCase.field() + " field state: " + state);
 
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
+        Assertions.assertFalse(state.isInvalid(),
+                "Valid " + validationCase.field() + " should be accepted without errors (" + state + ")");
+    }
 
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with empty country field");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
+    /**
+     * Helper method to submit the form and check that validation blocked the submission
+     * @param orderModal The open order modal
+     * @param validationCase The case to run
+     */
+    private void checkSubmissionBlocked(OrderModal orderModal, ValidationCase validationCase) {
+        orderModal.fillFields(validationCase.inputs());
+        orderModal.clickPurchase();
 
-        // Wait for validation
+        // Wait for either a validation alert or the order confirmation; neither means it was held client-side
         try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            new TimedWait(driver, Duration.ofMillis(TestData.MEDIUM_WAIT)).until(ExpectedConditions.or(
+                    ExpectedConditions.alertIsPresent(),
+                    ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".sweet-alert h2"))));
+        } catch (TimeoutException e) {
+            // No alert or confirmation appeared
+        }
+
+        try {
+            Alert alert = driver.switchTo().alert();
+            String alertText = alert.getText();
+            alert.accept();
+            ExtentReportManager.logInfo("Alert text: " + alertText);
+
+            boolean validationMessagePresent = alertText.contains("Please fill") ||
+                    alertText.contains("required") ||
+                    alertText.contains("empty") ||
+                    alertText.contains("invalid");
+            Assertions.assertTrue(validationMessagePresent,
+                    validationCase.description() + " - alert did not describe a validation problem: " + alertText);
+            return;
+        } catch (NoAlertPresentException e) {
+            // Fall through to the confirmation check
         }
 
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Empty Country");
+        if (!driver.findElements(By.cssSelector(".sweet-alert h2")).isEmpty() &&
+                driver.findElement(By.cssSelector(".sweet-alert h2")).isDisplayed()) {
+            // Close the confirmation so the next case can reopen the modal
+            try {
+                driver.findElement(By.cssSelector(".sweet-alert .confirm")).click();
+            } catch (Exception e) {
+                ExtentReportManager.logWarning("Could not close confirmation: " + e.getMessage());
+            }
+            Assertions.fail("Form validation failed - form was submitted despite invalid input");
+        }
 
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Empty country field should block form submission");
+        Assertions.assertTrue(orderModal.isDisplayed(), "Order modal closed without a validation alert");
     }
 
     /**
-     * TC_CHK_011: Verify valid city input is accepted
+     * One row of the order form validation matrix
+     * @param id Test case ID from the verification sheet
+     * @param description What the case verifies
+     * @param field The field the case is about
+     * @param inputs Values to type, field id to value
+     * @param focusField Field to click after typing, for accepted-value cases
+     * @param expectBlocked true if submitting the form must be blocked
      */
-    @Test
-    @DisplayName("TC_CHK_011: Verify valid city input is accepted")
-    public void testValidCityAccepted() {
-        ExtentReportManager.logStep("Testing that valid city input is accepted");
+    private record ValidationCase(String id, String description, String field, Map<String, String> inputs,
+                                  String focusField, boolean expectBlocked) {
+    }
 
-        // Login and add product to cart
-        loginAndAddProductToCart();
+    private static ValidationCase accepted(String id, String description, String field, String value,
+                                           String focusField) {
+        return new ValidationCase(id, description, field, Map.of(field, value), focusField, false);
+    }
 
-        // Navigate to cart page
-        navigateToCartPage();
+    private static ValidationCase blocked(String id, String description, String field, String value) {
+        Map<String, String> inputs = validOrderForm();
+        inputs.put(field, value);
+        return new ValidationCase(id, description, field, inputs, null, true);
+    }
 
-        // Open order modal
-        openOrderModal();
-
-        // Enter valid city
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-        ExtentReportManager.logInfo("Entered city: Cairo");
-
-        // Move to next field to trigger any validation
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.click();
-
-        ExtentReportManager.captureScreenshot("After Entering Valid City");
-
-        // Check if there are any validation errors for the city field
-        boolean validationError = isFieldInvalid(cityField);
-
-        Assertions.assertFalse(validationError, "Valid city should be accepted without errors");
-        ExtentReportManager.logPass("Valid city input is accepted without errors");
-    }
-
-    /**
-     * TC_CHK_012: Verify empty city field submission
-     */
-    @Test
-    @DisplayName("TC_CHK_012: Verify empty city field blocks submission")
-    public void testEmptyCityBlocksSubmission() {
-        ExtentReportManager.logStep("Testing that empty city field blocks form submission");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Fill all fields except city
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        // Leave city empty
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with empty city field");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Empty City");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Empty city field should block form submission");
-    }
-
-    /**
-     * TC_CHK_013: Verify numeric credit card input is accepted
-     */
-    @Test
-    @DisplayName("TC_CHK_013: Verify numeric credit card input is accepted")
-    public void testNumericCardAccepted() {
-        ExtentReportManager.logStep("Testing that numeric credit card input is accepted");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter valid credit card
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-        ExtentReportManager.logInfo("Entered credit card: 4111111111111111");
-
-        // Move to next field to trigger any validation
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.click();
-
-        ExtentReportManager.captureScreenshot("After Entering Valid Credit Card");
-
-        // Check if there are any validation errors for the card field
-        boolean validationError = isFieldInvalid(cardField);
-
-        Assertions.assertFalse(validationError, "Valid numeric credit card should be accepted without errors");
-        ExtentReportManager.logPass("Valid numeric credit card is accepted without errors");
-    }
-
-    /**
-     * TC_CHK_014: Verify credit card input with letters is rejected
-     */
-    @Test
-    @DisplayName("TC_CHK_014: Verify credit card input with letters is rejected")
-    public void testCardWithLettersRejected() {
-        ExtentReportManager.logStep("Testing that credit card input with letters is rejected");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter credit card with letters
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111abcd1234");
-        ExtentReportManager.logInfo("Entered credit card with letters: 4111abcd1234");
-
-        // Fill other fields
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with letters in credit card");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Letters in Credit Card");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Credit card with letters should be rejected");
-    }
-
-    /**
-     * TC_CHK_015: Verify credit card field is required
-     */
-    @Test
-    @DisplayName("TC_CHK_015: Verify credit card field is required")
-    public void testEmptyCardBlocksSubmission() {
-        ExtentReportManager.logStep("Testing that empty credit card field blocks form submission");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Fill all fields except credit card
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        // Leave card empty
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with empty credit card field");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Empty Credit Card");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Empty credit card field should block form submission");
-    }
-
-    /**
-     * TC_CHK_016: Verify invalid month (>12) is rejected
-     */
-    @Test
-    @DisplayName("TC_CHK_016: Verify invalid month (>12) is rejected")
-    public void testInvalidMonthRejected() {
-        ExtentReportManager.logStep("Testing that invalid month (>12) is rejected");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter invalid month
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("15");
-        ExtentReportManager.logInfo("Entered invalid month: 15");
-
-        // Fill other fields
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with invalid month");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Invalid Month");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Invalid month (>12) should be rejected");
-    }
-
-    /**
-     * TC_CHK_017: Verify valid year entry is accepted
-     */
-    @Test
-    @DisplayName("TC_CHK_017: Verify valid year entry is accepted")
-    public void testValidYearAccepted() {
-        ExtentReportManager.logStep("Testing that valid year entry is accepted");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter valid year
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2026");
-        ExtentReportManager.logInfo("Entered valid year: 2026");
-
-        // Click elsewhere to trigger validation
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.click();
-
-        ExtentReportManager.captureScreenshot("After Entering Valid Year");
-
-        // Check if there are any validation errors for the year field
-        boolean validationError = isFieldInvalid(yearField);
-
-        Assertions.assertFalse(validationError, "Valid year should be accepted without errors");
-        ExtentReportManager.logPass("Valid year entry is accepted without errors");
-    }
-
-    /**
-     * TC_CHK_018: Verify invalid year (past) is rejected
-     */
-    @Test
-    @DisplayName("TC_CHK_018: Verify invalid year (past) is rejected")
-    public void testInvalidYearRejected() {
-        ExtentReportManager.logStep("Testing that invalid year (past) is rejected");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Enter invalid year
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2010");
-        ExtentReportManager.logInfo("Entered invalid year: 2010");
-
-        // Fill other fields
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with invalid year");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Invalid Year");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "Invalid year (past) should be rejected");
-    }
-
-    /**
-     * TC_CHK_019: Verify form submission with all valid fields
-     */
-    @Test
-    @DisplayName("TC_CHK_019: Verify form submission with all valid fields")
-    public void testFormSubmissionWithValidFields() {
-        ExtentReportManager.logStep("Testing form submission with all valid fields");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Fill all fields with valid data
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-        nameField.sendKeys("Zeina Amr");
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2026");
-
-        ExtentReportManager.captureScreenshot("Form Filled with Valid Data");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with valid form data");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for confirmation
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with Valid Form");
-
-        // Check for order confirmation
-        try {
-            WebElement confirmationMessage = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    By.cssSelector(".sweet-alert h2")));
-
-            boolean isSuccess = confirmationMessage.getText().contains("Thank you") ||
-                    confirmationMessage.getText().contains("Success");
-
-            Assertions.assertTrue(isSuccess, "Order confirmation message should be displayed");
-            ExtentReportManager.logPass("Form submitted successfully with valid fields");
-
-            // Close confirmation if present
-            try {
-                WebElement okButton = driver.findElement(By.cssSelector(".sweet-alert .confirm"));
-                okButton.click();
-            } catch (Exception e) {
-                ExtentReportManager.logWarning("Could not close confirmation: " + e.getMessage());
-            }
-
-        } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not find confirmation message: " + e.getMessage());
-
-            // Check if we're back at the home page or cart page (alternative success indicator)
-            boolean backToHome = driver.getCurrentUrl().contains("index.html") ||
-                    driver.getCurrentUrl().endsWith("demoblaze.com/");
-
-            if (backToHome) {
-                ExtentReportManager.logPass("Form submitted successfully - redirected to home page");
-            } else {
-                Assertions.fail("Form submission did not result in confirmation or redirection");
-            }
-        }
-    }
-
-    /**
-     * TC_CHK_020: Verify form blocks submission when all fields are blank
-     */
-    @Test
-    @DisplayName("TC_CHK_020: Verify form blocks submission when all fields are blank")
-    public void testAllFieldsBlankBlocksSubmission() {
-        ExtentReportManager.logStep("Testing that blank form blocks submission");
-
-        // Login and add product to cart
-        loginAndAddProductToCart();
-
-        // Navigate to cart page
-        navigateToCartPage();
-
-        // Open order modal
-        openOrderModal();
-
-        // Leave all fields blank
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-
-        WebElement nameField = orderModal.findElement(By.id("name"));
-        nameField.clear();
-
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-
-        ExtentReportManager.captureScreenshot("Form with All Fields Blank");
-
-        // Click Purchase button
-        ExtentReportManager.logStep("Clicking Purchase button with all fields blank");
-        WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
-        purchaseButton.click();
-
-        // Wait for validation
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("After Clicking Purchase with All Fields Blank");
-
-        // Check if the form was submitted or blocked
-        checkFormValidationBlocked(orderModal, "All blank fields should block form submission");
-    }
-
-    /**
-     * Helper method to log in and add a product to cart
-     */
-    private void loginAndAddProductToCart() {
-        ExtentReportManager.logStep("Logging in and adding product to cart");
-
-        // Login
-        HomePage homePage = new HomePage(driver);
-        LoginModal loginModal = homePage.clickLoginLink();
-
-        loginModal.enterUsername(TestData.TEST_USERNAME);
-        loginModal.enterPassword(TestData.TEST_PASSWORD);
-        ExtentReportManager.captureScreenshot("Login Form Filled");
-
-        loginModal.clickLoginButton();
-
-        // Wait for login to complete
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        // Add a product to cart - Samsung Galaxy S6
-        ExtentReportManager.logStep("Adding product to cart");
-
-        // Find and click on the Samsung Galaxy S6 product
-        WebElement productLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.linkText("Samsung galaxy s6")));
-        productLink.click();
-
-        // Wait for product page to load
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        // Click Add to cart
-        WebElement addToCartButton = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(text(),'Add to cart')]")));
-        addToCartButton.click();
-
-        // Handle alert
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        try {
-            driver.switchTo().alert().accept();
-        } catch (Exception e) {
-            ExtentReportManager.logWarning("No alert found after adding to cart: " + e.getMessage());
-        }
-
-        ExtentReportManager.logPass("Product added to cart successfully");
-    }
-
-    /**
-     * Helper method to navigate to cart page
-     */
-    private void navigateToCartPage() {
-        ExtentReportManager.logStep("Navigating to cart page");
-
-        WebElement cartLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("cartur")));
-        cartLink.click();
-
-        // Wait for cart page to load
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("Cart Page");
-
-        // Verify cart page loaded
-        WebElement placeOrderButton = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//button[contains(text(),'Place Order')]")));
-        Assertions.assertTrue(placeOrderButton.isDisplayed(), "Place Order button should be displayed on cart page");
-
-        ExtentReportManager.logPass("Successfully navigated to cart page");
-    }
-
-    /**
-     * Helper method to open order modal
-     */
-    private void openOrderModal() {
-        ExtentReportManager.logStep("Opening order modal");
-
-        WebElement placeOrderButton = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//button[contains(text(),'Place Order')]")));
-        placeOrderButton.click();
-
-        // Wait for modal to appear
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
-        }
-
-        ExtentReportManager.captureScreenshot("Order Modal");
-
-        // Verify modal is displayed
-        WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.id("orderModal")));
-        Assertions.assertTrue(orderModal.isDisplayed(), "Order modal should be displayed");
-
-        ExtentReportManager.logPass("Order modal opened successfully");
-    }
-
-    /**
-     * Helper method to check if a field is invalid (for validation)
-     * @param field The WebElement to check
-     * @return true if the field is invalid, false otherwise
-     */
-    private boolean isFieldInvalid(WebElement field) {
-        String classes = field.getAttribute("class");
-        String validationMessage = field.getAttribute("validationMessage");
-
-        return (classes != null && classes.contains("is-invalid")) ||
-                (validationMessage != null && !validationMessage.isEmpty());
-    }
-
-    /**
-     * Helper method to fill all form fields except name
-     * @param orderModal The order modal WebElement
-     */
-    private void fillFormFieldsExceptName(WebElement orderModal) {
-        WebElement countryField = orderModal.findElement(By.id("country"));
-        countryField.clear();
-        countryField.sendKeys("Canada");
-
-        WebElement cityField = orderModal.findElement(By.id("city"));
-        cityField.clear();
-        cityField.sendKeys("Cairo");
-
-        WebElement cardField = orderModal.findElement(By.id("card"));
-        cardField.clear();
-        cardField.sendKeys("4111111111111111");
-
-        WebElement monthField = orderModal.findElement(By.id("month"));
-        monthField.clear();
-        monthField.sendKeys("12");
-
-        WebElement yearField = orderModal.findElement(By.id("year"));
-        yearField.clear();
-        yearField.sendKeys("2025");
+    private static Map<String, String> validOrderForm() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        inputs.put("name", "Zeina Amr");
+        inputs.put("country", "Canada");
+        inputs.put("city", "Cairo");
+        inputs.put("card", "4111111111111111");
+        inputs.put("month", "12");
+        inputs.put("year", "2025");
+        return inputs;
     }
 
-    /**
-     * Helper method to check if form validation blocked submission
-     * @param orderModal The order modal WebElement
-     * @param message The assertion message
-     */
-    private void checkFormValidationBlocked(WebElement orderModal, String message) {
-        // Check if the modal is still open (validation prevented submission)
-        boolean modalStillOpen = false;
-        try {
-            modalStillOpen = orderModal.isDisplayed();
-        } catch (Exception e) {
-            ExtentReportManager.logWarning("Error checking if modal is still open: " + e.getMessage());
-        }
-
-        // If the modal is no longer displayed, check for alert
-        if (!modalStillOpen) {
-            try {
-                String alertText = driver.switchTo().alert().getText();
-                ExtentReportManager.logInfo("Alert text: " + alertText);
-
-                boolean validationMessagePresent = alertText.contains("Please fill") ||
-                        alertText.contains("required") ||
-                        alertText.contains("empty") ||
-                        alertText.contains("invalid");
-
-                Assertions.assertTrue(validationMessagePresent, message);
-
-                driver.switchTo().alert().accept();
-                ExtentReportManager.logPass("Form validation works - alert shown for invalid input");
-            } catch (Exception e) {
-                // Check if we were redirected to order confirmation (submission wasn't blocked)
-                try {
-                    WebElement confirmationMessage = driver.findElement(By.cssSelector(".sweet-alert h2"));
-                    boolean isSuccess = confirmationMessage.getText().contains("Thank you") ||
-                            confirmationMessage.getText().contains("Success");
-
-                    if (isSuccess) {
-                        // Close confirmation if present
-                        try {
-                            WebElement okButton = driver.findElement(By.cssSelector(".sweet-alert .confirm"));
-                            okButton.click();
-                        } catch (Exception ex) {
-                            ExtentReportManager.logWarning("Could not close confirmation: " + ex.getMessage());
-                        }
-
-                        Assertions.fail("Form validation failed - form was submitted despite invalid input");
-                    }
-                } catch (Exception ex) {
-                    ExtentReportManager.logWarning("Could not find alert or confirmation: " + e.getMessage());
-                }
-            }
-        } else {
-            // If the modal is still open, validation worked client-side
-            ExtentReportManager.logPass("Form validation works - form not submitted with invalid input");
-        }
+    private static Map<String, String> blankOrderForm() {
+        Map<String, String> inputs = validOrderForm();
+        inputs.replaceAll((field, value) -> "");
+        return inputs;
     }
-}
\ No newline at end of file
+}
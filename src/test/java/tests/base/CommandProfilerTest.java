@@ -0,0 +1,142 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import utils.CommandProfiler;
+import utils.DriverManager;
+import utils.ExtentReportManager;
+import utils.RoundTripBudget;
+
+
+/**
+ * Checks the WebDriver command profiler on a stand-in driver. Runs without a browser.
+ */
+public class CommandProfilerTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing WebDriver command profiling";
+    }
+
+    /**
+     * TC_CMD_001: Commands are counted by type and by the method that issued them
+     */
+    @Test
+    @DisplayName("TC_CMD_001: Verify commands are counted by type and call site")
+    public void testCommandsCountedByTypeAndCallSite() {
+        CommandProfiler profiler = new CommandProfiler();
+        WebDriver original = fakeDriver(0);
+        WebDriver driver = profiler.decorate(original);
+
+        driver.getTitle();
+        driver.getTitle();
+        ((JavascriptExecutor) driver).executeScript("return 1");
+        driver.manage();
+        readTitleInHelper(driver);
+
+        profiler.logToReport();
+        Assertions.assertEquals(4, profiler.getCommandCount(), "manage() is not a round trip");
+        Assertions.assertEquals(3, command(profiler, "WebDriver.getTitle").getCount());
+        Assertions.assertEquals(1, command(profiler, "JavascriptExecutor.executeScript").getCount());
+        Assertions.assertEquals("CommandProfilerTest.testCommandsCountedByTypeAndCallSite",
+                profiler.getCallSites().get(0).getName());
+        Assertions.assertEquals("CommandProfilerTest.readTitleInHelper", profiler.getCallSites().get(1).getName());
+        Assertions.assertSame(original, DriverManager.unwrap(driver), "The decorated driver unwraps to the original");
+        ExtentReportManager.logPass("Commands counted by type and call site");
+    }
+
+    /**
+     * TC_CMD_002: Failed commands count as errors, and time between commands counts as idle
+     */
+    @Test
+    @DisplayName("TC_CMD_002: Verify failed commands and idle time are recorded")
+    public void testErrorsAndIdleTime() throws InterruptedException {
+        CommandProfiler profiler = new CommandProfiler();
+        WebDriver driver = profiler.decorate(fakeDriver(20));
+
+        Assertions.assertThrows(NoSuchElementException.class, () -> driver.findElement(By.id("missing")));
+        Thread.sleep(100);
+        driver.getTitle();
+
+        profiler.logToReport();
+        ExtentReportManager.logInfo(profiler.toString());
+        Assertions.assertEquals(1, command(profiler, "WebDriver.findElement").getErrors(),
+                "The failed findElement should be an error");
+        Assertions.assertTrue(profiler.getCommandMillis() >= 40, "Both commands take about 20 ms");
+        Assertions.assertTrue(profiler.getIdleMillis() >= 100, "The sleep between commands is idle time");
+        ExtentReportManager.logPass("Errors and idle time recorded");
+    }
+
+    /**
+     * TC_CMD_003: A test over its round-trip budget fails, naming the call sites that sent the most commands
+     */
+    @Test
+    @DisplayName("TC_CMD_003: Verify round-trip budgets are enforced")
+    public void testRoundTripBudget() throws NoSuchMethodException {
+        CommandProfiler profiler = new CommandProfiler();
+        WebDriver driver = profiler.decorate(fakeDriver(0));
+        for (int i = 0; i < 3; i++) {
+            readTitleInHelper(driver);
+        }
+        driver.getTitle();
+
+        profiler.enforce(budget("generousBudget"));
+        AssertionError error = Assertions.assertThrows(AssertionError.class,
+                () -> profiler.enforce(budget("tightBudget")));
+        Assertions.assertTrue(error.getMessage().contains("4 WebDriver commands (budget 2)"), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("CommandProfilerTest.readTitleInHelper (3 commands"),
+                "The busiest call site should be listed first: " + error.getMessage());
+        Assertions.assertDoesNotThrow(() -> profiler.enforce(budget("warningBudget")));
+        ExtentReportManager.logPass("Round-trip budget enforced");
+    }
+
+    @RoundTripBudget(maxCommands = 10, maxIdleMillis = 60_000)
+    private void generousBudget() {
+    }
+
+    @RoundTripBudget(maxCommands = 2)
+    private void tightBudget() {
+    }
+
+    @RoundTripBudget(maxCommands = 2, warnOnly = true)
+    private void warningBudget() {
+    }
+
+    private static RoundTripBudget budget(String method) throws NoSuchMethodException {
+        return CommandProfilerTest.class.getDeclaredMethod(method).getAnnotation(RoundTripBudget.class);
+    }
+
+    /**
+     * Helper method whose commands are attributed to itself
+     */
+    private void readTitleInHelper(WebDriver driver) {
+        driver.getTitle();
+    }
+
+    private static CommandProfiler.Stats command(CommandProfiler profiler, String name) {
+        return profiler.getCommands().stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " commands recorded"));
+    }
+
+    /**
+     * A driver whose commands take the given time; findElement always fails
+     */
+    private static WebDriver fakeDriver(long commandMillis) {
+        return FakeDriver.create((command, args) -> {
+            Thread.sleep(commandMillis);
+            switch (command) {
+                case "findElement":
+                    throw new NoSuchElementException("No element " + args[0]);
+                case "getTitle":
+                    return "DemoBlaze";
+                default:
+                    return null;
+            }
+        }, JavascriptExecutor.class);
+    }
+}
@@ -6,6 +6,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.ExtentReportManager;
 import utils.TestData;
+import utils.TimeAccount;
 
 /**
  * Tests for the contact form functionality
@@ -119,7 +120,7 @@ public class ContactTest extends BaseTest {
 
         // Wait for alert or confirmation
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -203,7 +204,7 @@ public class ContactTest extends BaseTest {
 
         // Wait for validation or alert
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -325,7 +326,7 @@ public class ContactTest extends BaseTest {
 
         // Wait for modal to close
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -367,7 +368,7 @@ public class ContactTest extends BaseTest {
 
         // Wait for modal to close
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -412,7 +413,7 @@ public class ContactTest extends BaseTest {
 
         // Wait for modal to appear
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -0,0 +1,49 @@
+package tests.base;
+
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * WebDriver stand-ins for the browserless tests. The proxy answers equals, hashCode and toString
+ * itself and hands every driver command to the test's answer.
+ *
+ * <pre>
+ * WebDriver driver = FakeDriver.create((command, args) -&gt; command.equals("getTitle") ? "DemoBlaze" : null);
+ * </pre>
+ */
+final class FakeDriver {
+
+    /**
+     * The result of one driver command
+     */
+    @FunctionalInterface
+    interface Answer {
+        /**
+         * @param command name of the WebDriver method, e.g. "getTitle"
+         * @param args its arguments, or null for none
+         */
+        Object answer(String command, Object[] args) throws Throwable;
+    }
+
+    private FakeDriver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A driver that also implements the given interfaces, e.g. JavascriptExecutor or HasCapabilities
+     */
+    static WebDriver create(Answer answer, Class<?>... interfaces) {
+        Class<?>[] implemented = Arrays.copyOf(interfaces, interfaces.length + 1);
+        implemented[interfaces.length] = WebDriver.class;
+        return (WebDriver) Proxy.newProxyInstance(FakeDriver.class.getClassLoader(), implemented,
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? proxy == args[0]
+                                : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : "fake";
+                    }
+                    return answer.answer(method.getName(), args);
+                });
+    }
+}
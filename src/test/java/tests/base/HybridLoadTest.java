@@ -0,0 +1,160 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.DriverManager;
+import utils.ExtentReportManager;
+import utils.HybridLoadRunner;
+import utils.LoadGenerator;
+import utils.PerformanceRunner;
+import utils.StorefrontApi;
+import utils.StorefrontScenarios;
+import utils.StorefrontStandIn;
+import utils.TestData;
+
+import java.time.Duration;
+
+/**
+ * Tests what a real user sees while the backend is busy: HTTP background load runs against the
+ * storefront stand-in while the browser, whose API calls are routed to the same stand-in, times the
+ * PerformanceTest operations. See HybridLoadRunner for the hybrid.* settings.
+ */
+@Isolated
+public class HybridLoadTest extends BaseTest {
+    private static StorefrontStandIn standIn;
+    private static StorefrontScenarios scenarios;
+
+    // Serves the browser's API calls from the stand-in for the duration of a test
+    private NetworkInterceptor routing;
+
+    @BeforeAll
+    public static void startStandIn() {
+        standIn = StorefrontStandIn.fromSystemProperties();
+        scenarios = new StorefrontScenarios(new StorefrontApi(standIn.getApiUrl()),
+                Integer.getInteger("load.accounts", 20));
+    }
+
+    @Override
+    protected void beforeFirstNavigation() {
+        if (!DriverManager.supportsCdp(driver)) {
+            ExtentReportManager.logWarning("Browser does not support CDP; its API calls cannot be routed to the stand-in");
+            Assumptions.abort("Hybrid load tests need CDP to route the browser to the stand-in");
+        }
+        routing = standIn.routeBrowser(driver);
+        ExtentReportManager.logInfo("Browser API calls are served by the stand-in at " + standIn.getApiUrl());
+    }
+
+    /**
+     * TC_HYB_001: Browser latency of page loads and key actions at increasing backend load
+     */
+    @Test
+    @DisplayName("TC_HYB_001: Measure browser latency against background load on the storefront API")
+    public void testBrowserLatencyUnderLoad() {
+        HybridLoadRunner.Result result = HybridLoadRunner.fromSystemProperties().run("Storefront",
+                rate -> scenarios.addTo(LoadGenerator.open(rate, Duration.ofHours(1))),
+                runner -> {
+                    // Page loads until the data from the API is shown
+                    measureUntilReady(runner, "Home page", TestData.BASE_URL,
+                            ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#tbodyid .card")));
+                    measureUntilReady(runner, "Product page", TestData.PRODUCT_URL,
+                            d -> !d.findElement(By.cssSelector(".name")).getText().isEmpty());
+
+                    // Add to cart waits for the API before showing its alert
+                    measureAddToCartAlert(runner);
+
+                    measureUntilReady(runner, "Cart page", TestData.CART_URL,
+                            ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#tbodyid tr")));
+
+                    // Place Order opens without calling the API, so it should not follow the load
+                    measurePlaceOrderModal(runner);
+                });
+        result.logToReport();
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        for (HybridLoadRunner.Level level : result.getLevels()) {
+            if (level.getBackground() != null) {
+                Assertions.assertTrue(level.getBackground().getErrorRate() <= maxErrorRate,
+                        "Background load at " + level.getTargetRate() + "/s had error rate " +
+                                level.getBackground().getErrorRate());
+            }
+        }
+        ExtentReportManager.logPass("Browser latency measured at every background load level");
+    }
+
+    /**
+     * Helper method to time a navigation until the page shows its data
+     */
+    private void measureUntilReady(PerformanceRunner runner, String operation, String url,
+                                   ExpectedCondition<?> ready) {
+        runner.measure(operation, () -> {
+            long startTime = System.nanoTime();
+            driver.navigate().to(url);
+            wait.until(ready);
+            return elapsedMillis(startTime);
+        });
+    }
+
+    /**
+     * Helper method to time the add to cart alert on the product page; every iteration adds one item
+     */
+    private void measureAddToCartAlert(PerformanceRunner runner) {
+        runner.measure("Add to cart alert", () -> {
+            WebElement addToCartButton = wait.until(ExpectedConditions.elementToBeClickable(
+                    By.xpath("//a[contains(text(),'Add to cart')]")));
+
+            long startTime = System.nanoTime();
+            addToCartButton.click();
+            wait.until(ExpectedConditions.alertIsPresent());
+            double responseTime = elapsedMillis(startTime);
+
+            driver.switchTo().alert().accept();
+            return responseTime;
+        });
+    }
+
+    /**
+     * Helper method to time the Place Order modal on the cart page; it is closed after every iteration
+     */
+    private void measurePlaceOrderModal(PerformanceRunner runner) {
+        runner.measure("Place Order modal", () -> {
+            WebElement opener = wait.until(ExpectedConditions.elementToBeClickable(
+                    By.xpath("//button[contains(text(),'Place Order')]")));
+
+            long startTime = System.nanoTime();
+            opener.click();
+            WebElement modal = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("orderModal")));
+            double openTime = elapsedMillis(startTime);
+
+            modal.findElement(By.cssSelector(".close")).click();
+            wait.until(ExpectedConditions.invisibilityOf(modal));
+            return openTime;
+        });
+    }
+
+    /**
+     * Helper method for the wall-clock time since a System.nanoTime() reading
+     */
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    @AfterEach
+    public void stopRouting() {
+        if (routing != null) {
+            routing.close();
+            routing = null;
+        }
+    }
+
+    @AfterAll
+    public static void stopStandIn() {
+        if (standIn != null) {
+            standIn.close();
+        }
+    }
+}
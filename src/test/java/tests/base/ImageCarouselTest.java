@@ -3,10 +3,11 @@ package tests.base;
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import tests.base.BaseTest;
 import utils.ExtentReportManager;
 import utils.TestData;
+import utils.TimeAccount;
+import utils.TimedWait;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -19,10 +20,9 @@ public class ImageCarouselTest extends BaseTest {
     private static final int CAROUSEL_ROTATION_INTERVAL_MS = 5000;
     private static final int OBSERVATION_PERIOD_MS = CAROUSEL_ROTATION_INTERVAL_MS * 3;
 
-    @BeforeEach
-    public void setUpTest(TestInfo testInfo) {
-        ExtentReportManager.createTest(testInfo.getDisplayName(), "Image Carousel Test");
-        ExtentReportManager.setDriver(driver);
+    @Override
+    protected String reportDescription() {
+        return "Image Carousel Test";
     }
 
     @Nested
@@ -192,12 +192,12 @@ public class ImageCarouselTest extends BaseTest {
 
     // ===== HELPER METHODS (unchanged from original) =====
     private WebElement waitForElement(By locator) {
-        return new WebDriverWait(driver, Duration.ofSeconds(10))
+        return new TimedWait(driver, Duration.ofSeconds(10))
                 .until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     private List<WebElement> waitForElements(By locator) {
-        return new WebDriverWait(driver, Duration.ofSeconds(10))
+        return new TimedWait(driver, Duration.ofSeconds(10))
                 .until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
     }
 
@@ -216,14 +216,14 @@ public class ImageCarouselTest extends BaseTest {
 
     private void waitForCarouselTransition() {
         try {
-            Thread.sleep(1000); // Original timing preserved
+            TimeAccount.sleep(1000); // Original timing preserved
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
 
     private void waitForImageChange(String originalSrc) {
-        new WebDriverWait(driver, Duration.ofMillis(OBSERVATION_PERIOD_MS))
+        new TimedWait(driver, Duration.ofMillis(OBSERVATION_PERIOD_MS))
                 .until(driver -> {
                     String currentSrc = getImageSource(
                             driver.findElement(By.cssSelector(TestData.CAROUSEL_ACTIVE_SLIDE_CSS)));
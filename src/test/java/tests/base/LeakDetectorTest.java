@@ -0,0 +1,44 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.LeakDetector;
+
+/**
+ * Checks the growth trend fitted by the leak detector. Runs without a browser.
+ */
+public class LeakDetectorTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing leak trend fitting";
+    }
+
+    /**
+     * TC_LEAK_001: Steady growth is measured per iteration, even with one GC spike
+     */
+    @Test
+    @DisplayName("TC_LEAK_001: Verify steady growth is detected despite an outlier")
+    public void testSteadyGrowthWithOutlier() {
+        double[] nodes = {1000, 1012, 1024, 1036, 5000, 1060, 1072, 1084, 1096, 1108};
+
+        double growth = LeakDetector.growthPerIteration(nodes);
+        ExtentReportManager.logInfo("Growth per iteration: " + growth);
+        Assertions.assertEquals(12, growth, 0.01, "Slope should ignore the single spike");
+        ExtentReportManager.logPass("Steady growth of 12 nodes per iteration detected");
+    }
+
+    /**
+     * TC_LEAK_002: A flat series with noise that returns to its level has no growth
+     */
+    @Test
+    @DisplayName("TC_LEAK_002: Verify a stable series has no growth")
+    public void testStableSeries() {
+        double[] heap = {2_000_000, 2_050_000, 1_990_000, 2_010_000, 2_000_000, 2_040_000, 1_995_000, 2_000_000};
+
+        double growth = LeakDetector.growthPerIteration(heap);
+        ExtentReportManager.logInfo("Growth per iteration: " + growth);
+        Assertions.assertTrue(Math.abs(growth) < 5_000, "Noise around a level should not look like growth");
+        ExtentReportManager.logPass("Stable series has negligible growth");
+    }
+}
@@ -0,0 +1,100 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import utils.ExtentReportManager;
+import utils.LoadGenerator;
+import utils.StorefrontApi;
+import utils.StorefrontScenarios;
+import utils.StorefrontStandIn;
+
+import java.time.Duration;
+
+/**
+ * Driver-less load tests: the API calls behind the UI flows replayed over HTTP against a local
+ * stand-in of the storefront API (or -Dload.apiUrl). Runs without a browser.
+ */
+@Isolated
+public class LoadTest extends BrowserlessTest {
+    private static StorefrontStandIn standIn;
+    private static StorefrontScenarios scenarios;
+
+    @BeforeAll
+    public static void startStorefront() {
+        String apiUrl = System.getProperty("load.apiUrl");
+        if (apiUrl == null) {
+            standIn = StorefrontStandIn.fromSystemProperties();
+            apiUrl = standIn.getApiUrl();
+        }
+        scenarios = new StorefrontScenarios(new StorefrontApi(apiUrl), Integer.getInteger("load.accounts", 20));
+    }
+
+    @Override
+    protected String reportDescription() {
+        return "Testing storefront API under load";
+    }
+
+    /**
+     * TC_LOAD_001: The storefront mix at a constant arrival rate completes without errors
+     */
+    @Test
+    @DisplayName("TC_LOAD_001: Verify the storefront API handles open-model load")
+    public void testOpenModelLoad() {
+        LoadGenerator.Result result = scenarios.addTo(LoadGenerator.fromSystemProperties(LoadGenerator.Model.OPEN))
+                .run("Storefront API");
+        result.logToReport();
+        assertErrorRate(result);
+    }
+
+    /**
+     * TC_LOAD_002: The storefront mix with a fixed number of paced users completes without errors
+     */
+    @Test
+    @DisplayName("TC_LOAD_002: Verify the storefront API handles closed-model load")
+    public void testClosedModelLoad() {
+        LoadGenerator.Result result = scenarios.addTo(LoadGenerator.fromSystemProperties(LoadGenerator.Model.CLOSED))
+                .run("Storefront API");
+        result.logToReport();
+        assertErrorRate(result);
+    }
+
+    /**
+     * TC_LOAD_003: A stall delays every start scheduled during it, and the corrected latency shows that
+     */
+    @Test
+    @DisplayName("TC_LOAD_003: Verify latency is corrected for coordinated omission")
+    public void testCoordinatedOmissionCorrection() {
+        int[] runs = {0};
+        LoadGenerator.Result result = LoadGenerator.closed(1, Duration.ofMillis(10), Duration.ofSeconds(2))
+                .scenario("stall once", 1, requests -> {
+                    // One 1 s stall 200 ms in; every other run takes about 1 ms
+                    Thread.sleep(++runs[0] == 20 ? 1000 : 1);
+                })
+                .run("Stalled server");
+        result.logToReport();
+
+        LoadGenerator.Stats stats = result.getScenario("stall once");
+        ExtentReportManager.logInfo("p75 corrected " + stats.percentile(75) + " ms, uncorrected " +
+                stats.uncorrectedPercentile(75) + " ms");
+        Assertions.assertTrue(stats.percentile(75) > 250, "Starts delayed by the stall should count as slow");
+        Assertions.assertTrue(stats.uncorrectedPercentile(75) < 50, "Uncorrected latency should hide the stall");
+        ExtentReportManager.logPass("Coordinated omission correction reflects the stall");
+    }
+
+    /**
+     * Helper method to check the error rate against -Dload.maxErrorRate (default 0.01)
+     */
+    private void assertErrorRate(LoadGenerator.Result result) {
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        Assertions.assertTrue(result.getErrorRate() <= maxErrorRate,
+                "Error rate " + result.getErrorRate() + " exceeded " + maxErrorRate);
+        ExtentReportManager.logPass(result.getName() + " load completed within the error rate limit");
+    }
+
+    @AfterAll
+    public static void stopStorefront() {
+        if (standIn != null) {
+            standIn.close();
+        }
+    }
+}
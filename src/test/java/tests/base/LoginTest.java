@@ -1,6 +1,10 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -8,25 +12,24 @@ import pages.HomePage;
 import pages.modals.LoginModal;
 import tests.base.BaseTest;
 import utils.ExtentReportManager;
+import utils.SharedAccountLock;
 import utils.TestData;
+import utils.TimeAccount;
+import utils.ValidationMatrix;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
+// Logs in with the shared account without changing its cart
+@ResourceLock(value = SharedAccountLock.KEY, mode = ResourceAccessMode.READ)
 public class LoginTest extends BaseTest {
 
-    // Use the specific username and password for all tests
-    private final String VALID_USERNAME = TestData.TEST_USERNAME; // "Rama27"
-    private final String VALID_PASSWORD = TestData.TEST_PASSWORD; // "rama123"
-
-    // For case sensitivity test - using the same credentials
+    // Valid logins use account(): a pooled account when -Ddemoblaze.accounts is set, otherwise "Rama27"
+    // For case sensitivity test - keeps the mixed-case shared account, pooled names are all lower case
     private final String CASE_SENSITIVE_USERNAME = TestData.TEST_USERNAME; // "Rama27"
     private final String CASE_SENSITIVE_PASSWORD = TestData.TEST_PASSWORD; // "rama123"
 
-    // For session persistence test - using the same credentials
-    private final String PERSIST_USERNAME = TestData.TEST_USERNAME; // "Rama27"
-    private final String PERSIST_PASSWORD = TestData.TEST_PASSWORD; // "rama123"
-
     /**
      * TC_LOG_001: Verify login form displays correctly
      */
@@ -51,7 +54,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Testing from cart page");
         driver.navigate().to("https://www.demoblaze.com/cart.html");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -70,7 +73,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Testing from product page");
         driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -123,7 +126,7 @@ public class LoginTest extends BaseTest {
     public void testSuccessfulLogin() {
         ExtentReportManager.logStep("Testing successful login with valid credentials");
 
-        ExtentReportManager.logInfo("Using username: " + VALID_USERNAME + " and password: " + VALID_PASSWORD);
+        ExtentReportManager.logInfo("Using username: " + account().getUsername() + " and password: " + account().getPassword());
 
         HomePage homePage = new HomePage(driver);
         LoginModal loginModal = homePage.clickLoginLink();
@@ -131,8 +134,8 @@ public class LoginTest extends BaseTest {
 
         // Enter credentials and login
         ExtentReportManager.logStep("Entering valid credentials");
-        loginModal.enterUsername(VALID_USERNAME);
-        loginModal.enterPassword(VALID_PASSWORD);
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
         ExtentReportManager.captureScreenshot("Login Form Filled");
 
         ExtentReportManager.logStep("Clicking Login button");
@@ -140,7 +143,7 @@ public class LoginTest extends BaseTest {
 
         // Wait for login to complete
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -153,7 +156,7 @@ public class LoginTest extends BaseTest {
             String welcomeMessage = welcomeElement.getText();
 
             Assertions.assertTrue(welcomeMessage.contains("Welcome"), "Welcome message should be displayed");
-            Assertions.assertTrue(welcomeMessage.contains(VALID_USERNAME), "Welcome message should contain the username");
+            Assertions.assertTrue(welcomeMessage.contains(account().getUsername()), "Welcome message should contain the username");
 
             ExtentReportManager.logPass("Login successful. Welcome message displayed: " + welcomeMessage);
         } catch (Exception e) {
@@ -165,79 +168,65 @@ public class LoginTest extends BaseTest {
     /**
      * TC_LOG_003: Verify failed login with invalid credentials
      */
-    @Test
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
     @DisplayName("TC_LOG_003: Verify failed login with invalid credentials")
-    public void testFailedLogin() {
-        ExtentReportManager.logStep("Testing failed login with invalid credentials");
-
-        // Test non-existent username
-        ExtentReportManager.logStep("Testing with non-existent username");
-        HomePage homePage = new HomePage(driver);
-        LoginModal loginModal = homePage.clickLoginLink();
-        ExtentReportManager.captureScreenshot("Login Modal");
-
-        String nonExistentUser = "invaliduser_" + System.currentTimeMillis();
-        loginModal.enterUsername(nonExistentUser);
-        loginModal.enterPassword("anypassword");
-        ExtentReportManager.captureScreenshot("Login Form with Invalid Username");
-
-        loginModal.clickLoginButton();
-
-        // Check for the expected error message
-        String alertText = loginModal.getAlertText();
-        ExtentReportManager.logInfo("Alert message: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("does not exist"),
-                "Alert should indicate that user does not exist");
-        ExtentReportManager.logPass("System correctly displayed error for non-existent user");
-
-        loginModal.acceptAlert();
-
-        // Close and reopen modal for next test
-        loginModal.clickClose();
-        driver.navigate().refresh();
-
-        // Test wrong password for existing user
-        ExtentReportManager.logStep("Testing with valid username but wrong password");
-        loginModal = homePage.clickLoginLink();
-
-        loginModal.enterUsername(VALID_USERNAME);
-        loginModal.enterPassword("wrongpassword");
-        ExtentReportManager.captureScreenshot("Login Form with Wrong Password");
-
-        loginModal.clickLoginButton();
-
-        // Check for the expected error message
-        alertText = loginModal.getAlertText();
-        ExtentReportManager.logInfo("Alert message: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("Wrong password"),
-                "Alert should indicate wrong password");
-        ExtentReportManager.logPass("System correctly displayed error for wrong password");
-
-        loginModal.acceptAlert();
-
-        ExtentReportManager.logPass("Invalid credentials test completed successfully");
+    public Stream<DynamicTest> testFailedLogin() {
+        return loginRejectionMatrix("Invalid credentials")
+                .row("Non-existent username", new LoginAttempt(
+                        TestData.getUnregisteredUsername(), "anypassword", "does not exist"))
+                .row("Valid username with wrong password", new LoginAttempt(
+                        account().getUsername(), "wrongpassword", "Wrong password"))
+                .run(this::checkLoginRejected);
     }
 
     /**
      * TC_LOG_004: Verify empty field validation during login
      */
-    @Test
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
     @DisplayName("TC_LOG_004: Verify empty field validation during login")
-    public void testEmptyFieldValidation() {
-        ExtentReportManager.logStep("Testing empty field validation during login");
+    public Stream<DynamicTest> testEmptyFieldValidation() {
+        return loginRejectionMatrix("Empty field validation")
+                .row("Empty username", new LoginAttempt("", account().getPassword(), "fill out"))
+                .row("Empty password", new LoginAttempt(account().getUsername(), "", "fill out"))
+                .row("Both fields empty", new LoginAttempt("", "", "fill out"))
+                .run(this::checkLoginRejected);
+    }
 
-        HomePage homePage = new HomePage(driver);
+    /**
+     * Credentials for one rejected-login row and the text the alert must contain
+     */
+    private record LoginAttempt(String username, String password, String expectedAlert) {
+    }
 
-        // Test empty username
-        ExtentReportManager.logStep("Testing with empty username");
-        LoginModal loginModal = homePage.clickLoginLink();
-        ExtentReportManager.captureScreenshot("Login Modal");
+    /**
+     * Helper method to build a matrix whose rows all run against one open login modal
+     */
+    private ValidationMatrix<LoginAttempt> loginRejectionMatrix(String name) {
+        HomePage homePage = new HomePage(driver);
+        return ValidationMatrix.<LoginAttempt>of(name)
+                .setUp(() -> {
+                    homePage.clickLoginLink();
+                    ExtentReportManager.captureScreenshot("Login Modal");
+                })
+                .reset(() -> {
+                    // A rejected login leaves the modal open; only reopen it if it was closed
+                    if (!driver.findElement(By.id("logInModal")).isDisplayed()) {
+                        homePage.clickLoginLink();
+                    }
+                });
+    }
 
-        loginModal.enterUsername("");
-        loginModal.enterPassword(VALID_PASSWORD);
-        ExtentReportManager.captureScreenshot("Login Form with Empty Username");
+    /**
+     * Helper method to submit one set of credentials and check the rejection alert
+     */
+    private void checkLoginRejected(LoginAttempt attempt) {
+        LoginModal loginModal = new LoginModal(driver);
+        loginModal.enterUsername(attempt.username());
+        loginModal.enterPassword(attempt.password());
+        ExtentReportManager.logInfo("Entered username '" + attempt.username() + "' and " +
+                (attempt.password().isEmpty() ? "empty password" : "a password"));
 
         loginModal.clickLoginButton();
 
@@ -245,61 +234,10 @@ public class LoginTest extends BaseTest {
         String alertText = loginModal.getAlertText();
         ExtentReportManager.logInfo("Alert message: " + alertText);
 
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Empty username validation works correctly");
-
-        loginModal.acceptAlert();
-
-        // Close and reopen modal for next test
-        loginModal.clickClose();
-        driver.navigate().refresh();
-
-        // Test empty password
-        ExtentReportManager.logStep("Testing with empty password");
-        loginModal = homePage.clickLoginLink();
-
-        loginModal.enterUsername(VALID_USERNAME);
-        loginModal.enterPassword("");
-        ExtentReportManager.captureScreenshot("Login Form with Empty Password");
-
-        loginModal.clickLoginButton();
-
-        // Check for the expected error message
-        alertText = loginModal.getAlertText();
-        ExtentReportManager.logInfo("Alert message: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Empty password validation works correctly");
-
-        loginModal.acceptAlert();
-
-        // Close and reopen modal for next test
-        loginModal.clickClose();
-        driver.navigate().refresh();
-
-        // Test both fields empty
-        ExtentReportManager.logStep("Testing with both fields empty");
-        loginModal = homePage.clickLoginLink();
-
-        loginModal.enterUsername("");
-        loginModal.enterPassword("");
-        ExtentReportManager.captureScreenshot("Login Form with Both Fields Empty");
-
-        loginModal.clickLoginButton();
-
-        // Check for the expected error message
-        alertText = loginModal.getAlertText();
-        ExtentReportManager.logInfo("Alert message: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Both fields empty validation works correctly");
+        Assertions.assertTrue(alertText != null && alertText.contains(attempt.expectedAlert()),
+                "Alert should contain '" + attempt.expectedAlert() + "'");
 
         loginModal.acceptAlert();
-
-        ExtentReportManager.logPass("Empty field validation test completed successfully");
     }
 
     /**
@@ -321,7 +259,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.captureScreenshot("After clicking Close button");
 
         try {
-            Thread.sleep(1000); // Wait for the modal to close
+            TimeAccount.sleep(1000); // Wait for the modal to close
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -339,7 +277,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.captureScreenshot("After clicking X icon");
 
         try {
-            Thread.sleep(1000); // Wait for the modal to close
+            TimeAccount.sleep(1000); // Wait for the modal to close
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -363,15 +301,15 @@ public class LoginTest extends BaseTest {
         HomePage homePage = new HomePage(driver);
         LoginModal loginModal = homePage.clickLoginLink();
 
-        loginModal.enterUsername(PERSIST_USERNAME);
-        loginModal.enterPassword(PERSIST_PASSWORD);
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
         ExtentReportManager.captureScreenshot("Login Form Filled");
 
         loginModal.clickLoginButton();
 
         // Wait for login to complete
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -386,7 +324,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Navigating to Cart page");
         driver.navigate().to("https://www.demoblaze.com/cart.html");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -403,7 +341,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Navigating back to Home page");
         driver.navigate().to("https://www.demoblaze.com/index.html");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -420,7 +358,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Refreshing the browser");
         driver.navigate().refresh();
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -517,7 +455,7 @@ public class LoginTest extends BaseTest {
 
         // Wait for login to complete
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted");
         }
@@ -563,7 +501,7 @@ public class LoginTest extends BaseTest {
 
             LoginModal loginModal = homePage.clickLoginLink();
 
-            loginModal.enterUsername(VALID_USERNAME);
+            loginModal.enterUsername(account().getUsername());
             loginModal.enterPassword(wrongPasswords[i]);
             ExtentReportManager.captureScreenshot("Login Attempt #" + (i+1));
 
@@ -608,7 +546,7 @@ public class LoginTest extends BaseTest {
             // Refresh page for next attempt
             driver.navigate().refresh();
             try {
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
             } catch (InterruptedException e) {
                 ExtentReportManager.logWarning("Wait interrupted");
             }
@@ -621,7 +559,7 @@ public class LoginTest extends BaseTest {
         ExtentReportManager.logStep("Attempting final login after multiple failures");
         LoginModal loginModal = homePage.clickLoginLink();
 
-        loginModal.enterUsername(VALID_USERNAME);
+        loginModal.enterUsername(account().getUsername());
         loginModal.enterPassword("anotherWrongPassword");
         ExtentReportManager.captureScreenshot("Final Login Attempt");
 
@@ -1,30 +1,24 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.ExtentReportManager;
+import utils.SharedAccountLock;
 import utils.TestData;
+import utils.TimeAccount;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
 
-public class LogoutTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
+// Logs in with the shared account, unless the AccountPool is enabled, without changing its cart
+@ResourceLock(value = SharedAccountLock.KEY, mode = ResourceAccessMode.READ)
+public class LogoutTest extends BaseTest {
 
-    @BeforeAll
-    public static void setupReport() {
-        // Initialize ExtentReports
-        ExtentReportManager.init();
-    }
-
-    @BeforeEach
-    public void setUp(TestInfo testInfo) {
-        // Create test in ExtentReports
-        String testName = testInfo.getDisplayName();
+    @Override
+    protected String reportName(TestInfo testInfo) {
+        String testName = testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName());
         if (testName.equals("testLogoutEndsSession")) {
             testName = "TC_OUT_001: Verify logout functionality ends user session";
         } else if (testName.equals("testPostLogoutNavigationOptions")) {
@@ -32,35 +26,12 @@ public class LogoutTest {
         } else if (testName.equals("testLogoutRedirectsToHomePage")) {
             testName = "TC_OUT_003: Verify redirect after logout goes to home page";
         }
+        return testName;
+    }
 
-        ExtentReportManager.createTest(testName, "Testing logout functionality of DemoBlaze website");
-
-        // Add options to avoid CDP warning and improve test stability
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--disable-notifications");
-
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-
-        // Set driver for screenshots
-        ExtentReportManager.setDriver(driver);
-
-        // Create a wait object for better element handling
-        wait = new WebDriverWait(driver, Duration.ofSeconds(TestData.IMPLICIT_WAIT));
-
-        // Log navigation to the website
-        ExtentReportManager.logStep("Navigating to DemoBlaze website");
-        driver.get(TestData.BASE_URL);
-        ExtentReportManager.captureScreenshot("Home Page");
-
-        // Wait for page to fully load
-        try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
-            ExtentReportManager.logInfo("Waited 2 seconds for page to load");
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Page load wait was interrupted: " + e.getMessage());
-        }
+    @Override
+    protected String reportDescription() {
+        return "Testing logout functionality of DemoBlaze website";
     }
 
     // TC_OUT_001: Verify logout functionality ends user session
@@ -68,7 +39,7 @@ public class LogoutTest {
     public void testLogoutEndsSession() throws InterruptedException {
         // 1. Navigate to website (done in setUp)
         // 2. Log in with test credentials
-        loginUser(TestData.TEST_USERNAME, TestData.TEST_PASSWORD);
+        loginUser(account().getUsername(), account().getPassword());
 
         // 3. Verify welcome message appears
         ExtentReportManager.logStep("Verifying welcome message is displayed");
@@ -76,7 +47,7 @@ public class LogoutTest {
                 By.id(TestData.WELCOME_MESSAGE_ID)));
         String welcomeText = welcomeMessage.getText();
         ExtentReportManager.logInfo("Welcome message: " + welcomeText);
-        Assertions.assertTrue(welcomeText.contains(TestData.WELCOME_MESSAGE_PREFIX + TestData.TEST_USERNAME),
+        Assertions.assertTrue(welcomeText.contains(TestData.WELCOME_MESSAGE_PREFIX + account().getUsername()),
                 "Welcome message should contain username");
         ExtentReportManager.logPass("Welcome message verified: " + welcomeText);
 
@@ -84,7 +55,7 @@ public class LogoutTest {
         ExtentReportManager.logStep("Clicking on Log out link");
         WebElement logoutLink = wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGOUT_LINK_ID)));
         logoutLink.click();
-        Thread.sleep(TestData.MEDIUM_WAIT); // Wait for logout to complete
+        TimeAccount.sleep(TestData.MEDIUM_WAIT); // Wait for logout to complete
         ExtentReportManager.captureScreenshot("After Logout");
 
         // Verify user is logged out
@@ -147,7 +118,7 @@ public class LogoutTest {
     public void testPostLogoutNavigationOptions() throws InterruptedException {
         // 1. Navigate to website (done in setUp)
         // 2. Log in with test credentials
-        loginUser(TestData.TEST_USERNAME, TestData.TEST_PASSWORD);
+        loginUser(account().getUsername(), account().getPassword());
 
         // Capture the state of navigation bar before logout for comparison
         ExtentReportManager.logStep("Capturing navigation bar state before logout");
@@ -172,7 +143,7 @@ public class LogoutTest {
         ExtentReportManager.logStep("Clicking on Log out link");
         WebElement logoutLink = wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGOUT_LINK_ID)));
         logoutLink.click();
-        Thread.sleep(TestData.MEDIUM_WAIT); // Wait for logout to complete
+        TimeAccount.sleep(TestData.MEDIUM_WAIT); // Wait for logout to complete
 
         // 4. Observe the navigation bar options
         ExtentReportManager.logStep("Checking navigation bar options after logout");
@@ -242,7 +213,7 @@ public class LogoutTest {
         // 1. Navigate to cart page
         ExtentReportManager.logStep("Navigating to cart page");
         driver.navigate().to(TestData.CART_URL);
-        Thread.sleep(TestData.MEDIUM_WAIT);
+        TimeAccount.sleep(TestData.MEDIUM_WAIT);
         ExtentReportManager.captureScreenshot("Cart Page");
 
         // Verify we're on cart page
@@ -253,7 +224,7 @@ public class LogoutTest {
         ExtentReportManager.logPass("Current page is cart page: " + cartUrl);
 
         // 2. Log in with test credentials
-        loginUser(TestData.TEST_USERNAME, TestData.TEST_PASSWORD);
+        loginUser(account().getUsername(), account().getPassword());
 
         // 3. Confirm user is still on cart page
         ExtentReportManager.logStep("Confirming user is still on cart page after login");
@@ -266,7 +237,7 @@ public class LogoutTest {
         ExtentReportManager.logStep("Clicking on Log out link");
         WebElement logoutLink = wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGOUT_LINK_ID)));
         logoutLink.click();
-        Thread.sleep(TestData.MEDIUM_WAIT); // Wait for logout and redirect to complete
+        TimeAccount.sleep(TestData.MEDIUM_WAIT); // Wait for logout and redirect to complete
         ExtentReportManager.captureScreenshot("After Logout");
 
         // 5. Observe current page - should be redirected to home page
@@ -309,7 +280,7 @@ public class LogoutTest {
         // Click on Log in link to open modal
         WebElement loginLink = wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGIN_LINK_ID)));
         loginLink.click();
-        Thread.sleep(TestData.SHORT_WAIT);
+        TimeAccount.sleep(TestData.SHORT_WAIT);
         ExtentReportManager.captureScreenshot("Login Modal");
 
         // Enter username
@@ -329,7 +300,7 @@ public class LogoutTest {
         loginButton.click();
 
         // Wait for login to complete and page to reload
-        Thread.sleep(TestData.LONG_WAIT);
+        TimeAccount.sleep(TestData.LONG_WAIT);
         ExtentReportManager.captureScreenshot("After Login");
 
         // Verify login was successful by checking for welcome message
@@ -350,24 +321,4 @@ public class LogoutTest {
             throw new AssertionError("Login failed: " + e.getMessage());
         }
     }
-
-    @AfterEach
-    public void tearDown() {
-        ExtentReportManager.logStep("Finishing test and closing browser");
-
-        if (driver != null) {
-            try {
-                driver.quit();
-                ExtentReportManager.logInfo("Browser closed successfully");
-            } catch (Exception e) {
-                ExtentReportManager.logWarning("Error while closing browser: " + e.getMessage());
-            }
-        }
-    }
-
-    @AfterAll
-    public static void tearDownReport() {
-        // Generate the report
-        ExtentReportManager.flush();
-    }
-}
\ No newline at end of file
+}
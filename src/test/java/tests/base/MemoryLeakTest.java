@@ -0,0 +1,122 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.DriverManager;
+import utils.ExtentReportManager;
+import utils.LeakDetector;
+import utils.PerformanceBudget;
+import utils.TestData;
+
+/**
+ * Tests that repeated actions in one long-lived session do not leak memory: the JS heap, DOM nodes
+ * and event listeners must return to a steady level instead of growing with every repetition.
+ * Growth budgets are in src/test/resources/perf-budgets.txt (heap, nodes, listeners).
+ */
+@Isolated
+public class MemoryLeakTest extends BaseTest {
+
+    // Growth budgets per repeated action (src/test/resources/perf-budgets.txt, -Dperf.env)
+    private final PerformanceBudget budgets = PerformanceBudget.load();
+
+    @Override
+    protected void beforeFirstNavigation() {
+        if (!DriverManager.supportsCdp(driver)) {
+            ExtentReportManager.logWarning("Browser does not support CDP; heap is sampled without forced GC " +
+                    "and listeners are not counted");
+        }
+    }
+
+    /**
+     * TC_MEM_001: Cycling the image carousel does not leak
+     */
+    @Test
+    @DisplayName("TC_MEM_001: Verify carousel rotation does not leak memory")
+    public void testCarouselDoesNotLeak() {
+        driver.navigate().to(TestData.BASE_URL);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(TestData.CAROUSEL_CONTAINER_ID)));
+
+        detectLeak("Carousel next slide", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(
+                    By.cssSelector(TestData.CAROUSEL_NEXT_BUTTON_CSS))).click();
+
+            // Bootstrap marks the incoming slide with carousel-item-next until the transition ends
+            wait.until(ExpectedConditions.numberOfElementsToBe(
+                    By.cssSelector(".carousel-item-next, .carousel-item-prev"), 0));
+        });
+
+        budgets.verify();
+        ExtentReportManager.logPass("Carousel rotation stays within memory growth budgets");
+    }
+
+    /**
+     * TC_MEM_002: Opening and closing the Contact and About Us modals does not leak
+     */
+    @Test
+    @DisplayName("TC_MEM_002: Verify modal open/close cycles do not leak memory")
+    public void testModalCyclesDoNotLeak() {
+        driver.navigate().to(TestData.BASE_URL);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("tbodyid")));
+
+        detectLeak("Contact modal open/close", () ->
+                openAndCloseModal(By.xpath("//a[contains(text(),'Contact')]"), By.id("exampleModal")));
+        detectLeak("About Us modal open/close", () ->
+                openAndCloseModal(By.xpath("//a[contains(text(),'About us')]"), By.id("videoModal")));
+        detectLeak("Log in modal open/close", () ->
+                openAndCloseModal(By.id(TestData.LOGIN_LINK_ID), By.id("logInModal")));
+
+        budgets.verify();
+        ExtentReportManager.logPass("Modal cycles stay within memory growth budgets");
+    }
+
+    /**
+     * TC_MEM_003: Switching categories re-renders the product list without leaking the old cards
+     */
+    @Test
+    @DisplayName("TC_MEM_003: Verify category switching does not leak product cards")
+    public void testCategorySwitchingDoesNotLeak() {
+        driver.navigate().to(TestData.BASE_URL);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#tbodyid .card")));
+
+        String[] categories = {"Phones", "Laptops"};
+        int[] next = {0};
+        detectLeak("Category switch", () -> {
+            WebElement firstCard = driver.findElement(By.cssSelector("#tbodyid .card"));
+            String category = categories[next[0]++ % categories.length];
+            wait.until(ExpectedConditions.elementToBeClickable(
+                    By.xpath("//a[contains(text(),'" + category + "')]"))).click();
+
+            // The product list is rebuilt, so the old first card goes stale
+            wait.until(ExpectedConditions.stalenessOf(firstCard));
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#tbodyid .card")));
+        });
+
+        budgets.verify();
+        ExtentReportManager.logPass("Category switching stays within memory growth budgets");
+    }
+
+    /**
+     * Helper method to repeat an action, log its memory trend and check it against the growth budgets
+     */
+    private void detectLeak(String name, Runnable action) {
+        LeakDetector.Trend trend = LeakDetector.fromSystemProperties(driver).run(name, action);
+        trend.logToReport();
+
+        budgets.check(name, "heap", trend.getHeapGrowth());
+        budgets.check(name, "nodes", trend.getNodeGrowth());
+        budgets.check(name, "listeners", trend.getListenerGrowth());
+    }
+
+    /**
+     * Helper method to open a modal from its link and close it again
+     */
+    private void openAndCloseModal(By link, By modalLocator) {
+        wait.until(ExpectedConditions.elementToBeClickable(link)).click();
+        WebElement modal = wait.until(ExpectedConditions.visibilityOfElementLocated(modalLocator));
+        modal.findElement(By.cssSelector(".close")).click();
+        wait.until(ExpectedConditions.invisibilityOf(modal));
+    }
+}
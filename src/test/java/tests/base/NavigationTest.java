@@ -2,28 +2,17 @@ package tests.base;
 
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.ExtentReportManager;
+import utils.TimeAccount;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
 
-public class NavigationTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
+public class NavigationTest extends BaseTest {
 
-    @BeforeAll
-    public static void setupReport() {
-        // Initialize ExtentReports
-        ExtentReportManager.init();
-    }
-
-    @BeforeEach
-    public void setUp(TestInfo testInfo) {
-        // Create test in ExtentReports
-        String testName = testInfo.getDisplayName();
+    @Override
+    protected String reportName(TestInfo testInfo) {
+        String testName = testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName());
         if (testName.equals("testLogoNavigation")) {
             testName = "TC_NAV_001: Verify logo navigation redirects to home page";
         } else if (testName.equals("testHomeNavigation")) {
@@ -47,43 +36,21 @@ public class NavigationTest {
         } else if (testName.equals("testInvalidURLHandling")) {
             testName = "TC_NAV_011: Verify system handling of invalid URLs";
         }
+        return testName;
+    }
 
-        ExtentReportManager.createTest(testName, "Testing navigation functionality of DemoBlaze website");
-
-        // Add options to avoid CDP warning and improve test stability
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--disable-notifications");
-
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-
-        // Set driver for screenshots
-        ExtentReportManager.setDriver(driver);
-
-        // Create a wait object for better element handling
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
-        // Log navigation to the website
-        ExtentReportManager.logStep("Navigating to DemoBlaze website");
-        driver.get("https://www.demoblaze.com/");
-        ExtentReportManager.captureScreenshot("Home Page");
-
-        // Wait for page to fully load
-        try {
-            Thread.sleep(2000);
-            ExtentReportManager.logInfo("Waited 2 seconds for page to load");
-        } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Page load wait was interrupted: " + e.getMessage());
-        }
+    @Override
+    protected String reportDescription() {
+        return "Testing navigation functionality of DemoBlaze website";
     }
+
     // TC_NAV_001: Verify logo navigation redirects to home page
     @Test
     public void testLogoNavigation() throws InterruptedException {
         // Test from cart page
         ExtentReportManager.logStep("Navigating to cart page");
         driver.navigate().to("https://www.demoblaze.com/cart.html");
-        Thread.sleep(2000);
+        TimeAccount.sleep(2000);
         ExtentReportManager.captureScreenshot("Cart Page");
 
         // Get current URL to verify later
@@ -101,7 +68,7 @@ public class NavigationTest {
             ExtentReportManager.logWarning("JavaScript click failed, trying regular click: " + e.getMessage());
             logo.click();
         }
-        Thread.sleep(3000); // Increased wait time
+        TimeAccount.sleep(3000); // Increased wait time
         ExtentReportManager.captureScreenshot("After Logo Click");
 
         // Verify we're not on cart page anymore
@@ -136,7 +103,7 @@ public class NavigationTest {
         // Test from product page
         ExtentReportManager.logStep("Navigating to product page");
         driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
-        Thread.sleep(2000);
+        TimeAccount.sleep(2000);
         ExtentReportManager.captureScreenshot("Product Page");
 
         String productUrl = driver.getCurrentUrl();
@@ -146,7 +113,7 @@ public class NavigationTest {
         logo = wait.until(ExpectedConditions.elementToBeClickable(By.id("nava")));
         // Using JavaScript click for reliability
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", logo);
-        Thread.sleep(3000); // Increased wait time
+        TimeAccount.sleep(3000); // Increased wait time
         ExtentReportManager.captureScreenshot("After Logo Click From Product");
 
         homeUrl = driver.getCurrentUrl();
@@ -160,7 +127,7 @@ public class NavigationTest {
             ExtentReportManager.logStep("Opening Contact modal");
             WebElement contactLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("Contact")));
             contactLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
 
             // Verify modal is open before proceeding
             boolean modalOpen = false;
@@ -187,7 +154,7 @@ public class NavigationTest {
                 try {
                     WebElement closeButton = driver.findElement(By.cssSelector(".modal.fade.show .btn-secondary"));
                     closeButton.click();
-                    Thread.sleep(1000);
+                    TimeAccount.sleep(1000);
                     ExtentReportManager.captureScreenshot("After Closing Contact Modal");
 
                     // Verify modal closed
@@ -202,7 +169,7 @@ public class NavigationTest {
                     try {
                         WebElement xButton = driver.findElement(By.cssSelector(".modal.fade.show .close"));
                         xButton.click();
-                        Thread.sleep(1000);
+                        TimeAccount.sleep(1000);
                         ExtentReportManager.logInfo("Tried closing with X button instead");
                     } catch (Exception e2) {
                         ExtentReportManager.logWarning("Could not close Contact modal with X button either: " + e2.getMessage());
@@ -226,7 +193,7 @@ public class NavigationTest {
     public void testHomeNavigation() throws InterruptedException {
         ExtentReportManager.logStep("Navigating to cart page");
         driver.navigate().to("https://www.demoblaze.com/cart.html");
-        Thread.sleep(2000);
+        TimeAccount.sleep(2000);
         ExtentReportManager.captureScreenshot("Cart Page");
 
         ExtentReportManager.logStep("Clicking Home link");
@@ -252,7 +219,7 @@ public class NavigationTest {
             }
         }
 
-        Thread.sleep(2000);
+        TimeAccount.sleep(2000);
         ExtentReportManager.captureScreenshot("After Home Link Click");
 
         // Verify we're not on cart page anymore
@@ -281,7 +248,7 @@ public class NavigationTest {
         try {
             WebElement contactLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("Contact")));
             contactLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Contact Modal on Home Page");
 
             // Verify the modal is displayed
@@ -307,7 +274,7 @@ public class NavigationTest {
                 // Close the modal
                 ExtentReportManager.logStep("Closing the contact modal");
                 modal.findElement(By.cssSelector("button[data-dismiss='modal']")).click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 ExtentReportManager.captureScreenshot("After Closing Modal");
 
             } catch (Exception e) {
@@ -323,12 +290,12 @@ public class NavigationTest {
             // Test from cart page
             ExtentReportManager.logStep("Testing Contact link from cart page");
             driver.navigate().to("https://www.demoblaze.com/cart.html");
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Cart Page");
 
             contactLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("Contact")));
             contactLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Contact Modal on Cart Page");
 
             WebElement modal = wait.until(ExpectedConditions.visibilityOfElementLocated(
@@ -338,17 +305,17 @@ public class NavigationTest {
 
             // Close modal
             modal.findElement(By.cssSelector("button[data-dismiss='modal']")).click();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             // Test from product page
             ExtentReportManager.logStep("Testing Contact link from product page");
             driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Product Page");
 
             contactLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("Contact")));
             contactLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Contact Modal on Product Page");
 
             modal = wait.until(ExpectedConditions.visibilityOfElementLocated(
@@ -374,7 +341,7 @@ public class NavigationTest {
         try {
             WebElement aboutUsLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("About us")));
             aboutUsLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("About Us Modal on Home Page");
 
             try {
@@ -412,7 +379,7 @@ public class NavigationTest {
                     // Close the modal
                     ExtentReportManager.logStep("Closing the About us modal");
                     closeButton.click();
-                    Thread.sleep(1000);
+                    TimeAccount.sleep(1000);
                     ExtentReportManager.captureScreenshot("After Closing Modal");
 
                     // Verify modal is closed
@@ -430,12 +397,12 @@ public class NavigationTest {
                 // Test from cart page
                 ExtentReportManager.logStep("Testing About us link from cart page");
                 driver.navigate().to("https://www.demoblaze.com/cart.html");
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Cart Page");
 
                 aboutUsLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("About us")));
                 aboutUsLink.click();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("About Us Modal on Cart Page");
 
                 modal = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("videoModal")));
@@ -444,17 +411,17 @@ public class NavigationTest {
 
                 // Close modal
                 modal.findElement(By.xpath(".//button[contains(text(),'Close')]")).click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
 
                 // Test from product page
                 ExtentReportManager.logStep("Testing About us link from product page");
                 driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Product Page");
 
                 aboutUsLink = wait.until(ExpectedConditions.elementToBeClickable(By.linkText("About us")));
                 aboutUsLink.click();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("About Us Modal on Product Page");
 
                 modal = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("videoModal")));
@@ -495,7 +462,7 @@ public class NavigationTest {
             WebElement cartLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("cartur")));
             ExtentReportManager.logInfo("Found Cart link: " + cartLink.getText());
             cartLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Cart Page");
 
             // Verify we navigated to cart page
@@ -543,7 +510,7 @@ public class NavigationTest {
             WebElement loginLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("login2")));
             ExtentReportManager.logInfo("Found Login link: " + loginLink.getText());
             loginLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Login Modal");
 
             // Verify login modal appears
@@ -590,7 +557,7 @@ public class NavigationTest {
                 // Close the modal
                 ExtentReportManager.logStep("Closing the login modal");
                 closeButton.click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 ExtentReportManager.captureScreenshot("After Closing Modal");
 
                 // Verify modal closed
@@ -624,7 +591,7 @@ public class NavigationTest {
             WebElement signUpLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("signin2")));
             ExtentReportManager.logInfo("Found Sign up link: " + signUpLink.getText());
             signUpLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Sign Up Modal on Home Page");
 
             // Verify sign up modal appears
@@ -671,7 +638,7 @@ public class NavigationTest {
                 // Close the modal
                 ExtentReportManager.logStep("Closing the sign up modal");
                 closeButton.click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 ExtentReportManager.captureScreenshot("After Closing Modal");
 
                 // Verify modal is closed
@@ -685,12 +652,12 @@ public class NavigationTest {
                 // Test from cart page
                 ExtentReportManager.logStep("Testing Sign up link from cart page");
                 driver.navigate().to("https://www.demoblaze.com/cart.html");
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Cart Page");
 
                 signUpLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("signin2")));
                 signUpLink.click();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Sign Up Modal on Cart Page");
 
                 signUpModal = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("signInModal")));
@@ -699,17 +666,17 @@ public class NavigationTest {
 
                 // Close modal
                 signUpModal.findElement(By.xpath(".//button[contains(text(),'Close')]")).click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
 
                 // Test from product page
                 ExtentReportManager.logStep("Testing Sign up link from product page");
                 driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Product Page");
 
                 signUpLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("signin2")));
                 signUpLink.click();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("Sign Up Modal on Product Page");
 
                 signUpModal = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("signInModal")));
@@ -754,7 +721,7 @@ public class NavigationTest {
             WebElement rightArrow = wait.until(ExpectedConditions.elementToBeClickable(
                     By.className("carousel-control-next")));
             rightArrow.click();
-            Thread.sleep(2000); // Wait for animation
+            TimeAccount.sleep(2000); // Wait for animation
             ExtentReportManager.captureScreenshot("After Right Arrow Click");
 
             // Get the new active carousel item
@@ -771,7 +738,7 @@ public class NavigationTest {
             // Click right arrow again for third slide
             ExtentReportManager.logStep("Clicking right arrow again for third slide");
             rightArrow.click();
-            Thread.sleep(2000); // Wait for animation
+            TimeAccount.sleep(2000); // Wait for animation
             ExtentReportManager.captureScreenshot("After Second Right Arrow Click");
 
             // Get the third slide
@@ -790,7 +757,7 @@ public class NavigationTest {
             WebElement leftArrow = wait.until(ExpectedConditions.elementToBeClickable(
                     By.className("carousel-control-prev")));
             leftArrow.click();
-            Thread.sleep(2000); // Wait for animation
+            TimeAccount.sleep(2000); // Wait for animation
             ExtentReportManager.captureScreenshot("After Left Arrow Click");
 
             // Should be back to second slide
@@ -806,7 +773,7 @@ public class NavigationTest {
 
             // Wait for automatic transition (if implemented)
             ExtentReportManager.logStep("Waiting for automatic carousel transition");
-            Thread.sleep(5000); // Wait longer for auto transition
+            TimeAccount.sleep(5000); // Wait longer for auto transition
             ExtentReportManager.captureScreenshot("After Waiting for Auto Transition");
 
             // Check if slide changed automatically
@@ -856,7 +823,7 @@ public class NavigationTest {
             // Resize to tablet size
             ExtentReportManager.logStep("Resizing to tablet size (768x1024)");
             driver.manage().window().setSize(new Dimension(768, 1024));
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Tablet View");
 
             // Verify navbar is still visible
@@ -867,7 +834,7 @@ public class NavigationTest {
             // Resize to mobile size
             ExtentReportManager.logStep("Resizing to mobile size (375x812)");
             driver.manage().window().setSize(new Dimension(375, 812));
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Mobile View");
 
             // Verify navbar is still visible
@@ -886,7 +853,7 @@ public class NavigationTest {
                 ExtentReportManager.logStep("Clicking hamburger menu in mobile view");
                 WebElement hamburger = driver.findElement(By.className("navbar-toggler"));
                 hamburger.click();
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
                 ExtentReportManager.captureScreenshot("Mobile Menu Expanded");
 
                 // Check if menu expands
@@ -930,7 +897,7 @@ public class NavigationTest {
             // Test direct navigation to home page
             ExtentReportManager.logStep("Navigating directly to home page URL");
             driver.navigate().to("https://www.demoblaze.com/index.html");
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Home Page Direct Navigation");
 
             // Verify home page loaded correctly
@@ -954,7 +921,7 @@ public class NavigationTest {
             // Test direct navigation to cart page
             ExtentReportManager.logStep("Navigating directly to cart page URL");
             driver.navigate().to("https://www.demoblaze.com/cart.html");
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Cart Page Direct Navigation");
 
             // Verify cart page loaded correctly
@@ -983,7 +950,7 @@ public class NavigationTest {
             // Test direct navigation to product page
             ExtentReportManager.logStep("Navigating directly to product page URL");
             driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=1");
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Product Page Direct Navigation");
 
             // Verify product page loaded correctly
@@ -1015,7 +982,7 @@ public class NavigationTest {
         // Navigate to non-existent page
         ExtentReportManager.logStep("Navigating to a non-existent page");
         driver.navigate().to("https://www.demoblaze.com/nonexistentpage.html");
-        Thread.sleep(3000);
+        TimeAccount.sleep(3000);
         ExtentReportManager.captureScreenshot("Invalid Page Navigation Result");
 
         // Verify that we end up somewhere reasonable
@@ -1060,7 +1027,7 @@ public class NavigationTest {
         // Try another invalid URL - product with invalid ID
         ExtentReportManager.logStep("Navigating to a product with invalid ID");
         driver.navigate().to("https://www.demoblaze.com/prod.html?idp_=999");
-        Thread.sleep(3000);
+        TimeAccount.sleep(3000);
         ExtentReportManager.captureScreenshot("Invalid Product ID Navigation Result");
 
         currentUrl = driver.getCurrentUrl();
@@ -1086,7 +1053,7 @@ public class NavigationTest {
         try {
             WebElement homeLink = driver.findElement(By.xpath("//a[contains(text(), 'Home')]"));
             homeLink.click();
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("After Navigating Away From Invalid Page");
 
             String homeUrl = driver.getCurrentUrl();
@@ -1098,24 +1065,4 @@ public class NavigationTest {
 
         ExtentReportManager.logPass("Invalid URL handling test completed");
     }
-
-    @AfterEach
-    public void tearDown() {
-        ExtentReportManager.logStep("Finishing test and closing browser");
-
-        if (driver != null) {
-            try {
-                driver.quit();
-                ExtentReportManager.logInfo("Browser closed successfully");
-            } catch (Exception e) {
-                ExtentReportManager.logWarning("Error while closing browser: " + e.getMessage());
-            }
-        }
-    }
-
-    @AfterAll
-    public static void tearDownReport() {
-        // Generate the report
-        ExtentReportManager.flush();
-    }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
@@ -8,13 +9,17 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.HomePage;
 import pages.modals.LoginModal;
 import utils.ExtentReportManager;
+import utils.SharedAccountLock;
 import utils.TestData;
+import utils.TimeAccount;
 
 import java.util.List;
 
 /**
  * Tests for the order confirmation functionality
  */
+// Fills the cart of the account it logs in with
+@ResourceLock(providers = SharedAccountLock.class)
 public class OrderConfirmationTest extends BaseTest {
 
     /**
@@ -81,7 +86,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for confirmation to appear
         try {
-            Thread.sleep(TestData.LONG_WAIT);
+            TimeAccount.sleep(TestData.LONG_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -204,7 +209,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for confirmation to close
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -274,15 +279,15 @@ public class OrderConfirmationTest extends BaseTest {
         HomePage homePage = new HomePage(driver);
         LoginModal loginModal = homePage.clickLoginLink();
 
-        loginModal.enterUsername(TestData.TEST_USERNAME);
-        loginModal.enterPassword(TestData.TEST_PASSWORD);
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
         ExtentReportManager.captureScreenshot("Login Form Filled");
 
         loginModal.clickLoginButton();
 
         // Wait for login to complete
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -312,7 +317,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for product page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -324,7 +329,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Handle alert
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -349,7 +354,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for cart page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -377,7 +382,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for modal to appear
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -441,7 +446,7 @@ public class OrderConfirmationTest extends BaseTest {
 
         // Wait for confirmation to appear
         try {
-            Thread.sleep(TestData.LONG_WAIT);
+            TimeAccount.sleep(TestData.LONG_WAIT);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
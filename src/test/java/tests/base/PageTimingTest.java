@@ -0,0 +1,63 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.ExtentReportManager;
+import utils.PageTiming;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks how page timings are read from the browser's Navigation Timing entry. Runs without a browser.
+ */
+public class PageTimingTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing page timing capture";
+    }
+
+    /**
+     * TC_TIMING_001: A navigation entry is read once; capturing the same document again, as after a
+     * same-document #fragment navigation, fails instead of repeating its load time
+     */
+    @Test
+    @DisplayName("TC_TIMING_001: Verify a navigation entry is not captured twice")
+    public void testStaleEntryRejected() {
+        AtomicReference<Double> timeOrigin = new AtomicReference<>(1_000.5);
+        WebDriver driver = FakeDriver.create((command, args) ->
+                command.equals("executeScript") ? navigationEntry(timeOrigin.get()) : null, JavascriptExecutor.class);
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(1));
+
+        Assertions.assertEquals(850, PageTiming.capture(driver, wait).getLoad(), "The first load is captured");
+
+        IllegalStateException stale = Assertions.assertThrows(IllegalStateException.class,
+                () -> PageTiming.capture(driver, wait));
+        ExtentReportManager.logInfo(stale.getMessage());
+        Assertions.assertTrue(stale.getMessage().contains("https://www.demoblaze.com/#"), stale.getMessage());
+
+        timeOrigin.set(5_000.25);
+        Assertions.assertEquals(850, PageTiming.capture(driver, wait).getLoad(), "A new document is captured");
+        ExtentReportManager.logPass("Navigation entry captured once");
+    }
+
+    /**
+     * The shape CAPTURE_SCRIPT returns for a document loaded at the given time origin
+     */
+    private static Map<String, Object> navigationEntry(double timeOrigin) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("url", "https://www.demoblaze.com/#");
+        entry.put("timeOrigin", timeOrigin);
+        entry.put("ttfb", 120L);
+        entry.put("load", 850L);
+        entry.put("size", 2048L);
+        entry.put("resources", List.of());
+        return entry;
+    }
+}
@@ -0,0 +1,45 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+import utils.ExtentReportManager;
+import utils.SuiteBenchmark;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Benchmarks the suite's wall time under JUnit's parallel execution. Only runs with
+ * -Dbenchmark.parallel=true; see SuiteBenchmark for the other benchmark.* settings.
+ */
+// Its runs start their own browsers, so nothing else runs beside it
+@Isolated
+@EnabledIfSystemProperty(named = "benchmark.parallel", matches = "true")
+public class ParallelBenchmarkTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Benchmarking parallel execution of the suite";
+    }
+
+    /**
+     * TC_BENCH_001: The suite runs at 1, 2, 4 and 8 threads, each in a fresh JVM, and finds the same
+     * tests every time
+     */
+    @Test
+    @DisplayName("TC_BENCH_001: Benchmark suite wall time at 1, 2, 4 and 8 threads")
+    public void testSuiteWallTimeByThreads() throws IOException, InterruptedException {
+        List<SuiteBenchmark.Result> results = SuiteBenchmark.fromSystemProperties().run();
+        for (SuiteBenchmark.Result result : results) {
+            ExtentReportManager.logInfo(result.toString());
+        }
+        SuiteBenchmark.logToReport(results);
+
+        for (SuiteBenchmark.Result result : results) {
+            Assertions.assertEquals(results.get(0).getTests(), result.getTests(),
+                    "Every run should find the same tests; see " + result.getLog());
+        }
+        ExtentReportManager.logPass("Suite benchmarked at " + results.size() + " thread counts");
+    }
+}
@@ -0,0 +1,118 @@
+package tests.base;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLocksProvider;
+import org.openqa.selenium.WebDriver;
+import utils.AccountPool;
+import utils.BrowserLease;
+import utils.ExtentReportManager;
+import utils.ParallelismController;
+import utils.SharedAccountLock;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the pieces that make the browser tests safe to run in parallel. Runs without a browser.
+ */
+public class ParallelExecutionTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing parallel execution support";
+    }
+
+    /**
+     * TC_PARX_001: A lease holds a session slot from reservation until it is closed, times the
+     * browser's commands and quits it exactly once
+     */
+    @Test
+    @DisplayName("TC_PARX_001: Verify a browser lease holds its slot until closed")
+    public void testLeaseHoldsSlot() {
+        ParallelismController controller = ParallelismController.get();
+        int activeBefore = controller.getActive();
+        AtomicInteger quits = new AtomicInteger();
+
+        BrowserLease lease = BrowserLease.reserve();
+        Assertions.assertEquals(activeBefore + 1, controller.getActive(), "Reserving takes a slot");
+        WebDriver driver = lease.start(ParallelExecutionTest.class.getSimpleName(), "lease", () -> fakeDriver(quits));
+        driver.getTitle();
+        Assertions.assertEquals(1, lease.getProfiler().getCommandCount(), "The leased driver is profiled");
+        Assertions.assertThrows(IllegalStateException.class, () -> lease.start("", "", () -> fakeDriver(quits)),
+                "A lease starts one browser");
+
+        lease.close();
+        lease.close();
+        Assertions.assertEquals(1, quits.get(), "The browser is quit once");
+        Assertions.assertEquals(activeBefore, controller.getActive(), "Closing frees the slot once");
+
+        // A browser that fails to start still gives its slot back when the lease is closed
+        BrowserLease failed = BrowserLease.reserve();
+        Assertions.assertThrows(IllegalStateException.class, () -> failed.start("", "", () -> {
+            throw new IllegalStateException("no browser here");
+        }));
+        failed.close();
+        Assertions.assertEquals(activeBefore, controller.getActive());
+        ExtentReportManager.logPass("Lease held its slot until closed");
+    }
+
+    /**
+     * TC_PARX_002: Tests on different threads log to their own report entries, and a finished
+     * test's context is cleared from its thread
+     */
+    @Test
+    @DisplayName("TC_PARX_002: Verify each thread has its own report context")
+    public void testReportContextPerThread() throws Exception {
+        ExtentTest mine = ExtentReportManager.getTest();
+        CompletableFuture<ExtentTest[]> other = CompletableFuture.supplyAsync(() -> {
+            ExtentTest before = ExtentReportManager.getTest();
+            ExtentTest created = ExtentReportManager.createTest("Report context of another thread",
+                    "Created by TC_PARX_002 on a worker thread");
+            ExtentReportManager.logInfo("Logged from a worker thread");
+            ExtentReportManager.clearContext();
+            return new ExtentTest[]{before, created, ExtentReportManager.getTest()};
+        });
+        ExtentTest[] seen = other.get(10, TimeUnit.SECONDS);
+
+        Assertions.assertNull(seen[0], "A new thread starts without a test");
+        Assertions.assertNotSame(mine, seen[1]);
+        Assertions.assertNull(seen[2], "Clearing the context forgets the test");
+        Assertions.assertSame(mine, ExtentReportManager.getTest(), "This thread still logs to its own test");
+        ExtentReportManager.removeTest(seen[1]);
+        ExtentReportManager.logPass("Each thread has its own report context");
+    }
+
+    /**
+     * TC_PARX_003: Cart tests lock the shared account exclusively unless the account pool gives
+     * each test an account of its own
+     */
+    @Test
+    @DisplayName("TC_PARX_003: Verify cart tests lock the shared account")
+    public void testSharedAccountLock() {
+        Set<ResourceLocksProvider.Lock> locks = new SharedAccountLock().provideForClass(CheckoutTest.class);
+        if (AccountPool.isEnabled()) {
+            Assertions.assertTrue(locks.isEmpty(), "Pooled accounts need no lock");
+        } else {
+            Assertions.assertEquals(Set.of(new ResourceLocksProvider.Lock(SharedAccountLock.KEY,
+                    ResourceAccessMode.READ_WRITE)), locks);
+        }
+        ExtentReportManager.logInfo("Locks of CheckoutTest: " + locks);
+        ExtentReportManager.logPass("Cart tests lock the shared account");
+    }
+
+    /**
+     * A driver that counts how often it is quit
+     */
+    private static WebDriver fakeDriver(AtomicInteger quits) {
+        return FakeDriver.create((command, args) -> {
+            if (command.equals("quit")) {
+                quits.incrementAndGet();
+            }
+            return command.equals("getTitle") ? "DemoBlaze" : null;
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.ParallelismController;
+
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the parallelism controller against a stand-in host. Runs without a browser.
+ */
+public class ParallelismControllerTest extends BrowserlessTest {
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @Override
+    protected String reportDescription() {
+        return "Testing adaptive parallelism";
+    }
+
+    /**
+     * TC_PAR_001: Sessions are added one at a time while the host has headroom, each level being
+     * judged only after every slot has finished a test at it
+     */
+    @Test
+    @DisplayName("TC_PAR_001: Verify sessions scale up with headroom")
+    public void testScalesUpWithHeadroom() {
+        ParallelismController controller = new ParallelismController(3, 1, true, new StandInHost(0.2, 8 * GB));
+
+        runTests(controller, 1, 10);
+        Assertions.assertEquals(2, controller.getLimit(), "One test at one session shows headroom");
+        runTests(controller, 1, 10);
+        Assertions.assertEquals(2, controller.getLimit(), "A level is judged after every slot finished a test");
+        runTests(controller, 1, 10);
+        Assertions.assertEquals(3, controller.getLimit());
+        runTests(controller, 3, 10);
+        Assertions.assertEquals(3, controller.getLimit(), "Never above the number of workers");
+
+        controller.logToReport();
+        Assertions.assertEquals(2, controller.getDecisions().size());
+        ExtentReportManager.logPass("Sessions scaled up");
+    }
+
+    /**
+     * TC_PAR_002: Sessions are cut when the CPU is saturated, memory runs low or WebDriver commands
+     * slow down
+     */
+    @Test
+    @DisplayName("TC_PAR_002: Verify sessions scale down under pressure")
+    public void testScalesDownUnderPressure() {
+        StandInHost host = new StandInHost(0.95, 8 * GB);
+        ParallelismController controller = new ParallelismController(8, 8, true, host);
+        runTests(controller, 8, 10);
+        Assertions.assertEquals(6, controller.getLimit(), "Saturated CPU cuts the sessions by a quarter");
+
+        host.cpuLoad = 0.5;
+        host.memAvailable = GB / 2;
+        runTests(controller, 6, 10);
+        Assertions.assertEquals(4, controller.getLimit(), "Low memory cuts the sessions");
+        Assertions.assertTrue(controller.getDecisions().get(1)[4].startsWith("available memory"));
+
+        host.memAvailable = 8 * GB;
+        runTests(controller, 4, 40);
+        Assertions.assertEquals(3, controller.getLimit(), "Commands four times slower than the fastest cut the sessions");
+        Assertions.assertTrue(controller.getDecisions().get(2)[4].startsWith("command latency"),
+                controller.getDecisions().get(2)[4]);
+
+        controller.logToReport();
+        ExtentReportManager.logPass("Sessions scaled down");
+    }
+
+    /**
+     * TC_PAR_003: A test waits for a slot while all allowed sessions are running
+     */
+    @Test
+    @DisplayName("TC_PAR_003: Verify tests wait for a free session slot")
+    public void testWaitsForFreeSlot() throws Exception {
+        ParallelismController controller = new ParallelismController(2, 1, false, new StandInHost(0.2, 8 * GB));
+        Assertions.assertEquals(2, controller.getLimit(), "Without adaptation every worker gets a slot");
+        controller.acquire();
+        controller.acquire();
+
+        CompletableFuture<Long> third = CompletableFuture.supplyAsync(controller::acquire);
+        Thread.sleep(200);
+        Assertions.assertFalse(third.isDone(), "A third session waits");
+        controller.release(10, 10);
+        long waited = third.get(5, TimeUnit.SECONDS);
+        ExtentReportManager.logInfo("Waited " + waited + " ms for a slot");
+        Assertions.assertTrue(waited >= 150);
+        Assertions.assertEquals(2, controller.getActive());
+        ExtentReportManager.logPass("Tests waited for a free slot");
+    }
+
+    /**
+     * Run tests one after another in the given number of concurrent slots, each with the given
+     * mean command latency
+     */
+    private static void runTests(ParallelismController controller, int concurrent, double latencyMillis) {
+        for (int i = 0; i < concurrent; i++) {
+            controller.acquire();
+        }
+        for (int i = 0; i < concurrent; i++) {
+            controller.release(latencyMillis, 20);
+        }
+    }
+
+    /**
+     * A host whose CPU load and memory the test sets
+     */
+    private static final class StandInHost implements ParallelismController.HostProbe {
+        private double cpuLoad;
+        private long memAvailable;
+
+        private StandInHost(double cpuLoad, long memAvailable) {
+            this.cpuLoad = cpuLoad;
+            this.memAvailable = memAvailable;
+        }
+
+        @Override
+        public double cpuLoad() {
+            return cpuLoad;
+        }
+
+        @Override
+        public OptionalLong memAvailableBytes() {
+            return OptionalLong.of(memAvailable);
+        }
+
+        @Override
+        public OptionalLong browserRssBytes() {
+            return OptionalLong.of(0);
+        }
+    }
+}
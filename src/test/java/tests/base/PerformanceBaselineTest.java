@@ -0,0 +1,144 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import utils.ExtentReportManager;
+import utils.PerformanceBaseline;
+import utils.PerformanceRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks the performance baseline store and its regression detection with synthetic samples.
+ * Runs without a browser.
+ */
+public class PerformanceBaselineTest extends BrowserlessTest {
+
+    private static final int SAMPLES = 30;
+
+    @TempDir
+    Path tempDir;
+
+    private PerformanceBaseline baseline;
+    private final Random random = new Random(42);
+
+    @Override
+    protected String reportDescription() {
+        return "Testing performance baseline regression detection";
+    }
+
+    @BeforeEach
+    public void setUp() {
+        baseline = new PerformanceBaseline(tempDir.resolve("perf-baseline.bin"), 5, 0.05, 0.10);
+    }
+
+    /**
+     * TC_BAS_001: The first run of an operation has no baseline and is never a regression
+     */
+    @Test
+    @DisplayName("TC_BAS_001: Verify first run is reported without baseline")
+    public void testFirstRunHasNoBaseline() {
+        List<PerformanceBaseline.Comparison> comparisons =
+                baseline.compareAndRecord("run1", measure("Home page", 500));
+
+        Assertions.assertFalse(comparisons.get(0).hasBaseline(), "First run should have no baseline");
+        Assertions.assertFalse(comparisons.get(0).isRegression(), "First run cannot be a regression");
+        ExtentReportManager.logPass("First run recorded without baseline");
+    }
+
+    /**
+     * TC_BAS_002: A clearly slower run is flagged, an unchanged one is not
+     */
+    @Test
+    @DisplayName("TC_BAS_002: Verify slower runs are flagged as regressions")
+    public void testRegressionDetected() {
+        for (int run = 1; run <= 3; run++) {
+            baseline.append("run" + run, measure("Home page", 500));
+        }
+
+        PerformanceBaseline.Comparison unchanged = baseline.compare("run4", measure("Home page", 500)).get(0);
+        ExtentReportManager.logInfo("Unchanged: change " + unchanged.getChange() + ", p=" + unchanged.getPValue());
+        Assertions.assertEquals(3, unchanged.getBaselineRuns(), "Baseline should pool the three earlier runs");
+        Assertions.assertFalse(unchanged.isRegression(), "Same distribution should not be a regression");
+
+        PerformanceBaseline.Comparison slower = baseline.compare("run4", measure("Home page", 750)).get(0);
+        ExtentReportManager.logInfo("Slower: change " + slower.getChange() + ", p=" + slower.getPValue());
+        Assertions.assertTrue(slower.isRegression(), "50% slower run should be a regression");
+        ExtentReportManager.logPass("Regression detected only for the slower run");
+    }
+
+    /**
+     * TC_BAS_003: Records of the current run and a truncated trailing record are ignored
+     */
+    @Test
+    @DisplayName("TC_BAS_003: Verify own run and truncated records are ignored")
+    public void testOwnRunAndTruncatedRecordIgnored() throws IOException {
+        baseline.append("run1", measure("Cart page", 400));
+        baseline.append("run2", measure("Cart page", 400));
+
+        // Simulate a run that crashed halfway through writing a record
+        Files.write(tempDir.resolve("perf-baseline.bin"), new byte[]{0x50, 0x45, 0x52},
+                StandardOpenOption.APPEND);
+
+        PerformanceBaseline.Comparison comparison = baseline.compare("run2", measure("Cart page", 400)).get(0);
+        Assertions.assertEquals(1, comparison.getBaselineRuns(), "Only run1 should serve as baseline for run2");
+        ExtentReportManager.logPass("Own run and truncated record ignored");
+    }
+
+    /**
+     * TC_BAS_004: Runs recorded under a scope (throttling profile) are not a baseline for unscoped runs
+     */
+    @Test
+    @DisplayName("TC_BAS_004: Verify scoped runs keep a separate baseline")
+    public void testScopedRunsKeptApart() {
+        baseline.scoped("mid-tier-mobile").append("run1", measure("Home page", 2000));
+
+        PerformanceBaseline.Comparison unscoped = baseline.compare("run2", measure("Home page", 500)).get(0);
+        Assertions.assertFalse(unscoped.hasBaseline(), "Unscoped run should not use the scoped samples");
+
+        PerformanceBaseline.Comparison scoped =
+                baseline.scoped("mid-tier-mobile").compare("run2", measure("Home page", 2000)).get(0);
+        Assertions.assertEquals("Home page [mid-tier-mobile]", scoped.getOperation());
+        Assertions.assertEquals(1, scoped.getBaselineRuns(), "Scoped run should use the scoped samples");
+        ExtentReportManager.logPass("Scoped and unscoped baselines kept apart");
+    }
+
+    /**
+     * TC_BAS_005: A record cut short in the middle of the file is skipped, and the records appended
+     * after it are still read
+     */
+    @Test
+    @DisplayName("TC_BAS_005: Verify records after a truncated one are still read")
+    public void testRecordsAfterTruncatedRecordRead() throws IOException {
+        Path file = tempDir.resolve("perf-baseline.bin");
+        baseline.append("run1", measure("Cart page", 400));
+
+        // Half of a real record, as left by a run that crashed while appending
+        Path scratch = tempDir.resolve("scratch.bin");
+        new PerformanceBaseline(scratch, 5, 0.05, 0.10).append("crashed", measure("Cart page", 400));
+        byte[] record = Files.readAllBytes(scratch);
+        Files.write(file, Arrays.copyOf(record, record.length / 2), StandardOpenOption.APPEND);
+
+        baseline.append("run2", measure("Cart page", 400));
+        baseline.append("run3", measure("Cart page", 400));
+
+        PerformanceBaseline.Comparison comparison = baseline.compare("run4", measure("Cart page", 400)).get(0);
+        Assertions.assertEquals(3, comparison.getBaselineRuns(), "run1, run2 and run3 should serve as baseline");
+        ExtentReportManager.logPass("Records after a truncated record read");
+    }
+
+    /**
+     * Helper method to produce one operation's samples around a median, with 10% noise
+     */
+    private List<PerformanceRunner.Result> measure(String operation, double median) {
+        PerformanceRunner runner = new PerformanceRunner(0, SAMPLES, 90);
+        runner.measure(operation, () -> median * (1 + 0.1 * random.nextGaussian()));
+        return runner.getResults();
+    }
+}
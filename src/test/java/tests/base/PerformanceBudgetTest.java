@@ -0,0 +1,117 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.PerformanceBudget;
+import utils.PerformanceRunner;
+
+import java.util.List;
+
+/**
+ * Checks the parsing of performance budget files and the budget each measurement is checked
+ * against. Runs without a browser.
+ */
+public class PerformanceBudgetTest extends BrowserlessTest {
+
+    private static final List<String> BUDGETS = List.of(
+            "# Defaults",
+            "Home page                     p90 < 3000ms",
+            "Home page                     transfer < 2MB",
+            "*                             p90 < 1s",
+            "*                             lcp < 2500ms",
+            "",
+            "[standin]",
+            "Home page                     p90 < 1000ms",
+            "*                             lcp <= 1000ms",
+            "",
+            "[mid-tier-mobile]",
+            "Home page                     p90 < 10000ms");
+
+    @Override
+    protected String reportDescription() {
+        return "Testing performance budget files";
+    }
+
+    /**
+     * TC_BUD_001: Only the defaults and the sections of the selected environment and profile apply
+     */
+    @Test
+    @DisplayName("TC_BUD_001: Verify environment and profile sections override the defaults")
+    public void testSectionsOverrideDefaults() {
+        PerformanceBudget live = PerformanceBudget.parse(BUDGETS, "live", "budgets.txt");
+        live.check(measure("Home page", 2000));
+        live.verify();
+
+        PerformanceBudget standin = PerformanceBudget.parse(BUDGETS, "standin", "budgets.txt");
+        standin.check(measure("Home page", 2000));
+        AssertionError exceeded = Assertions.assertThrows(AssertionError.class, standin::verify);
+        Assertions.assertTrue(exceeded.getMessage().contains("Home page p90"), exceeded.getMessage());
+
+        PerformanceBudget throttled = PerformanceBudget.parse(BUDGETS, "standin", "mid-tier-mobile", "budgets.txt");
+        throttled.check(measure("Home page", 2000));
+        throttled.verify();
+        ExtentReportManager.logInfo("Checked against " + throttled.describe());
+        ExtentReportManager.logPass("Sections override the defaults");
+    }
+
+    /**
+     * TC_BUD_002: An operation without a budget of its own is checked against the * budget, for
+     * timing results as well as single values
+     */
+    @Test
+    @DisplayName("TC_BUD_002: Verify operations fall back to the * budget")
+    public void testWildcardFallback() {
+        PerformanceBudget budget = PerformanceBudget.parse(BUDGETS, "live", "budgets.txt");
+        budget.check(measure("Cart page", 1500));
+        budget.check("Cart page", "lcp", 3000.0);
+        budget.check("Home page", "lcp", 2000.0);
+        AssertionError exceeded = Assertions.assertThrows(AssertionError.class, budget::verify);
+        Assertions.assertTrue(exceeded.getMessage().startsWith("2 performance budget(s) exceeded"), exceeded.getMessage());
+        Assertions.assertTrue(exceeded.getMessage().contains("Cart page p90"), exceeded.getMessage());
+        Assertions.assertTrue(exceeded.getMessage().contains("Cart page lcp"), exceeded.getMessage());
+
+        // A specific budget wins over *
+        budget.check(measure("Home page", 2000));
+        budget.verify();
+        ExtentReportManager.logPass("Operations fall back to the * budget");
+    }
+
+    /**
+     * TC_BUD_003: A limit in a unit that does not fit its metric is rejected with the file and line,
+     * even in a section that does not apply
+     */
+    @Test
+    @DisplayName("TC_BUD_003: Verify a unit that does not fit its metric is rejected")
+    public void testUnitMismatchRejected() {
+        assertRejected(List.of("Home page transfer < 800ms"), "budgets.txt:1: transfer cannot be given in ms");
+        assertRejected(List.of("# Timings", "Home page p90 < 2MB"), "budgets.txt:2: p90 cannot be given in MB");
+        assertRejected(List.of("[standin]", "* cls < 0.1s"), "budgets.txt:2: cls cannot be given in s, it has no unit");
+        assertRejected(List.of("Home page p90 3000ms"), "budgets.txt:1: not a budget");
+
+        // Units are case-insensitive, and a plain number is taken in the metric's base unit
+        PerformanceBudget budget = PerformanceBudget.parse(List.of("* heap < 50kb", "* nodes < 1", "* fcp < 1800"),
+                "live", "budgets.txt");
+        budget.check("Home page", "heap", 40.0 * 1024);
+        budget.check("Home page", "nodes", 0.0);
+        budget.check("Home page", "fcp", 1700.0);
+        budget.verify();
+
+        // Every line of the shipped budget file is checked, whatever section it is in
+        ExtentReportManager.logInfo("Parsed " + PerformanceBudget.load().describe());
+        ExtentReportManager.logPass("Units that do not fit their metric rejected");
+    }
+
+    private static void assertRejected(List<String> lines, String expectedMessage) {
+        IllegalArgumentException rejected = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PerformanceBudget.parse(lines, "live", "budgets.txt"));
+        ExtentReportManager.logInfo(rejected.getMessage());
+        Assertions.assertTrue(rejected.getMessage().startsWith(expectedMessage), rejected.getMessage());
+    }
+
+    /**
+     * Helper method to produce samples that all take the given time
+     */
+    private static PerformanceRunner.Result measure(String operation, double millis) {
+        return new PerformanceRunner(0, 10, 90).measure(operation, () -> millis);
+    }
+}
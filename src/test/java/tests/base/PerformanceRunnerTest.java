@@ -0,0 +1,71 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.PerformanceRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks the percentile confidence intervals of the performance runner against samples with known
+ * order statistics. Runs without a browser.
+ */
+public class PerformanceRunnerTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing performance runner statistics";
+    }
+
+    /**
+     * TC_RUN_001: With 100 samples the interval is bounded by the order statistics of the binomial
+     * ranks: 40th and 61st for the median, 84th and 97th for p90
+     */
+    @Test
+    @DisplayName("TC_RUN_001: Verify percentile confidence intervals of a large sample")
+    public void testConfidenceIntervalRanks() {
+        PerformanceRunner.Result result = measure(100, 50);
+
+        assertInterval(40, 61, result.confidenceInterval(50), "median of 100");
+        assertInterval(84, 97, result.confidenceInterval(90), "p90 of 100");
+        Assertions.assertEquals(50, result.percentile(50), 0.1, "The percentile lies inside its interval");
+        ExtentReportManager.logPass("Confidence intervals bounded by the binomial ranks");
+    }
+
+    /**
+     * TC_RUN_002: With few samples the ranks fall outside the sample, so the interval widens to the
+     * sample minimum and maximum instead of failing
+     */
+    @Test
+    @DisplayName("TC_RUN_002: Verify confidence intervals of small samples")
+    public void testConfidenceIntervalSmallSamples() {
+        assertInterval(1, 1, measure(1, 90).confidenceInterval(90), "one sample");
+        assertInterval(1, 5, measure(5, 50).confidenceInterval(50), "median of 5");
+        assertInterval(9, 10, measure(10, 99).confidenceInterval(99), "p99 of 10");
+        assertInterval(10, 10, measure(10, 100).confidenceInterval(100), "max of 10");
+        ExtentReportManager.logPass("Small-sample intervals widen to the sample range");
+    }
+
+    /**
+     * Measure samples 1 ms, 2 ms, ... n ms, in a shuffled order
+     */
+    private static PerformanceRunner.Result measure(int n, double assertPercentile) {
+        List<Double> samples = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            samples.add((double) i);
+        }
+        Collections.shuffle(samples, new Random(n));
+        Iterator<Double> next = samples.iterator();
+        return new PerformanceRunner(0, n, assertPercentile).measure(n + " samples", next::next);
+    }
+
+    private static void assertInterval(double lower, double upper, double[] interval, String description) {
+        ExtentReportManager.logInfo(description + ": [" + interval[0] + ", " + interval[1] + "]");
+        Assertions.assertEquals(lower, interval[0], 0.0, "Lower bound of the " + description);
+        Assertions.assertEquals(upper, interval[1], 0.0, "Upper bound of the " + description);
+    }
+}
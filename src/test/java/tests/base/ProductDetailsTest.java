@@ -1,6 +1,7 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebElement;
@@ -8,11 +9,15 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.HomePage;
 import pages.modals.LoginModal;
 import utils.ExtentReportManager;
+import utils.SharedAccountLock;
 import utils.TestData;
+import utils.TimeAccount;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// Fills the cart of the account it logs in with
+@ResourceLock(providers = SharedAccountLock.class)
 public class ProductDetailsTest extends BaseTest {
 
     /**
@@ -46,15 +51,15 @@ public class ProductDetailsTest extends BaseTest {
         HomePage homePage = new HomePage(driver);
         LoginModal loginModal = homePage.clickLoginLink();
 
-        loginModal.enterUsername(TestData.TEST_USERNAME);
-        loginModal.enterPassword(TestData.TEST_PASSWORD);
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
         ExtentReportManager.captureScreenshot("Login Form Filled");
 
         loginModal.clickLoginButton();
 
         // Wait for login to complete
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -84,7 +89,7 @@ public class ProductDetailsTest extends BaseTest {
         cartLink.click();
 
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -153,7 +158,7 @@ public class ProductDetailsTest extends BaseTest {
         // Navigate to home page
         driver.navigate().to("https://www.demoblaze.com/");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -177,7 +182,7 @@ public class ProductDetailsTest extends BaseTest {
         // Handle alert with improved wait and error handling
         try {
             // Add a more reliable wait for the alert
-            Thread.sleep(2000); // Wait longer for alert to appear
+            TimeAccount.sleep(2000); // Wait longer for alert to appear
 
             try {
                 String alertText = driver.switchTo().alert().getText();
@@ -214,15 +219,15 @@ public class ProductDetailsTest extends BaseTest {
         HomePage homePage = new HomePage(driver);
         LoginModal loginModal = homePage.clickLoginLink();
 
-        loginModal.enterUsername(TestData.TEST_USERNAME);
-        loginModal.enterPassword(TestData.TEST_PASSWORD);
+        loginModal.enterUsername(account().getUsername());
+        loginModal.enterPassword(account().getPassword());
         ExtentReportManager.captureScreenshot("Login Form Filled");
 
         loginModal.clickLoginButton();
 
         // Wait for login to complete
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -245,7 +250,7 @@ public class ProductDetailsTest extends BaseTest {
         // Improved alert handling with better wait
         try {
             // Add a more reliable wait for the alert
-            Thread.sleep(2000); // Wait longer for alert to appear
+            TimeAccount.sleep(2000); // Wait longer for alert to appear
 
             // Check if alert is present before trying to interact with it
             try {
@@ -272,7 +277,7 @@ public class ProductDetailsTest extends BaseTest {
             }
 
             // Wait briefly after dismissing alert
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
 
             ExtentReportManager.captureScreenshot("After Alert Handled");
 
@@ -296,7 +301,7 @@ public class ProductDetailsTest extends BaseTest {
         // Navigate to home page
         driver.navigate().to("https://www.demoblaze.com/");
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -313,7 +318,7 @@ public class ProductDetailsTest extends BaseTest {
 
         // Handle and verify alert
         try {
-            Thread.sleep(2000); // Wait longer for alert to appear
+            TimeAccount.sleep(2000); // Wait longer for alert to appear
 
             try {
                 String alertText = driver.switchTo().alert().getText();
@@ -385,7 +390,7 @@ public class ProductDetailsTest extends BaseTest {
 
             // Wait for products to load
             try {
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
             } catch (InterruptedException e) {
                 ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
             }
@@ -412,7 +417,7 @@ public class ProductDetailsTest extends BaseTest {
 
         // Wait for product details page to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
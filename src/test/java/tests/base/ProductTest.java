@@ -7,6 +7,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.ExtentReportManager;
 import utils.TestData;
+import utils.TimeAccount;
 
 import java.util.List;
 
@@ -40,7 +41,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -63,7 +64,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -84,7 +85,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -107,7 +108,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -128,7 +129,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -151,7 +152,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for all products to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -284,7 +285,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for new page to load
         try {
-            Thread.sleep(3000); // Longer wait for page to load
+            TimeAccount.sleep(3000); // Longer wait for page to load
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
@@ -297,7 +298,7 @@ public class ProductTest extends BaseTest {
         // If no products found, try waiting a bit longer and check again
         if (secondPageProducts.isEmpty()) {
             try {
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 secondPageProducts = driver.findElements(By.cssSelector(".card-title"));
             } catch (InterruptedException e) {
                 ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
@@ -337,7 +338,7 @@ public class ProductTest extends BaseTest {
 
             // Wait for page to load
             try {
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
             } catch (InterruptedException e) {
                 ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
             }
@@ -504,7 +505,7 @@ public class ProductTest extends BaseTest {
 
             // Wait for products to load
             try {
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
             } catch (InterruptedException e) {
                 ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
             }
@@ -536,7 +537,7 @@ public class ProductTest extends BaseTest {
 
         // Wait for product details page to load
         try {
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
         } catch (InterruptedException e) {
             ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
         }
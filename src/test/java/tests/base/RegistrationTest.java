@@ -1,14 +1,20 @@
 package tests.base;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.HomePage;
 import pages.modals.SignUpModal;
 import tests.base.BaseTest;
 import utils.ExtentReportManager;
+import utils.TestData;
+import utils.TimeAccount;
+import utils.ValidationMatrix;
 
-import java.util.UUID;
+import java.util.stream.Stream;
 
 public class RegistrationTest extends BaseTest {
 
@@ -16,7 +22,7 @@ public class RegistrationTest extends BaseTest {
      * Helper method to generate a random username
      */
     private String generateRandomUsername() {
-        return "testuser_" + UUID.randomUUID().toString().substring(0, 8);
+        return TestData.getUniqueUsername();
     }
 
     /**
@@ -99,106 +105,31 @@ public class RegistrationTest extends BaseTest {
     /**
      * TC_REG_003: Verify password requirements acceptance
      */
-    @Test
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
     @DisplayName("TC_REG_003: Verify password requirements acceptance")
-    public void testPasswordRequirementsAcceptance() {
-        ExtentReportManager.logStep("Testing password requirements acceptance");
-
-        HomePage homePage = new HomePage(driver);
-
+    public Stream<DynamicTest> testPasswordRequirementsAcceptance() {
         // Username to use for all tests
         String username = "Rama1123";
 
-        // Test scenario A: Simple password
-        ExtentReportManager.logStep("Scenario A: Testing simple password 'password'");
-        SignUpModal signUpModal = homePage.clickSignUpLink();
-        signUpModal.enterUsername(username);
-        signUpModal.enterPassword("password");
-        ExtentReportManager.captureScreenshot("Scenario A: Simple password");
-        signUpModal.clickSignUp();
-
-        String alertText = signUpModal.getAlertText();
-
-        if (alertText != null && alertText.contains("successful")) {
-            ExtentReportManager.logPass("System accepted simple password");
-        } else if (alertText != null && alertText.contains("already exist")) {
-            ExtentReportManager.logInfo("Username already exists, but the test is for password validation");
-        } else if (alertText != null) {
-            ExtentReportManager.logInfo("Alert message: " + alertText);
-        }
-
-        signUpModal.acceptAlert();
-
-        // Refresh page and reopen modal for next test
-        driver.navigate().refresh();
-
-        // Test scenario B: Numeric password
-        ExtentReportManager.logStep("Scenario B: Testing numeric password '12345'");
-        signUpModal = homePage.clickSignUpLink();
-        signUpModal.enterUsername(username);
-        signUpModal.enterPassword("12345");
-        ExtentReportManager.captureScreenshot("Scenario B: Numeric password");
-        signUpModal.clickSignUp();
-
-        alertText = signUpModal.getAlertText();
-
-        if (alertText != null && alertText.contains("successful")) {
-            ExtentReportManager.logPass("System accepted numeric password");
-        } else if (alertText != null && alertText.contains("already exist")) {
-            ExtentReportManager.logInfo("Username already exists, but the test is for password validation");
-        } else if (alertText != null) {
-            ExtentReportManager.logInfo("Alert message: " + alertText);
-        }
-
-        signUpModal.acceptAlert();
-
-        // Refresh page and reopen modal for next test
-        driver.navigate().refresh();
-
-        // Test scenario C: Password with special characters
-        ExtentReportManager.logStep("Scenario C: Testing password with special characters 'p@ssw0rd'");
-        signUpModal = homePage.clickSignUpLink();
-        signUpModal.enterUsername(username);
-        signUpModal.enterPassword("p@ssw0rd");
-        ExtentReportManager.captureScreenshot("Scenario C: Password with special characters");
-        signUpModal.clickSignUp();
-
-        alertText = signUpModal.getAlertText();
-
-        if (alertText != null && alertText.contains("successful")) {
-            ExtentReportManager.logPass("System accepted password with special characters");
-        } else if (alertText != null && alertText.contains("already exist")) {
-            ExtentReportManager.logInfo("Username already exists, but the test is for password validation");
-        } else if (alertText != null) {
-            ExtentReportManager.logInfo("Alert message: " + alertText);
-        }
-
-        signUpModal.acceptAlert();
-
-        // Refresh page and reopen modal for next test
-        driver.navigate().refresh();
-
-        // Test scenario D: Complex password
-        ExtentReportManager.logStep("Scenario D: Testing complex password 'P@$$w0rd!123'");
-        signUpModal = homePage.clickSignUpLink();
-        signUpModal.enterUsername(username);
-        signUpModal.enterPassword("P@$$w0rd!123");
-        ExtentReportManager.captureScreenshot("Scenario D: Complex password");
-        signUpModal.clickSignUp();
-
-        alertText = signUpModal.getAlertText();
-
-        if (alertText != null && alertText.contains("successful")) {
-            ExtentReportManager.logPass("System accepted complex password");
-        } else if (alertText != null && alertText.contains("already exist")) {
-            ExtentReportManager.logInfo("Username already exists, but the test is for password validation");
-        } else if (alertText != null) {
-            ExtentReportManager.logInfo("Alert message: " + alertText);
-        }
-
-        signUpModal.acceptAlert();
-
-        ExtentReportManager.logPass("Password requirements acceptance test completed");
+        return signUpMatrix("Password requirements")
+                .row("Scenario A: Simple password 'password'", new SignUpAttempt(username, "password", null))
+                .row("Scenario B: Numeric password '12345'", new SignUpAttempt(username, "12345", null))
+                .row("Scenario C: Password with special characters 'p@ssw0rd'",
+                        new SignUpAttempt(username, "p@ssw0rd", null))
+                .row("Scenario D: Complex password 'P@$$w0rd!123'",
+                        new SignUpAttempt(username, "P@$$w0rd!123", null))
+                .run(attempt -> {
+                    String alertText = submitSignUp(attempt);
+
+                    if (alertText != null && alertText.contains("successful")) {
+                        ExtentReportManager.logPass("System accepted password '" + attempt.password() + "'");
+                    } else if (alertText != null && alertText.contains("already exist")) {
+                        ExtentReportManager.logInfo("Username already exists, but the test is for password validation");
+                    } else if (alertText != null) {
+                        ExtentReportManager.logInfo("Alert message: " + alertText);
+                    }
+                });
     }
 
     /**
@@ -283,80 +214,62 @@ public class RegistrationTest extends BaseTest {
     /**
      * TC_REG_006: Verify empty field validation during registration
      */
-    @Test
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
     @DisplayName("TC_REG_006: Verify empty field validation during registration")
-    public void testEmptyFieldValidation() {
-        ExtentReportManager.logStep("Testing empty field validation");
+    public Stream<DynamicTest> testEmptyFieldValidation() {
+        return signUpMatrix("Empty field validation")
+                .row("Empty username", new SignUpAttempt("", "password123", "fill out"))
+                .row("Empty password", new SignUpAttempt("testuser123", "", "fill out"))
+                .row("Both fields empty", new SignUpAttempt("", "", "fill out"))
+                .run(attempt -> {
+                    String alertText = submitSignUp(attempt);
+
+                    Assertions.assertTrue(alertText != null && alertText.contains(attempt.expectedAlert()),
+                            "Alert should require filling out fields");
+                });
+    }
 
-        HomePage homePage = new HomePage(driver);
+    /**
+     * Values for one sign up row; expectedAlert is null when any outcome is acceptable
+     */
+    private record SignUpAttempt(String username, String password, String expectedAlert) {
+    }
 
-        // Test empty username
-        ExtentReportManager.logStep("Testing empty username");
-        SignUpModal signUpModal = homePage.clickSignUpLink();
-        ExtentReportManager.captureScreenshot("Sign Up Modal");
+    /**
+     * Helper method to build a matrix whose rows all run against one open sign up modal
+     */
+    private ValidationMatrix<SignUpAttempt> signUpMatrix(String name) {
+        HomePage homePage = new HomePage(driver);
+        return ValidationMatrix.<SignUpAttempt>of(name)
+                .setUp(() -> {
+                    homePage.clickSignUpLink();
+                    ExtentReportManager.captureScreenshot("Sign Up Modal");
+                })
+                .reset(() -> {
+                    // Validation errors leave the modal open; a successful sign up closes it
+                    if (!driver.findElement(By.id("signInModal")).isDisplayed()) {
+                        homePage.clickSignUpLink();
+                    }
+                });
+    }
 
-        signUpModal.enterUsername("");
-        signUpModal.enterPassword("password123");
-        ExtentReportManager.captureScreenshot("Form with empty username");
+    /**
+     * Helper method to fill and submit the sign up form
+     * @return the alert text, or null if no alert appeared
+     */
+    private String submitSignUp(SignUpAttempt attempt) {
+        SignUpModal signUpModal = new SignUpModal(driver);
+        signUpModal.enterUsername(attempt.username());
+        signUpModal.enterPassword(attempt.password());
+        ExtentReportManager.captureScreenshot("Form filled");
 
         signUpModal.clickSignUp();
 
         String alertText = signUpModal.getAlertText();
         ExtentReportManager.logInfo("Alert text: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Empty username validation works correctly");
-
-        signUpModal.acceptAlert();
-
-        // Close and reopen modal
-        signUpModal.clickClose();
-        driver.navigate().refresh();
-
-        // Test empty password
-        ExtentReportManager.logStep("Testing empty password");
-        signUpModal = homePage.clickSignUpLink();
-
-        signUpModal.enterUsername("testuser123");
-        signUpModal.enterPassword("");
-        ExtentReportManager.captureScreenshot("Form with empty password");
-
-        signUpModal.clickSignUp();
-
-        alertText = signUpModal.getAlertText();
-        ExtentReportManager.logInfo("Alert text: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Empty password validation works correctly");
-
-        signUpModal.acceptAlert();
-
-        // Close and reopen modal
-        signUpModal.clickClose();
-        driver.navigate().refresh();
-
-        // Test both fields empty
-        ExtentReportManager.logStep("Testing both fields empty");
-        signUpModal = homePage.clickSignUpLink();
-
-        signUpModal.enterUsername("");
-        signUpModal.enterPassword("");
-        ExtentReportManager.captureScreenshot("Form with both fields empty");
-
-        signUpModal.clickSignUp();
-
-        alertText = signUpModal.getAlertText();
-        ExtentReportManager.logInfo("Alert text: " + alertText);
-
-        Assertions.assertTrue(alertText != null && alertText.contains("fill out"),
-                "Alert should require filling out fields");
-        ExtentReportManager.logPass("Both fields empty validation works correctly");
-
         signUpModal.acceptAlert();
-
-        ExtentReportManager.logPass("Empty field validation test completed successfully");
+        return alertText;
     }
 
     /**
@@ -378,7 +291,7 @@ public class RegistrationTest extends BaseTest {
         ExtentReportManager.captureScreenshot("After clicking Close button");
 
         try {
-            Thread.sleep(1000); // Wait for the modal to close
+            TimeAccount.sleep(1000); // Wait for the modal to close
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
@@ -396,7 +309,7 @@ public class RegistrationTest extends BaseTest {
         ExtentReportManager.captureScreenshot("After clicking X icon");
 
         try {
-            Thread.sleep(1000); // Wait for the modal to close
+            TimeAccount.sleep(1000); // Wait for the modal to close
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
@@ -532,7 +445,7 @@ public class RegistrationTest extends BaseTest {
         boolean alertDetected = false;
         try {
             // Wait a moment to see if alert appears
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             // If an alert is present, it means XSS worked (vulnerability)
             wait.until(ExpectedConditions.alertIsPresent());
             alertDetected = true;
@@ -575,7 +488,7 @@ public class RegistrationTest extends BaseTest {
         alertDetected = false;
         try {
             // Wait a moment to see if alert appears
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             // If an alert is present, it means XSS worked (vulnerability)
             wait.until(ExpectedConditions.alertIsPresent());
             alertDetected = true;
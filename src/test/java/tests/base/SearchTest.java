@@ -2,29 +2,21 @@ package tests.base;
 
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.ExtentReportManager;
+import utils.TimeAccount;
+import utils.TimedWait;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.List;
 
-public class SearchTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
+public class SearchTest extends BaseTest {
 
-    @BeforeAll
-    public static void setupReport() {
-        // Initialize ExtentReports
-        ExtentReportManager.init();
-    }
-
-    @BeforeEach
-    public void setUp(TestInfo testInfo) {
-        // Create test in ExtentReports
-        String testName = testInfo.getDisplayName();
+    @Override
+    protected String reportName(TestInfo testInfo) {
+        String testName = testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName());
         if (testName.equals("testExactBookTitleSearch")) {
             testName = "TC_PAT_SEARCH_001: Verify search with exact book title";
         } else if (testName.equals("testPartialBookTitleSearch")) {
@@ -46,47 +38,51 @@ public class SearchTest {
         } else if (testName.equals("testNumericSearch")) {
             testName = "TC_PAT_SEARCH_010: Verify search with numeric values only";
         }
+        return testName;
+    }
 
-        ExtentReportManager.createTest(testName, "Testing search functionality of Practice Automation Testing website");
+    @Override
+    protected String reportDescription() {
+        return "Testing search functionality of Practice Automation Testing website";
+    }
 
-        // Add options to avoid CDP warning and improve test stability
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--disable-notifications");
+    @Override
+    protected String startUrl() {
+        return "https://practice.automationtesting.in/";
+    }
+
+    @Override
+    protected ChromeOptions browserOptions() {
+        ChromeOptions options = super.browserOptions();
         options.addArguments("--disable-popup-blocking");
 
         // Add additional options to handle common issues
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
+        return options;
+    }
 
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-
+    @Override
+    protected void beforeFirstNavigation() {
         // Set implicit wait to handle slow page loads
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+    }
 
-        // Set driver for screenshots
-        ExtentReportManager.setDriver(driver);
-
-        // Create a wait object for better element handling
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
-        // Log navigation to the website
-        ExtentReportManager.logStep("Navigating to Practice Automation Testing website");
-        driver.get("https://practice.automationtesting.in/");
-        ExtentReportManager.captureScreenshot("Home Page");
+    @BeforeEach
+    public void openShopPage() {
+        // The site loads slowly, so wait longer for its elements
+        wait = new TimedWait(driver, Duration.ofSeconds(15));
 
-        // Wait for page to fully load
         try {
-            Thread.sleep(3000);
+            TimeAccount.sleep(1000);
             ExtentReportManager.logInfo("Waited 3 seconds for page to load");
 
             // Navigate to shop page first, as the home page may not have search functionality
             ExtentReportManager.logStep("Navigating to Shop page to access search functionality");
             WebElement shopMenu = driver.findElement(By.linkText("Shop"));
             shopMenu.click();
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("Shop Page");
 
             // Handle any pop-ups that might appear
@@ -97,7 +93,7 @@ public class SearchTest {
                         if (closeButton.isDisplayed()) {
                             closeButton.click();
                             ExtentReportManager.logInfo("Closed a popup");
-                            Thread.sleep(1000);
+                            TimeAccount.sleep(1000);
                         }
                     }
                 }
@@ -130,7 +126,7 @@ public class SearchTest {
                 WebElement searchIcon = wait.until(ExpectedConditions.elementToBeClickable(
                         By.cssSelector(".search-icon, .noo-search, .fa-search, [data-icon='search']")));
                 searchIcon.click();
-                Thread.sleep(2000);
+                TimeAccount.sleep(2000);
                 ExtentReportManager.captureScreenshot("After Clicking Search Icon");
 
                 // Now try to find the search box again
@@ -153,7 +149,7 @@ public class SearchTest {
         ExtentReportManager.logStep("Entering search query: '" + searchQuery + "'");
         searchBox.clear();
         searchBox.sendKeys(searchQuery);
-        Thread.sleep(1000);
+        TimeAccount.sleep(1000);
         ExtentReportManager.captureScreenshot("Search Term Entered");
 
         // Submit the search - try different methods
@@ -179,7 +175,7 @@ public class SearchTest {
         }
 
         Assertions.assertTrue(searchSubmitted, "Search should be submitted successfully");
-        Thread.sleep(3000);
+        TimeAccount.sleep(3000);
         ExtentReportManager.captureScreenshot("Search Results");
     }
 
@@ -358,7 +354,7 @@ public class SearchTest {
                     WebElement searchIcon = wait.until(ExpectedConditions.elementToBeClickable(
                             By.cssSelector(".search-icon, .noo-search, .fa-search, [data-icon='search']")));
                     searchIcon.click();
-                    Thread.sleep(2000);
+                    TimeAccount.sleep(2000);
                     ExtentReportManager.captureScreenshot("After Clicking Search Icon");
 
                     // Now try to find the search box again
@@ -380,7 +376,7 @@ public class SearchTest {
             // Clear the search box (but don't enter anything)
             ExtentReportManager.logStep("Leaving search box empty");
             searchBox.clear();
-            Thread.sleep(1000);
+            TimeAccount.sleep(1000);
             ExtentReportManager.captureScreenshot("Empty Search Box");
 
             String initialUrl = driver.getCurrentUrl();
@@ -408,7 +404,7 @@ public class SearchTest {
                 }
             }
 
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("After Empty Search Submission");
 
             // There are multiple possible behaviors for empty search:
@@ -471,7 +467,7 @@ public class SearchTest {
 
             // Special characters should generally not return results,
             // but we're flexible in how the site handles this
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Special Characters Search Results");
 
             // Check if search completed without errors - we're not testing for specific results,
@@ -545,7 +541,7 @@ public class SearchTest {
                     WebElement searchIcon = wait.until(ExpectedConditions.elementToBeClickable(
                             By.cssSelector(".search-icon, .noo-search, .fa-search, [data-icon='search']")));
                     searchIcon.click();
-                    Thread.sleep(2000);
+                    TimeAccount.sleep(2000);
                     ExtentReportManager.captureScreenshot("After Clicking Search Icon");
 
                     // Now try to find the search box again
@@ -570,13 +566,13 @@ public class SearchTest {
 
             try {
                 searchBox.sendKeys(searchQuery);
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
             } catch (Exception e) {
                 // If full search term fails, try a shorter one
                 ExtentReportManager.logWarning("Could not enter full long term, trying shorter version: " + e.getMessage());
                 searchBox.clear();
                 searchBox.sendKeys(searchQuery.substring(0, 100));
-                Thread.sleep(1000);
+                TimeAccount.sleep(1000);
             }
 
             ExtentReportManager.captureScreenshot("Long Search Term Entered");
@@ -607,7 +603,7 @@ public class SearchTest {
                 }
             }
 
-            Thread.sleep(3000);
+            TimeAccount.sleep(3000);
             ExtentReportManager.captureScreenshot("After Long Search Submission");
 
             // Check if search completed without errors
@@ -644,7 +640,7 @@ public class SearchTest {
 
             // Numeric searches could have valid results or no results - we're testing
             // that the system handles this appropriately
-            Thread.sleep(2000);
+            TimeAccount.sleep(2000);
             ExtentReportManager.captureScreenshot("Numeric Search Results");
 
             // Check if search completed without errors
@@ -684,24 +680,4 @@ public class SearchTest {
             Assertions.fail("Failed to test numeric search: " + e.getMessage());
         }
     }
-
-    @AfterEach
-    public void tearDown() {
-        ExtentReportManager.logStep("Finishing test and closing browser");
-
-        if (driver != null) {
-            try {
-                driver.quit();
-                ExtentReportManager.logInfo("Browser closed successfully");
-            } catch (Exception e) {
-                ExtentReportManager.logWarning("Error while closing browser: " + e.getMessage());
-            }
-        }
-    }
-
-    @AfterAll
-    public static void tearDownReport() {
-        // Generate the report
-        ExtentReportManager.flush();
-    }
-}
\ No newline at end of file
+}
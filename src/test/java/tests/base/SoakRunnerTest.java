@@ -0,0 +1,45 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.SoakRunner;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks how the soak runner treats sessions that fail. Runs without a browser.
+ */
+public class SoakRunnerTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing the soak runner";
+    }
+
+    /**
+     * TC_SOAK_001: A session that cannot be opened is retried with a growing pause, and the soak is
+     * aborted after soak.maxOpenFailures failures in a row
+     */
+    @Test
+    @DisplayName("TC_SOAK_001: Verify the soak aborts when no session can be opened")
+    public void testSoakAbortsWhenSessionsCannotOpen() {
+        AtomicInteger attempts = new AtomicInteger();
+        SoakRunner runner = new SoakRunner(1, Duration.ofMinutes(5), 0, Duration.ofSeconds(60), 3);
+
+        long start = System.nanoTime();
+        IllegalStateException aborted = Assertions.assertThrows(IllegalStateException.class,
+                () -> runner.run("Broken journey", () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException("no browser here");
+                }));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        ExtentReportManager.logInfo(aborted.getMessage() + " after " + elapsedMillis + " ms");
+        Assertions.assertEquals(3, attempts.get(), "The soak stops at the third failure in a row");
+        Assertions.assertTrue(aborted.getMessage().contains("could not open a session 3 times in a row"),
+                aborted.getMessage());
+        Assertions.assertTrue(elapsedMillis >= 3000, "The runner waits 1 s, then 2 s between attempts");
+        ExtentReportManager.logPass("Soak aborted after repeated session failures");
+    }
+}
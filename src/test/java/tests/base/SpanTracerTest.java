@@ -0,0 +1,137 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.opentest4j.TestAbortedException;
+import pages.CartPage;
+import utils.CommandProfiler;
+import utils.ExtentReportManager;
+import utils.SpanTracer;
+import utils.TimedWait;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the span tracer on a stand-in driver. Runs without a browser.
+ */
+public class SpanTracerTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing span tracing";
+    }
+
+    /**
+     * TC_SPAN_001: Steps, page-object methods, waits and commands nest under the test, and the trace
+     * is written as OTLP JSON
+     */
+    @Test
+    @DisplayName("TC_SPAN_001: Verify test spans nest and are exported")
+    public void testSpansNestAndExport() throws IOException {
+        WebDriver driver = new CommandProfiler().decorate(fakeDriver());
+        SpanTracer.start(SpanTracerTest.class.getSimpleName(), "traced test");
+        ExtentReportManager.logStep("Count the cart items twice");
+        CartPage cartPage = new CartPage(driver);
+        cartPage.getCartItemCount();
+        cartPage.getCartItemCount();
+        ExtentReportManager.logStep("Wait for the title");
+        new TimedWait(driver, Duration.ofSeconds(1)).until(ExpectedConditions.titleIs("DemoBlaze"));
+        SpanTracer tracer = SpanTracer.finish();
+
+        Assertions.assertNull(SpanTracer.current(), "Finishing ends the thread's trace");
+        List<SpanTracer.Span> spans = tracer.getSpans();
+        ExtentReportManager.logInfo(tracer.toString());
+        SpanTracer.Span root = spans.get(0);
+        Assertions.assertNull(root.getParent());
+        Assertions.assertEquals("traced test", root.getName());
+
+        SpanTracer.Span page = only(spans, "CartPage.getCartItemCount");
+        Assertions.assertEquals("STEP: Count the cart items twice", page.getParent().getName());
+        Assertions.assertSame(root, page.getParent().getParent());
+        Assertions.assertEquals(2, spans.stream().filter(span -> span.getParent() == page).count(),
+                "Back-to-back calls of a page-object method share its span");
+        SpanTracer.Span findElements = spans.stream().filter(span -> span.getParent() == page).findFirst().orElseThrow();
+        Assertions.assertTrue(findElements.isCommand());
+        Assertions.assertEquals("WebDriver.findElements", findElements.getName());
+        Assertions.assertEquals("CartPage.getCartItemCount", findElements.getAttributes().get("code.function"));
+
+        SpanTracer.Span wait = spans.stream().filter(span -> span.getName().startsWith("wait: title to be"))
+                .findFirst().orElseThrow(() -> new AssertionError("No wait span"));
+        Assertions.assertEquals("STEP: Wait for the title", wait.getParent().getName());
+        Assertions.assertEquals(true, wait.getAttributes().get("wait.satisfied"));
+        Assertions.assertNull(wait.getError());
+        Assertions.assertEquals("WebDriver.getTitle", only(spans, "WebDriver.getTitle").getName());
+        Assertions.assertSame(wait, only(spans, "WebDriver.getTitle").getParent(), "The wait's polls nest under it");
+
+        Path file = tracer.write();
+        try {
+            String otlp = Files.readString(file);
+            Assertions.assertTrue(otlp.contains("\"resourceSpans\""), "OTLP export request");
+            Assertions.assertTrue(otlp.contains(tracer.getTraceId()), "Spans carry the trace id");
+        } finally {
+            Files.delete(file);
+        }
+        ExtentReportManager.logPass("Spans nested and exported");
+    }
+
+    /**
+     * TC_SPAN_002: A test that fails exports its test span with an error status carrying the failure
+     * message, while an aborted test is not marked as failed
+     */
+    @Test
+    @DisplayName("TC_SPAN_002: Verify a failed test exports an error status")
+    public void testFailedTestExportsError() throws IOException {
+        TestOutcomeWatcher watcher = new TestOutcomeWatcher();
+        SpanTracer.start(SpanTracerTest.class.getSimpleName(), "aborted test");
+        Assertions.assertThrows(TestAbortedException.class,
+                () -> watcher.handleTestExecutionException(null, new TestAbortedException("Not on this host")));
+        Assertions.assertNull(SpanTracer.finish().getSpans().get(0).getError(), "An aborted test did not fail");
+
+        SpanTracer.start(SpanTracerTest.class.getSimpleName(), "failed test");
+        AssertionError failure = new AssertionError("Cart should hold 2 items ==> expected: <2> but was: <1>");
+        Assertions.assertSame(failure, Assertions.assertThrows(AssertionError.class,
+                () -> watcher.handleTestExecutionException(null, failure)), "The failure is rethrown to JUnit");
+        SpanTracer tracer = SpanTracer.finish();
+        Assertions.assertEquals(failure.getMessage(), tracer.getSpans().get(0).getError());
+
+        Path file = tracer.write();
+        try {
+            String otlp = Files.readString(file);
+            ExtentReportManager.logInfo(tracer.toString());
+            Assertions.assertTrue(Pattern.compile("\"code\"\\s*:\\s*2\\b").matcher(otlp).find(),
+                    "The test span has the OTLP error status");
+            Assertions.assertTrue(otlp.contains("Cart should hold 2 items"), "The status carries the failure message");
+        } finally {
+            Files.delete(file);
+        }
+        ExtentReportManager.logPass("Failed test exported with an error status");
+    }
+
+    private static SpanTracer.Span only(List<SpanTracer.Span> spans, String name) {
+        List<SpanTracer.Span> matching = spans.stream().filter(span -> span.getName().equals(name)).toList();
+        Assertions.assertEquals(1, matching.size(), "Expected one " + name + " span");
+        return matching.get(0);
+    }
+
+    /**
+     * A driver on an empty cart page titled DemoBlaze
+     */
+    private static WebDriver fakeDriver() {
+        return FakeDriver.create((command, args) -> {
+            switch (command) {
+                case "findElements":
+                    return List.of();
+                case "getTitle":
+                    return "DemoBlaze";
+                default:
+                    return null;
+            }
+        });
+    }
+}
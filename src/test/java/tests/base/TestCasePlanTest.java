@@ -0,0 +1,263 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.TestCasePlan;
+import utils.TestCaseRow;
+import utils.TestCaseSheetReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Checks the streaming reader of the test case workbook and the plan cached from it, against a small
+ * workbook written by the test. Runs without a browser.
+ */
+public class TestCasePlanTest extends BrowserlessTest {
+    private static final String[] HEADER = {"Test Case ID", "Test Case Description", "Precondition", "Steps",
+            "Test Data", "Expected Result", "Priority"};
+    private static final Path PLAN_DIR = Paths.get(System.getProperty("user.dir"), "target", "testcase-plans");
+
+    private Path workbook;
+
+    @Override
+    protected String reportDescription() {
+        return "Testing the test case sheet reader and plan";
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        workbook = Files.createTempFile("testcases", ".xlsx");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbook);
+    }
+
+    /**
+     * TC_PLAN_001: Rows are read sheet by sheet in workbook order; header, blank and ID-less rows
+     * are skipped and missing cells read as empty
+     */
+    @Test
+    @DisplayName("TC_PLAN_001: Verify the workbook is streamed row by row")
+    public void testSheetStreamed() throws IOException {
+        Map<String, String[][]> sheets = new LinkedHashMap<>();
+        sheets.put("Login", new String[][]{
+                HEADER,
+                {"TC_LOG_001", "Open the login modal", "", "Click Log in", "", "Modal opens", "1"},
+                {},
+                {"", "A note without a test case ID"},
+                {"TC_LOG_002", "Log in", "Registered user", "Enter credentials", "Rama27", "Welcome shown", "High"}});
+        sheets.put("Cart", new String[][]{
+                HEADER,
+                {"TC_CRT_001", "Open the cart", "", "Click Cart", "", "Cart page shows", "2"}});
+        writeWorkbook(workbook, sheets);
+
+        try (TestCaseSheetReader reader = new TestCaseSheetReader(workbook);
+             Stream<TestCaseRow> rows = reader.rows()) {
+            Assertions.assertEquals(List.of("Login", "Cart"), reader.getSheetNames());
+            Iterator<TestCaseRow> iterator = rows.iterator();
+
+            TestCaseRow first = iterator.next();
+            Assertions.assertEquals("TC_LOG_001", first.getId());
+            Assertions.assertEquals(2, first.getRowNumber(), "The header row is skipped");
+            Assertions.assertEquals("", first.getPreCondition(), "A missing cell reads as empty");
+            Assertions.assertEquals("1", first.getPriority(), "Numeric cells keep their value");
+
+            TestCaseRow second = iterator.next();
+            Assertions.assertEquals("TC_LOG_002", second.getId(), "Blank and ID-less rows are skipped");
+            Assertions.assertEquals(5, second.getRowNumber());
+            Assertions.assertEquals("Rama27", second.getTestData());
+
+            TestCaseRow third = iterator.next();
+            Assertions.assertEquals("Cart", third.getSheet());
+            Assertions.assertEquals("Cart page shows", third.getExpectedResult());
+            Assertions.assertFalse(iterator.hasNext());
+        }
+        ExtentReportManager.logPass("Workbook streamed row by row");
+    }
+
+    /**
+     * TC_PLAN_002: The plan is written only after a complete read, and editing the workbook
+     * compiles a new plan
+     */
+    @Test
+    @DisplayName("TC_PLAN_002: Verify the plan is cached by workbook hash")
+    public void testPlanCachedByHash() throws IOException {
+        writeWorkbook(workbook, loginSheet("Open the login modal"));
+        Path planFile = TestCasePlan.planFile(workbook);
+
+        try (Stream<TestCaseRow> rows = TestCasePlan.load(workbook)) {
+            Assertions.assertEquals(1, rows.limit(1).count());
+        }
+        Assertions.assertFalse(Files.exists(planFile), "A partly read workbook leaves no plan");
+
+        List<String> compiled = names(TestCasePlan.load(workbook));
+        Assertions.assertEquals(3, compiled.size());
+        Assertions.assertTrue(Files.isRegularFile(planFile), "A complete read writes the plan");
+        Assertions.assertEquals(compiled, names(TestCasePlan.load(workbook)), "The cached plan has the same rows");
+
+        writeWorkbook(workbook, loginSheet("Open the login dialog"));
+        List<String> edited = names(TestCasePlan.load(workbook));
+        Assertions.assertTrue(edited.get(0).contains("Open the login dialog"), "An edited workbook is read again");
+        Assertions.assertTrue(Files.isRegularFile(TestCasePlan.planFile(workbook)));
+        ExtentReportManager.logInfo("Plan: " + planFile.getFileName());
+        ExtentReportManager.logPass("Plan cached by workbook hash");
+    }
+
+    /**
+     * TC_PLAN_003: A plan file read only in part is not kept as the plan of its workbook
+     */
+    @Test
+    @DisplayName("TC_PLAN_003: Verify a partly read plan is not cached")
+    public void testPartialPlanNotCached() throws IOException {
+        writeWorkbook(workbook, loginSheet("Open the login modal"));
+        // A plan compiled by an earlier run
+        Files.createDirectories(PLAN_DIR);
+        List<String> plan = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            plan.add(String.join("\t", "Login", String.valueOf(i + 1), "TC_LOG_00" + i, "Planned case " + i,
+                    "", "", "", "", ""));
+        }
+        Files.write(TestCasePlan.planFile(workbook), plan, StandardCharsets.UTF_8);
+
+        try (Stream<TestCaseRow> rows = TestCasePlan.load(workbook)) {
+            Assertions.assertEquals("TC_LOG_001", rows.findFirst().orElseThrow().getId());
+        }
+        List<String> names = names(TestCasePlan.load(workbook));
+        Assertions.assertEquals(3, names.size(), "The next load reads the whole plan: " + names);
+        Assertions.assertTrue(names.get(2).startsWith("TC_LOG_003: Planned case 3"));
+        ExtentReportManager.logPass("Partly read plan not cached");
+    }
+
+    /**
+     * TC_PLAN_004: A plan written in an older layout, under the workbook's bare hash, is not read
+     */
+    @Test
+    @DisplayName("TC_PLAN_004: Verify plans of an older format are ignored")
+    public void testOlderPlanFormatIgnored() throws IOException {
+        writeWorkbook(workbook, loginSheet("Open the login modal"));
+        Files.createDirectories(PLAN_DIR);
+        Path oldPlan = PLAN_DIR.resolve(sha256(workbook) + ".tsv");
+        Files.write(oldPlan, List.of("TC_OLD_001\tA row of the first plan layout"), StandardCharsets.UTF_8);
+        try {
+            List<String> names = names(TestCasePlan.load(workbook));
+            Assertions.assertEquals(3, names.size(), "The workbook is read instead: " + names);
+            Assertions.assertTrue(names.get(0).startsWith("TC_LOG_001: Open the login modal"));
+            Assertions.assertNotEquals(oldPlan, TestCasePlan.planFile(workbook), "The plan key carries the format");
+        } finally {
+            Files.deleteIfExists(oldPlan);
+        }
+        ExtentReportManager.logPass("Older plan format ignored");
+    }
+
+    /**
+     * A sheet of three test cases, the first with the given description; a random test case
+     * gives every workbook a hash of its own
+     */
+    private static Map<String, String[][]> loginSheet(String firstDescription) {
+        return Map.of("Login", new String[][]{
+                HEADER,
+                {"TC_LOG_001", firstDescription, "", "Click Log in", "", "Modal opens", "1"},
+                {"TC_LOG_002", "Log in", "", "Enter credentials", "Rama27", "Welcome shown", "1"},
+                {"TC_RND_001", UUID.randomUUID().toString(), "", "", "", "", "3"}});
+    }
+
+    private static List<String> names(Stream<TestCaseRow> rows) {
+        try (rows) {
+            return rows.map(TestCaseRow::getDisplayName).toList();
+        }
+    }
+
+    /**
+     * Write a minimal .xlsx: text cells go to the shared string table, numbers stay inline and
+     * empty cells are left out
+     */
+    private static void writeWorkbook(Path file, Map<String, String[][]> sheets) throws IOException {
+        List<String> sharedStrings = new ArrayList<>();
+        StringBuilder workbookXml = new StringBuilder("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        StringBuilder relsXml = new StringBuilder("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        Map<String, String> sheetXml = new LinkedHashMap<>();
+
+        int sheetNumber = 0;
+        for (Map.Entry<String, String[][]> sheet : sheets.entrySet()) {
+            sheetNumber++;
+            workbookXml.append("<sheet name=\"").append(sheet.getKey()).append("\" sheetId=\"").append(sheetNumber)
+                    .append("\" r:id=\"rId").append(sheetNumber).append("\"/>");
+            relsXml.append("<Relationship Id=\"rId").append(sheetNumber)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\"")
+                    .append(" Target=\"worksheets/sheet").append(sheetNumber).append(".xml\"/>");
+
+            StringBuilder rowsXml = new StringBuilder();
+            String[][] rows = sheet.getValue();
+            for (int r = 0; r < rows.length; r++) {
+                rowsXml.append("<row r=\"").append(r + 1).append("\">");
+                for (int c = 0; c < rows[r].length; c++) {
+                    String value = rows[r][c];
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    String reference = (char) ('A' + c) + String.valueOf(r + 1);
+                    if (value.matches("\\d+")) {
+                        rowsXml.append("<c r=\"").append(reference).append("\"><v>").append(value).append("</v></c>");
+                    } else {
+                        rowsXml.append("<c r=\"").append(reference).append("\" t=\"s\"><v>").append(sharedStrings.size())
+                                .append("</v></c>");
+                        sharedStrings.add(value);
+                    }
+                }
+                rowsXml.append("</row>");
+            }
+            sheetXml.put("xl/worksheets/sheet" + sheetNumber + ".xml",
+                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                            + rowsXml + "</sheetData></worksheet>");
+        }
+
+        StringBuilder stringsXml = new StringBuilder("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        for (String value : sharedStrings) {
+            stringsXml.append("<si><t>").append(value).append("</t></si>");
+        }
+        stringsXml.append("</sst>");
+
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            writeEntry(zip, "xl/workbook.xml", workbookXml.append("</sheets></workbook>").toString());
+            writeEntry(zip, "xl/_rels/workbook.xml.rels", relsXml.append("</Relationships>").toString());
+            writeEntry(zip, "xl/sharedStrings.xml", stringsXml.toString());
+            for (Map.Entry<String, String> entry : sheetXml.entrySet()) {
+                writeEntry(zip, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package tests.base;
+
+import com.aventstack.extentreports.Status;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.ExtentReportManager;
+import utils.TestEvents;
+import utils.TimedWait;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Checks the Flight Recorder events of the test harness by recording them. Runs without a browser.
+ */
+public class TestEventsTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing Flight Recorder events";
+    }
+
+    /**
+     * TC_JFR_001: Test, step, wait and driver events are recorded with their fields
+     */
+    @Test
+    @DisplayName("TC_JFR_001: Verify harness events are recorded")
+    public void testEventsRecorded() throws IOException {
+        Path file = Files.createTempFile("test-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("demoblaze.Test");
+            recording.enable("demoblaze.Step");
+            recording.enable("demoblaze.Wait");
+            recording.enable("demoblaze.DriverLease");
+            recording.start();
+
+            TestEvents.testStarted(TestEventsTest.class.getSimpleName(), "recorded test");
+            TestEvents.DriverLease lease = new TestEvents.DriverLease("fake");
+            lease.begin();
+            lease.commit();
+            ExtentReportManager.logStep("Wait for a title that never comes");
+            WebDriver driver = untitledDriver();
+            Assertions.assertThrows(TimeoutException.class, () -> new TimedWait(driver, Duration.ofMillis(300),
+                    Duration.ofMillis(100)).until(ExpectedConditions.titleIs("DemoBlaze")));
+            ExtentReportManager.logStep("Second step");
+            TestEvents.testFinished(Status.FAIL);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        ExtentReportManager.logInfo(events.size() + " events recorded");
+
+        RecordedEvent test = only(events, "demoblaze.Test");
+        Assertions.assertEquals("recorded test", test.getString("testName"));
+        Assertions.assertEquals("FAIL", test.getString("status"), "Status is the outcome JUnit gave the test");
+        Assertions.assertEquals(2, events.stream().filter(e -> e.getEventType().getName().equals("demoblaze.Step")).count(),
+                "Each logStep starts a step");
+        RecordedEvent wait = only(events, "demoblaze.Wait");
+        Assertions.assertTrue(wait.getString("condition").startsWith("title to be \"DemoBlaze\""),
+                "The condition describes itself: " + wait.getString("condition"));
+        Assertions.assertEquals("TestEventsTest.testEventsRecorded", wait.getString("callSite"));
+        Assertions.assertFalse(wait.getBoolean("satisfied"), "The wait timed out");
+        Assertions.assertTrue(wait.getDuration().toMillis() >= 300, "The wait lasted until its timeout");
+        Assertions.assertEquals("fake", only(events, "demoblaze.DriverLease").getString("browser"));
+        ExtentReportManager.logPass("Harness events recorded");
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String type) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(type)).toList();
+        Assertions.assertEquals(1, matching.size(), "Expected one " + type + " event");
+        return matching.get(0);
+    }
+
+    /**
+     * A driver whose page never gets a title
+     */
+    private static WebDriver untitledDriver() {
+        return FakeDriver.create((command, args) -> command.equals("getTitle") ? "" : null);
+    }
+}
@@ -0,0 +1,87 @@
+package tests.base;
+
+import com.aventstack.extentreports.Status;
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.PerformanceRunner;
+import utils.TestMetrics;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Checks the Prometheus metrics of the suite. Runs without a browser.
+ */
+public class TestMetricsTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing suite metrics";
+    }
+
+    /**
+     * TC_MET_001: Test outcomes, durations, browser startups, screenshots and operation latencies
+     * are exposed in the Prometheus text format
+     */
+    @Test
+    @DisplayName("TC_MET_001: Verify lifecycle metrics are exposed")
+    public void testLifecycleMetrics() {
+        TestMetrics.testStarted("MetricsProbe");
+        Assertions.assertTrue(TestMetrics.render().contains("demoblaze_tests_started_total{class=\"MetricsProbe\"} 1"));
+        TestMetrics.driverStarted("probe-browser", 1_500_000_000L);
+        TestMetrics.screenshotCaptured(120_000);
+        new PerformanceRunner(0, 3, 90).measure("Metrics probe operation", () -> 200);
+        TestMetrics.testFinished(Status.FAIL);
+
+        String metrics = TestMetrics.render();
+        ExtentReportManager.logInfo("<pre>" + metrics.replace("<", "&lt;") + "</pre>");
+        Assertions.assertTrue(metrics.contains("demoblaze_tests_total{class=\"MetricsProbe\",status=\"fail\"} 1"),
+                "Finished tests are counted with their JUnit outcome");
+        Assertions.assertTrue(metrics.contains("demoblaze_test_duration_seconds_count{class=\"MetricsProbe\"} 1"));
+        Assertions.assertTrue(metrics.contains("demoblaze_driver_startup_seconds_bucket{browser=\"probe-browser\",le=\"1\"} 0"));
+        Assertions.assertTrue(metrics.contains("demoblaze_driver_startup_seconds_bucket{browser=\"probe-browser\",le=\"2\"} 1"),
+                "Histogram buckets are cumulative");
+        Assertions.assertTrue(metrics.contains("demoblaze_driver_startup_seconds_sum{browser=\"probe-browser\"} 1.5"));
+        Assertions.assertTrue(metrics.contains("# TYPE demoblaze_screenshot_bytes histogram"));
+        Assertions.assertTrue(metrics.contains(
+                "demoblaze_operation_latency_seconds_bucket{operation=\"Metrics probe operation\",le=\"0.25\"} 3"));
+        Assertions.assertTrue(metrics.contains(
+                "demoblaze_operation_latency_seconds_bucket{operation=\"Metrics probe operation\",le=\"0.1\"} 0"));
+        ExtentReportManager.logPass("Lifecycle metrics exposed");
+    }
+
+    /**
+     * TC_MET_002: The metrics are written to a file and served over HTTP
+     */
+    @Test
+    @DisplayName("TC_MET_002: Verify metrics are written and served")
+    public void testMetricsWrittenAndServed() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("metrics", ".prom");
+        System.setProperty("metrics.file", file.toString());
+        try {
+            Assertions.assertEquals(file, TestMetrics.write());
+            Assertions.assertTrue(Files.readString(file).contains("# TYPE demoblaze_tests_total counter"));
+        } finally {
+            System.clearProperty("metrics.file");
+            Files.deleteIfExists(file);
+        }
+
+        String endpoint = TestMetrics.serve(0);
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(endpoint)).build(), HttpResponse.BodyHandlers.ofString());
+            ExtentReportManager.logInfo("Scraped " + endpoint);
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+            Assertions.assertTrue(response.body().contains("demoblaze_tests_running"));
+        } finally {
+            TestMetrics.stopServing();
+        }
+        ExtentReportManager.logPass("Metrics written and served");
+    }
+}
@@ -0,0 +1,49 @@
+package tests.base;
+
+import com.aventstack.extentreports.Status;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.opentest4j.TestAbortedException;
+import utils.SpanTracer;
+import utils.TestEvents;
+import utils.TestMetrics;
+
+/**
+ * Ends the test's flight recorder span and its metrics with the outcome JUnit gave the test. A plain
+ * assertion that fails does not mark the report entry as failed, so the report's status cannot be
+ * used for this. JUnit calls the watcher after every @AfterEach method, on the thread that ran the test.
+ *
+ * BaseTest.tearDown exports the span trace before that, so the failure of the test method is marked
+ * on the trace as soon as JUnit hands it to this class as the test's exception handler.
+ */
+public class TestOutcomeWatcher implements TestWatcher, TestExecutionExceptionHandler {
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        if (!(throwable instanceof TestAbortedException)) {
+            SpanTracer.testFailed(throwable);
+        }
+        throw throwable;
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        finished(Status.PASS);
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        finished(Status.SKIP);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        finished(Status.FAIL);
+    }
+
+    private static void finished(Status outcome) {
+        TestEvents.testFinished(outcome);
+        TestMetrics.testFinished(outcome);
+    }
+}
@@ -0,0 +1,96 @@
+package tests.base;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import utils.CommandProfiler;
+import utils.ExtentReportManager;
+import utils.TimeAccount;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks how TimeAccount splits a test's wall time into categories. Runs without a browser.
+ */
+public class TimeAccountTest extends BrowserlessTest {
+
+    @Override
+    protected String reportDescription() {
+        return "Testing test time accounting";
+    }
+
+    /**
+     * TC_TIME_001: Sleeps and brackets are charged to their category, the outermost bracket winning
+     */
+    @Test
+    @DisplayName("TC_TIME_001: Verify sleeps and nested brackets are charged once")
+    public void testSleepsAndBrackets() throws InterruptedException {
+        TimeAccount.start(TimeAccountTest.class.getSimpleName(), "sleeps and brackets");
+        TimeAccount.sleep(100);
+        TimeAccount.begin(TimeAccount.Category.SCREENSHOT);
+        try {
+            // A command inside the screenshot bracket is screenshot time, not command time
+            long start = System.nanoTime();
+            Thread.sleep(50);
+            TimeAccount.record(TimeAccount.Category.COMMAND, start, System.nanoTime());
+        } finally {
+            TimeAccount.end();
+        }
+        TimeAccount account = TimeAccount.finish();
+
+        account.logToReport();
+        ExtentReportManager.logInfo(account.toString());
+        Assertions.assertTrue(account.getMillis(TimeAccount.Category.SLEEP) >= 100, "The sleep is a hard sleep");
+        Assertions.assertTrue(account.getMillis(TimeAccount.Category.SCREENSHOT) >= 50, "The bracket is screenshot time");
+        Assertions.assertEquals(0, account.getMillis(TimeAccount.Category.COMMAND), "The nested command is not counted again");
+        Assertions.assertTrue(account.getWallMillis() >= 150, "Wall time covers everything");
+        Assertions.assertFalse(TimeAccount.isActive(), "The account is finished");
+        ExtentReportManager.logPass("Sleeps and brackets charged once");
+    }
+
+    /**
+     * TC_TIME_002: Commands polled by a wait, and the polling intervals between them, count as waiting
+     */
+    @Test
+    @DisplayName("TC_TIME_002: Verify wait polls are charged as explicit waits")
+    public void testWaitPolls() {
+        CommandProfiler profiler = new CommandProfiler();
+        WebDriver driver = profiler.decorate(titleAfterPolls(3));
+
+        TimeAccount.start(TimeAccountTest.class.getSimpleName(), "wait polls");
+        driver.get("https://www.demoblaze.com/");
+        new FluentWait<>(driver).withTimeout(Duration.ofSeconds(5)).pollingEvery(Duration.ofMillis(100))
+                .until(d -> !d.getTitle().isEmpty());
+        driver.getTitle();
+        TimeAccount account = TimeAccount.finish();
+
+        account.logToReport();
+        ExtentReportManager.logInfo(account.toString());
+        Assertions.assertTrue(account.getMillis(TimeAccount.Category.WAIT) >= 200,
+                "Two polling intervals of 100 ms should count as waiting");
+        Assertions.assertTrue(account.getMillis(TimeAccount.Category.NAVIGATION) > 0, "get() is navigation");
+        Assertions.assertTrue(account.getMillis(TimeAccount.Category.COMMAND) > 0, "The last getTitle() is a command");
+        Assertions.assertTrue(account.getTestCodeMillis() < 100, "Little time should be left to test code");
+        ExtentReportManager.logPass("Wait polls charged as explicit waits");
+
+        // Adds the class and suite summaries to the report as tests of their own
+        ExtentTest mine = ExtentReportManager.getTest();
+        TimeAccount.logClassSummary(TimeAccountTest.class.getSimpleName());
+        Assertions.assertSame(mine, ExtentReportManager.getTest(), "The summaries hand the test its entry back");
+    }
+
+    /**
+     * A driver whose title is empty until the given number of getTitle() calls
+     */
+    private static WebDriver titleAfterPolls(int polls) {
+        AtomicInteger calls = new AtomicInteger();
+        return FakeDriver.create((command, args) -> {
+            if (command.equals("getTitle")) {
+                return calls.incrementAndGet() >= polls ? "DemoBlaze" : "";
+            }
+            return null;
+        });
+    }
+}
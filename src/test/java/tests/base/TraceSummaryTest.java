@@ -0,0 +1,104 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.TraceSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the trace summarizer with a small synthetic Chrome trace. Runs without a browser.
+ */
+public class TraceSummaryTest extends BrowserlessTest {
+
+    private static final int PID = 7;
+    private static final int MAIN_TID = 1;
+    private static final int OTHER_TID = 2;
+
+    private final List<Map<String, Object>> events = new ArrayList<>();
+
+    @Override
+    protected String reportDescription() {
+        return "Testing trace summaries";
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // 0-400 ms trace: a 120 ms click task, a 30 ms layout task, and a request in flight from 200 to 300 ms
+        events.add(Map.of("ph", "M", "name", "thread_name", "pid", PID, "tid", MAIN_TID,
+                "args", Map.of("name", "CrRendererMain")));
+        events.add(Map.of("ph", "M", "name", "thread_name", "pid", PID, "tid", OTHER_TID,
+                "args", Map.of("name", "Compositor")));
+        complete("RunTask", 1_000, 120_000, MAIN_TID);
+        complete("EventDispatch", 1_000, 100_000, MAIN_TID);
+        complete("FunctionCall", 1_000, 90_000, MAIN_TID,
+                Map.of("data", Map.of("url", "https://www.demoblaze.com/js/index.js", "lineNumber", 12)));
+        complete("Paint", 101_000, 20_000, MAIN_TID);
+        complete("RunTask", 150_000, 30_000, MAIN_TID);
+        complete("Layout", 150_000, 30_000, MAIN_TID);
+        complete("RasterTask", 10_000, 300_000, OTHER_TID);
+        instant("ResourceSendRequest", 201_000, "r1");
+        instant("ResourceFinish", 301_000, "r1");
+        instant("TracingStartedInBrowser", 401_000, null);
+    }
+
+    /**
+     * TC_TRC_001: Main-thread self time is split into scripting, rendering and painting
+     */
+    @Test
+    @DisplayName("TC_TRC_001: Verify main-thread time is attributed to categories")
+    public void testCategoryBreakdown() {
+        TraceSummary summary = TraceSummary.of(events);
+        ExtentReportManager.logInfo(summary.toString());
+
+        Assertions.assertEquals(400, summary.getWindow(), 0.01, "Window should span the trace");
+        Assertions.assertEquals(100, summary.get(TraceSummary.SCRIPTING), 0.01,
+                "EventDispatch and FunctionCall are scripting");
+        Assertions.assertEquals(30, summary.get(TraceSummary.RENDERING), 0.01, "Layout is rendering");
+        Assertions.assertEquals(20, summary.get(TraceSummary.PAINTING), 0.01,
+                "Only main-thread paint counts; raster on other threads is ignored");
+        Assertions.assertEquals(0, summary.get(TraceSummary.OTHER), 0.01, "RunTask has no self time left");
+        ExtentReportManager.logPass("Main-thread time attributed by event name");
+    }
+
+    /**
+     * TC_TRC_002: Network wait covers requests while the main thread is free; the rest is idle
+     */
+    @Test
+    @DisplayName("TC_TRC_002: Verify network wait, idle time and long tasks")
+    public void testNetworkWaitIdleAndLongTasks() {
+        TraceSummary summary = TraceSummary.of(events);
+
+        Assertions.assertEquals(100, summary.get(TraceSummary.NETWORK_WAIT), 0.01, "Request in flight for 100 ms");
+        Assertions.assertEquals(400 - 150 - 100, summary.get(TraceSummary.IDLE), 0.01,
+                "Idle is the window minus busy and network wait");
+
+        Assertions.assertEquals(1, summary.getLongTasks().size(), "Only the 120 ms task is over 50 ms");
+        TraceSummary.LongTask task = summary.getLongTasks().get(0);
+        Assertions.assertEquals(120, task.getDuration(), 0.01);
+        Assertions.assertEquals(TraceSummary.SCRIPTING, task.getCategory());
+        Assertions.assertEquals("EventDispatch", task.getActivity(), "Longest known activity in the task");
+        ExtentReportManager.logPass("Network wait, idle time and long task reported");
+    }
+
+    /**
+     * Helper method to add a complete ("X") event with timestamps in microseconds
+     */
+    private void complete(String name, long ts, long dur, int tid) {
+        complete(name, ts, dur, tid, Map.of());
+    }
+
+    private void complete(String name, long ts, long dur, int tid, Map<String, Object> args) {
+        events.add(Map.of("ph", "X", "name", name, "ts", ts, "dur", dur, "pid", PID, "tid", tid, "args", args));
+    }
+
+    /**
+     * Helper method to add an instant event, optionally for a network request
+     */
+    private void instant(String name, long ts, String requestId) {
+        Map<String, Object> args = requestId == null ? Map.of() : Map.of("data", Map.of("requestId", requestId));
+        events.add(Map.of("ph", "I", "name", name, "ts", ts, "pid", PID, "tid", MAIN_TID, "args", args));
+    }
+}
@@ -0,0 +1,176 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import utils.ExtentReportManager;
+import utils.TestData;
+import utils.UniqueIdentity;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Uniqueness checks and a throughput microbenchmark for the test identity generator.
+ * Runs without a browser.
+ */
+public class UniqueIdentityTest extends BrowserlessTest {
+
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0"));
+    private static final ThreadLocal<DecimalFormat> nanosFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int IDS_PER_THREAD = 50_000;
+
+    // Benchmark shape: warm-up rounds are discarded, measured rounds are averaged
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int OPS_PER_ROUND = 200_000;
+
+    @Override
+    protected String reportDescription() {
+        return "Testing unique test identity generation";
+    }
+
+    /**
+     * TC_ID_001: Usernames stay unique when many threads ask for them at once
+     */
+    @Test
+    @DisplayName("TC_ID_001: Verify usernames are unique across concurrent threads")
+    public void testUsernamesUniqueAcrossThreads() throws Exception {
+        ExtentReportManager.logStep("Generating " + df.get().format((long) THREADS * IDS_PER_THREAD) +
+                " usernames on " + THREADS + " threads");
+
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        List<String> duplicates = runConcurrently(THREADS, IDS_PER_THREAD, TestData::getUniqueUsername, seen);
+
+        Assertions.assertTrue(duplicates.isEmpty(), "Duplicate usernames generated: " + duplicates);
+        Assertions.assertEquals((long) THREADS * IDS_PER_THREAD, seen.size(), "Every generated username should be distinct");
+        ExtentReportManager.logPass(df.get().format(seen.size()) + " distinct usernames, no collisions");
+    }
+
+    /**
+     * TC_ID_002: Usernames, emails and order names all carry the per-run prefix
+     */
+    @Test
+    @DisplayName("TC_ID_002: Verify identities carry the per-run prefix")
+    public void testIdentitiesCarryRunPrefix() {
+        String prefix = UniqueIdentity.runPrefix();
+        ExtentReportManager.logInfo("Run prefix: " + prefix);
+
+        String username = TestData.getUniqueUsername();
+        String email = TestData.getUniqueEmail();
+        String orderName = TestData.getUniqueOrderName();
+        ExtentReportManager.logInfo("Samples: " + username + ", " + email + ", " + orderName);
+
+        Assertions.assertTrue(username.contains(prefix), "Username should contain the run prefix");
+        Assertions.assertTrue(email.contains(prefix) && email.endsWith("@demoblaze.test"),
+                "Email should contain the run prefix and a test domain");
+        Assertions.assertTrue(orderName.contains(prefix), "Order name should contain the run prefix");
+        Assertions.assertNotEquals(TestData.getUniqueUsername(), TestData.getUniqueUsername(),
+                "Consecutive usernames should differ");
+        ExtentReportManager.logPass("All identity kinds carry the run prefix");
+    }
+
+    /**
+     * TC_ID_003: Throughput microbenchmark, single thread and all threads
+     */
+    @Test
+    @DisplayName("TC_ID_003: Measure unique username throughput")
+    public void testUsernameThroughput() throws Exception {
+        for (int threads : new int[]{1, THREADS}) {
+            ExtentReportManager.logStep("Benchmarking with " + threads + " thread(s): " + WARMUP_ROUNDS +
+                    " warm-up and " + MEASURED_ROUNDS + " measured rounds of " + df.get().format(OPS_PER_ROUND) +
+                    " ids");
+
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                timeRound(threads);
+            }
+
+            long totalNanos = 0;
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                totalNanos += timeRound(threads);
+            }
+
+            double opsPerSecond = (double) OPS_PER_ROUND * MEASURED_ROUNDS / (totalNanos / 1_000_000_000.0);
+            double nanosPerOp = (double) totalNanos / ((long) OPS_PER_ROUND * MEASURED_ROUNDS);
+            ExtentReportManager.logInfo(threads + " thread(s): " + df.get().format(opsPerSecond) + " ids/s (" +
+                    nanosFormat.get().format(nanosPerOp) + " ns/id wall time)");
+        }
+        ExtentReportManager.logPass("Throughput benchmark completed");
+    }
+
+    /**
+     * Helper method to time one round of OPS_PER_ROUND ids split across the given threads
+     * @return elapsed nanoseconds
+     */
+    private long timeRound(int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            int perThread = OPS_PER_ROUND / threads;
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int lengthSum = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        // Use the result so the call cannot be optimised away
+                        lengthSum += TestData.getUniqueUsername().length();
+                    }
+                    return lengthSum;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> result : results) {
+                Assertions.assertTrue(result.get() > 0);
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Helper method to generate ids on several threads released at the same instant
+     * @return the ids that were generated more than once
+     */
+    private List<String> runConcurrently(int threads, int perThread, Supplier<String> generator, Set<String> seen)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<String> duplicates = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<String> localDuplicates = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        String id = generator.get();
+                        if (!seen.add(id)) {
+                            localDuplicates.add(id);
+                        }
+                    }
+                    return localDuplicates;
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> result : results) {
+                duplicates.addAll(result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,82 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.Resources;
+import utils.BrowserLease;
+import utils.ExtentReportManager;
+import utils.SoakRunner;
+import utils.TestData;
+
+/**
+ * Soak of the user journey of UserJourneyTest. The soak opens its own browser sessions, so unlike
+ * the BaseTest classes no browser is started for the test itself; each session takes a
+ * BrowserLease, which holds a ParallelismController slot for as long as the session lives.
+ */
+@EnabledIfSystemProperty(named = "soak", matches = "true")
+public class UserJourneySoakTest {
+
+    @BeforeAll
+    public static void setupClass() {
+        BaseTest.setupClass();
+    }
+
+    @BeforeEach
+    public void createReportEntry(TestInfo testInfo) {
+        ExtentReportManager.createTest(testInfo.getDisplayName(), "Testing the user journey under a sustained soak");
+    }
+
+    /**
+     * TC_JOURNEY_002: Verify the user journey stays stable when repeated for a long time in parallel
+     * sessions. Only runs with -Dsoak=true; see SoakRunner for the other soak.* settings.
+     */
+    @Test
+    // Starts its own sessions, so in parallel mode nothing else runs beside it
+    @ResourceLock(Resources.GLOBAL)
+    @DisplayName("TC_JOURNEY_002: Verify the user journey stays stable under a sustained soak")
+    public void testUserJourneySoak() {
+        ExtentReportManager.logStep("Starting user journey soak test");
+
+        // Every soak session drives its own browser; their steps are not logged to the report
+        SoakRunner.Result result = SoakRunner.fromSystemProperties().run("User journey", () -> {
+            BrowserLease lease = BrowserLease.reserve();
+            UserJourneyTest journey;
+            try {
+                journey = UserJourneyTest.unreported(
+                        lease.start(getClass().getSimpleName(), "Soak session", BaseTest::startBrowser));
+            } catch (RuntimeException e) {
+                lease.close();
+                throw e;
+            }
+            return new SoakRunner.Session() {
+                @Override
+                public void runJourney(SoakRunner.Phases phases) {
+                    journey.driver.get(TestData.BASE_URL);
+                    journey.runJourney(phases);
+                }
+
+                @Override
+                public void close() {
+                    lease.close();
+                }
+            };
+        });
+        result.logToReport();
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("soak.maxErrorRate", "0.05"));
+        Assertions.assertTrue(result.getErrorRate() <= maxErrorRate,
+                "Soak error rate " + result.getErrorRate() + " exceeded " + maxErrorRate);
+        ExtentReportManager.logPass("User journey soak completed within the error rate limit");
+    }
+
+    @AfterEach
+    public void clearReportEntry() {
+        ExtentReportManager.clearContext();
+    }
+
+    @AfterAll
+    public static void tearDownReport(TestInfo testInfo) {
+        BaseTest.tearDownReport(testInfo);
+    }
+}
@@ -3,19 +3,26 @@ package tests.base;
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.HomePage;
 import pages.modals.LoginModal;
 import utils.ExtentReportManager;
+import utils.SoakRunner;
 import utils.TestData;
+import utils.TimeAccount;
+import utils.TimedWait;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Comprehensive test case covering the full user journey from registration to checkout and logout
  */
 public class UserJourneyTest extends BaseTest {
+    // Off for soak sessions, whose worker threads must not log to the report
+    private boolean reporting = true;
 
     /**
      * TC_JOURNEY_001: Verify complete user journey from registration to checkout and logout
@@ -25,29 +32,52 @@ public class UserJourneyTest extends BaseTest {
     public void testCompleteUserJourney() {
         ExtentReportManager.logStep("Starting comprehensive user journey test");
 
+        SoakRunner.Phases phases = new SoakRunner.Phases();
+        runJourney(phases);
+        phases.logToReport();
+
+        ExtentReportManager.logPass("Complete user journey test passed successfully");
+    }
+
+    /**
+     * A journey that drives the given browser without logging to the report, for the sessions of
+     * UserJourneySoakTest, which run on the soak's worker threads
+     */
+    static UserJourneyTest unreported(WebDriver driver) {
+        UserJourneyTest journey = new UserJourneyTest();
+        journey.reporting = false;
+        journey.driver = driver;
+        journey.wait = new TimedWait(driver, Duration.ofSeconds(10));
+        return journey;
+    }
+
+    /**
+     * Run the whole journey once from the home page, timing each flow as a phase
+     */
+    void runJourney(SoakRunner.Phases phases) {
         // 1. REGISTRATION FLOW
-        String uniqueUsername = registerNewUser();
+        String uniqueUsername = phases.time("Register", this::registerNewUser);
 
         // 2. LOGIN FLOW (Optional if already logged in after registration)
-        if (!isUserLoggedIn(uniqueUsername)) {
-            loginUser(uniqueUsername, TestData.TEST_PASSWORD);
-        } else {
-            ExtentReportManager.logInfo("User already logged in after registration");
-        }
+        phases.time("Login", () -> {
+            if (!isUserLoggedIn(uniqueUsername)) {
+                loginUser(uniqueUsername, TestData.TEST_PASSWORD);
+            } else {
+                logInfo("User already logged in after registration");
+            }
+        });
 
         // 3. PRODUCT SEARCH AND FILTER
-        browseAndSelectProduct();
+        phases.time("Browse", this::browseAndSelectProduct);
 
         // 4. CART OPERATIONS
-        addToCartAndVerify();
+        phases.time("Cart", this::addToCartAndVerify);
 
         // 5. CHECKOUT FLOW
-        completeCheckout();
+        phases.time("Checkout", this::completeCheckout);
 
         // 6. LOGOUT FLOW
-        logoutAndVerify();
-
-        ExtentReportManager.logPass("Complete user journey test passed successfully");
+        phases.time("Logout", this::logoutAndVerify);
     }
 
     /**
@@ -55,29 +85,29 @@ public class UserJourneyTest extends BaseTest {
      * @return the unique username created for the registration
      */
     private String registerNewUser() {
-        ExtentReportManager.logStep("1. REGISTRATION FLOW - Creating a new user account");
+        logStep("1. REGISTRATION FLOW - Creating a new user account");
 
         // 1.1 Navigate to DemoBlaze website (done in setUp)
-        ExtentReportManager.logInfo("Website homepage loaded");
-        ExtentReportManager.captureScreenshot("Home Page");
+        logInfo("Website homepage loaded");
+        captureScreenshot("Home Page");
 
         // 1.2 Click on "Sign up" button
-        ExtentReportManager.logStep("Clicking on Sign up button");
+        logStep("Clicking on Sign up button");
         WebElement signupLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("signin2")));
         signupLink.click();
 
         // Wait for sign up modal to appear
         try {
-            Thread.sleep(TestData.SHORT_WAIT);
+            TimeAccount.sleep(TestData.SHORT_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Signup Modal");
+        captureScreenshot("Signup Modal");
 
         // 1.3 Generate unique username
         String uniqueUsername = TestData.getUniqueUsername();
-        ExtentReportManager.logInfo("Generated unique username: " + uniqueUsername);
+        logInfo("Generated unique username: " + uniqueUsername);
 
         // Enter username
         WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("sign-username")));
@@ -88,7 +118,7 @@ public class UserJourneyTest extends BaseTest {
         WebElement passwordField = driver.findElement(By.id("sign-password"));
         passwordField.clear();
         passwordField.sendKeys(TestData.TEST_PASSWORD);
-        ExtentReportManager.logInfo("Entered registration details");
+        logInfo("Entered registration details");
 
         // 1.5 Click "Sign up" button
         WebElement signupButton = driver.findElement(By.xpath("//button[contains(text(),'Sign up')]"));
@@ -96,32 +126,32 @@ public class UserJourneyTest extends BaseTest {
 
         // Wait for alert
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         // Check for success alert
         try {
             String alertText = driver.switchTo().alert().getText();
-            ExtentReportManager.logInfo("Registration alert: " + alertText);
+            logInfo("Registration alert: " + alertText);
 
             boolean isSuccess = alertText.contains("Sign up successful") ||
                     !alertText.contains("already exist");
 
             if (isSuccess) {
-                ExtentReportManager.logPass("User registration successful");
+                logPass("User registration successful");
             } else {
-                ExtentReportManager.logWarning("Registration may have failed: " + alertText);
+                logWarning("Registration may have failed: " + alertText);
             }
 
             // 1.6 Close the alert
             driver.switchTo().alert().accept();
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not find registration alert: " + e.getMessage());
+            logWarning("Could not find registration alert: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Registration");
+        captureScreenshot("After Registration");
         return uniqueUsername;
     }
 
@@ -147,7 +177,7 @@ public class UserJourneyTest extends BaseTest {
      * @param password the password to use
      */
     private void loginUser(String username, String password) {
-        ExtentReportManager.logStep("2. LOGIN FLOW - Logging in with username: " + username);
+        logStep("2. LOGIN FLOW - Logging in with username: " + username);
 
         // 2.1 Click on "Log in" button
         WebElement loginLink = wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGIN_LINK_ID)));
@@ -155,24 +185,24 @@ public class UserJourneyTest extends BaseTest {
 
         // Wait for login modal to appear
         try {
-            Thread.sleep(TestData.SHORT_WAIT);
+            TimeAccount.sleep(TestData.SHORT_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Login Modal");
+        captureScreenshot("Login Modal");
 
         // 2.2 Enter username
         WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(TestData.USERNAME_FIELD_ID)));
         usernameField.clear();
         usernameField.sendKeys(username);
-        ExtentReportManager.logInfo("Entered username: " + username);
+        logInfo("Entered username: " + username);
 
         // 2.3 Enter password
         WebElement passwordField = driver.findElement(By.id(TestData.PASSWORD_FIELD_ID));
         passwordField.clear();
         passwordField.sendKeys(password);
-        ExtentReportManager.logInfo("Entered password");
+        logInfo("Entered password");
 
         // 2.4 Click "Log in" button
         WebElement loginButton = driver.findElement(By.xpath("//button[contains(text(),'Log in')]"));
@@ -180,12 +210,12 @@ public class UserJourneyTest extends BaseTest {
 
         // Wait for login to complete
         try {
-            Thread.sleep(TestData.LONG_WAIT);
+            TimeAccount.sleep(TestData.LONG_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Login");
+        captureScreenshot("After Login");
 
         // Verify login was successful
         try {
@@ -195,10 +225,10 @@ public class UserJourneyTest extends BaseTest {
                     welcomeText.contains(username);
 
             Assertions.assertTrue(loginSuccessful, "Login should be successful");
-            ExtentReportManager.logPass("Login successful. Welcome message: " + welcomeText);
+            logPass("Login successful. Welcome message: " + welcomeText);
         } catch (Exception e) {
-            ExtentReportManager.logFail("Login failed: " + e.getMessage());
-            ExtentReportManager.captureScreenshot("Login Failure");
+            logFail("Login failed: " + e.getMessage());
+            captureScreenshot("Login Failure");
             throw new AssertionError("Login failed: " + e.getMessage());
         }
     }
@@ -207,33 +237,33 @@ public class UserJourneyTest extends BaseTest {
      * Step 3: Browse and select a product from a category
      */
     private void browseAndSelectProduct() {
-        ExtentReportManager.logStep("3. PRODUCT SEARCH AND FILTER - Browsing products by category");
+        logStep("3. PRODUCT SEARCH AND FILTER - Browsing products by category");
 
         // 3.1 Click on "Laptops" category
-        ExtentReportManager.logStep("Clicking on Laptops category");
+        logStep("Clicking on Laptops category");
         WebElement laptopsCategory = wait.until(ExpectedConditions.elementToBeClickable(
                 By.linkText("Laptops")));
         laptopsCategory.click();
 
         // 3.2 Wait for products to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Laptops Category");
+        captureScreenshot("Laptops Category");
 
         // 3.3 Verify multiple laptop products are visible
         List<WebElement> products = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
                 By.xpath("//div[@class='card h-100']")));
 
-        ExtentReportManager.logInfo("Found " + products.size() + " products in the Laptops category");
+        logInfo("Found " + products.size() + " products in the Laptops category");
         Assertions.assertTrue(products.size() >= 1, "At least one laptop product should be displayed");
-        ExtentReportManager.logPass("Multiple laptop products are displayed");
+        logPass("Multiple laptop products are displayed");
 
         // 3.4 Select a specific laptop product
-        ExtentReportManager.logStep("Selecting a laptop product");
+        logStep("Selecting a laptop product");
 
         // Find and click on a specific product (e.g., MacBook Pro)
         try {
@@ -242,34 +272,34 @@ public class UserJourneyTest extends BaseTest {
             productLink.click();
         } catch (Exception e) {
             // If MacBook Pro is not available, select the first product
-            ExtentReportManager.logWarning("MacBook Pro not found, selecting the first available product");
+            logWarning("MacBook Pro not found, selecting the first available product");
             WebElement firstProduct = products.get(0).findElement(By.tagName("a"));
             String productName = firstProduct.getText();
-            ExtentReportManager.logInfo("Selected product: " + productName);
+            logInfo("Selected product: " + productName);
             firstProduct.click();
         }
 
         // Wait for product page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Product Details Page");
+        captureScreenshot("Product Details Page");
 
         // Verify product details page loaded
         WebElement addToCartButton = wait.until(ExpectedConditions.visibilityOfElementLocated(
                 By.xpath("//a[contains(text(),'Add to cart')]")));
         Assertions.assertTrue(addToCartButton.isDisplayed(), "Add to cart button should be displayed on product page");
-        ExtentReportManager.logPass("Product details page loaded successfully");
+        logPass("Product details page loaded successfully");
     }
 
     /**
      * Step 4: Add product to cart, verify, then delete and add again
      */
     private void addToCartAndVerify() {
-        ExtentReportManager.logStep("4. CART OPERATIONS - Adding product to cart");
+        logStep("4. CART OPERATIONS - Adding product to cart");
 
         // 4.1 Click "Add to cart" button
         WebElement addToCartButton = wait.until(ExpectedConditions.elementToBeClickable(
@@ -278,38 +308,38 @@ public class UserJourneyTest extends BaseTest {
 
         // Wait for alert
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         // 4.2 Close the alert
         try {
             String alertText = driver.switchTo().alert().getText();
-            ExtentReportManager.logInfo("Add to cart alert: " + alertText);
+            logInfo("Add to cart alert: " + alertText);
 
             boolean isSuccess = alertText.contains("Product added");
             Assertions.assertTrue(isSuccess, "Product added confirmation should appear");
 
             driver.switchTo().alert().accept();
-            ExtentReportManager.logPass("Product added to cart successfully");
+            logPass("Product added to cart successfully");
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not find add to cart alert: " + e.getMessage());
+            logWarning("Could not find add to cart alert: " + e.getMessage());
         }
 
         // 4.3 Navigate to "Cart" page
-        ExtentReportManager.logStep("Navigating to Cart page");
+        logStep("Navigating to Cart page");
         WebElement cartLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("cartur")));
         cartLink.click();
 
         // Wait for cart page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Cart Page");
+        captureScreenshot("Cart Page");
 
         // 4.4 Verify product details in cart
         try {
@@ -321,26 +351,26 @@ public class UserJourneyTest extends BaseTest {
             String productName = productRow.findElement(By.xpath("./td[2]")).getText();
             String productPrice = productRow.findElement(By.xpath("./td[3]")).getText();
 
-            ExtentReportManager.logInfo("Product in cart: " + productName + " - Price: " + productPrice);
-            ExtentReportManager.logPass("Product details verified in cart");
+            logInfo("Product in cart: " + productName + " - Price: " + productPrice);
+            logPass("Product details verified in cart");
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not verify product in cart: " + e.getMessage());
+            logWarning("Could not verify product in cart: " + e.getMessage());
         }
 
         // 4.5 Click on "Delete" link to remove product
-        ExtentReportManager.logStep("Removing product from cart");
+        logStep("Removing product from cart");
         WebElement deleteLink = wait.until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//a[contains(text(),'Delete')]")));
         deleteLink.click();
 
         // Wait for deletion
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Product Deletion");
+        captureScreenshot("After Product Deletion");
 
         // Verify product was removed
         try {
@@ -349,20 +379,20 @@ public class UserJourneyTest extends BaseTest {
                     (productRows.size() == 1 && productRows.get(0).getText().trim().isEmpty());
 
             Assertions.assertTrue(cartEmpty, "Cart should be empty after deletion");
-            ExtentReportManager.logPass("Product successfully removed from cart");
+            logPass("Product successfully removed from cart");
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not verify cart empty state: " + e.getMessage());
+            logWarning("Could not verify cart empty state: " + e.getMessage());
         }
 
         // 4.6 Navigate back to laptops category
-        ExtentReportManager.logStep("Navigating back to Laptops category");
+        logStep("Navigating back to Laptops category");
         WebElement homeLink = wait.until(ExpectedConditions.elementToBeClickable(By.xpath("//a[contains(text(),'Home')]")));
         homeLink.click();
 
         try {
-            Thread.sleep(TestData.SHORT_WAIT);
+            TimeAccount.sleep(TestData.SHORT_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         WebElement laptopsCategory = wait.until(ExpectedConditions.elementToBeClickable(
@@ -371,71 +401,71 @@ public class UserJourneyTest extends BaseTest {
 
         // Wait for products to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         // 4.7 Select a product again
-        ExtentReportManager.logStep("Selecting a product again");
+        logStep("Selecting a product again");
         List<WebElement> products = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
                 By.xpath("//div[@class='card h-100']")));
 
         // Click on the first product
         WebElement firstProduct = products.get(0).findElement(By.tagName("a"));
         String productName = firstProduct.getText();
-        ExtentReportManager.logInfo("Selected product: " + productName);
+        logInfo("Selected product: " + productName);
         firstProduct.click();
 
         // Wait for product page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         // 4.8 Click "Add to cart" button again
-        ExtentReportManager.logStep("Adding product to cart again");
+        logStep("Adding product to cart again");
         addToCartButton = wait.until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//a[contains(text(),'Add to cart')]")));
         addToCartButton.click();
 
         // Wait for alert
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
         // 4.9 Close the alert
         try {
             driver.switchTo().alert().accept();
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not find add to cart alert: " + e.getMessage());
+            logWarning("Could not find add to cart alert: " + e.getMessage());
         }
 
         // 4.10 Navigate to "Cart" page again
-        ExtentReportManager.logStep("Navigating to Cart page again");
+        logStep("Navigating to Cart page again");
         cartLink = wait.until(ExpectedConditions.elementToBeClickable(By.id("cartur")));
         cartLink.click();
 
         // Wait for cart page to load
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Cart Page After Re-adding Product");
+        captureScreenshot("Cart Page After Re-adding Product");
 
         // Verify product is in cart
         try {
             WebElement productRow = wait.until(ExpectedConditions.visibilityOfElementLocated(
                     By.xpath("//table[@class='table table-bordered table-hover table-striped']//tbody/tr")));
             Assertions.assertTrue(productRow.isDisplayed(), "Product should be in the cart");
-            ExtentReportManager.logPass("Product successfully added to cart again");
+            logPass("Product successfully added to cart again");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Product not found in cart after re-adding: " + e.getMessage());
+            logFail("Product not found in cart after re-adding: " + e.getMessage());
             throw new AssertionError("Product not in cart after re-adding: " + e.getMessage());
         }
     }
@@ -444,22 +474,22 @@ public class UserJourneyTest extends BaseTest {
      * Step 5: Complete the checkout process
      */
     private void completeCheckout() {
-        ExtentReportManager.logStep("5. CHECKOUT FLOW - Completing the checkout process");
+        logStep("5. CHECKOUT FLOW - Completing the checkout process");
 
         // 5.1 Click "Place Order" button
-        ExtentReportManager.logStep("Clicking on Place Order button");
+        logStep("Clicking on Place Order button");
         WebElement placeOrderButton = wait.until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//button[contains(text(),'Place Order')]")));
         placeOrderButton.click();
 
         // Wait for order modal to appear
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Order Modal");
+        captureScreenshot("Order Modal");
 
         // Verify order modal is displayed
         WebElement orderModal = wait.until(ExpectedConditions.visibilityOfElementLocated(
@@ -470,53 +500,53 @@ public class UserJourneyTest extends BaseTest {
         WebElement nameField = orderModal.findElement(By.id("name"));
         nameField.clear();
         nameField.sendKeys("John Doe");
-        ExtentReportManager.logInfo("Entered name: John Doe");
+        logInfo("Entered name: John Doe");
 
         // 5.3 Enter country
         WebElement countryField = orderModal.findElement(By.id("country"));
         countryField.clear();
         countryField.sendKeys("United States");
-        ExtentReportManager.logInfo("Entered country: United States");
+        logInfo("Entered country: United States");
 
         // 5.4 Enter city
         WebElement cityField = orderModal.findElement(By.id("city"));
         cityField.clear();
         cityField.sendKeys("New York");
-        ExtentReportManager.logInfo("Entered city: New York");
+        logInfo("Entered city: New York");
 
         // 5.5 Enter credit card
         WebElement cardField = orderModal.findElement(By.id("card"));
         cardField.clear();
         cardField.sendKeys("4111111111111111");
-        ExtentReportManager.logInfo("Entered credit card: 4111111111111111");
+        logInfo("Entered credit card: 4111111111111111");
 
         // 5.6 Enter month
         WebElement monthField = orderModal.findElement(By.id("month"));
         monthField.clear();
         monthField.sendKeys("12");
-        ExtentReportManager.logInfo("Entered month: 12");
+        logInfo("Entered month: 12");
 
         // 5.7 Enter year
         WebElement yearField = orderModal.findElement(By.id("year"));
         yearField.clear();
         yearField.sendKeys("2025");
-        ExtentReportManager.logInfo("Entered year: 2025");
+        logInfo("Entered year: 2025");
 
-        ExtentReportManager.captureScreenshot("Completed Order Form");
+        captureScreenshot("Completed Order Form");
 
         // 5.8 Click "Purchase" button
-        ExtentReportManager.logStep("Clicking Purchase button");
+        logStep("Clicking Purchase button");
         WebElement purchaseButton = orderModal.findElement(By.xpath(".//button[contains(text(),'Purchase')]"));
         purchaseButton.click();
 
         // Wait for confirmation
         try {
-            Thread.sleep(TestData.LONG_WAIT);
+            TimeAccount.sleep(TestData.LONG_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("Purchase Confirmation");
+        captureScreenshot("Purchase Confirmation");
 
         // Check for order confirmation
         try {
@@ -531,15 +561,15 @@ public class UserJourneyTest extends BaseTest {
             // Capture order details
             WebElement orderDetails = driver.findElement(By.cssSelector(".sweet-alert p.lead"));
             String orderText = orderDetails.getText();
-            ExtentReportManager.logInfo("Order confirmation details: " + orderText);
+            logInfo("Order confirmation details: " + orderText);
 
             // Extract order ID if available
             if (orderText.contains("Id:")) {
                 String orderId = orderText.substring(orderText.indexOf("Id:"), orderText.indexOf("\n", orderText.indexOf("Id:")));
-                ExtentReportManager.logInfo("Order ID: " + orderId);
+                logInfo("Order ID: " + orderId);
             }
 
-            ExtentReportManager.logPass("Order placed successfully");
+            logPass("Order placed successfully");
 
             // 5.9 Click "OK" button to close confirmation
             WebElement okButton = wait.until(ExpectedConditions.elementToBeClickable(
@@ -548,24 +578,24 @@ public class UserJourneyTest extends BaseTest {
 
             // Wait for confirmation to close
             try {
-                Thread.sleep(TestData.MEDIUM_WAIT);
+                TimeAccount.sleep(TestData.MEDIUM_WAIT);
             } catch (InterruptedException e) {
-                ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+                logWarning("Wait interrupted: " + e.getMessage());
             }
 
         } catch (Exception e) {
-            ExtentReportManager.logFail("Order confirmation not found: " + e.getMessage());
+            logFail("Order confirmation not found: " + e.getMessage());
             throw new AssertionError("Order confirmation not found: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Completing Purchase");
+        captureScreenshot("After Completing Purchase");
     }
 
     /**
      * Step 6: Logout and verify logged out state
      */
     private void logoutAndVerify() {
-        ExtentReportManager.logStep("6. LOGOUT FLOW - Logging out and verifying logged out state");
+        logStep("6. LOGOUT FLOW - Logging out and verifying logged out state");
 
         // 6.1 Verify the welcome message shows the logged-in username
         try {
@@ -574,25 +604,25 @@ public class UserJourneyTest extends BaseTest {
             String welcomeText = welcomeMessage.getText();
             Assertions.assertTrue(welcomeText.contains(TestData.WELCOME_MESSAGE_PREFIX),
                     "Welcome message should contain username");
-            ExtentReportManager.logInfo("Welcome message before logout: " + welcomeText);
+            logInfo("Welcome message before logout: " + welcomeText);
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not verify welcome message before logout: " + e.getMessage());
+            logWarning("Could not verify welcome message before logout: " + e.getMessage());
         }
 
         // 6.2 Click on "Log out" in the navigation bar
-        ExtentReportManager.logStep("Clicking on Log out link");
+        logStep("Clicking on Log out link");
         WebElement logoutLink = wait.until(ExpectedConditions.elementToBeClickable(
                 By.id(TestData.LOGOUT_LINK_ID)));
         logoutLink.click();
 
         // Wait for logout to complete
         try {
-            Thread.sleep(TestData.MEDIUM_WAIT);
+            TimeAccount.sleep(TestData.MEDIUM_WAIT);
         } catch (InterruptedException e) {
-            ExtentReportManager.logWarning("Wait interrupted: " + e.getMessage());
+            logWarning("Wait interrupted: " + e.getMessage());
         }
 
-        ExtentReportManager.captureScreenshot("After Logout");
+        captureScreenshot("After Logout");
 
         // 6.3 Verify redirected to the home page
         String currentUrl = driver.getCurrentUrl();
@@ -601,17 +631,17 @@ public class UserJourneyTest extends BaseTest {
                 !currentUrl.contains("cart.html");
 
         Assertions.assertTrue(onHomePage, "Should be redirected to home page after logout");
-        ExtentReportManager.logInfo("Current URL after logout: " + currentUrl);
-        ExtentReportManager.logPass("Successfully redirected to home page after logout");
+        logInfo("Current URL after logout: " + currentUrl);
+        logPass("Successfully redirected to home page after logout");
 
         // 6.4 Verify login link is visible
         try {
             WebElement loginLink = wait.until(ExpectedConditions.visibilityOfElementLocated(
                     By.id(TestData.LOGIN_LINK_ID)));
             Assertions.assertTrue(loginLink.isDisplayed(), "Login link should be visible after logout");
-            ExtentReportManager.logPass("Login link is visible after logout");
+            logPass("Login link is visible after logout");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Login link not visible after logout: " + e.getMessage());
+            logFail("Login link not visible after logout: " + e.getMessage());
             throw new AssertionError("Login link not visible after logout: " + e.getMessage());
         }
 
@@ -620,9 +650,9 @@ public class UserJourneyTest extends BaseTest {
             WebElement signupLink = wait.until(ExpectedConditions.visibilityOfElementLocated(
                     By.id("signin2")));
             Assertions.assertTrue(signupLink.isDisplayed(), "Sign up link should be visible after logout");
-            ExtentReportManager.logPass("Sign up link is visible after logout");
+            logPass("Sign up link is visible after logout");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Sign up link not visible after logout: " + e.getMessage());
+            logFail("Sign up link not visible after logout: " + e.getMessage());
             throw new AssertionError("Sign up link not visible after logout: " + e.getMessage());
         }
 
@@ -633,9 +663,9 @@ public class UserJourneyTest extends BaseTest {
                     driver.findElement(By.id(TestData.WELCOME_MESSAGE_ID)).getText().isEmpty();
 
             Assertions.assertTrue(welcomeGone, "Welcome message should not be visible after logout");
-            ExtentReportManager.logPass("Welcome message is no longer visible after logout");
+            logPass("Welcome message is no longer visible after logout");
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not verify welcome message invisibility: " + e.getMessage());
+            logWarning("Could not verify welcome message invisibility: " + e.getMessage());
         }
 
         // Check logout link is gone
@@ -644,11 +674,49 @@ public class UserJourneyTest extends BaseTest {
                     !driver.findElement(By.id(TestData.LOGOUT_LINK_ID)).isDisplayed();
 
             Assertions.assertTrue(logoutGone, "Logout link should not be visible after logout");
-            ExtentReportManager.logPass("Logout link is no longer visible after logout");
+            logPass("Logout link is no longer visible after logout");
         } catch (Exception e) {
-            ExtentReportManager.logWarning("Could not verify logout link invisibility: " + e.getMessage());
+            logWarning("Could not verify logout link invisibility: " + e.getMessage());
+        }
+
+        logPass("Logout functionality successfully verified");
+    }
+
+    // Report calls of the journey steps, skipped when a soak session runs them
+
+    private void logStep(String message) {
+        if (reporting) {
+            ExtentReportManager.logStep(message);
         }
+    }
 
-        ExtentReportManager.logPass("Logout functionality successfully verified");
+    private void logInfo(String message) {
+        if (reporting) {
+            ExtentReportManager.logInfo(message);
+        }
+    }
+
+    private void logPass(String message) {
+        if (reporting) {
+            ExtentReportManager.logPass(message);
+        }
+    }
+
+    private void logFail(String message) {
+        if (reporting) {
+            ExtentReportManager.logFail(message);
+        }
+    }
+
+    private void logWarning(String message) {
+        if (reporting) {
+            ExtentReportManager.logWarning(message);
+        }
+    }
+
+    private void captureScreenshot(String name) {
+        if (reporting) {
+            ExtentReportManager.captureScreenshot(name);
+        }
     }
-}
\ No newline at end of file
+}
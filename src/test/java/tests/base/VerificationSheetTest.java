@@ -0,0 +1,179 @@
+package tests.base;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import pages.CartPage;
+import pages.HomePage;
+import pages.modals.AboutUsModal;
+import pages.modals.LoginModal;
+import pages.modals.OrderModal;
+import pages.modals.SignUpModal;
+import utils.ExtentReportManager;
+import utils.SharedAccountLock;
+import utils.TestCasePlan;
+import utils.TestCaseRow;
+import utils.TestData;
+import utils.ValidationMatrix;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs the test cases of TestcasesSheet/Verfication_testing_TestCases.xlsx as dynamic tests.
+ * Rows are streamed from the sheet (or its cached plan), so the first case starts while the
+ * rest of the sheet is still being read. Rows whose ID has no page-object binding are left out
+ * and listed in one line of the report.
+ */
+// TC_LOG_002 logs in with the shared account and out again; no row changes the account's cart
+@ResourceLock(value = SharedAccountLock.KEY, mode = ResourceAccessMode.READ)
+public class VerificationSheetTest extends BaseTest {
+
+    /**
+     * TC_SHEET_001: Execute the verification sheet test cases that have page-object bindings
+     */
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
+    @DisplayName("TC_SHEET_001: Execute verification sheet test cases")
+    public Stream<DynamicTest> testVerificationSheet() {
+        Map<String, ThrowingConsumer<TestCaseRow>> bindings = bindings();
+
+        ValidationMatrix<TestCaseRow> matrix = ValidationMatrix.<TestCaseRow>of("Verification sheet")
+                .reset(this::returnToHomePage);
+
+        // Rows without automation yet are listed once the sheet has been read, not run one by one
+        List<String> unbound = new ArrayList<>();
+        return TestCasePlan.load(Paths.get(System.getProperty("user.dir"), TestData.TEST_CASES_SHEET))
+                .filter(row -> {
+                    if (bindings.containsKey(row.getId())) {
+                        return true;
+                    }
+                    unbound.add(row.getId());
+                    return false;
+                })
+                .map(row -> matrix.dynamicTest(row.getDisplayName(), row, testCase -> {
+                    ExtentReportManager.logInfo("Expected result: " + testCase.getExpectedResult());
+                    bindings.get(testCase.getId()).accept(testCase);
+                }))
+                .onClose(() -> logUnbound(unbound));
+    }
+
+    /**
+     * Page-object actions and checks for the sheet rows that can be automated, keyed by test case ID
+     */
+    private Map<String, ThrowingConsumer<TestCaseRow>> bindings() {
+        Map<String, ThrowingConsumer<TestCaseRow>> bindings = new HashMap<>();
+
+        ThrowingConsumer<TestCaseRow> aboutUsModalOpens = row -> {
+            AboutUsModal aboutUsModal = new HomePage(driver).clickAboutUsLink();
+            aboutUsModal.waitForVisibility();
+            Assertions.assertEquals("About us", aboutUsModal.getTitle().trim(), "Modal title should be 'About us'");
+            Assertions.assertTrue(aboutUsModal.getVideoElement().isDisplayed(), "About us video should be displayed");
+            aboutUsModal.close();
+        };
+        bindings.put("TC_NAV_004", aboutUsModalOpens);
+        bindings.put("TC_ABT_001", aboutUsModalOpens);
+
+        ThrowingConsumer<TestCaseRow> cartLinkNavigates = row -> {
+            new HomePage(driver).navigateToCart();
+            wait.until(ExpectedConditions.urlContains("cart.html"));
+            Assertions.assertTrue(new CartPage(driver).isPlaceOrderButtonDisplayed(),
+                    "Place Order button should be displayed on cart page");
+        };
+        bindings.put("TC_NAV_005", cartLinkNavigates);
+        bindings.put("TC_CRT_001", cartLinkNavigates);
+
+        ThrowingConsumer<TestCaseRow> loginModalOpens = row -> {
+            LoginModal loginModal = new HomePage(driver).clickLoginLink();
+            Assertions.assertTrue(loginModal.isUsernameFieldDisplayed(), "Username field should be displayed");
+            Assertions.assertTrue(loginModal.isPasswordFieldDisplayed(), "Password field should be displayed");
+            Assertions.assertTrue(loginModal.isLoginButtonDisplayed(), "Log in button should be displayed");
+            loginModal.clickClose();
+        };
+        bindings.put("TC_NAV_006", loginModalOpens);
+        bindings.put("TC_LOG_001", loginModalOpens);
+
+        ThrowingConsumer<TestCaseRow> signUpModalOpens = row -> {
+            SignUpModal signUpModal = new HomePage(driver).clickSignUpLink();
+            Assertions.assertEquals("Sign up", signUpModal.getModalTitle(), "Modal title should be 'Sign up'");
+            Assertions.assertTrue(signUpModal.isUsernameFieldDisplayed(), "Username field should be displayed");
+            Assertions.assertTrue(signUpModal.isPasswordFieldDisplayed(), "Password field should be displayed");
+            signUpModal.clickClose();
+        };
+        bindings.put("TC_NAV_007", signUpModalOpens);
+        bindings.put("TC_REG_01", signUpModalOpens);
+
+        bindings.put("TC_LOG_002", row -> {
+            LoginModal loginModal = new HomePage(driver).clickLoginLink();
+            loginModal.enterUsername(TestData.TEST_USERNAME);
+            loginModal.enterPassword(TestData.TEST_PASSWORD);
+            loginModal.clickLoginButton();
+
+            String welcomeText = wait.until(ExpectedConditions.visibilityOfElementLocated(
+                    By.id(TestData.WELCOME_MESSAGE_ID))).getText();
+            Assertions.assertTrue(welcomeText.contains(TestData.WELCOME_MESSAGE_PREFIX + TestData.TEST_USERNAME),
+                    "Welcome message should contain the username");
+
+            // Log out again so later rows start from a logged-out home page
+            wait.until(ExpectedConditions.elementToBeClickable(By.id(TestData.LOGOUT_LINK_ID))).click();
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(TestData.LOGIN_LINK_ID)));
+        });
+
+        bindings.put("TC_DTL_003", row -> {
+            HomePage homePage = new HomePage(driver);
+            homePage.clickProductByName(TestData.PRODUCT_SAMSUNG_S6).clickAddToCart();
+            Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+            String alertText = alert.getText();
+            alert.accept();
+            Assertions.assertTrue(alertText.contains(TestData.PRODUCT_ADDED_MESSAGE),
+                    "Alert should confirm the product was added, got: " + alertText);
+        });
+
+        bindings.put("TC_CHK_001", row -> {
+            new HomePage(driver).navigateToCart().clickPlaceOrderButton();
+            OrderModal orderModal = new OrderModal(driver);
+            Assertions.assertTrue(orderModal.isDisplayed(), "Order modal should be displayed");
+            orderModal.clickClose();
+        });
+
+        bindings.put("TC_CAR_001", row -> Assertions.assertTrue(
+                driver.findElement(By.id(TestData.CAROUSEL_CONTAINER_ID)).isDisplayed(),
+                "Image carousel should be displayed on the home page"));
+
+        return bindings;
+    }
+
+    /**
+     * Helper method to bring the session back to the home page between rows
+     */
+    private void returnToHomePage() {
+        try {
+            driver.switchTo().alert().accept();
+        } catch (NoAlertPresentException e) {
+            // No alert left open by the previous row
+        }
+        driver.get(TestData.BASE_URL);
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("tbodyid")));
+    }
+
+    /**
+     * Helper method to list the sheet rows that have no automation yet
+     */
+    private void logUnbound(List<String> unbound) {
+        if (!unbound.isEmpty()) {
+            ExtentReportManager.logInfo(unbound.size() + " sheet rows have no page-object binding yet: "
+                    + String.join(", ", unbound));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-registered user accounts, so tests that log in or fill a cart in parallel
+ * never share a server-side session or cart.
+ *
+ * The pool is enabled with -Ddemoblaze.accounts=&lt;N&gt;. On first use it registers N fresh
+ * accounts through the storefront API (in batches of -Ddemoblaze.accounts.batch concurrent
+ * sign-ups) and then hands them out one test at a time. A returned account has its cart
+ * emptied before the next test can lease it. Without the property every lease returns the
+ * shared TestData.TEST_USERNAME account, as before.
+ */
+public class AccountPool {
+    private static final int SIZE = Integer.getInteger("demoblaze.accounts", 0);
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("demoblaze.accounts.batch", 4));
+    private static final long LEASE_TIMEOUT_SECONDS = Long.getLong("demoblaze.accounts.leaseTimeout", 300);
+
+    private static volatile AccountPool instance;
+
+    private final StorefrontApi api;
+    private final BlockingQueue<Account> available = new LinkedBlockingQueue<>();
+    private final int capacity;
+    private final Duration leaseTimeout;
+
+    // Metrics
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong cartEntriesCleared = new AtomicLong();
+    private final long warmUpMillis;
+
+    /**
+     * A pool of its own, registering size accounts against the given storefront (e.g. a
+     * StorefrontStandIn) and failing a lease that waits longer than leaseTimeout
+     */
+    public AccountPool(StorefrontApi api, int size, Duration leaseTimeout) {
+        this.api = api;
+        this.leaseTimeout = leaseTimeout;
+        long start = System.nanoTime();
+        List<Account> registered = register(size);
+        this.warmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.capacity = registered.size();
+        available.addAll(registered);
+        if (capacity == 0) {
+            throw new IllegalStateException("Account pool warm-up registered no accounts against " + api.getApiUrl());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return SIZE > 0;
+    }
+
+    /**
+     * The shared pool, registering its accounts on first call
+     */
+    public static AccountPool get() {
+        if (instance == null) {
+            synchronized (AccountPool.class) {
+                if (instance == null) {
+                    instance = new AccountPool(new StorefrontApi(), SIZE, Duration.ofSeconds(LEASE_TIMEOUT_SECONDS));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The shared pool if it has been created, without creating it
+     */
+    static AccountPool started() {
+        return instance;
+    }
+
+    /**
+     * Lease an account for one test, or the shared test account when the pool is disabled
+     */
+    public static Account leaseAccount() {
+        if (!isEnabled()) {
+            return Account.SHARED;
+        }
+        AccountPool pool = get();
+        Account account = pool.lease();
+        ExtentReportManager.logInfo("Leased account " + account.getUsername() + " (" + pool.stats() + ")");
+        return account;
+    }
+
+    /**
+     * Give a leased account back; the shared account is ignored
+     */
+    public static void releaseAccount(Account account) {
+        if (account == null || account == Account.SHARED || instance == null) {
+            return;
+        }
+        instance.release(account);
+    }
+
+    /**
+     * Block until an account is free
+     * @throws IllegalStateException if none is returned within the lease timeout
+     *         (demoblaze.accounts.leaseTimeout seconds for the shared pool)
+     */
+    public Account lease() {
+        long start = System.nanoTime();
+        Account account;
+        try {
+            account = available.poll(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled account", e);
+        }
+        if (account == null) {
+            throw new IllegalStateException("No pooled account became free within " + leaseTimeout.toMillis() +
+                    " ms (" + stats() + ")");
+        }
+
+        long waited = System.nanoTime() - start;
+        leases.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        return account;
+    }
+
+    /**
+     * Empty the account's cart and make it available again
+     */
+    public void release(Account account) {
+        try {
+            String token = api.login(account.getUsername(), account.getPassword());
+            int removed = api.clearCart(token);
+            cartEntriesCleared.addAndGet(removed);
+            if (removed > 0) {
+                ExtentReportManager.logInfo("Cleared " + removed + " cart item(s) of " + account.getUsername());
+            }
+        } catch (RuntimeException e) {
+            // The next lease may see leftover items, but losing the account would shrink the pool
+            ExtentReportManager.logWarning("Could not clear cart of " + account.getUsername() + ": " + e.getMessage());
+        } finally {
+            inUse.decrementAndGet();
+            available.add(account);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int inUse() {
+        return inUse.get();
+    }
+
+    public int peakInUse() {
+        return peakInUse.get();
+    }
+
+    public long leaseCount() {
+        return leases.get();
+    }
+
+    public long averageWaitMillis() {
+        long count = leases.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count);
+    }
+
+    public long maxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * One-line summary of occupancy and wait times for the report
+     */
+    public String stats() {
+        return "pool " + inUse() + "/" + capacity + " in use, peak " + peakInUse() +
+                ", " + leaseCount() + " leases, wait avg " + averageWaitMillis() + " ms / max " + maxWaitMillis() +
+                " ms, warm-up " + warmUpMillis + " ms, " + cartEntriesCleared.get() + " cart items cleared";
+    }
+
+    private List<Account> register(int size) {
+        List<Account> registered = new ArrayList<>();
+        for (int batchStart = 0; batchStart < size; batchStart += BATCH_SIZE) {
+            int batchEnd = Math.min(size, batchStart + BATCH_SIZE);
+            List<Account> batch = new ArrayList<>();
+            List<CompletableFuture<Boolean>> signUps = new ArrayList<>();
+            for (int i = batchStart; i < batchEnd; i++) {
+                Account account = new Account(TestData.getUniqueUsername(), TestData.TEST_PASSWORD);
+                batch.add(account);
+                signUps.add(api.signUpAsync(account.getUsername(), account.getPassword())
+                        .exceptionally(e -> false));
+            }
+            // One batch in flight at a time keeps the warm-up from flooding the storefront
+            CompletableFuture.allOf(signUps.toArray(new CompletableFuture<?>[0])).join();
+            for (int i = 0; i < batch.size(); i++) {
+                if (signUps.get(i).join()) {
+                    registered.add(batch.get(i));
+                }
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * Login credentials of one account
+     */
+    public static class Account {
+        static final Account SHARED = new Account(TestData.TEST_USERNAME, TestData.TEST_PASSWORD);
+
+        private final String username;
+        private final String password;
+
+        Account(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        @Override
+        public String toString() {
+            return username;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * The browser session one test owns: its ParallelismController slot, the browser started in it
+ * (decorated so every WebDriver command is timed) and the sampler of its processes. Each test
+ * reserves its own lease, so tests running in parallel never share a driver.
+ *
+ * <pre>
+ * BrowserLease lease = BrowserLease.reserve();   // waits until the host has room
+ * WebDriver driver = lease.start("CartTest", "TC_CART_001", ChromeDriver::new);
+ * ...
+ * lease.close();                                  // quits the browser and frees the slot
+ * </pre>
+ */
+public final class BrowserLease implements AutoCloseable {
+    private final CommandProfiler profiler = new CommandProfiler();
+    private WebDriver driver;
+    // Name the browser gives in its capabilities, for the flight recorder events and metrics
+    private String browserName = "unknown";
+    private BrowserResources resources;
+    private boolean closed;
+
+    private BrowserLease() {
+    }
+
+    /**
+     * Block until the ParallelismController has a session slot free and take it
+     */
+    public static BrowserLease reserve() {
+        ParallelismController.get().acquire();
+        return new BrowserLease();
+    }
+
+    /**
+     * Start the browser in the reserved slot, charging its start-up to the test's time account
+     * @return the driver, decorated to report every command to {@link #getProfiler()}
+     */
+    public WebDriver start(String testClass, String testName, Supplier<WebDriver> browserFactory) {
+        if (closed || driver != null) {
+            throw new IllegalStateException("A lease starts one browser, before it is closed");
+        }
+        TestEvents.DriverLease lease = new TestEvents.DriverLease(browserName);
+        lease.begin();
+        long browserStart = System.nanoTime();
+        TimeAccount.begin(TimeAccount.Category.STARTUP);
+        try {
+            WebDriver browser = browserFactory.get();
+            if (browser instanceof HasCapabilities capabilities) {
+                browserName = capabilities.getCapabilities().getBrowserName();
+            }
+            driver = profiler.decorate(browser);
+        } finally {
+            TimeAccount.end();
+        }
+        lease.browser = browserName;
+        lease.commit();
+        TestMetrics.driverStarted(browserName, System.nanoTime() - browserStart);
+        resources = BrowserResources.start(driver, testClass, testName).orElse(null);
+        return driver;
+    }
+
+    /**
+     * The leased browser, or null before it is started
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * The profiler timing the leased browser's commands
+     */
+    public CommandProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Log the browser's process samples, quit it and give the slot back along with the test's mean
+     * command latency. Safe to call more than once, and when the browser never started.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (resources != null) {
+                resources.stop().logToReport();
+            }
+            if (driver != null) {
+                TestEvents.DriverReturn driverReturn = new TestEvents.DriverReturn(browserName);
+                driverReturn.begin();
+                TimeAccount.begin(TimeAccount.Category.TEARDOWN);
+                try {
+                    driver.quit();
+                } finally {
+                    TimeAccount.end();
+                }
+                driverReturn.commit();
+            }
+        } finally {
+            long commands = profiler.getCommandCount();
+            ParallelismController.get().release(driver == null ? Double.NaN
+                    : profiler.getCommandMillis() / Math.max(1, commands), commands);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the processes of one test's browser session from /proc (Linux only): resident memory,
+ * CPU time, threads and open file descriptors of the driver (chromedriver, geckodriver) and every
+ * browser process under it, at a fixed interval while the test runs. The samples belong to the
+ * test that started the session, so the report shows each test's peaks, and a suite summary
+ * shows the host-level peaks and how many sessions fit in the host's memory and cores — the
+ * numbers needed to size parallel runs.
+ *
+ * The session's process tree is found from its capabilities: Firefox reports its process id,
+ * Chromium browsers report the DevTools port, which their user data directory records in
+ * DevToolsActivePort. -Dbrowser.sampleMillis sets the interval (default 1000, 0 turns sampling off).
+ *
+ * RSS counts pages shared between Chrome's processes more than once, and CPU time of processes
+ * that exited between samples is lost, so the numbers are upper bounds for memory and lower
+ * bounds for CPU.
+ */
+public class BrowserResources {
+    private static final long SAMPLE_MILLIS = Long.getLong("browser.sampleMillis", 1000);
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final double MB = 1024 * 1024;
+
+    private static final ScheduledExecutorService sampler = Executors.newScheduledThreadPool(1, runnable -> {
+        // Must not keep the test JVM alive
+        Thread thread = new Thread(runnable, "browser-resources");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Finished tests and host-level aggregates, guarded by the class lock
+    private static final List<BrowserResources> finished = new ArrayList<>();
+    private static final List<BrowserResources> active = new ArrayList<>();
+    private static ScheduledFuture<?> hostTask;
+    private static int peakSessions;
+    private static long peakHostRss;
+    private static long minMemAvailable = Long.MAX_VALUE;
+    private static ExtentTest suiteSummary;
+
+    private final String testClass;
+    private final String testName;
+    private final ProcessHandle root;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledFuture<?> task;
+
+    // Guarded by this
+    private final Map<Long, Long> lastCpuNanos = new HashMap<>();
+    private final List<double[]> samples = new ArrayList<>();
+    private long lastSampleNanos = startNanos;
+    private long cpuNanos;
+    private long peakRss;
+    private long peakThreads;
+    private long peakFds;
+    private long peakProcesses;
+    private double peakCores;
+
+    private BrowserResources(String testClass, String testName, ProcessHandle root) {
+        this.testClass = testClass;
+        this.testName = testName;
+        this.root = root;
+        this.task = sampler.scheduleAtFixedRate(this::sampleQuietly, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start sampling the process tree of a test's browser
+     * @param browser the undecorated driver of the session
+     * @return the sampler, or empty if sampling is off, /proc is not available or the session's
+     * processes cannot be found
+     */
+    public static Optional<BrowserResources> start(WebDriver browser, String testClass, String testName) {
+        if (SAMPLE_MILLIS <= 0 || !ProcessStats.isSupported()
+                || !(DriverManager.unwrap(browser) instanceof HasCapabilities hasCapabilities)) {
+            return Optional.empty();
+        }
+        Optional<ProcessHandle> root = sessionRoot(hasCapabilities.getCapabilities());
+        if (root.isEmpty()) {
+            return Optional.empty();
+        }
+        BrowserResources resources = new BrowserResources(testClass, testName, root.get());
+        synchronized (BrowserResources.class) {
+            active.add(resources);
+            if (hostTask == null) {
+                hostTask = sampler.scheduleAtFixedRate(BrowserResources::sampleHost, 0, SAMPLE_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        return Optional.of(resources);
+    }
+
+    /**
+     * Take a last sample and stop; call before quitting the browser
+     */
+    public BrowserResources stop() {
+        task.cancel(false);
+        sampleQuietly();
+        synchronized (BrowserResources.class) {
+            if (active.remove(this)) {
+                finished.add(this);
+            }
+        }
+        TestMetrics.browserPeakRss(testClass, getPeakRssBytes());
+        return this;
+    }
+
+    /**
+     * The driver process of the session, else the browser's main process
+     */
+    private static Optional<ProcessHandle> sessionRoot(Capabilities capabilities) {
+        Optional<ProcessHandle> browser = Optional.empty();
+        if (capabilities.getCapability("moz:processID") instanceof Number pid) {
+            browser = ProcessHandle.of(pid.longValue());
+        } else {
+            String port = devToolsPort(capabilities);
+            if (port != null) {
+                browser = ProcessHandle.current().descendants()
+                        .filter(process -> port.equals(activeDevToolsPort(process)))
+                        // Child processes share the user data directory; the main process is the topmost
+                        .filter(process -> process.parent().map(parent -> !port.equals(activeDevToolsPort(parent)))
+                                .orElse(true))
+                        .findFirst();
+            }
+        }
+        return browser.map(process -> process.parent()
+                .filter(parent -> parent.pid() != ProcessHandle.current().pid())
+                .orElse(process));
+    }
+
+    /**
+     * Port of "localhost:port" in the debuggerAddress of goog:chromeOptions or ms:edgeOptions
+     */
+    private static String devToolsPort(Capabilities capabilities) {
+        for (String name : capabilities.getCapabilityNames()) {
+            if (capabilities.getCapability(name) instanceof Map<?, ?> options
+                    && options.get("debuggerAddress") instanceof String address) {
+                return address.substring(address.lastIndexOf(':') + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First line of DevToolsActivePort in the process's --user-data-dir, or null
+     */
+    private static String activeDevToolsPort(ProcessHandle process) {
+        String[] arguments = process.info().arguments().orElse(new String[0]);
+        for (String argument : arguments) {
+            if (argument.startsWith("--user-data-dir=")) {
+                Path file = Paths.get(argument.substring("--user-data-dir=".length()), "DevToolsActivePort");
+                try {
+                    List<String> lines = Files.readAllLines(file);
+                    return lines.isEmpty() ? null : lines.get(0).trim();
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // A process exiting mid-read must not cancel the schedule
+        }
+    }
+
+    private synchronized void sample() {
+        List<ProcessHandle> processes = new ArrayList<>();
+        processes.add(root);
+        root.descendants().forEach(processes::add);
+
+        long now = System.nanoTime();
+        long rss = 0;
+        long threads = 0;
+        long fds = 0;
+        long alive = 0;
+        long cpuDelta = 0;
+        Map<Long, Long> cpu = new HashMap<>();
+        for (ProcessHandle process : processes) {
+            long processRss = ProcessStats.rssBytes(process.pid());
+            if (processRss == 0) {
+                // Exited since it was listed
+                continue;
+            }
+            alive++;
+            rss += processRss;
+            threads += ProcessStats.threadCount(process.pid());
+            fds += ProcessStats.openFileCount(process.pid());
+            long processCpu = process.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+            cpu.put(process.pid(), processCpu);
+            cpuDelta += Math.max(0, processCpu - lastCpuNanos.getOrDefault(process.pid(), 0L));
+        }
+        if (alive == 0) {
+            return;
+        }
+        lastCpuNanos.clear();
+        lastCpuNanos.putAll(cpu);
+
+        // The first sample's CPU time is the session's startup, not one interval
+        double cores = samples.isEmpty() || now == lastSampleNanos ? 0 : (double) cpuDelta / (now - lastSampleNanos);
+        lastSampleNanos = now;
+        cpuNanos += cpuDelta;
+        peakRss = Math.max(peakRss, rss);
+        peakThreads = Math.max(peakThreads, threads);
+        peakFds = Math.max(peakFds, fds);
+        peakProcesses = Math.max(peakProcesses, alive);
+        peakCores = Math.max(peakCores, cores);
+        samples.add(new double[]{(now - startNanos) / 1e9, rss / MB, cores});
+    }
+
+    private static synchronized void sampleHost() {
+        peakSessions = Math.max(peakSessions, active.size());
+        ProcessStats.browserRssBytes().ifPresent(rss -> peakHostRss = Math.max(peakHostRss, rss));
+        ProcessStats.memAvailableBytes().ifPresent(available -> minMemAvailable = Math.min(minMemAvailable, available));
+        if (active.isEmpty()) {
+            hostTask.cancel(false);
+            hostTask = null;
+        }
+    }
+
+    public synchronized long getPeakRssBytes() {
+        return peakRss;
+    }
+
+    public synchronized long getPeakThreads() {
+        return peakThreads;
+    }
+
+    public synchronized long getPeakOpenFiles() {
+        return peakFds;
+    }
+
+    public synchronized long getPeakProcesses() {
+        return peakProcesses;
+    }
+
+    /**
+     * CPU time of the session's processes while sampled
+     */
+    public synchronized double getCpuSeconds() {
+        return cpuNanos / 1e9;
+    }
+
+    /**
+     * Highest CPU use between two samples, in cores
+     */
+    public synchronized double getPeakCores() {
+        return peakCores;
+    }
+
+    public synchronized int getSampleCount() {
+        return samples.size();
+    }
+
+    /**
+     * Log the session's peaks and a chart of its memory and CPU over the test
+     */
+    public void logToReport() {
+        ExtentReportManager.logInfo("Browser processes: " + this);
+        double[] seconds;
+        double[] rss;
+        double[] cores;
+        synchronized (this) {
+            if (samples.size() < 2) {
+                return;
+            }
+            seconds = samples.stream().mapToDouble(sample -> sample[0]).toArray();
+            rss = samples.stream().mapToDouble(sample -> sample[1]).toArray();
+            cores = samples.stream().mapToDouble(sample -> sample[2] * 100).toArray();
+        }
+        ExtentReportManager.logHtml(new SvgChart(testName + ": browser processes", "seconds", "MB / % of a core")
+                .series("RSS (MB)", seconds, rss)
+                .series("CPU (% of a core)", seconds, cores)
+                .render());
+    }
+
+    /**
+     * Replace the suite summary in the report: peaks per test class, host-level peaks and how many
+     * sessions the host's memory and cores would hold at the observed peaks
+     */
+    public static synchronized void logSuiteSummary() {
+        if (finished.isEmpty()) {
+            return;
+        }
+        suiteSummary = ExtentReportManager.logSummary(suiteSummary, "Browser resources: suite",
+                "Browser process peaks of all tests so far, for sizing parallel runs", "Browser resources",
+                BrowserResources::logSuitePeaks);
+    }
+
+    /**
+     * Log the peaks per test class and the host sizing to the current test; called with the class lock held
+     */
+    private static void logSuitePeaks() {
+        Map<String, List<BrowserResources>> byClass = new LinkedHashMap<>();
+        for (BrowserResources resources : finished) {
+            byClass.computeIfAbsent(resources.testClass, key -> new ArrayList<>()).add(resources);
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Test class", "Tests", "Peak RSS max", "Peak RSS avg", "CPU avg", "Peak threads",
+                "Peak fds", "Peak processes"});
+        long maxPeakRss = 0;
+        double cpuSeconds = 0;
+        double wallSeconds = 0;
+        for (Map.Entry<String, List<BrowserResources>> entry : byClass.entrySet()) {
+            List<BrowserResources> tests = entry.getValue();
+            long classMax = tests.stream().mapToLong(BrowserResources::getPeakRssBytes).max().orElse(0);
+            maxPeakRss = Math.max(maxPeakRss, classMax);
+            for (BrowserResources test : tests) {
+                cpuSeconds += test.getCpuSeconds();
+                wallSeconds += test.getSampledSeconds();
+            }
+            rows.add(new String[]{entry.getKey(), String.valueOf(tests.size()), megabytes(classMax),
+                    megabytes(tests.stream().mapToLong(BrowserResources::getPeakRssBytes).average().orElse(0)),
+                    df.get().format(tests.stream().mapToDouble(BrowserResources::getCpuSeconds).average().orElse(0)) + " s",
+                    String.valueOf(tests.stream().mapToLong(BrowserResources::getPeakThreads).max().orElse(0)),
+                    String.valueOf(tests.stream().mapToLong(BrowserResources::getPeakOpenFiles).max().orElse(0)),
+                    String.valueOf(tests.stream().mapToLong(BrowserResources::getPeakProcesses).max().orElse(0))});
+        }
+
+        OptionalLong memTotal = ProcessStats.memTotalBytes();
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExtentReportManager.logInfo("Host: " + cores + " cores, " +
+                (memTotal.isPresent() ? megabytes(memTotal.getAsLong()) + " memory, " : "") +
+                "peak " + peakSessions + " concurrent sessions using " + megabytes(peakHostRss) +
+                (minMemAvailable == Long.MAX_VALUE ? "" : ", lowest available memory " + megabytes(minMemAvailable)));
+        if (maxPeakRss > 0 && minMemAvailable != Long.MAX_VALUE) {
+            // Memory the browsers had at the tightest moment: what was still free plus what they held
+            long browserMemory = minMemAvailable + peakHostRss;
+            double averageCores = wallSeconds == 0 ? 0 : cpuSeconds / wallSeconds;
+            ExtentReportManager.logInfo("Sizing: at the largest per-test peak of " + megabytes(maxPeakRss) +
+                    " about " + browserMemory / maxPeakRss + " sessions fit in memory" +
+                    (averageCores > 0 ? "; at " + df.get().format(averageCores) + " cores per session on average about " +
+                            (int) (cores / averageCores) + " fit in CPU" : ""));
+        }
+        ExtentReportManager.logTable(rows.toArray(new String[0][]));
+    }
+
+    private synchronized double getSampledSeconds() {
+        return samples.isEmpty() ? 0 : samples.get(samples.size() - 1)[0];
+    }
+
+    private static String megabytes(double bytes) {
+        return df.get().format(bytes / MB) + " MB";
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "peak RSS " + megabytes(peakRss) + ", CPU " + df.get().format(getCpuSeconds()) + " s (peak " +
+                df.get().format(peakCores * 100) + "% of a core), peak " + peakThreads + " threads, " + peakFds +
+                " open files, " + peakProcesses + " processes over " + samples.size() + " samples";
+    }
+}
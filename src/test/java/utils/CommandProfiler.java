@@ -0,0 +1,334 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Times every WebDriver command of a decorated driver, to tell whether a slow test is slow because
+ * of the site, our sleeps and waits, or chatty WebDriver usage.
+ *
+ * Commands are aggregated by type (e.g. "WebElement.click", "WebDriver.findElement") and by call
+ * site: the page-object or test method that issued them, found by walking the stack to the first
+ * frame in the pages or tests packages. Idle time is the wall-clock time between commands, i.e.
+ * sleeps, the polling intervals of waits and our own code.
+ *
+ * <pre>
+ * CommandProfiler profiler = new CommandProfiler();
+ * WebDriver driver = profiler.decorate(new ChromeDriver());
+ * ...
+ * profiler.logToReport();
+ * </pre>
+ */
+public class CommandProfiler implements WebDriverListener {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final StackWalker STACK = StackWalker.getInstance();
+    private static final int CALL_SITES_LOGGED = 10;
+    private static final int OFFENDERS_LISTED = 5;
+
+    // Calls answered by the client without a round trip to the browser
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "window", "timeouts",
+            "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+    private static final Set<String> NAVIGATION_COMMANDS = Set.of("WebDriver.get", "Navigation.to", "Navigation.back",
+            "Navigation.forward", "Navigation.refresh");
+
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<String, Stats> byCommand = new LinkedHashMap<>();
+    private final Map<String, Stats> byCallSite = new LinkedHashMap<>();
+    private long startNanos = System.nanoTime();
+    private long commandNanos;
+
+    /**
+     * The driver with every command reported to this profiler; casts to JavascriptExecutor,
+     * TakesScreenshot and HasCdp still work, and DriverManager.unwrap returns the original
+     */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    /**
+     * Forget everything recorded so far, e.g. after setup, and restart the wall clock
+     */
+    public synchronized void reset() {
+        byCommand.clear();
+        byCallSite.clear();
+        commandNanos = 0;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            SpanTracer.commandStarted(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+            started.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finished(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finished(method, true);
+    }
+
+    private void finished(Method method, boolean failed) {
+        if (LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        Deque<Long> stack = started.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long end = System.nanoTime();
+        long start = stack.pop();
+        long nanos = end - start;
+        // Calls nested inside another command (rare) are counted but not added to command time twice
+        boolean topLevel = stack.isEmpty();
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String callSite = callSite();
+        SpanTracer.commandFinished(callSite, failed);
+        if (topLevel && TimeAccount.isActive()) {
+            TimeAccount.record(category(command), start, end);
+        }
+        synchronized (this) {
+            byCommand.computeIfAbsent(command, Stats::new).record(nanos, failed);
+            byCallSite.computeIfAbsent(callSite, Stats::new).record(nanos, failed);
+            if (topLevel) {
+                commandNanos += nanos;
+            }
+        }
+    }
+
+    /**
+     * Time accounting category of a command: polls of a WebDriverWait count as waiting
+     */
+    private static TimeAccount.Category category(String command) {
+        if (STACK.walk(frames -> frames.anyMatch(frame -> frame.getClassName().equals(FluentWait.class.getName())
+                && frame.getMethodName().equals("until")))) {
+            return TimeAccount.Category.WAIT;
+        }
+        if (NAVIGATION_COMMANDS.contains(command)) {
+            return TimeAccount.Category.NAVIGATION;
+        }
+        return command.equals("TakesScreenshot.getScreenshotAs") ? TimeAccount.Category.SCREENSHOT
+                : TimeAccount.Category.COMMAND;
+    }
+
+    /**
+     * The first page-object or test method on the stack, e.g. "HomePage.clickLoginLink"
+     */
+    static String callSite() {
+        return STACK.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("pages.") || frame.getClassName().startsWith("tests."))
+                .findFirst()
+                .map(frame -> methodName(frame.getClassName(), frame.getMethodName()))
+                .orElse("(framework)"));
+    }
+
+    /**
+     * "tests.base.CartTest$1", "lambda$testCart$0" becomes "CartTest.testCart"
+     */
+    static String methodName(String className, String method) {
+        String simpleClass = className.substring(className.lastIndexOf('.') + 1).replaceAll("\\$\\d+$", "");
+        String name = method.startsWith("lambda$") ? method.substring("lambda$".length()).replaceAll("\\$\\d+$", "") : method;
+        return simpleClass + "." + name;
+    }
+
+    /**
+     * WebDriver round trips recorded since the last reset
+     */
+    public synchronized long getCommandCount() {
+        return byCommand.values().stream().mapToLong(Stats::getCount).sum();
+    }
+
+    /**
+     * Time spent waiting for WebDriver commands, in milliseconds
+     */
+    public synchronized double getCommandMillis() {
+        return commandNanos / 1_000_000.0;
+    }
+
+    /**
+     * Wall-clock time since the last reset, in milliseconds
+     */
+    public synchronized double getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Wall-clock time outside WebDriver commands (sleeps, wait polling intervals, test code), in milliseconds
+     */
+    public synchronized double getIdleMillis() {
+        return Math.max(0, getElapsedMillis() - getCommandMillis());
+    }
+
+    /**
+     * Commands by type, slowest total first
+     */
+    public synchronized List<Stats> getCommands() {
+        List<Stats> commands = new ArrayList<>(byCommand.values());
+        commands.sort(Comparator.comparingLong(Stats::getTotalNanos).reversed());
+        return commands;
+    }
+
+    /**
+     * Commands by calling method, most commands first
+     */
+    public synchronized List<Stats> getCallSites() {
+        List<Stats> callSites = new ArrayList<>(byCallSite.values());
+        callSites.sort(Comparator.comparingLong(Stats::getCount).reversed());
+        return callSites;
+    }
+
+    /**
+     * Log the command profile: where the time went, commands by type and the busiest call sites
+     */
+    public void logToReport() {
+        ExtentReportManager.logTable(new String[][]{
+                {"WebDriver commands", "Command time", "Idle time", "Wall time"},
+                {String.valueOf(getCommandCount()), ms(getCommandMillis()), ms(getIdleMillis()), ms(getElapsedMillis())}
+        });
+        List<String[]> commands = new ArrayList<>();
+        commands.add(new String[]{"Command", "Count", "Errors", "Total", "Mean", "Max"});
+        for (Stats stats : getCommands()) {
+            commands.add(stats.toRow());
+        }
+        ExtentReportManager.logTable(commands.toArray(new String[0][]));
+
+        List<String[]> callSites = new ArrayList<>();
+        callSites.add(new String[]{"Call site", "Count", "Errors", "Total", "Mean", "Max"});
+        for (Stats stats : topCallSites(CALL_SITES_LOGGED)) {
+            callSites.add(stats.toRow());
+        }
+        ExtentReportManager.logTable(callSites.toArray(new String[0][]));
+    }
+
+    /**
+     * Check the commands and idle time so far against a budget, logging the outcome. Over budget
+     * the top call sites are logged and the test fails, unless the budget or -Droundtrip.warnOnly
+     * says to only warn.
+     * @throws AssertionError if the budget is exceeded and enforced
+     */
+    public void enforce(RoundTripBudget budget) {
+        List<String> exceeded = new ArrayList<>();
+        long commands = getCommandCount();
+        double idle = getIdleMillis();
+        if (budget.maxCommands() > 0 && commands > budget.maxCommands()) {
+            exceeded.add(commands + " WebDriver commands (budget " + budget.maxCommands() + ")");
+        }
+        if (budget.maxIdleMillis() > 0 && idle > budget.maxIdleMillis()) {
+            exceeded.add(ms(idle) + " idle (budget " + ms(budget.maxIdleMillis()) + ")");
+        }
+        if (exceeded.isEmpty()) {
+            ExtentReportManager.logPass("Within round-trip budget: " + commands + " commands, " + ms(idle) + " idle");
+            return;
+        }
+
+        List<String> offenders = new ArrayList<>();
+        for (Stats stats : topCallSites(OFFENDERS_LISTED)) {
+            offenders.add(stats.getName() + " (" + stats.getCount() + " commands, " + ms(stats.getTotalMillis()) + ")");
+        }
+        String message = "Round-trip budget exceeded: " + String.join(", ", exceeded) +
+                "; top call sites: " + String.join(", ", offenders);
+        if (budget.warnOnly() || Boolean.getBoolean("roundtrip.warnOnly")) {
+            ExtentReportManager.logWarning(message);
+        } else {
+            ExtentReportManager.logFail(message);
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * The call sites issuing the most commands
+     */
+    public List<Stats> topCallSites(int limit) {
+        List<Stats> callSites = getCallSites();
+        return callSites.subList(0, Math.min(limit, callSites.size()));
+    }
+
+    @Override
+    public String toString() {
+        return getCommandCount() + " WebDriver commands, " + ms(getCommandMillis()) + " in commands, " +
+                ms(getIdleMillis()) + " idle";
+    }
+
+    private static String ms(double value) {
+        return df.get().format(value) + " ms";
+    }
+
+    /**
+     * Count and latency of the commands of one type or call site
+     */
+    public static class Stats {
+        private final String name;
+        private long count;
+        private long errors;
+        private long totalNanos;
+        private long maxNanos;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean failed) {
+            count++;
+            if (failed) {
+                errors++;
+            }
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Commands that threw, e.g. findElement polls of a wait before the element appeared
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public double getMeanMillis() {
+            return count == 0 ? 0 : getTotalMillis() / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        String[] toRow() {
+            return new String[]{name, String.valueOf(count), String.valueOf(errors), ms(getTotalMillis()),
+                    ms(getMeanMillis()), ms(getMaxMillis())};
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package utils;
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 
+import java.util.Map;
+
+/**
+ * A browser per thread for code outside the BaseTest lifecycle, plus helpers for the decorated
+ * drivers of BrowserLease. The thread's browser is started and quit through a BrowserLease, so it
+ * takes a ParallelismController slot and is timed and counted like the browser of a test.
+ */
 public class DriverManager {
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static ThreadLocal<BrowserLease> lease = new ThreadLocal<>();
 
     private DriverManager() {
         // Private constructor to prevent instantiation
     }
 
     public static WebDriver getDriver() {
-        if (driver.get() == null) {
+        if (lease.get() == null) {
             initializeDriver("chrome");
         }
-        return driver.get();
+        return lease.get().getDriver();
     }
 
     public static void initializeDriver(String browserName) {
+        BrowserLease browserLease = BrowserLease.reserve();
+        try {
+            browserLease.start(DriverManager.class.getSimpleName(), Thread.currentThread().getName(),
+                    () -> startBrowser(browserName));
+        } catch (RuntimeException e) {
+            browserLease.close();
+            throw e;
+        }
+        lease.set(browserLease);
+    }
+
+    private static WebDriver startBrowser(String browserName) {
         WebDriver webDriver;
 
         switch (browserName.toLowerCase()) {
@@ -39,13 +62,63 @@ public class DriverManager {
         }
 
         webDriver.manage().window().maximize();
-        driver.set(webDriver);
+        return webDriver;
+    }
+
+    /**
+     * Command profile of this thread's driver, or null before initializeDriver
+     */
+    public static CommandProfiler getProfiler() {
+        return lease.get() == null ? null : lease.get().getProfiler();
     }
 
     public static void quitDriver() {
-        if (driver.get() != null) {
-            driver.get().quit();
-            driver.remove();
+        if (lease.get() != null) {
+            lease.get().close();
+            lease.remove();
+        }
+    }
+
+    /**
+     * The underlying driver of a decorated (WrapsDriver) driver
+     */
+    public static WebDriver unwrap(WebDriver webDriver) {
+        WebDriver current = webDriver;
+        while (current instanceof WrapsDriver wrapper && wrapper.getWrappedDriver() != current) {
+            current = wrapper.getWrappedDriver();
+        }
+        return current;
+    }
+
+    /**
+     * Whether Chrome DevTools Protocol commands can be sent to this driver
+     */
+    public static boolean supportsCdp(WebDriver webDriver) {
+        return unwrap(webDriver) instanceof HasCdp;
+    }
+
+    /**
+     * Send a Chrome DevTools Protocol command
+     * @throws UnsupportedOperationException if the browser does not speak CDP (Firefox)
+     */
+    public static Map<String, Object> executeCdpCommand(WebDriver webDriver, String command, Map<String, Object> parameters) {
+        if (!(unwrap(webDriver) instanceof HasCdp cdp)) {
+            throw new UnsupportedOperationException("CDP command " + command + " needs a Chromium-based driver");
+        }
+        return cdp.executeCdpCommand(command, parameters);
+    }
+
+    /**
+     * DevTools connection of the driver, with a session attached to the current tab; needed for
+     * CDP domains that report back through events rather than command results (e.g. Tracing)
+     * @throws UnsupportedOperationException if the browser does not speak CDP (Firefox)
+     */
+    public static DevTools getDevTools(WebDriver webDriver) {
+        if (!(unwrap(webDriver) instanceof HasDevTools devToolsDriver)) {
+            throw new UnsupportedOperationException("DevTools needs a Chromium-based driver");
         }
+        DevTools devTools = devToolsDriver.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
     }
-}
\ No newline at end of file
+}
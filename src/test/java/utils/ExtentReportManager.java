@@ -14,15 +14,17 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Consumer;
 
 public class ExtentReportManager {
     private static ExtentReports extent;
-    private static Map<Long, ExtentTest> testMap = new HashMap<>();
-    private static Map<Long, WebDriver> driverMap = new HashMap<>();
+    // The test each worker thread is running and its driver, so parallel tests log to their own entry
+    private static final ThreadLocal<ExtentTest> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> currentDriver = new ThreadLocal<>();
 
     /**
      * Initialize the ExtentReports instance
@@ -92,6 +94,18 @@ public class ExtentReportManager {
             extent.setSystemInfo("Browser", "Chrome");
             extent.setSystemInfo("Environment", "Test");
             extent.setSystemInfo("URL", "https://www.demoblaze.com/");
+
+            // Record the run with Flight Recorder if -Djfr.record=true
+            Path recordingFile = TestEvents.recordRunIfRequested();
+            if (recordingFile != null) {
+                extent.setSystemInfo("Flight recording", recordingFile.toString());
+            }
+
+            // Serve the suite metrics while running if -Dmetrics.port is set
+            String metricsEndpoint = TestMetrics.serveIfRequested();
+            if (metricsEndpoint != null) {
+                extent.setSystemInfo("Metrics endpoint", metricsEndpoint);
+            }
         }
         return extent;
     }
@@ -101,104 +115,227 @@ public class ExtentReportManager {
      */
     public static synchronized ExtentTest createTest(String testName, String description) {
         ExtentTest test = init().createTest(testName, description);
-        testMap.put(Thread.currentThread().getId(), test);
+        currentTest.set(test);
         return test;
     }
 
     /**
      * Get the current test instance
      */
-    public static synchronized ExtentTest getTest() {
-        return testMap.get(Thread.currentThread().getId());
+    public static ExtentTest getTest() {
+        return currentTest.get();
+    }
+
+    /**
+     * Create a child node under the current test and make it the current test,
+     * so subsequent log calls on this thread land in the node
+     */
+    public static synchronized ExtentTest createNode(String nodeName, String description) {
+        ExtentTest parent = getTest();
+        if (parent == null) {
+            return createTest(nodeName, description);
+        }
+        ExtentTest node = parent.createNode(nodeName, description);
+        currentTest.set(node);
+        return node;
+    }
+
+    /**
+     * Add the current test to report categories, so the report can group tests by them
+     */
+    public static synchronized void assignCategory(String... categories) {
+        ExtentTest test = getTest();
+        if (test != null) {
+            test.assignCategory(categories);
+        }
+    }
+
+    /**
+     * Make the given test the current test for this thread (e.g. to return to a parent after a node)
+     */
+    public static void setTest(ExtentTest test) {
+        currentTest.set(test);
+    }
+
+    /**
+     * Forget this thread's test and driver once the test is over, so a worker thread that goes on
+     * to another test class cannot log into it
+     */
+    public static void clearContext() {
+        currentTest.remove();
+        currentDriver.remove();
+    }
+
+    /**
+     * Remove a test from the report, e.g. a summary about to be replaced
+     */
+    public static synchronized void removeTest(ExtentTest test) {
+        init().removeTest(test);
+    }
+
+    /**
+     * Add a summary entry to the report, e.g. from an @AfterAll method, and let the body log into it.
+     * The entry it replaces, if any, is removed first. Afterwards this thread goes back to the test
+     * it was logging to before, or to none, so later log calls cannot land in the summary.
+     *
+     * @return the new entry, to be passed as {@code replaced} next time
+     */
+    public static synchronized ExtentTest logSummary(ExtentTest replaced, String name, String description,
+                                                     String category, Runnable body) {
+        ExtentTest previous = getTest();
+        if (replaced != null) {
+            removeTest(replaced);
+        }
+        ExtentTest summary = createTest(name, description);
+        try {
+            summary.assignCategory(category);
+            body.run();
+        } finally {
+            if (previous == null) {
+                currentTest.remove();
+            } else {
+                currentTest.set(previous);
+            }
+        }
+        return summary;
     }
 
     /**
      * Set WebDriver instance for screenshots
      */
-    public static synchronized void setDriver(WebDriver driver) {
-        driverMap.put(Thread.currentThread().getId(), driver);
+    public static void setDriver(WebDriver driver) {
+        currentDriver.set(driver);
     }
 
     /**
      * Get WebDriver instance
      */
-    public static synchronized WebDriver getDriver() {
-        return driverMap.get(Thread.currentThread().getId());
+    public static WebDriver getDriver() {
+        return currentDriver.get();
     }
 
     /**
      * Log step with numbered format and blue background
      */
     public static synchronized void logStep(String message) {
-        ExtentTest test = getTest();
-        if (test != null) {
-            test.info(MarkupHelper.createLabel("STEP: " + message, ExtentColor.BLUE));
-        }
+        TestEvents.step(message);
+        SpanTracer.step(message);
+        log(test -> test.info(MarkupHelper.createLabel("STEP: " + message, ExtentColor.BLUE)));
     }
 
     /**
      * Log passed condition with green label
      */
     public static synchronized void logPass(String message) {
-        ExtentTest test = getTest();
-        if (test != null) {
-            test.pass(MarkupHelper.createLabel("PASS: " + message, ExtentColor.GREEN));
-        }
+        log(test -> test.pass(MarkupHelper.createLabel("PASS: " + message, ExtentColor.GREEN)));
     }
 
     /**
      * Log failed condition with red label
      */
     public static synchronized void logFail(String message) {
-        ExtentTest test = getTest();
-        if (test != null) {
-            test.fail(MarkupHelper.createLabel("FAIL: " + message, ExtentColor.RED));
-        }
+        log(test -> test.fail(MarkupHelper.createLabel("FAIL: " + message, ExtentColor.RED)));
     }
 
     /**
      * Log info message
      */
     public static synchronized void logInfo(String message) {
-        ExtentTest test = getTest();
-        if (test != null) {
-            test.info(message);
-        }
+        log(test -> test.info(message));
     }
 
     /**
      * Log warning with orange label
      */
     public static synchronized void logWarning(String message) {
-        ExtentTest test = getTest();
-        if (test != null) {
-            test.warning(MarkupHelper.createLabel("WARNING: " + message, ExtentColor.ORANGE));
+        log(test -> test.warning(MarkupHelper.createLabel("WARNING: " + message, ExtentColor.ORANGE)));
+    }
+
+    /**
+     * Log skipped condition with amber label
+     */
+    public static synchronized void logSkip(String message) {
+        log(test -> test.skip(MarkupHelper.createLabel("SKIP: " + message, ExtentColor.AMBER)));
+    }
+
+    /**
+     * Log a table of values; by convention the first row holds the column names
+     */
+    public static synchronized void logTable(String[][] rows) {
+        if (rows.length > 0) {
+            log(test -> test.info(MarkupHelper.createTable(rows, "table-sm")));
         }
     }
 
     /**
-     * Capture screenshot and add to report
+     * Log raw HTML, e.g. an inline SVG chart
+     */
+    public static synchronized void logHtml(String html) {
+        log(test -> test.info(html));
+    }
+
+    /**
+     * Log a link to a file written next to the report (under test-output/), e.g. a trace
+     */
+    public static synchronized void logLink(String text, Path file) {
+        Path reportDir = Paths.get(System.getProperty("user.dir"), "test-output").toAbsolutePath();
+        String href = reportDir.relativize(file.toAbsolutePath()).toString().replace(File.separatorChar, '/');
+        log(test -> test.info("<a href=\"" + href + "\" target=\"_blank\">" + text + "</a>"));
+    }
+
+    /**
+     * Capture screenshot and add to report; the browser round trip is made outside the report lock,
+     * so parallel tests do not wait for each other's screenshots
      */
-    public static synchronized void captureScreenshot(String name) {
+    public static void captureScreenshot(String name) {
         WebDriver driver = getDriver();
         ExtentTest test = getTest();
 
         if (driver != null && test != null) {
+            TestEvents.ScreenshotSpan event = new TestEvents.ScreenshotSpan();
+            event.name = name;
+            event.begin();
+            TimeAccount.begin(TimeAccount.Category.SCREENSHOT);
             try {
                 String base64Image = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-                test.info(name, MediaEntityBuilder.createScreenCaptureFromBase64String(base64Image).build());
+                event.bytes = base64Image.length() * 3L / 4;
+                TestMetrics.screenshotCaptured(event.bytes);
+                synchronized (ExtentReportManager.class) {
+                    test.info(name, MediaEntityBuilder.createScreenCaptureFromBase64String(base64Image).build());
+                }
             } catch (Exception e) {
-                test.info("Failed to capture screenshot: " + e.getMessage());
+                synchronized (ExtentReportManager.class) {
+                    test.info("Failed to capture screenshot: " + e.getMessage());
+                }
+            } finally {
+                TimeAccount.end();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Add an entry to the current test, if any, charging the time to reporting
+     */
+    private static void log(Consumer<ExtentTest> entry) {
+        ExtentTest test = getTest();
+        if (test != null) {
+            TimeAccount.begin(TimeAccount.Category.REPORTING);
+            try {
+                entry.accept(test);
+            } finally {
+                TimeAccount.end();
             }
         }
     }
 
     /**
-     * Generate the report
+     * Generate the report, and write the suite metrics so far next to it
      */
     public static synchronized void flush() {
         if (extent != null) {
             extent.flush();
+            TestMetrics.write();
         }
     }
 }
\ No newline at end of file
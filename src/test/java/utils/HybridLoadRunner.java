@@ -0,0 +1,260 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleFunction;
+
+/**
+ * Measures what a real user sees while the backend is busy: background HTTP load is stepped
+ * through a list of arrival rates, and at every level a browser probe times the same operations
+ * with its own PerformanceRunner.
+ *
+ * At each level the background load starts first and runs for hybrid.settle before the probe,
+ * so queues have filled, and is stopped once the probe has finished. A rate of 0 measures the
+ * browser without background load.
+ *
+ * <pre>
+ * HybridLoadRunner.Result result = HybridLoadRunner.fromSystemProperties().run("Storefront",
+ *         rate -&gt; scenarios.addTo(LoadGenerator.open(rate, Duration.ofHours(1))),
+ *         runner -&gt; runner.measure("Home page", () -&gt; ...));
+ * result.logToReport();
+ * </pre>
+ */
+public class HybridLoadRunner {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> correlationFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+
+    private final List<Double> rates;
+    private final Duration settle;
+
+    public HybridLoadRunner(List<Double> rates, Duration settle) {
+        if (rates.isEmpty()) {
+            throw new IllegalArgumentException("hybrid.rates must list at least one arrival rate");
+        }
+        this.rates = rates;
+        this.settle = settle;
+    }
+
+    /**
+     * Runner configured with -Dhybrid.rates (background arrivals per second, default "0,20,50,100")
+     * and -Dhybrid.settle (default 5s)
+     */
+    public static HybridLoadRunner fromSystemProperties() {
+        List<Double> rates = new ArrayList<>();
+        for (String rate : System.getProperty("hybrid.rates", "0,20,50,100").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        return new HybridLoadRunner(rates, SoakRunner.parseDuration(System.getProperty("hybrid.settle", "5s")));
+    }
+
+    /**
+     * The browser operations timed at every load level
+     */
+    @FunctionalInterface
+    public interface Probe {
+        void measure(PerformanceRunner runner) throws Exception;
+    }
+
+    /**
+     * Step through the load levels and time the probe at each
+     * @param backgroundLoad creates the background load for an arrival rate; it runs until stopped
+     */
+    public Result run(String name, DoubleFunction<LoadGenerator> backgroundLoad, Probe probe) {
+        List<Level> levels = new ArrayList<>();
+        for (double rate : rates) {
+            ExtentReportManager.logStep("Load level " + df.get().format(rate) + " arrivals/s");
+            LoadGenerator generator = rate > 0 ? backgroundLoad.apply(rate) : null;
+            CompletableFuture<LoadGenerator.Result> load = generator == null ? null
+                    : CompletableFuture.supplyAsync(() -> generator.run(name + " background load"));
+            PerformanceRunner runner = PerformanceRunner.fromSystemProperties();
+            try {
+                if (load != null) {
+                    Thread.sleep(settle.toMillis());
+                }
+                probe.measure(runner);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Hybrid load of " + name + " was interrupted", e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Browser probe of " + name + " failed: " + e.getMessage(), e);
+            } finally {
+                if (generator != null) {
+                    generator.stop();
+                }
+            }
+            LoadGenerator.Result background = load == null ? null : load.join();
+            if (background != null) {
+                ExtentReportManager.logInfo(background.toString());
+            }
+            levels.add(new Level(rate, background, runner.getResults()));
+        }
+        Result result = new Result(name, levels);
+        ExtentReportManager.logInfo(result.toString());
+        return result;
+    }
+
+    /**
+     * Background load and browser timings of one load level
+     */
+    public static class Level {
+        private final double targetRate;
+        private final LoadGenerator.Result background;
+        private final Map<String, PerformanceRunner.Result> operations = new LinkedHashMap<>();
+
+        Level(double targetRate, LoadGenerator.Result background, List<PerformanceRunner.Result> operations) {
+            this.targetRate = targetRate;
+            this.background = background;
+            for (PerformanceRunner.Result operation : operations) {
+                this.operations.put(operation.getOperation(), operation);
+            }
+        }
+
+        public double getTargetRate() {
+            return targetRate;
+        }
+
+        /**
+         * Arrival rate the background load actually achieved; 0 without background load
+         */
+        public double getArrivalRate() {
+            return background == null ? 0 : background.getArrivalRate();
+        }
+
+        /**
+         * Background load result, or null at the level without background load
+         */
+        public LoadGenerator.Result getBackground() {
+            return background;
+        }
+
+        public PerformanceRunner.Result getOperation(String operation) {
+            return operations.get(operation);
+        }
+    }
+
+    /**
+     * Browser latency per operation and load level
+     */
+    public static class Result {
+        private final String name;
+        private final List<Level> levels;
+        private final Set<String> operations = new LinkedHashSet<>();
+
+        Result(String name, List<Level> levels) {
+            this.name = name;
+            this.levels = levels;
+            for (Level level : levels) {
+                operations.addAll(level.operations.keySet());
+            }
+        }
+
+        public List<Level> getLevels() {
+            return levels;
+        }
+
+        /**
+         * Pearson correlation between the achieved arrival rate and an operation's median latency
+         * across the levels; NaN with fewer than two levels or no variation
+         */
+        public double getCorrelation(String operation) {
+            List<double[]> points = new ArrayList<>();
+            for (Level level : levels) {
+                PerformanceRunner.Result result = level.getOperation(operation);
+                if (result != null) {
+                    points.add(new double[]{level.getArrivalRate(), result.percentile(50)});
+                }
+            }
+            int n = points.size();
+            if (n < 2) {
+                return Double.NaN;
+            }
+            double meanX = points.stream().mapToDouble(p -> p[0]).average().orElse(0);
+            double meanY = points.stream().mapToDouble(p -> p[1]).average().orElse(0);
+            double covariance = 0;
+            double varianceX = 0;
+            double varianceY = 0;
+            for (double[] point : points) {
+                covariance += (point[0] - meanX) * (point[1] - meanY);
+                varianceX += (point[0] - meanX) * (point[0] - meanX);
+                varianceY += (point[1] - meanY) * (point[1] - meanY);
+            }
+            return varianceX == 0 || varianceY == 0 ? Double.NaN : covariance / Math.sqrt(varianceX * varianceY);
+        }
+
+        /**
+         * Log the latency of every operation per load level, its correlation with the arrival rate
+         * and charts of latency against arrival rate
+         */
+        public void logToReport() {
+            List<String[]> backend = new ArrayList<>();
+            backend.add(new String[]{"Target rate", "Achieved rate", "Backend p50", "Backend p99", "Errors"});
+            for (Level level : levels) {
+                LoadGenerator.Result background = level.getBackground();
+                backend.add(new String[]{df.get().format(level.getTargetRate()) + "/s", df.get().format(level.getArrivalRate()) + "/s",
+                        background == null ? "-" : ms(background.getLatency().getValueAtPercentile(50) / 1000.0),
+                        background == null ? "-" : ms(background.getLatency().getValueAtPercentile(99) / 1000.0),
+                        background == null ? "-" : String.valueOf(background.getErrorCount())});
+            }
+            ExtentReportManager.logTable(backend.toArray(new String[0][]));
+
+            List<String[]> browser = new ArrayList<>();
+            List<String> header = new ArrayList<>();
+            header.add("Operation (browser p50)");
+            for (Level level : levels) {
+                header.add(df.get().format(level.getArrivalRate()) + "/s");
+            }
+            header.add("Correlation");
+            browser.add(header.toArray(new String[0]));
+            double[] rates = new double[levels.size()];
+            for (int i = 0; i < levels.size(); i++) {
+                rates[i] = levels.get(i).getArrivalRate();
+            }
+            SvgChart median = new SvgChart(name + ": browser p50 vs background load", "arrivals/s", "ms");
+            SvgChart tail = new SvgChart(name + ": browser p90 vs background load", "arrivals/s", "ms");
+            for (String operation : operations) {
+                List<String> row = new ArrayList<>();
+                row.add(operation);
+                double[] p50 = new double[levels.size()];
+                double[] p90 = new double[levels.size()];
+                for (int i = 0; i < levels.size(); i++) {
+                    PerformanceRunner.Result result = levels.get(i).getOperation(operation);
+                    p50[i] = result == null ? Double.NaN : result.percentile(50);
+                    p90[i] = result == null ? Double.NaN : result.percentile(90);
+                    row.add(result == null ? "-" : ms(p50[i]));
+                }
+                double correlation = getCorrelation(operation);
+                row.add(Double.isNaN(correlation) ? "-" : correlationFormat.get().format(correlation));
+                browser.add(row.toArray(new String[0]));
+                median.series(operation, rates, p50);
+                tail.series(operation, rates, p90);
+            }
+            ExtentReportManager.logTable(browser.toArray(new String[0][]));
+            ExtentReportManager.logHtml(median.render());
+            ExtentReportManager.logHtml(tail.render());
+        }
+
+        private static String ms(double value) {
+            return df.get().format(value) + " ms";
+        }
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            for (String operation : operations) {
+                double correlation = getCorrelation(operation);
+                parts.add(operation + " r=" + (Double.isNaN(correlation) ? "-" : correlationFormat.get().format(correlation)));
+            }
+            return name + ": " + levels.size() + " load levels, latency vs arrival rate " + String.join(", ", parts);
+        }
+    }
+}
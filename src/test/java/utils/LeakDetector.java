@@ -0,0 +1,173 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Repeats an action in one browser session and fits how much memory each repetition leaves behind.
+ *
+ * After leak.warmup untimed repetitions (caches, lazy initialisation), the page is sampled with
+ * MemoryProbe once before and after each of leak.iterations repetitions. Growth per iteration is
+ * the Theil-Sen slope of the samples: the median of the slopes between all pairs of points, so a
+ * single GC spike or late allocation does not move it, while steady growth does.
+ *
+ * <pre>
+ * LeakDetector.Trend trend = LeakDetector.fromSystemProperties(driver).run("Contact modal", () -&gt; {
+ *     openAndCloseContactModal();
+ * });
+ * budgets.check("Contact modal", "nodes", trend.getNodeGrowth());
+ * </pre>
+ */
+public class LeakDetector {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> countFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+
+    private final WebDriver driver;
+    private final int warmupIterations;
+    private final int iterations;
+
+    public LeakDetector(WebDriver driver, int warmupIterations, int iterations) {
+        if (iterations < 2) {
+            throw new IllegalArgumentException("leak.iterations must be at least 2 to fit a trend");
+        }
+        this.driver = driver;
+        this.warmupIterations = Math.max(0, warmupIterations);
+        this.iterations = iterations;
+    }
+
+    /**
+     * Detector configured with -Dleak.warmup (default 2) and -Dleak.iterations (default 20)
+     */
+    public static LeakDetector fromSystemProperties(WebDriver driver) {
+        return new LeakDetector(driver, Integer.getInteger("leak.warmup", 2), Integer.getInteger("leak.iterations", 20));
+    }
+
+    /**
+     * Run the warm-up and sampled repetitions of one action and log the fitted growth
+     */
+    public Trend run(String name, Runnable action) {
+        ExtentReportManager.logStep("Repeating " + name + " (" + warmupIterations + " warm-up + " +
+                iterations + " sampled iterations)");
+        for (int i = 0; i < warmupIterations; i++) {
+            action.run();
+        }
+        List<MemoryProbe.MemorySample> samples = new ArrayList<>();
+        samples.add(MemoryProbe.sample(driver));
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+            samples.add(MemoryProbe.sample(driver));
+        }
+        Trend trend = new Trend(name, samples);
+        ExtentReportManager.logInfo(trend.toString());
+        return trend;
+    }
+
+    /**
+     * Theil-Sen slope of equally spaced values: the median of (y[j] - y[i]) / (j - i) over all pairs
+     * @return growth per step, or 0 for fewer than two values
+     */
+    public static double growthPerIteration(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double[] slopes = new double[values.length * (values.length - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < values.length; i++) {
+            for (int j = i + 1; j < values.length; j++) {
+                slopes[k++] = (values[j] - values[i]) / (j - i);
+            }
+        }
+        Arrays.sort(slopes);
+        int middle = slopes.length / 2;
+        return slopes.length % 2 == 1 ? slopes[middle] : (slopes[middle - 1] + slopes[middle]) / 2;
+    }
+
+    /**
+     * Samples of one repeated action and their growth per iteration; a null growth was not measurable
+     */
+    public static class Trend {
+        private final String name;
+        private final List<MemoryProbe.MemorySample> samples;
+        private final Double heapGrowth;
+        private final Double nodeGrowth;
+        private final Double listenerGrowth;
+
+        Trend(String name, List<MemoryProbe.MemorySample> samples) {
+            this.name = name;
+            this.samples = samples;
+            this.heapGrowth = growth(samples, MemoryProbe.MemorySample::getHeapBytes);
+            this.nodeGrowth = growth(samples, MemoryProbe.MemorySample::getNodes);
+            this.listenerGrowth = growth(samples, MemoryProbe.MemorySample::getListeners);
+        }
+
+        private static Double growth(List<MemoryProbe.MemorySample> samples,
+                                     Function<MemoryProbe.MemorySample, Double> metric) {
+            double[] values = new double[samples.size()];
+            for (int i = 0; i < samples.size(); i++) {
+                Double value = metric.apply(samples.get(i));
+                if (value == null) {
+                    return null;
+                }
+                values[i] = value;
+            }
+            return growthPerIteration(values);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<MemoryProbe.MemorySample> getSamples() {
+            return samples;
+        }
+
+        /**
+         * JavaScript heap growth in bytes per iteration
+         */
+        public Double getHeapGrowth() {
+            return heapGrowth;
+        }
+
+        public Double getNodeGrowth() {
+            return nodeGrowth;
+        }
+
+        public Double getListenerGrowth() {
+            return listenerGrowth;
+        }
+
+        /**
+         * Log the first and last samples and the fitted growth as a table
+         */
+        public void logToReport() {
+            MemoryProbe.MemorySample first = samples.get(0);
+            MemoryProbe.MemorySample last = samples.get(samples.size() - 1);
+            ExtentReportManager.logTable(new String[][]{
+                    {name, "Before", "After " + (samples.size() - 1) + " iterations", "Growth per iteration"},
+                    {"JS heap", kb(first.getHeapBytes()), kb(last.getHeapBytes()), kb(heapGrowth)},
+                    {"DOM nodes", count(first.getNodes()), count(last.getNodes()), count(nodeGrowth)},
+                    {"Event listeners", count(first.getListeners()), count(last.getListeners()), count(listenerGrowth)}
+            });
+        }
+
+        @Override
+        public String toString() {
+            return name + ": heap " + kb(heapGrowth) + "/iteration, nodes " + count(nodeGrowth) +
+                    "/iteration, listeners " + count(listenerGrowth) + "/iteration";
+        }
+
+        private static String kb(Double bytes) {
+            return bytes == null ? "-" : df.get().format(bytes / 1024) + " KB";
+        }
+
+        private static String count(Double value) {
+            return value == null ? "-" : countFormat.get().format(value);
+        }
+    }
+}
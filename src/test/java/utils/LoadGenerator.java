@@ -0,0 +1,488 @@
+package utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Generates HTTP load without a browser by running weighted scenarios on virtual threads.
+ *
+ * Two schedulers are supported:
+ * <ul>
+ *     <li>Open model: scenarios start at a constant arrival rate, whether or not earlier ones have
+ *     finished, like independent visitors arriving at a site.</li>
+ *     <li>Closed model: a fixed number of users each start a scenario every pacing interval, or
+ *     immediately after the previous one if it ran late.</li>
+ * </ul>
+ *
+ * Every scenario has an intended start time on the schedule. Latency is measured from that time,
+ * not from when the scenario actually started, so a stalled server or a late generator shows up
+ * as latency for every start it delayed instead of silently skipping them (coordinated omission).
+ * The uncorrected latency is kept too, to show how much the correction matters.
+ *
+ * <pre>
+ * LoadGenerator.Result result = LoadGenerator.open(50, Duration.ofSeconds(30))
+ *         .scenario("browse", 6, requests -&gt; requests.time("entries", api::entries))
+ *         .run("Storefront");
+ * result.logToReport();
+ * </pre>
+ */
+public class LoadGenerator {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> rateFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.00%"));
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int ERRORS_LOGGED = 5;
+
+    public enum Model {
+        OPEN, CLOSED
+    }
+
+    private final Model model;
+    private final double arrivalsPerSecond;
+    private final int users;
+    private final Duration pacing;
+    private final Duration duration;
+    private final Map<String, Weighted> scenarios = new LinkedHashMap<>();
+    private int totalWeight;
+    private volatile boolean stopped;
+
+    private LoadGenerator(Model model, double arrivalsPerSecond, int users, Duration pacing, Duration duration) {
+        this.model = model;
+        this.arrivalsPerSecond = arrivalsPerSecond;
+        this.users = users;
+        this.pacing = pacing;
+        this.duration = duration;
+    }
+
+    /**
+     * Open model: start scenarios at a constant rate for the duration
+     */
+    public static LoadGenerator open(double arrivalsPerSecond, Duration duration) {
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("load.rate must be positive");
+        }
+        return new LoadGenerator(Model.OPEN, arrivalsPerSecond, 0, Duration.ZERO, duration);
+    }
+
+    /**
+     * Closed model: a fixed number of users, each starting a scenario every pacing interval
+     */
+    public static LoadGenerator closed(int users, Duration pacing, Duration duration) {
+        if (users < 1) {
+            throw new IllegalArgumentException("load.users must be at least 1");
+        }
+        if (pacing.isZero() || pacing.isNegative()) {
+            // Without a schedule there is no intended start time to correct against
+            throw new IllegalArgumentException("load.pacing must be positive");
+        }
+        return new LoadGenerator(Model.CLOSED, 0, users, pacing, duration);
+    }
+
+    /**
+     * Generator configured with -Dload.model (open or closed, default open), -Dload.rate
+     * (arrivals per second, default 20), -Dload.users (default 10), -Dload.pacing (default 1s) and
+     * -Dload.duration (default 10s)
+     */
+    public static LoadGenerator fromSystemProperties() {
+        return fromSystemProperties(Model.valueOf(System.getProperty("load.model", "open").trim().toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Generator of the given model, configured from the other load.* properties
+     */
+    public static LoadGenerator fromSystemProperties(Model model) {
+        Duration duration = SoakRunner.parseDuration(System.getProperty("load.duration", "10s"));
+        if (model == Model.OPEN) {
+            return open(Double.parseDouble(System.getProperty("load.rate", "20")), duration);
+        }
+        return closed(Integer.getInteger("load.users", 10),
+                SoakRunner.parseDuration(System.getProperty("load.pacing", "1s")), duration);
+    }
+
+    /**
+     * Add a scenario, picked for each start with probability weight / total weight
+     */
+    public LoadGenerator scenario(String name, int weight, Scenario scenario) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight of scenario " + name + " must be at least 1");
+        }
+        scenarios.put(name, new Weighted(name, weight, scenario));
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * End a run before its duration is up, e.g. background load started on another thread.
+     * Scenarios already started still finish and are counted.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * One user flow; any exception counts as an error of the scenario
+     */
+    @FunctionalInterface
+    public interface Scenario {
+        void run(Requests requests) throws Exception;
+    }
+
+    /**
+     * Times the individual requests of a scenario, recorded by request name across all scenarios
+     */
+    public static class Requests {
+        private final Map<String, Stats> stats;
+
+        private Requests(Map<String, Stats> stats) {
+            this.stats = stats;
+        }
+
+        public void time(String request, Runnable call) {
+            time(request, () -> {
+                call.run();
+                return null;
+            });
+        }
+
+        public <T> T time(String request, Supplier<T> call) {
+            Stats requestStats = stats.computeIfAbsent(request, Stats::new);
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                requestStats.record(System.nanoTime() - start);
+                return value;
+            } catch (RuntimeException | Error e) {
+                requestStats.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Run the scenarios for the configured duration and wait for the ones still in flight
+     */
+    public Result run(String name) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("No scenarios to run for " + name);
+        }
+        ExtentReportManager.logStep("Generating " + describe() + " of " + name + " for " +
+                df.get().format(duration.toMillis() / 1000.0) + " s");
+        Map<String, Stats> scenarioStats = new LinkedHashMap<>();
+        for (String scenario : scenarios.keySet()) {
+            scenarioStats.put(scenario, new Stats(scenario));
+        }
+        Map<String, Stats> requestStats = new ConcurrentHashMap<>();
+        AtomicLong started = new AtomicLong();
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (model == Model.OPEN) {
+                double intervalNanos = 1_000_000_000.0 / arrivalsPerSecond;
+                for (long k = 0; ; k++) {
+                    long intended = start + Math.round(k * intervalNanos);
+                    if (intended - deadline >= 0 || !waitUntil(intended)) {
+                        break;
+                    }
+                    started.incrementAndGet();
+                    executor.submit(() -> iteration(intended, scenarioStats, requestStats));
+                }
+            } else {
+                long pacingNanos = pacing.toNanos();
+                for (int u = 0; u < users; u++) {
+                    // Spread the users over one pacing interval instead of starting them together
+                    long userStart = start + pacingNanos * u / users;
+                    executor.submit(() -> {
+                        for (long k = 0; ; k++) {
+                            long intended = userStart + k * pacingNanos;
+                            if (intended - deadline >= 0 || !waitUntil(intended)) {
+                                break;
+                            }
+                            started.incrementAndGet();
+                            iteration(intended, scenarioStats, requestStats);
+                        }
+                    });
+                }
+            }
+        }
+
+        Result result = new Result(name, describe(), System.nanoTime() - start, started.get(),
+                scenarioStats, new TreeMap<>(requestStats));
+        ExtentReportManager.logInfo(result.toString());
+        return result;
+    }
+
+    private void iteration(long intended, Map<String, Stats> scenarioStats, Map<String, Stats> requestStats) {
+        Weighted scenario = pick();
+        Stats stats = scenarioStats.get(scenario.name);
+        long actualStart = System.nanoTime();
+        try {
+            scenario.scenario.run(new Requests(requestStats));
+            long end = System.nanoTime();
+            stats.record(end - intended, end - actualStart);
+        } catch (Exception | AssertionError e) {
+            stats.error(e);
+        }
+    }
+
+    private Weighted pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Weighted scenario : scenarios.values()) {
+            ticket -= scenario.weight;
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("No scenario picked");
+    }
+
+    /**
+     * Wait for the next scheduled start
+     * @return false if the run was stopped meanwhile
+     */
+    private boolean waitUntil(long nanoTime) {
+        long remaining;
+        while (!stopped && (remaining = nanoTime - System.nanoTime()) > 0) {
+            // Wake up at least every 100 ms to notice stop()
+            LockSupport.parkNanos(Math.min(remaining, 100_000_000L));
+        }
+        return !stopped;
+    }
+
+    private String describe() {
+        return model == Model.OPEN
+                ? "open-model load at " + df.get().format(arrivalsPerSecond) + " arrivals/s"
+                : "closed-model load with " + users + (users == 1 ? " user" : " users") + " every " + df.get().format(pacing.toMillis()) + " ms";
+    }
+
+    private static final class Weighted {
+        private final String name;
+        private final int weight;
+        private final Scenario scenario;
+
+        private Weighted(String name, int weight, Scenario scenario) {
+            this.name = name;
+            this.weight = weight;
+            this.scenario = scenario;
+        }
+    }
+
+    /**
+     * Latency histograms (in microseconds) and errors of one scenario or request
+     */
+    public static class Stats {
+        private final String name;
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram uncorrected = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, Long> errorMessages = new ConcurrentHashMap<>();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            record(nanos, nanos);
+        }
+
+        void record(long correctedNanos, long uncorrectedNanos) {
+            latency.recordValue(Math.max(0, correctedNanos / 1000));
+            uncorrected.recordValue(Math.max(0, uncorrectedNanos / 1000));
+        }
+
+        void error(Throwable error) {
+            errors.incrementAndGet();
+            String message = error.getMessage() == null ? "" : error.getMessage().split("\\R", 2)[0];
+            errorMessages.merge(error.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message),
+                    1L, Long::sum);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Successful runs
+         */
+        public long getCount() {
+            return latency.getTotalCount();
+        }
+
+        public long getErrorCount() {
+            return errors.get();
+        }
+
+        /**
+         * Latency from the intended start, corrected for coordinated omission. For requests,
+         * which have no schedule of their own, this is the service time.
+         */
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Latency from the actual start, as a naive load generator would measure it
+         */
+        public Histogram getUncorrectedLatency() {
+            return uncorrected;
+        }
+
+        /**
+         * Corrected latency percentile in milliseconds
+         */
+        public double percentile(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double uncorrectedPercentile(double percentile) {
+            return uncorrected.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /**
+     * Outcome of one load run
+     */
+    public static class Result {
+        private final String name;
+        private final String description;
+        private final double elapsedSeconds;
+        private final long started;
+        private final Map<String, Stats> scenarios;
+        private final Map<String, Stats> requests;
+
+        Result(String name, String description, long elapsedNanos, long started, Map<String, Stats> scenarios,
+               Map<String, Stats> requests) {
+            this.name = name;
+            this.description = description;
+            this.elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+            this.started = started;
+            this.scenarios = scenarios;
+            this.requests = requests;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Stats getScenario(String scenario) {
+            return scenarios.get(scenario);
+        }
+
+        public Stats getRequest(String request) {
+            return requests.get(request);
+        }
+
+        public List<Stats> getScenarios() {
+            return new ArrayList<>(scenarios.values());
+        }
+
+        public List<Stats> getRequests() {
+            return new ArrayList<>(requests.values());
+        }
+
+        /**
+         * Scenario starts per second actually achieved
+         */
+        public double getArrivalRate() {
+            return started / elapsedSeconds;
+        }
+
+        /**
+         * Successful scenarios per second
+         */
+        public double getThroughput() {
+            return scenarios.values().stream().mapToLong(Stats::getCount).sum() / elapsedSeconds;
+        }
+
+        public long getErrorCount() {
+            return scenarios.values().stream().mapToLong(Stats::getErrorCount).sum();
+        }
+
+        /**
+         * Failed scenarios as a fraction of all finished scenarios
+         */
+        public double getErrorRate() {
+            long total = scenarios.values().stream().mapToLong(s -> s.getCount() + s.getErrorCount()).sum();
+            return total == 0 ? 0 : (double) getErrorCount() / total;
+        }
+
+        /**
+         * Corrected latency of all scenarios together
+         */
+        public Histogram getLatency() {
+            Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+            scenarios.values().forEach(stats -> all.add(stats.getLatency()));
+            return all;
+        }
+
+        /**
+         * Log scenario and request latency tables and the most frequent errors
+         */
+        public void logToReport() {
+            List<String[]> scenarioRows = new ArrayList<>();
+            scenarioRows.add(new String[]{"Scenario", "n", "Errors", "p50", "p90", "p99", "max", "p99 uncorrected"});
+            for (Stats stats : scenarios.values()) {
+                scenarioRows.add(new String[]{stats.getName(), String.valueOf(stats.getCount()),
+                        String.valueOf(stats.getErrorCount()), ms(stats.percentile(50)), ms(stats.percentile(90)),
+                        ms(stats.percentile(99)), ms(stats.getLatency().getMaxValue() / 1000.0),
+                        ms(stats.uncorrectedPercentile(99))});
+            }
+            ExtentReportManager.logTable(scenarioRows.toArray(new String[0][]));
+
+            List<String[]> requestRows = new ArrayList<>();
+            requestRows.add(new String[]{"Request", "n", "Errors", "p50", "p90", "p99", "max"});
+            for (Stats stats : requests.values()) {
+                requestRows.add(new String[]{stats.getName(), String.valueOf(stats.getCount()),
+                        String.valueOf(stats.getErrorCount()), ms(stats.percentile(50)), ms(stats.percentile(90)),
+                        ms(stats.percentile(99)), ms(stats.getLatency().getMaxValue() / 1000.0)});
+            }
+            ExtentReportManager.logTable(requestRows.toArray(new String[0][]));
+
+            Map<String, Long> errors = new LinkedHashMap<>();
+            for (Stats stats : scenarios.values()) {
+                stats.errorMessages.forEach((message, count) ->
+                        errors.merge(stats.getName() + " - " + message, count, Long::sum));
+            }
+            if (!errors.isEmpty()) {
+                List<Map.Entry<String, Long>> sorted = new ArrayList<>(errors.entrySet());
+                sorted.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+                List<String[]> rows = new ArrayList<>();
+                rows.add(new String[]{"Error", "Count"});
+                for (Map.Entry<String, Long> error : sorted.subList(0, Math.min(ERRORS_LOGGED, sorted.size()))) {
+                    rows.add(new String[]{error.getKey(), String.valueOf(error.getValue())});
+                }
+                ExtentReportManager.logTable(rows.toArray(new String[0][]));
+            }
+        }
+
+        private static String ms(double value) {
+            return df.get().format(value) + " ms";
+        }
+
+        @Override
+        public String toString() {
+            Histogram all = getLatency();
+            return name + " (" + description + "): " + started + " started in " + df.get().format(elapsedSeconds) +
+                    " s, " + df.get().format(getArrivalRate()) + " arrivals/s, " + df.get().format(getThroughput()) +
+                    " completed/s, " + rateFormat.get().format(getErrorRate()) + " errors, p50=" +
+                    ms(all.getValueAtPercentile(50) / 1000.0) + " p99=" + ms(all.getValueAtPercentile(99) / 1000.0);
+        }
+    }
+}
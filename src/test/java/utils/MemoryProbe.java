@@ -0,0 +1,104 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.text.DecimalFormat;
+import java.util.Map;
+
+/**
+ * Samples the page's JavaScript heap and DOM counters, e.g. to look for leaks across repeated actions.
+ *
+ * With CDP the probe forces a garbage collection first (HeapProfiler.collectGarbage), so only
+ * reachable memory is counted, then reads the heap from Runtime.getHeapUsage and the node, document
+ * and event listener counts from Memory.getDOMCounters. These counts include detached nodes that
+ * are still referenced from script, which is what a leak looks like.
+ *
+ * Without CDP the heap comes from performance.memory (coarse, and without a forced GC) and the node
+ * count from the live document only; listeners are not available.
+ */
+public class MemoryProbe {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    private static final String FALLBACK_SCRIPT =
+            "return {heap: performance.memory ? performance.memory.usedJSHeapSize : null," +
+            "  nodes: document.getElementsByTagName('*').length, documents: 1};";
+
+    private MemoryProbe() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Collect garbage and read the heap and DOM counters of the current page
+     */
+    @SuppressWarnings("unchecked")
+    public static MemorySample sample(WebDriver driver) {
+        if (DriverManager.supportsCdp(driver)) {
+            DriverManager.executeCdpCommand(driver, "HeapProfiler.collectGarbage", Map.of());
+            Map<String, Object> heap = DriverManager.executeCdpCommand(driver, "Runtime.getHeapUsage", Map.of());
+            Map<String, Object> counters = DriverManager.executeCdpCommand(driver, "Memory.getDOMCounters", Map.of());
+            return new MemorySample(number(heap.get("usedSize")), number(counters.get("nodes")),
+                    number(counters.get("jsEventListeners")), number(counters.get("documents")));
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(FALLBACK_SCRIPT);
+        Map<String, Object> values = result instanceof Map ? (Map<String, Object>) result : Map.of();
+        return new MemorySample(number(values.get("heap")), number(values.get("nodes")), null,
+                number(values.get("documents")));
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : null;
+    }
+
+    /**
+     * One reading; a null value could not be measured in this browser
+     */
+    public static class MemorySample {
+        private final Double heapBytes;
+        private final Double nodes;
+        private final Double listeners;
+        private final Double documents;
+
+        private MemorySample(Double heapBytes, Double nodes, Double listeners, Double documents) {
+            this.heapBytes = heapBytes;
+            this.nodes = nodes;
+            this.listeners = listeners;
+            this.documents = documents;
+        }
+
+        /**
+         * Used JavaScript heap in bytes
+         */
+        public Double getHeapBytes() {
+            return heapBytes;
+        }
+
+        /**
+         * DOM nodes alive in the renderer, including detached ones
+         */
+        public Double getNodes() {
+            return nodes;
+        }
+
+        /**
+         * JavaScript event listeners registered in the renderer
+         */
+        public Double getListeners() {
+            return listeners;
+        }
+
+        public Double getDocuments() {
+            return documents;
+        }
+
+        @Override
+        public String toString() {
+            return "heap=" + (heapBytes == null ? "-" : df.get().format(heapBytes / 1024) + " KB") +
+                    " nodes=" + count(nodes) + " listeners=" + count(listeners) + " documents=" + count(documents);
+        }
+
+        private static String count(Double value) {
+            return value == null ? "-" : String.valueOf(value.longValue());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Browser-side timings of one page load, read from the Navigation Timing and Resource Timing
+ * entries (performance.getEntriesByType) once the load event has finished.
+ *
+ * All values are milliseconds measured by the browser, so WebDriver round trips are not included.
+ * Phase values (DNS, connect, ...) are durations; milestones (TTFB, DOMContentLoaded, load) are
+ * offsets from the start of the navigation.
+ */
+public class PageTiming {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    // Returns null until the load event has ended, so it can be polled by WebDriverWait
+    private static final String CAPTURE_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "if (!nav || nav.loadEventEnd === 0) { return null; }" +
+            "var resources = performance.getEntriesByType('resource').map(function (r) {" +
+            "  return {name: r.name, type: r.initiatorType, start: r.startTime, duration: r.duration," +
+            "          size: r.transferSize || 0};" +
+            "});" +
+            "return {url: nav.name," +
+            "  timeOrigin: performance.timeOrigin," +
+            "  dns: nav.domainLookupEnd - nav.domainLookupStart," +
+            "  connect: nav.connectEnd - nav.connectStart," +
+            "  tls: nav.secureConnectionStart > 0 ? nav.connectEnd - nav.secureConnectionStart : 0," +
+            "  request: nav.responseStart - nav.requestStart," +
+            "  ttfb: nav.responseStart - nav.startTime," +
+            "  download: nav.responseEnd - nav.responseStart," +
+            "  domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime," +
+            "  load: nav.loadEventEnd - nav.startTime," +
+            "  size: nav.transferSize || 0," +
+            "  resources: resources};";
+
+    // performance.timeOrigin of the document last captured in each browser, to tell a new load from an old one
+    private static final Map<WebDriver, Double> lastTimeOrigin = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String url;
+    private final double dns;
+    private final double connect;
+    private final double tls;
+    private final double request;
+    private final double ttfb;
+    private final double download;
+    private final double domContentLoaded;
+    private final double load;
+    private final long transferSize;
+    private final List<Resource> resources;
+
+    private PageTiming(Map<String, Object> entry) {
+        this.url = String.valueOf(entry.get("url"));
+        this.dns = number(entry, "dns");
+        this.connect = number(entry, "connect");
+        this.tls = number(entry, "tls");
+        this.request = number(entry, "request");
+        this.ttfb = number(entry, "ttfb");
+        this.download = number(entry, "download");
+        this.domContentLoaded = number(entry, "domContentLoaded");
+        this.load = number(entry, "load");
+        this.transferSize = (long) number(entry, "size");
+
+        List<Resource> parsed = new ArrayList<>();
+        Object rawResources = entry.get("resources");
+        if (rawResources instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> map) {
+                    parsed.add(new Resource(map));
+                }
+            }
+        }
+        this.resources = Collections.unmodifiableList(parsed);
+    }
+
+    /**
+     * Wait for the current document's load event to finish and read its timing entries
+     * @param wait bounds how long to wait for the load event
+     * @throws IllegalStateException if the document is the one captured last time in this browser,
+     *         e.g. after a same-document navigation to a #fragment, which does not load the page again
+     */
+    @SuppressWarnings("unchecked")
+    public static PageTiming capture(WebDriver driver, WebDriverWait wait) {
+        Map<String, Object> entry = (Map<String, Object>) wait.until(
+                d -> ((JavascriptExecutor) d).executeScript(CAPTURE_SCRIPT));
+        Double previous = lastTimeOrigin.put(driver, number(entry, "timeOrigin"));
+        if (previous != null && previous == number(entry, "timeOrigin")) {
+            throw new IllegalStateException("The navigation entry of " + entry.get("url") +
+                    " was captured before; the page was not loaded again");
+        }
+        return new PageTiming(entry);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public double getDns() {
+        return dns;
+    }
+
+    public double getConnect() {
+        return connect;
+    }
+
+    public double getTls() {
+        return tls;
+    }
+
+    /**
+     * Time from sending the request to the first response byte
+     */
+    public double getRequest() {
+        return request;
+    }
+
+    /**
+     * Time to first byte, from the start of the navigation
+     */
+    public double getTtfb() {
+        return ttfb;
+    }
+
+    public double getDownload() {
+        return download;
+    }
+
+    public double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public double getLoad() {
+        return load;
+    }
+
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    /**
+     * Bytes transferred by the document and all its resources (cross-origin resources without
+     * Timing-Allow-Origin count as 0)
+     */
+    public long getTotalTransferSize() {
+        long total = transferSize;
+        for (Resource resource : resources) {
+            total += resource.getTransferSize();
+        }
+        return total;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    /**
+     * The slowest resources, longest first
+     */
+    public List<Resource> slowestResources(int limit) {
+        List<Resource> sorted = new ArrayList<>(resources);
+        sorted.sort(Comparator.comparingDouble(Resource::getDuration).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    /**
+     * Log the navigation phases and the slowest resources as tables
+     */
+    public void logToReport(String pageName, int resourceLimit) {
+        ExtentReportManager.logTable(new String[][]{
+                {"Page", "DNS", "Connect", "TLS", "Request", "TTFB", "DOMContentLoaded", "Load", "Resources"},
+                {pageName, ms(dns), ms(connect), ms(tls), ms(request), ms(ttfb), ms(domContentLoaded), ms(load),
+                        String.valueOf(resources.size())}
+        });
+
+        List<Resource> slowest = slowestResources(resourceLimit);
+        if (slowest.isEmpty()) {
+            return;
+        }
+        String[][] rows = new String[slowest.size() + 1][];
+        rows[0] = new String[]{"Resource", "Type", "Start", "Duration", "Bytes"};
+        for (int i = 0; i < slowest.size(); i++) {
+            Resource resource = slowest.get(i);
+            rows[i + 1] = new String[]{resource.getName(), resource.getType(), ms(resource.getStart()),
+                    ms(resource.getDuration()), String.valueOf(resource.getTransferSize())};
+        }
+        ExtentReportManager.logTable(rows);
+    }
+
+    @Override
+    public String toString() {
+        return "dns=" + ms(dns) + " connect=" + ms(connect) + " ttfb=" + ms(ttfb) +
+                " domContentLoaded=" + ms(domContentLoaded) + " load=" + ms(load) + " resources=" + resources.size();
+    }
+
+    private static String ms(double value) {
+        return df.get().format(value) + " ms";
+    }
+
+    // executeScript returns whole numbers as Long and fractions as Double
+    private static double number(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+
+    /**
+     * One Resource Timing entry (script, stylesheet, image, XHR, ...)
+     */
+    public static class Resource {
+        private final String name;
+        private final String type;
+        private final double start;
+        private final double duration;
+        private final long transferSize;
+
+        private Resource(Map<?, ?> entry) {
+            this.name = String.valueOf(entry.get("name"));
+            this.type = String.valueOf(entry.get("type"));
+            this.start = number(entry, "start");
+            this.duration = number(entry, "duration");
+            this.transferSize = (long) number(entry, "size");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public double getStart() {
+            return start;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        /**
+         * Bytes over the network; 0 for cached or cross-origin resources without Timing-Allow-Origin
+         */
+        public long getTransferSize() {
+            return transferSize;
+        }
+    }
+}
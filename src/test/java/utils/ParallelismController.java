@@ -0,0 +1,441 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides how many browser sessions run at once when JUnit runs tests in parallel. JUnit starts
+ * a fixed pool of N worker threads; every test takes a session slot before starting its browser
+ * and gives it back after quitting it, and the controller moves the number of slots between 1
+ * and N as the host allows.
+ *
+ * After every test, once each slot has finished a test at the current level, the controller
+ * looks at the host and the tests:
+ * <ul>
+ *     <li>CPU load above parallel.cpuHigh (default 0.85), available memory below
+ *     parallel.memoryReserveMb (default 1024), or WebDriver command latency inflated more than
+ *     parallel.maxInflation (default 1.5) times over the run's fastest tests: cut the level by a quarter</li>
+ *     <li>fewer tests per minute than at one session less (levels of 30 s or more): go back one session</li>
+ *     <li>CPU, memory for one more browser and latency all well inside the limits: one session more</li>
+ * </ul>
+ * Latency inflation compares the median mean command round trip of the latest tests with the
+ * 10th percentile of all tests so far, so it needs a few tests before it counts.
+ *
+ * N is -Dparallel.maxSessions, else the JUnit parallelism (junit.jupiter.execution.parallel.*
+ * from system properties or junit-platform.properties), else 1. The first level is
+ * -Dparallel.initialSessions (default half of N); -Dparallel.adaptive=false keeps it at N.
+ * Latency-sensitive classes such as PerformanceTest are @Isolated, so JUnit runs them alone and
+ * their timings are never taken next to other browsers.
+ */
+public class ParallelismController {
+    private static final double CPU_HIGH = Double.parseDouble(System.getProperty("parallel.cpuHigh", "0.85"));
+    private static final double MAX_INFLATION = Double.parseDouble(System.getProperty("parallel.maxInflation", "1.5"));
+    private static final long MEMORY_RESERVE_BYTES = Long.getLong("parallel.memoryReserveMb", 1024) * 1024 * 1024;
+    // Tests with fewer WebDriver commands say little about latency
+    private static final long MIN_COMMANDS = 5;
+    private static final double BASELINE_PERCENTILE = 10;
+    // Throughput within this fraction of the level below counts as no worse
+    private static final double THROUGHPUT_TOLERANCE = 0.05;
+    // Shorter levels give too noisy a rate to compare
+    private static final long MIN_LEVEL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> percentFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0%"));
+
+    private static volatile ParallelismController instance;
+    private static ExtentTest suiteSummary;
+
+    private final int maxSessions;
+    private final boolean adaptive;
+    private final HostProbe host;
+    private final long startNanos = System.nanoTime();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFree = lock.newCondition();
+    // Guarded by lock
+    private int limit;
+    private int active;
+    private long finished;
+    private int finishedAtLevel;
+    private long levelStartNanos = startNanos;
+    private long sessionMemoryBytes;
+    private final List<Double> latencies = new ArrayList<>();
+    private final Deque<Double> recentLatencies = new ArrayDeque<>();
+    private final Map<Integer, Double> testsPerMinute = new TreeMap<>();
+    private final List<String[]> decisions = new ArrayList<>();
+    private final List<double[]> timeline = new ArrayList<>();
+
+    /**
+     * @param maxSessions the most sessions at once, normally the number of JUnit workers
+     * @param initialSessions sessions allowed at the start
+     * @param adaptive false to keep every slot open
+     */
+    public ParallelismController(int maxSessions, int initialSessions, boolean adaptive, HostProbe host) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("parallel.maxSessions must be at least 1");
+        }
+        this.maxSessions = maxSessions;
+        this.adaptive = adaptive;
+        this.host = host;
+        this.limit = adaptive ? Math.max(1, Math.min(maxSessions, initialSessions)) : maxSessions;
+        timeline.add(new double[]{0, limit, 0});
+    }
+
+    /**
+     * The controller shared by all tests, configured from system properties on first use
+     */
+    public static ParallelismController get() {
+        if (instance == null) {
+            synchronized (ParallelismController.class) {
+                if (instance == null) {
+                    int max = Integer.getInteger("parallel.maxSessions", junitParallelism());
+                    instance = new ParallelismController(max,
+                            Integer.getInteger("parallel.initialSessions", Math.max(1, max / 2)),
+                            Boolean.parseBoolean(System.getProperty("parallel.adaptive", "true")),
+                            HostProbe.system());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The shared controller if a test has used it, without creating it
+     */
+    static ParallelismController started() {
+        return instance;
+    }
+
+    /**
+     * Worker threads JUnit runs tests on: the fixed parallelism, or cores times the dynamic
+     * factor, or 1 when parallel execution is off
+     */
+    private static int junitParallelism() {
+        Properties config = new Properties();
+        try (InputStream in = ParallelismController.class.getResourceAsStream("/junit-platform.properties")) {
+            if (in != null) {
+                config.load(in);
+            }
+        } catch (IOException e) {
+            // Treated as no configuration file
+        }
+        // System properties override the file, as they do for JUnit
+        config.putAll(System.getProperties());
+        if (!Boolean.parseBoolean(config.getProperty("junit.jupiter.execution.parallel.enabled"))) {
+            return 1;
+        }
+        String strategy = config.getProperty("junit.jupiter.execution.parallel.config.strategy", "dynamic");
+        if (strategy.equals("fixed")) {
+            return Integer.parseInt(config.getProperty("junit.jupiter.execution.parallel.config.fixed.parallelism", "1"));
+        }
+        double factor = Double.parseDouble(config.getProperty("junit.jupiter.execution.parallel.config.dynamic.factor", "1"));
+        return Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * factor));
+    }
+
+    /**
+     * Block until a session slot is free and take it
+     * @return milliseconds waited
+     */
+    public long acquire() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            while (active >= limit) {
+                slotFree.await();
+            }
+            active++;
+            mark();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session slot", e);
+        } finally {
+            lock.unlock();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Give a slot back after the test's browser has quit, and adjust the number of slots
+     * @param meanCommandMillis the test's mean WebDriver round trip, or NaN if not measured
+     * @param commands the number of WebDriver commands it is the mean of
+     */
+    public void release(double meanCommandMillis, long commands) {
+        lock.lock();
+        try {
+            // The browsers still running give the memory one session takes
+            OptionalLong browserRss = host.browserRssBytes();
+            if (active > 1 && browserRss.isPresent()) {
+                sessionMemoryBytes = Math.max(sessionMemoryBytes, browserRss.getAsLong() / (active - 1));
+            }
+            active--;
+            finished++;
+            finishedAtLevel++;
+            if (!Double.isNaN(meanCommandMillis) && commands >= MIN_COMMANDS) {
+                latencies.add(meanCommandMillis);
+                recentLatencies.addLast(meanCommandMillis);
+                while (recentLatencies.size() > maxSessions * 2) {
+                    recentLatencies.removeFirst();
+                }
+            }
+            if (adaptive) {
+                adjust();
+            }
+            mark();
+            slotFree.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust() {
+        // Judge a level only after every slot has finished a test at it
+        if (finishedAtLevel < limit) {
+            return;
+        }
+        double cpu = host.cpuLoad();
+        OptionalLong available = host.memAvailableBytes();
+        double inflation = inflation();
+        double throughput = levelTestsPerMinute();
+        Double throughputBelow = testsPerMinute.get(limit - 1);
+
+        int next = limit;
+        String reason;
+        if (cpu > CPU_HIGH) {
+            next = decreased();
+            reason = "CPU load " + percentFormat.get().format(cpu);
+        } else if (available.isPresent() && available.getAsLong() < MEMORY_RESERVE_BYTES) {
+            next = decreased();
+            reason = "available memory " + megabytes(available.getAsLong());
+        } else if (inflation > MAX_INFLATION) {
+            next = decreased();
+            reason = "command latency " + df.get().format(inflation) + "x the fastest tests";
+        } else if (throughputBelow != null && throughput < throughputBelow * (1 - THROUGHPUT_TOLERANCE)) {
+            next = limit - 1;
+            reason = df.get().format(throughput) + " tests/min, " + df.get().format(throughputBelow) + " with one session less";
+        } else if (limit < maxSessions && cpu < CPU_HIGH - 0.15
+                && (available.isEmpty() || available.getAsLong() > MEMORY_RESERVE_BYTES + sessionMemoryBytes)
+                && inflation < 1 + (MAX_INFLATION - 1) / 2) {
+            next = limit + 1;
+            reason = "headroom: CPU load " + percentFormat.get().format(cpu) +
+                    (available.isPresent() ? ", " + megabytes(available.getAsLong()) + " available" : "") +
+                    ", latency " + df.get().format(inflation) + "x";
+        } else {
+            reason = null;
+        }
+        if (next != limit) {
+            if (System.nanoTime() - levelStartNanos >= MIN_LEVEL_NANOS) {
+                testsPerMinute.put(limit, throughput);
+            }
+            decisions.add(new String[]{df.get().format(seconds()), String.valueOf(limit), String.valueOf(next),
+                    df.get().format(throughput), reason});
+            limit = next;
+            finishedAtLevel = 0;
+            levelStartNanos = System.nanoTime();
+        }
+    }
+
+    private int decreased() {
+        return Math.max(1, Math.min(limit - 1, (int) (limit * 0.75)));
+    }
+
+    /**
+     * Median command latency of the latest tests over the 10th percentile of all; 1 until there
+     * are enough tests
+     */
+    private double inflation() {
+        if (latencies.size() < 3 || recentLatencies.isEmpty()) {
+            return 1;
+        }
+        double[] all = latencies.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        double baseline = all[(int) Math.floor((all.length - 1) * BASELINE_PERCENTILE / 100)];
+        double[] recent = recentLatencies.stream().skip(Math.max(0, recentLatencies.size() - Math.max(3, limit)))
+                .mapToDouble(Double::doubleValue).sorted().toArray();
+        double median = recent[recent.length / 2];
+        return baseline <= 0 ? 1 : median / baseline;
+    }
+
+    private double levelTestsPerMinute() {
+        double minutes = (System.nanoTime() - levelStartNanos) / 60e9;
+        return minutes <= 0 ? 0 : finishedAtLevel / minutes;
+    }
+
+    private void mark() {
+        timeline.add(new double[]{seconds(), limit, active});
+    }
+
+    private double seconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Changes of the number of slots: time in seconds, from, to, tests/min at the old level, reason
+     */
+    public List<String[]> getDecisions() {
+        lock.lock();
+        try {
+            return new ArrayList<>(decisions);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replace the parallelism summary in the report with the shared controller's decisions so far
+     */
+    public static synchronized void logSuiteSummary() {
+        ParallelismController controller = instance;
+        if (controller == null || controller.maxSessions == 1) {
+            return;
+        }
+        suiteSummary = ExtentReportManager.logSummary(suiteSummary, "Parallelism: suite",
+                "Browser sessions allowed at once and why they changed", "Parallelism", controller::logToReport);
+    }
+
+    /**
+     * Log the current level, a chart of allowed and running sessions, and every change
+     */
+    public void logToReport() {
+        double[][] points;
+        List<String[]> rows = new ArrayList<>();
+        lock.lock();
+        try {
+            ExtentReportManager.logInfo(this.toString());
+            points = timeline.toArray(new double[0][]);
+            rows.add(new String[]{"Time (s)", "From", "To", "Tests/min before", "Reason"});
+            rows.addAll(decisions);
+        } finally {
+            lock.unlock();
+        }
+        double[] x = Arrays.stream(points).mapToDouble(point -> point[0]).toArray();
+        ExtentReportManager.logHtml(new SvgChart("Browser sessions", "seconds", "sessions")
+                .series("allowed", x, Arrays.stream(points).mapToDouble(point -> point[1]).toArray())
+                .series("running", x, Arrays.stream(points).mapToDouble(point -> point[2]).toArray())
+                .render());
+        if (rows.size() > 1) {
+            ExtentReportManager.logTable(rows.toArray(new String[0][]));
+        }
+    }
+
+    private static String megabytes(long bytes) {
+        return df.get().format(bytes / (1024.0 * 1024)) + " MB";
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            double minutes = seconds() / 60;
+            return limit + " of " + maxSessions + " sessions allowed (" + (adaptive ? "adaptive" : "fixed") + "), " +
+                    active + " running, " + finished + " tests finished, " +
+                    df.get().format(minutes <= 0 ? 0 : finished / minutes) + " tests/min, " + decisions.size() + " changes";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * What the controller knows about the host
+     */
+    public interface HostProbe {
+        /**
+         * Recent CPU load of the whole host, 0 to 1
+         */
+        double cpuLoad();
+
+        OptionalLong memAvailableBytes();
+
+        /**
+         * Resident memory of all running browsers and drivers
+         */
+        OptionalLong browserRssBytes();
+
+        /**
+         * The host as seen from this JVM: CPU load averaged over the last few seconds and memory from /proc
+         */
+        static HostProbe system() {
+            return new SystemProbe();
+        }
+    }
+
+    /**
+     * Samples the host's CPU load every second into a moving average, so a decision does not hang
+     * on one reading
+     */
+    private static final class SystemProbe implements HostProbe {
+        private static final double SMOOTHING = 0.3;
+
+        private final com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        private volatile double cpuLoad;
+
+        private SystemProbe() {
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                // Must not keep the test JVM alive
+                Thread thread = new Thread(runnable, "parallelism-host-probe");
+                thread.setDaemon(true);
+                return thread;
+            }).scheduleAtFixedRate(() -> {
+                double load = os.getCpuLoad();
+                if (load >= 0) {
+                    cpuLoad = cpuLoad == 0 ? load : cpuLoad + SMOOTHING * (load - cpuLoad);
+                }
+            }, 0, 1, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public double cpuLoad() {
+            return cpuLoad;
+        }
+
+        @Override
+        public OptionalLong memAvailableBytes() {
+            OptionalLong available = ProcessStats.memAvailableBytes();
+            return available.isPresent() ? available : OptionalLong.of(os.getFreeMemorySize());
+        }
+
+        @Override
+        public OptionalLong browserRssBytes() {
+            return ProcessStats.browserRssBytes();
+        }
+    }
+}
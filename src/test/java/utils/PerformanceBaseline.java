@@ -0,0 +1,423 @@
+package utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Local store of PerformanceRunner sample distributions, used to detect latency regressions
+ * between runs.
+ *
+ * The store is an append-only binary file (test-output/perf-baseline.bin by default, or
+ * -Dperf.baseline.file). Each record holds one operation's raw samples from one run, framed by a
+ * header with its length and followed by a CRC-32 of its body. A write is a single locked append,
+ * so parallel forks can share the file. A record cut short by a crash fails its length or checksum
+ * check, and reading skips ahead to the next record header, so later runs' records still count.
+ *
+ * A regression is flagged when a one-sided Mann-Whitney U test finds the current samples
+ * stochastically larger than the previous perf.baseline.runs runs (p &lt; perf.regressionAlpha),
+ * and the median also grew by more than perf.regressionThreshold (default 10%).
+ *
+ * A scoped store (e.g. per throttling profile) keeps its records apart by storing operations as
+ * "Home page [mid-tier-mobile]", so different conditions never serve as each other's baseline.
+ */
+public class PerformanceBaseline {
+    private static final int MAGIC = 0x50455246; // "PERF"
+    private static final byte VERSION = 2;
+    // Magic, version and body length
+    private static final int HEADER_BYTES = 9;
+    private static final int CHECKSUM_BYTES = 4;
+
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> pFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.0000"));
+
+    private final Path file;
+    private final int baselineRuns;
+    private final double alpha;
+    private final double threshold;
+    private final String scope;
+
+    public PerformanceBaseline(Path file, int baselineRuns, double alpha, double threshold) {
+        this(file, baselineRuns, alpha, threshold, null);
+    }
+
+    private PerformanceBaseline(Path file, int baselineRuns, double alpha, double threshold, String scope) {
+        this.file = file;
+        this.baselineRuns = Math.max(1, baselineRuns);
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.scope = scope;
+    }
+
+    /**
+     * Store configured with -Dperf.baseline.file, -Dperf.baseline.runs (default 5),
+     * -Dperf.regressionAlpha (default 0.05) and -Dperf.regressionThreshold (default 0.10)
+     */
+    public static PerformanceBaseline fromSystemProperties() {
+        Path defaultFile = Paths.get(System.getProperty("user.dir"), "test-output", "perf-baseline.bin");
+        return new PerformanceBaseline(
+                Paths.get(System.getProperty("perf.baseline.file", defaultFile.toString())),
+                Integer.getInteger("perf.baseline.runs", 5),
+                Double.parseDouble(System.getProperty("perf.regressionAlpha", "0.05")),
+                Double.parseDouble(System.getProperty("perf.regressionThreshold", "0.10")));
+    }
+
+    /**
+     * The same store, with operations recorded and compared under the given scope
+     */
+    public PerformanceBaseline scoped(String scope) {
+        return new PerformanceBaseline(file, baselineRuns, alpha, threshold, scope);
+    }
+
+    /**
+     * Compare results with the stored baseline, log the comparison table, then append the results
+     * @param runId identifies this run, so its own records never serve as its baseline
+     * @return the comparison of every result
+     */
+    public List<Comparison> compareAndRecord(String runId, List<PerformanceRunner.Result> results) {
+        List<Comparison> comparisons = compare(runId, results);
+        logComparison(comparisons);
+        append(runId, results);
+        return comparisons;
+    }
+
+    /**
+     * Compare each result with the samples of the last perf.baseline.runs other runs of the same operation
+     */
+    public List<Comparison> compare(String runId, List<PerformanceRunner.Result> results) {
+        Map<String, List<Record>> history = readByOperation();
+        List<Comparison> comparisons = new ArrayList<>();
+        for (PerformanceRunner.Result result : results) {
+            String operation = operationKey(result.getOperation());
+            List<Record> previous = history.getOrDefault(operation, List.of());
+
+            // Most recent runs first, skipping records of this run
+            Set<String> runs = new LinkedHashSet<>();
+            List<Double> pooled = new ArrayList<>();
+            for (int i = previous.size() - 1; i >= 0; i--) {
+                Record record = previous.get(i);
+                if (record.runId.equals(runId)) {
+                    continue;
+                }
+                if (runs.size() == baselineRuns && !runs.contains(record.runId)) {
+                    break;
+                }
+                runs.add(record.runId);
+                for (double sample : record.samples) {
+                    pooled.add(sample);
+                }
+            }
+            double[] baseline = pooled.stream().mapToDouble(Double::doubleValue).toArray();
+            comparisons.add(new Comparison(operation, runs.size(), baseline, result.getSamples()));
+        }
+        return comparisons;
+    }
+
+    /**
+     * Append one record per result in a single locked write
+     */
+    public void append(String runId, List<PerformanceRunner.Result> results) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long now = System.currentTimeMillis();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (PerformanceRunner.Result result : results) {
+                byte[] body = encodeBody(now, runId, operationKey(result.getOperation()), result.getSamples());
+                CRC32 checksum = new CRC32();
+                checksum.update(body);
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(body.length);
+                out.write(body);
+                out.writeInt((int) checksum.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode baseline records", e);
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                // Released when the channel is closed
+                channel.lock();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to performance baseline " + file, e);
+        }
+    }
+
+    private static byte[] encodeBody(long timestamp, String runId, String operation, double[] samples)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(timestamp);
+            out.writeUTF(runId);
+            out.writeUTF(operation);
+            out.writeInt(samples.length);
+            for (double sample : samples) {
+                out.writeDouble(sample);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Log the comparison as a table; regressions are also logged as warnings
+     */
+    public void logComparison(List<Comparison> comparisons) {
+        if (comparisons.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Operation", "Baseline runs", "Baseline median", "Current median", "Change",
+                "p-value", "Verdict"});
+        for (Comparison comparison : comparisons) {
+            rows.add(comparison.toRow());
+        }
+        ExtentReportManager.logStep("Comparing with performance baseline " + file.getFileName() +
+                " (last " + baselineRuns + " runs, alpha " + alpha + ", threshold +" + df.get().format(threshold * 100) + "%)");
+        ExtentReportManager.logTable(rows.toArray(new String[0][]));
+        for (Comparison comparison : comparisons) {
+            if (comparison.isRegression()) {
+                ExtentReportManager.logWarning("Latency regression in " + comparison.getOperation() + ": median " +
+                        df.get().format(comparison.getBaselineMedian()) + " ms -> " + df.get().format(comparison.getCurrentMedian()) +
+                        " ms (p=" + pFormat.get().format(comparison.getPValue()) + ")");
+            }
+        }
+    }
+
+    private String operationKey(String operation) {
+        return scope == null ? operation : operation + " [" + scope + "]";
+    }
+
+    private Map<String, List<Record>> readByOperation() {
+        Map<String, List<Record>> byOperation = new LinkedHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return byOperation;
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance baseline " + file, e);
+        }
+        int position = 0;
+        while (buffer.limit() - position >= HEADER_BYTES + CHECKSUM_BYTES) {
+            int length = buffer.getInt(position + 5);
+            boolean framed = buffer.getInt(position) == MAGIC && buffer.get(position + 4) == VERSION
+                    && length >= 0 && length <= buffer.limit() - position - HEADER_BYTES - CHECKSUM_BYTES;
+            if (framed) {
+                int bodyStart = position + HEADER_BYTES;
+                CRC32 checksum = new CRC32();
+                checksum.update(buffer.array(), bodyStart, length);
+                if (buffer.getInt(bodyStart + length) == (int) checksum.getValue()
+                        && decodeBody(buffer.array(), bodyStart, length, byOperation)) {
+                    position = bodyStart + length + CHECKSUM_BYTES;
+                    continue;
+                }
+            }
+            // A record cut short by an interrupted run, or of another format: skip to the next header
+            position = nextHeader(buffer, position + 1);
+        }
+        return byOperation;
+    }
+
+    private static int nextHeader(ByteBuffer buffer, int from) {
+        for (int position = from; position <= buffer.limit() - Integer.BYTES; position++) {
+            if (buffer.getInt(position) == MAGIC) {
+                return position;
+            }
+        }
+        return buffer.limit();
+    }
+
+    /**
+     * Add the record in the given bytes to its operation
+     * @return false if the bytes do not hold a whole record
+     */
+    private static boolean decodeBody(byte[] bytes, int offset, int length, Map<String, List<Record>> byOperation) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, length))) {
+            in.readLong();
+            String runId = in.readUTF();
+            String operation = in.readUTF();
+            int count = in.readInt();
+            if (count < 0 || count > in.available() / Double.BYTES) {
+                return false;
+            }
+            double[] samples = new double[count];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = in.readDouble();
+            }
+            byOperation.computeIfAbsent(operation, key -> new ArrayList<>()).add(new Record(runId, samples));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * One-sided Mann-Whitney U test with midranks for ties and a continuity-corrected normal
+     * approximation
+     * @return p-value for "current tends to be larger than baseline"
+     */
+    static double mannWhitneyGreaterP(double[] current, double[] baseline) {
+        int n1 = current.length;
+        int n2 = baseline.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        int n = n1 + n2;
+        double[][] pooled = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            pooled[i] = new double[]{current[i], 1};
+        }
+        for (int i = 0; i < n2; i++) {
+            pooled[n1 + i] = new double[]{baseline[i], 0};
+        }
+        Arrays.sort(pooled, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSumCurrent = 0;
+        double tieCorrection = 0;
+        int i = 0;
+        while (i < n) {
+            int j = i;
+            while (j + 1 < n && pooled[j + 1][0] == pooled[i][0]) {
+                j++;
+            }
+            double midrank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                if (pooled[k][1] == 1) {
+                    rankSumCurrent += midrank;
+                }
+            }
+            double ties = j - i + 1;
+            tieCorrection += ties * ties * ties - ties;
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieCorrection / (n * (double) (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    // Standard normal CDF via the Abramowitz-Stegun 7.1.26 erf approximation (error < 1.5e-7)
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static final class Record {
+        private final String runId;
+        private final double[] samples;
+
+        private Record(String runId, double[] samples) {
+            this.runId = runId;
+            this.samples = samples;
+        }
+    }
+
+    /**
+     * Outcome of comparing one operation with its baseline
+     */
+    public class Comparison {
+        private final String operation;
+        private final int baselineRuns;
+        private final double baselineMedian;
+        private final double currentMedian;
+        private final double pValue;
+
+        Comparison(String operation, int baselineRuns, double[] baseline, double[] current) {
+            this.operation = operation;
+            this.baselineRuns = baselineRuns;
+            this.baselineMedian = median(baseline);
+            this.currentMedian = median(current);
+            this.pValue = mannWhitneyGreaterP(current, baseline);
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public int getBaselineRuns() {
+            return baselineRuns;
+        }
+
+        public double getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        public double getCurrentMedian() {
+            return currentMedian;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        public boolean hasBaseline() {
+            return baselineRuns > 0;
+        }
+
+        /**
+         * Relative change of the median, e.g. 0.25 for 25% slower
+         */
+        public double getChange() {
+            return hasBaseline() && baselineMedian > 0 ? currentMedian / baselineMedian - 1 : 0;
+        }
+
+        public boolean isRegression() {
+            return hasBaseline() && pValue < alpha && getChange() > threshold;
+        }
+
+        String[] toRow() {
+            if (!hasBaseline()) {
+                return new String[]{operation, "0", "-", df.get().format(currentMedian) + " ms", "-", "-", "NEW"};
+            }
+            String verdict = isRegression() ? "REGRESSED" : "OK";
+            return new String[]{operation, String.valueOf(baselineRuns), df.get().format(baselineMedian) + " ms",
+                    df.get().format(currentMedian) + " ms", (getChange() >= 0 ? "+" : "") + df.get().format(getChange() * 100) + "%",
+                    pFormat.get().format(pValue), verdict};
+        }
+    }
+}
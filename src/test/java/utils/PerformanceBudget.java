@@ -0,0 +1,339 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Performance budgets per page and action, read from a budget file (perf-budgets.txt on the
+ * test classpath, or -Dperf.budgets=&lt;path&gt;).
+ *
+ * Each line reads like "Add to cart alert p90 &lt; 800ms" or "Home page transfer &lt; 2MB".
+ * Lines under an [environment] header override the defaults when -Dperf.env selects that
+ * environment (default "live"), and lines under a [profile] header override them for runs
+ * throttled with that ThrottlingProfile (e.g. [mid-tier-mobile]).
+ *
+ * Checks are collected during a test and verify() fails once, at the end, with a table of
+ * every budget and its measured value, so one slow operation does not hide the others.
+ */
+public class PerformanceBudget {
+    private static final String DEFAULT_RESOURCE = "perf-budgets.txt";
+    private static final String WILDCARD = "*";
+    private static final List<String> TIME_UNITS = List.of("ms", "s");
+    private static final List<String> BYTE_UNITS = List.of("B", "KB", "MB");
+
+    private static final Pattern BUDGET_LINE = Pattern.compile(
+            "^(?<operation>.+?)\\s+(?<metric>p\\d+(?:\\.\\d+)?|median|max|transfer|fcp|lcp|inp|cls|blocking|heap|nodes|listeners)" +
+            "\\s*(?<comparator><=|<)\\s*(?<limit>\\d+(?:\\.\\d+)?)\\s*(?<unit>ms|s|B|KB|MB)?$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SECTION_LINE = Pattern.compile("^\\[(?<section>[^\\]]+)]$");
+
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> clsFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.000"));
+    private static final ThreadLocal<DecimalFormat> countFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+
+    private final String environment;
+    private final String profile;
+    private final String source;
+    private final Map<String, Budget> budgets;
+    private final List<Check> checks = new ArrayList<>();
+
+    private PerformanceBudget(String environment, String profile, String source, Map<String, Budget> budgets) {
+        this.environment = environment;
+        this.profile = profile;
+        this.source = source;
+        this.budgets = budgets;
+    }
+
+    /**
+     * Budgets from -Dperf.budgets (or perf-budgets.txt on the classpath) for -Dperf.env (default live)
+     */
+    public static PerformanceBudget load() {
+        return load(null);
+    }
+
+    /**
+     * Budgets for -Dperf.env, with the overrides of the given throttling profile
+     * @param profile profile section to apply, or null for none
+     */
+    public static PerformanceBudget load(String profile) {
+        String environment = System.getProperty("perf.env", "live").trim().toLowerCase(Locale.ROOT);
+        String path = System.getProperty("perf.budgets");
+        try {
+            if (path != null && !path.isBlank()) {
+                return parse(Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8), environment, profile, path);
+            }
+            try (InputStream in = PerformanceBudget.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException(DEFAULT_RESOURCE + " not found on the test classpath");
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                return parse(reader.lines().toList(), environment, profile, DEFAULT_RESOURCE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance budgets", e);
+        }
+    }
+
+    /**
+     * Parse budget lines, keeping the defaults plus the overrides of the given environment
+     * @throws IllegalArgumentException for a line that is not a budget, section or comment
+     */
+    public static PerformanceBudget parse(List<String> lines, String environment, String source) {
+        return parse(lines, environment, null, source);
+    }
+
+    /**
+     * Parse budget lines, keeping the defaults plus the overrides of the given environment and
+     * profile; when both override a budget, the later line in the file wins
+     * @param profile profile section to apply, or null for none
+     * @throws IllegalArgumentException for a line that is not a budget, section or comment, or a
+     *         limit in a unit that does not fit its metric
+     */
+    public static PerformanceBudget parse(List<String> lines, String environment, String profile, String source) {
+        Map<String, Budget> budgets = new LinkedHashMap<>();
+        String section = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            Matcher sectionMatcher = SECTION_LINE.matcher(line);
+            if (sectionMatcher.matches()) {
+                section = sectionMatcher.group("section").trim().toLowerCase(Locale.ROOT);
+                continue;
+            }
+            Matcher matcher = BUDGET_LINE.matcher(line);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException(source + ":" + (i + 1) + ": not a budget: " + line);
+            }
+            String metric = matcher.group("metric").toLowerCase(Locale.ROOT);
+            String unit = matcher.group("unit");
+            List<String> units = unitsOf(metric);
+            if (unit != null && units.stream().noneMatch(unit::equalsIgnoreCase)) {
+                throw new IllegalArgumentException(source + ":" + (i + 1) + ": " + metric + " cannot be given in " + unit
+                        + (units.isEmpty() ? ", it has no unit" : ", use " + String.join(" or ", units)) + ": " + line);
+            }
+            if (section != null && !section.equals(environment) && !section.equals(profile)) {
+                continue;
+            }
+            Budget budget = new Budget(matcher.group("operation").strip(), metric,
+                    "<=".equals(matcher.group("comparator")),
+                    toBaseUnit(Double.parseDouble(matcher.group("limit")), unit),
+                    line);
+            budgets.put(key(budget.operation, budget.metric), budget);
+        }
+        return new PerformanceBudget(environment, profile, source, budgets);
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * Short description for log messages, e.g. "perf-budgets.txt [live, mid-tier-mobile]"
+     */
+    public String describe() {
+        return source + " [" + environment + (profile != null ? ", " + profile : "") + "]";
+    }
+
+    /**
+     * Check every timing budget (percentiles, median, max) of the result's operation; a metric
+     * without a budget for the operation falls back to the * budget
+     */
+    public void check(PerformanceRunner.Result result) {
+        Set<String> metrics = new LinkedHashSet<>();
+        for (Budget budget : budgets.values()) {
+            if (budget.isTiming() && (budget.operation.equals(result.getOperation()) || budget.operation.equals(WILDCARD))) {
+                metrics.add(budget.metric);
+            }
+        }
+        for (String metric : metrics) {
+            Budget budget = find(result.getOperation(), metric);
+            double actual = metric.equals("max") ? result.getMax()
+                    : result.percentile(metric.equals("median") ? 50 : Double.parseDouble(metric.substring(1)));
+            record(result.getOperation(), budget, actual);
+        }
+        if (metrics.isEmpty()) {
+            ExtentReportManager.logWarning("No timing budget for " + result.getOperation() + " in " + describe());
+        }
+    }
+
+    /**
+     * Check a single measured value against the budget for the operation and metric, if there is one
+     * @param actual measured value in ms, bytes, or unitless for cls, nodes and listeners; null when not measured
+     */
+    public void check(String operation, String metric, Double actual) {
+        Budget budget = find(operation, metric.toLowerCase(Locale.ROOT));
+        if (budget == null || actual == null) {
+            return;
+        }
+        record(operation, budget, actual);
+    }
+
+    /**
+     * Log the per-budget breakdown and fail if any budget was exceeded
+     */
+    public void verify() {
+        if (checks.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Operation", "Metric", "Budget", "Actual", "Result"});
+        List<String> failures = new ArrayList<>();
+        for (Check check : checks) {
+            rows.add(new String[]{check.operation, check.budget.metric, check.budget.describeLimit(),
+                    check.budget.format(check.actual), check.passed ? "PASS" : "FAIL"});
+            if (!check.passed) {
+                failures.add(check.operation + " " + check.budget.metric + " " + check.budget.format(check.actual) +
+                        " (budget " + check.budget.describeLimit() + ")");
+            }
+        }
+        ExtentReportManager.logStep("Performance budgets " + describe());
+        ExtentReportManager.logTable(rows.toArray(new String[0][]));
+        checks.clear();
+
+        if (!failures.isEmpty()) {
+            ExtentReportManager.logFail(failures.size() + " budget(s) exceeded: " + String.join("; ", failures));
+            throw new AssertionError(failures.size() + " performance budget(s) exceeded: " + String.join("; ", failures));
+        }
+        ExtentReportManager.logPass("All performance budgets met");
+    }
+
+    private void record(String operation, Budget budget, double actual) {
+        boolean passed = budget.inclusive ? actual <= budget.limit : actual < budget.limit;
+        checks.add(new Check(operation, budget, actual, passed));
+        String message = operation + " " + budget.metric + " " + budget.format(actual) + " (budget " +
+                budget.describeLimit() + ")";
+        if (passed) {
+            ExtentReportManager.logPass(message);
+        } else {
+            ExtentReportManager.logFail(message);
+        }
+    }
+
+    private Budget find(String operation, String metric) {
+        Budget specific = budgets.get(key(operation, metric));
+        return specific != null ? specific : budgets.get(key(WILDCARD, metric));
+    }
+
+    private static String key(String operation, String metric) {
+        return operation + "\u0000" + metric;
+    }
+
+    /**
+     * Units a limit of the metric may be given in; none for the unitless cls, nodes and listeners
+     */
+    private static List<String> unitsOf(String metric) {
+        switch (metric) {
+            case "transfer":
+            case "heap":
+                return BYTE_UNITS;
+            case "cls":
+            case "nodes":
+            case "listeners":
+                return List.of();
+            default:
+                return TIME_UNITS;
+        }
+    }
+
+    private static double toBaseUnit(double value, String unit) {
+        if (unit == null) {
+            return value;
+        }
+        switch (unit.toUpperCase(Locale.ROOT)) {
+            case "S":
+                return value * 1000;
+            case "KB":
+                return value * 1024;
+            case "MB":
+                return value * 1024 * 1024;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * One budget line: limit is in ms for timings, bytes for transfer and heap, unitless for cls,
+     * nodes and listeners
+     */
+    private static final class Budget {
+        private final String operation;
+        private final String metric;
+        private final boolean inclusive;
+        private final double limit;
+        private final String line;
+
+        private Budget(String operation, String metric, boolean inclusive, double limit, String line) {
+            this.operation = operation;
+            this.metric = metric;
+            this.inclusive = inclusive;
+            this.limit = limit;
+            this.line = line;
+        }
+
+        private boolean isTiming() {
+            return metric.startsWith("p") || metric.equals("median") || metric.equals("max");
+        }
+
+        private String describeLimit() {
+            return (inclusive ? "<= " : "< ") + format(limit);
+        }
+
+        private String format(double value) {
+            switch (metric) {
+                case "transfer":
+                case "heap":
+                    return df.get().format(value / 1024) + " KB";
+                case "cls":
+                    return clsFormat.get().format(value);
+                case "nodes":
+                case "listeners":
+                    return countFormat.get().format(value);
+                default:
+                    return df.get().format(value) + " ms";
+            }
+        }
+
+        @Override
+        public String toString() {
+            return line;
+        }
+    }
+
+    private static final class Check {
+        private final String operation;
+        private final Budget budget;
+        private final double actual;
+        private final boolean passed;
+
+        private Check(String operation, Budget budget, double actual, boolean passed) {
+            this.operation = operation;
+            this.budget = budget;
+            this.actual = actual;
+            this.passed = passed;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package utils;
+
+import org.HdrHistogram.Histogram;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repeats a performance measurement and asserts on a percentile of the samples instead of a
+ * single reading.
+ *
+ * Every operation runs perf.warmup discarded iterations followed by perf.iterations measured
+ * ones. The samples go into an HdrHistogram (microsecond resolution, 3 significant digits) for
+ * p50/p90/p99/max. Confidence intervals come from order statistics of the raw samples, so they
+ * hold without assuming a normal distribution. Assertions use perf.assertPercentile (default p90).
+ *
+ * <pre>
+ * PerformanceRunner runner = PerformanceRunner.fromSystemProperties();
+ * runner.measure("Home page", () -&gt; {
+ *     driver.navigate().to(TestData.BASE_URL);
+ *     return PageTiming.capture(driver, wait).getLoad();
+ * }).assertWithin(3000);
+ * </pre>
+ */
+public class PerformanceRunner {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> percentileFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.##"));
+
+    // Longest sample the histograms can hold: one hour in microseconds
+    private static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    // Two-sided 95% confidence
+    private static final double Z_95 = 1.959964;
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final double assertPercentile;
+    private final Map<String, Result> results = new LinkedHashMap<>();
+    private Listener listener;
+
+    public PerformanceRunner(int warmupIterations, int measuredIterations, double assertPercentile) {
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("perf.iterations must be at least 1");
+        }
+        if (assertPercentile <= 0 || assertPercentile > 100) {
+            throw new IllegalArgumentException("perf.assertPercentile must be in (0, 100]");
+        }
+        this.warmupIterations = Math.max(0, warmupIterations);
+        this.measuredIterations = measuredIterations;
+        this.assertPercentile = assertPercentile;
+    }
+
+    /**
+     * Runner configured with -Dperf.warmup (default 1), -Dperf.iterations (default 5)
+     * and -Dperf.assertPercentile (default 90)
+     */
+    public static PerformanceRunner fromSystemProperties() {
+        return new PerformanceRunner(
+                Integer.getInteger("perf.warmup", 1),
+                Integer.getInteger("perf.iterations", 5),
+                Double.parseDouble(System.getProperty("perf.assertPercentile", "90")));
+    }
+
+    public double getAssertPercentile() {
+        return assertPercentile;
+    }
+
+    /**
+     * The asserted percentile as a label, e.g. "p90"
+     */
+    public String getAssertLabel() {
+        return label(assertPercentile);
+    }
+
+    static String label(double percentile) {
+        return "p" + percentileFormat.get().format(percentile);
+    }
+
+    /**
+     * One measured iteration; untimed preparation may happen inside, only the returned value counts
+     */
+    @FunctionalInterface
+    public interface Sample {
+        /**
+         * @return the measured duration in milliseconds
+         */
+        double measureMillis() throws Exception;
+    }
+
+    /**
+     * Callbacks around the measured iterations of every operation (after the warm-up), e.g. to
+     * record a browser trace of just those iterations
+     */
+    public interface Listener {
+        void beforeMeasuredIterations(String operation);
+
+        /**
+         * @param result the measured result, or null if the measurement failed
+         */
+        void afterMeasuredIterations(String operation, Result result);
+    }
+
+    /**
+     * Set the listener notified around the measured iterations, or null for none
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Run the warm-up and measured iterations of one operation and log its distribution
+     */
+    public Result measure(String operation, Sample sample) {
+        ExtentReportManager.logStep("Measuring " + operation + " (" + warmupIterations + " warm-up + " +
+                measuredIterations + " measured iterations)");
+        try {
+            for (int i = 0; i < warmupIterations; i++) {
+                sample.measureMillis();
+            }
+            Result result = measureIterations(operation, sample);
+            results.put(operation, result);
+            TestMetrics.operationMeasured(result);
+            ExtentReportManager.logInfo(result.toString());
+            return result;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Measurement of " + operation + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Result measureIterations(String operation, Sample sample) throws Exception {
+        if (listener != null) {
+            listener.beforeMeasuredIterations(operation);
+        }
+        Result result = new Result(operation, assertPercentile);
+        boolean completed = false;
+        try {
+            for (int i = 0; i < measuredIterations; i++) {
+                result.record(sample.measureMillis());
+            }
+            completed = true;
+            return result;
+        } finally {
+            if (listener != null) {
+                listener.afterMeasuredIterations(operation, completed ? result : null);
+            }
+        }
+    }
+
+    /**
+     * Results measured by this runner, in measurement order
+     */
+    public List<Result> getResults() {
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Log every measured operation as one summary table
+     */
+    public void logSummary() {
+        if (results.isEmpty()) {
+            return;
+        }
+        String p = getAssertLabel();
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Operation", "n", "p50", "p90", "p99", "max", p + " 95% CI"});
+        for (Result result : results.values()) {
+            double[] ci = result.confidenceInterval(assertPercentile);
+            rows.add(new String[]{result.getOperation(), String.valueOf(result.getCount()),
+                    ms(result.percentile(50)), ms(result.percentile(90)), ms(result.percentile(99)),
+                    ms(result.getMax()), ms(ci[0]) + " - " + ms(ci[1])});
+        }
+        ExtentReportManager.logTable(rows.toArray(new String[0][]));
+    }
+
+    private static String ms(double value) {
+        return df.get().format(value) + " ms";
+    }
+
+    /**
+     * Distribution of one operation's samples
+     */
+    public static class Result {
+        private final String operation;
+        private final double assertPercentile;
+        private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final List<Double> samples = new ArrayList<>();
+
+        Result(String operation, double assertPercentile) {
+            this.operation = operation;
+            this.assertPercentile = assertPercentile;
+        }
+
+        void record(double millis) {
+            samples.add(millis);
+            long micros = Math.max(0, Math.min(HIGHEST_TRACKABLE_MICROS, Math.round(millis * 1000)));
+            histogram.recordValue(micros);
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public int getCount() {
+            return samples.size();
+        }
+
+        /**
+         * Raw samples in milliseconds, in measurement order
+         */
+        public double[] getSamples() {
+            return samples.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public double percentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double getMax() {
+            return histogram.getMaxValue() / 1000.0;
+        }
+
+        /**
+         * Distribution-free 95% confidence interval for a percentile, from the order statistics
+         * whose ranks bracket n*q within 1.96 binomial standard deviations. With few samples the
+         * interval widens to the sample minimum and maximum.
+         * @return {lower, upper} in milliseconds
+         */
+        public double[] confidenceInterval(double percentile) {
+            double[] sorted = getSamples();
+            Arrays.sort(sorted);
+            int n = sorted.length;
+            double q = percentile / 100.0;
+            double spread = Z_95 * Math.sqrt(n * q * (1 - q));
+            // 1-based ranks floor(nq - spread) and ceil(nq + spread) + 1, as 0-based indexes
+            int lower = Math.max(0, Math.min(n - 1, (int) Math.floor(n * q - spread) - 1));
+            int upper = Math.max(0, Math.min(n - 1, (int) Math.ceil(n * q + spread)));
+            return new double[]{sorted[lower], sorted[upper]};
+        }
+
+        /**
+         * Assert that the configured percentile is within the threshold, logging pass or fail
+         */
+        public Result assertWithin(double thresholdMillis) {
+            double value = percentile(assertPercentile);
+            String label = operation + " " + PerformanceRunner.label(assertPercentile) + " " + ms(value);
+            if (value <= thresholdMillis) {
+                ExtentReportManager.logPass(label + " within threshold (" + ms(thresholdMillis) + ")");
+            } else {
+                double[] ci = confidenceInterval(assertPercentile);
+                ExtentReportManager.logFail(label + " exceeded threshold " + ms(thresholdMillis) +
+                        " (95% CI " + ms(ci[0]) + " - " + ms(ci[1]) + ", n=" + getCount() + ")");
+                throw new AssertionError(label + " exceeded threshold of " + ms(thresholdMillis));
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            double[] ci = confidenceInterval(assertPercentile);
+            return operation + ": n=" + getCount() + " p50=" + ms(percentile(50)) + " p90=" + ms(percentile(90)) +
+                    " p99=" + ms(percentile(99)) + " max=" + ms(getMax()) + " " + PerformanceRunner.label(assertPercentile) +
+                    " 95% CI [" + ms(ci[0]) + ", " + ms(ci[1]) + "]";
+        }
+    }
+}
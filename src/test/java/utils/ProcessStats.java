@@ -0,0 +1,121 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Resident memory and other resources of the browsers this JVM started, read from /proc (Linux only).
+ *
+ * Browsers run as child processes of their chromedriver, which is a child of this JVM, so every
+ * descendant process counts. Chrome's processes share some pages, so the sum overstates the real
+ * footprint; it is meant for spotting growth over time, not for absolute numbers.
+ */
+public class ProcessStats {
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessStats() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Whether /proc can be read on this machine
+     */
+    public static boolean isSupported() {
+        return Files.isReadable(PROC.resolve("self").resolve("status"));
+    }
+
+    /**
+     * Sum of the resident set sizes of all descendant processes (drivers and browsers)
+     * @return empty where /proc is not available
+     */
+    public static OptionalLong browserRssBytes() {
+        if (!isSupported()) {
+            return OptionalLong.empty();
+        }
+        long total = ProcessHandle.current().descendants()
+                .mapToLong(process -> rssBytes(process.pid()))
+                .sum();
+        return OptionalLong.of(total);
+    }
+
+    /**
+     * Resident set size of one process from the VmRSS line of /proc/&lt;pid&gt;/status; 0 if it has exited
+     */
+    public static long rssBytes(long pid) {
+        // e.g. "VmRSS:     123456 kB"
+        return statusValue(pid, "VmRSS:") * 1024;
+    }
+
+    /**
+     * Threads of one process from /proc/&lt;pid&gt;/status; 0 if it has exited
+     */
+    public static long threadCount(long pid) {
+        return statusValue(pid, "Threads:");
+    }
+
+    /**
+     * Open file descriptors (files, sockets, pipes) of one process, counted in /proc/&lt;pid&gt;/fd;
+     * 0 if it has exited or belongs to another user
+     */
+    public static long openFileCount(long pid) {
+        try (Stream<Path> fds = Files.list(PROC.resolve(String.valueOf(pid)).resolve("fd"))) {
+            return fds.count();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Memory the host can give new processes without swapping, from MemAvailable in /proc/meminfo
+     * @return empty where /proc is not available
+     */
+    public static OptionalLong memAvailableBytes() {
+        return memInfoBytes("MemAvailable:");
+    }
+
+    /**
+     * Physical memory of the host, from MemTotal in /proc/meminfo
+     * @return empty where /proc is not available
+     */
+    public static OptionalLong memTotalBytes() {
+        return memInfoBytes("MemTotal:");
+    }
+
+    private static OptionalLong memInfoBytes(String key) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve("meminfo"))) {
+                if (line.startsWith(key)) {
+                    return OptionalLong.of(Long.parseLong(line.substring(key.length()).trim().split("\\s+")[0]) * 1024);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or an unexpected format
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * The first number on the line of /proc/&lt;pid&gt;/status starting with the key; 0 if the
+     * process has exited
+     */
+    private static long statusValue(long pid, String key) {
+        try {
+            List<String> lines = Files.readAllLines(PROC.resolve(String.valueOf(pid)).resolve("status"));
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    String[] parts = line.trim().split("\\s+");
+                    return Long.parseLong(parts[1]);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The process exited between listing and reading
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how chatty a BaseTest test may be: the WebDriver commands it sends and the time it spends
+ * idle between them (sleeps and wait polling), as measured by CommandProfiler. On a test method
+ * it overrides one on the class.
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;RoundTripBudget(maxCommands = 150, maxIdleMillis = 45_000)
+ * public void testCartCapacity() { ... }
+ * </pre>
+ *
+ * A test over budget fails after it has run, listing the call sites that sent the most commands;
+ * with warnOnly, or -Droundtrip.warnOnly=true for every test, it is only logged as a warning.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RoundTripBudget {
+    /**
+     * Most WebDriver commands the test may send; 0 for no limit
+     */
+    int maxCommands() default 0;
+
+    /**
+     * Most wall-clock time the test may spend outside WebDriver commands, in milliseconds; 0 for no limit
+     */
+    long maxIdleMillis() default 0;
+
+    /**
+     * Only warn when the budget is exceeded
+     */
+    boolean warnOnly() default false;
+}
@@ -0,0 +1,31 @@
+package utils;
+
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLocksProvider;
+
+import java.util.Set;
+
+/**
+ * Resource lock on the shared TestData.TEST_USERNAME account for JUnit's parallel execution.
+ * DemoBlaze keeps one cart per account on the server, so two tests filling the shared account's
+ * cart at once see each other's items.
+ *
+ * Classes that change the cart of the account() they log in with use the provider, which takes
+ * the lock only while the AccountPool is disabled, i.e. while account() is the shared account:
+ * <pre>
+ * &#64;ResourceLock(providers = SharedAccountLock.class)
+ * </pre>
+ * Classes that always use the shared account lock {@link #KEY} directly, in READ mode when they
+ * only log in, so they still run alongside each other.
+ */
+public class SharedAccountLock implements ResourceLocksProvider {
+    public static final String KEY = "demoblaze.sharedAccount";
+
+    @Override
+    public Set<Lock> provideForClass(Class<?> testClass) {
+        if (AccountPool.isEnabled()) {
+            return Set.of();
+        }
+        return Set.of(new Lock(KEY, ResourceAccessMode.READ_WRITE));
+    }
+}
@@ -0,0 +1,563 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Repeats a user journey for a long time across parallel browser sessions to expose problems that
+ * a single run cannot: throughput that drops, phases that get slower, browser memory that keeps
+ * growing and errors that only appear under sustained use.
+ *
+ * Each of soak.sessions workers opens its own session and runs journeys back to back until
+ * soak.duration has passed, or until soak.iterations journeys have been run in total. A failed
+ * journey is counted as an error and its session is replaced, so one broken browser does not end
+ * the soak. A worker that cannot open a session waits longer after every failed attempt (1 s,
+ * doubling up to 30 s), and soak.maxOpenFailures failed attempts in a row abort the whole soak,
+ * since no browser can be started at all. Results are grouped into windows of soak.window; drift
+ * is the Theil-Sen slope of the window values, so a single slow window does not look like a trend.
+ *
+ * <pre>
+ * SoakRunner.Result result = SoakRunner.fromSystemProperties().run("User journey", () -&gt; {
+ *     BrowserLease lease = BrowserLease.reserve();
+ *     WebDriver browser = lease.start("UserJourneySoakTest", "Soak session", ChromeDriver::new);
+ *     return new SoakRunner.Session() { ... };   // close() closes the lease
+ * });
+ * result.logToReport();
+ * </pre>
+ */
+public class SoakRunner {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> rateFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.0%"));
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h)?");
+    private static final long RSS_SAMPLE_MILLIS = 5000;
+    private static final int ERRORS_LOGGED = 5;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    private static final long OPEN_BACKOFF_MILLIS = 1000;
+    private static final long MAX_OPEN_BACKOFF_MILLIS = 30_000;
+
+    private final int sessions;
+    private final Duration duration;
+    private final int iterations;
+    private final Duration window;
+    private final int maxOpenFailures;
+
+    /**
+     * @param iterations total journeys across all sessions, or 0 to run for the duration
+     */
+    public SoakRunner(int sessions, Duration duration, int iterations, Duration window) {
+        this(sessions, duration, iterations, window, 5);
+    }
+
+    /**
+     * @param iterations total journeys across all sessions, or 0 to run for the duration
+     * @param maxOpenFailures failed attempts in a row to open a session that abort the soak
+     */
+    public SoakRunner(int sessions, Duration duration, int iterations, Duration window, int maxOpenFailures) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("soak.sessions must be at least 1");
+        }
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("soak.window must be positive");
+        }
+        if (maxOpenFailures < 1) {
+            throw new IllegalArgumentException("soak.maxOpenFailures must be at least 1");
+        }
+        this.sessions = sessions;
+        this.duration = duration;
+        this.iterations = Math.max(0, iterations);
+        this.window = window;
+        this.maxOpenFailures = maxOpenFailures;
+    }
+
+    /**
+     * Runner configured with -Dsoak.sessions (default 2), -Dsoak.duration (default 30m),
+     * -Dsoak.iterations (default 0, run for the duration), -Dsoak.window (default 60s) and
+     * -Dsoak.maxOpenFailures (default 5). Durations take a unit of ms, s, m or h; a bare number
+     * is seconds.
+     */
+    public static SoakRunner fromSystemProperties() {
+        return new SoakRunner(
+                Integer.getInteger("soak.sessions", 2),
+                parseDuration(System.getProperty("soak.duration", "30m")),
+                Integer.getInteger("soak.iterations", 0),
+                parseDuration(System.getProperty("soak.window", "60s")),
+                Integer.getInteger("soak.maxOpenFailures", 5));
+    }
+
+    /**
+     * Parse a duration such as "90s", "30m", "2h" or "500ms"
+     */
+    public static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2) == null ? "s" : matcher.group(2);
+        switch (unit) {
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            default:
+                return Duration.ofSeconds(amount);
+        }
+    }
+
+    /**
+     * One browser session that can run the journey repeatedly
+     */
+    public interface Session {
+        /**
+         * Run one journey, timing its phases; any exception counts as an error
+         */
+        void runJourney(Phases phases) throws Exception;
+
+        void close();
+    }
+
+    /**
+     * Opens a new session for a worker, at the start and after every failed journey. It runs on the
+     * soak's worker threads, as do the sessions, so neither may log to the report.
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+        Session open() throws Exception;
+    }
+
+    /**
+     * Durations of the named phases of one journey, in the order they ran
+     */
+    public static class Phases {
+        private final Map<String, Double> durations = new LinkedHashMap<>();
+
+        public void time(String phase, Runnable action) {
+            time(phase, () -> {
+                action.run();
+                return null;
+            });
+        }
+
+        public <T> T time(String phase, Supplier<T> action) {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                durations.merge(phase, (System.nanoTime() - start) / 1_000_000.0, Double::sum);
+            }
+        }
+
+        /**
+         * Phase durations in milliseconds, in the order the phases first ran
+         */
+        public Map<String, Double> getDurations() {
+            return Collections.unmodifiableMap(durations);
+        }
+
+        /**
+         * Log the phase durations as a table
+         */
+        public void logToReport() {
+            List<String[]> rows = new ArrayList<>();
+            rows.add(new String[]{"Phase", "Duration"});
+            for (Map.Entry<String, Double> phase : durations.entrySet()) {
+                rows.add(new String[]{phase.getKey(), df.get().format(phase.getValue()) + " ms"});
+            }
+            ExtentReportManager.logTable(rows.toArray(new String[0][]));
+        }
+    }
+
+    /**
+     * Run the soak and return its results. Blocks until every worker has finished its last journey.
+     * @throws IllegalStateException if a worker could not open a session soak.maxOpenFailures times in a row
+     */
+    public Result run(String name, SessionFactory factory) {
+        ExtentReportManager.logStep("Soaking " + name + " with " + sessions + " sessions for " +
+                (iterations > 0 ? iterations + " journeys" : format(duration)));
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        // Set by the first worker that gives up opening sessions, which stops the others too
+        AtomicReference<IllegalStateException> aborted = new AtomicReference<>();
+        List<Journey> journeys = Collections.synchronizedList(new ArrayList<>());
+        List<long[]> rssSamples = Collections.synchronizedList(new ArrayList<>());
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        if (ProcessStats.isSupported()) {
+            sampler.scheduleAtFixedRate(() -> {
+                OptionalLong rss = ProcessStats.browserRssBytes();
+                if (rss.isPresent()) {
+                    rssSamples.add(new long[]{System.nanoTime() - start, rss.getAsLong()});
+                }
+            }, 0, RSS_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            ExtentReportManager.logWarning("/proc is not available; browser memory is not tracked");
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(sessions);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                futures.add(workers.submit(() -> {
+                    Session session = null;
+                    int openFailures = 0;
+                    try {
+                        while (aborted.get() == null
+                                && (iterations > 0 ? remaining.getAndDecrement() > 0 : System.nanoTime() < deadline)) {
+                            Phases phases = new Phases();
+                            try {
+                                if (session == null) {
+                                    session = factory.open();
+                                    openFailures = 0;
+                                }
+                                session.runJourney(phases);
+                                journeys.add(new Journey(System.nanoTime() - start, phases, null));
+                            } catch (Exception | AssertionError e) {
+                                journeys.add(new Journey(System.nanoTime() - start, phases, e));
+                                if (session != null) {
+                                    closeQuietly(session);
+                                    session = null;
+                                } else if (++openFailures == maxOpenFailures) {
+                                    aborted.compareAndSet(null, new IllegalStateException("Soak of " + name
+                                            + " aborted: could not open a session " + openFailures + " times in a row", e));
+                                } else {
+                                    long backoff = OPEN_BACKOFF_MILLIS << Math.min(openFailures - 1, 5);
+                                    Thread.sleep(Math.min(MAX_OPEN_BACKOFF_MILLIS, backoff));
+                                }
+                            }
+                        }
+                    } finally {
+                        closeQuietly(session);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Soak of " + name + " was interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Soak of " + name + " failed: " + e.getMessage(), e);
+        } finally {
+            workers.shutdownNow();
+            sampler.shutdownNow();
+        }
+        if (aborted.get() != null) {
+            throw aborted.get();
+        }
+
+        Result result = new Result(name, sessions, window, System.nanoTime() - start,
+                new ArrayList<>(journeys), new ArrayList<>(rssSamples));
+        ExtentReportManager.logInfo(result.toString());
+        return result;
+    }
+
+    private static void closeQuietly(Session session) {
+        if (session != null) {
+            try {
+                session.close();
+            } catch (RuntimeException e) {
+                // The session is being replaced anyway
+            }
+        }
+    }
+
+    private static String format(Duration duration) {
+        return df.get().format(duration.toMillis() / 60000.0) + " min";
+    }
+
+    /**
+     * One finished journey: when it ended, its phase durations and its error, if any
+     */
+    private static final class Journey {
+        private final long endNanos;
+        private final Map<String, Double> phases;
+        private final Throwable error;
+
+        private Journey(long endNanos, Phases phases, Throwable error) {
+            this.endNanos = endNanos;
+            this.phases = phases.getDurations();
+            this.error = error;
+        }
+    }
+
+    /**
+     * Journeys of one soak grouped into time windows, with the drift fitted across the windows
+     */
+    public static class Result {
+        private final String name;
+        private final int sessions;
+        private final double windowMinutes;
+        private final double elapsedMinutes;
+        private final int journeyCount;
+        private final int errorCount;
+        private final Set<String> phaseNames = new LinkedHashSet<>();
+        private final Map<String, Integer> errors = new LinkedHashMap<>();
+        private final double[] windowStart;
+        private final double[] journeysPerMinute;
+        private final double[] errorsPerMinute;
+        private final double[] errorRate;
+        private final double[] rssMb;
+        private final Map<String, double[]> phaseMedians = new LinkedHashMap<>();
+
+        Result(String name, int sessions, Duration window, long elapsedNanos, List<Journey> journeys,
+               List<long[]> rssSamples) {
+            this.name = name;
+            this.sessions = sessions;
+            long windowNanos = window.toNanos();
+            this.windowMinutes = window.toMillis() / 60000.0;
+            this.elapsedMinutes = elapsedNanos / 60_000_000_000.0;
+
+            // A journey still running at the deadline may end after it, so count windows from the last end
+            long lastNanos = elapsedNanos;
+            for (Journey journey : journeys) {
+                lastNanos = Math.max(lastNanos, journey.endNanos);
+            }
+            int windows = (int) Math.max(1, (lastNanos + windowNanos - 1) / windowNanos);
+
+            int[] ok = new int[windows];
+            int[] failed = new int[windows];
+            Map<String, List<List<Double>>> phaseSamples = new LinkedHashMap<>();
+            int errorTotal = 0;
+            for (Journey journey : journeys) {
+                int w = Math.min(windows - 1, (int) (journey.endNanos / windowNanos));
+                if (journey.error != null) {
+                    failed[w]++;
+                    errorTotal++;
+                    errors.merge(describe(journey.error), 1, Integer::sum);
+                    continue;
+                }
+                ok[w]++;
+                for (Map.Entry<String, Double> phase : journey.phases.entrySet()) {
+                    phaseNames.add(phase.getKey());
+                    List<List<Double>> perWindow = phaseSamples.computeIfAbsent(phase.getKey(), k -> {
+                        List<List<Double>> lists = new ArrayList<>();
+                        for (int i = 0; i < windows; i++) {
+                            lists.add(new ArrayList<>());
+                        }
+                        return lists;
+                    });
+                    perWindow.get(w).add(phase.getValue());
+                }
+            }
+            this.journeyCount = journeys.size() - errorTotal;
+            this.errorCount = errorTotal;
+
+            this.windowStart = new double[windows];
+            this.journeysPerMinute = new double[windows];
+            this.errorsPerMinute = new double[windows];
+            this.errorRate = new double[windows];
+            this.rssMb = new double[windows];
+            double[] rssTotal = new double[windows];
+            int[] rssCount = new int[windows];
+            for (long[] sample : rssSamples) {
+                int w = Math.min(windows - 1, (int) (sample[0] / windowNanos));
+                rssTotal[w] += sample[1];
+                rssCount[w]++;
+            }
+            for (int w = 0; w < windows; w++) {
+                windowStart[w] = w * windowMinutes;
+                // The last window is usually partial
+                double minutes = Math.min(windowMinutes, lastNanos / 60_000_000_000.0 - windowStart[w]);
+                minutes = minutes > 0 ? minutes : windowMinutes;
+                journeysPerMinute[w] = ok[w] / minutes;
+                errorsPerMinute[w] = failed[w] / minutes;
+                errorRate[w] = ok[w] + failed[w] == 0 ? Double.NaN : (double) failed[w] / (ok[w] + failed[w]);
+                rssMb[w] = rssCount[w] == 0 ? Double.NaN : rssTotal[w] / rssCount[w] / BYTES_PER_MB;
+            }
+            for (Map.Entry<String, List<List<Double>>> phase : phaseSamples.entrySet()) {
+                double[] medians = new double[windows];
+                for (int w = 0; w < windows; w++) {
+                    medians[w] = median(phase.getValue().get(w));
+                }
+                phaseMedians.put(phase.getKey(), medians);
+            }
+        }
+
+        private static String describe(Throwable error) {
+            String message = error.getMessage() == null ? "" : error.getMessage().split("\\R", 2)[0];
+            return error.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+        }
+
+        private static double median(List<Double> values) {
+            if (values.isEmpty()) {
+                return Double.NaN;
+            }
+            double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+
+        /**
+         * Change per minute of windowed values, skipping windows without data
+         */
+        private double driftPerMinute(double[] values) {
+            double[] present = Arrays.stream(values).filter(v -> !Double.isNaN(v)).toArray();
+            return LeakDetector.growthPerIteration(present) / windowMinutes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Successful journeys
+         */
+        public int getJourneyCount() {
+            return journeyCount;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Failed journeys as a fraction of all journeys
+         */
+        public double getErrorRate() {
+            int total = journeyCount + errorCount;
+            return total == 0 ? 0 : (double) errorCount / total;
+        }
+
+        /**
+         * Successful journeys per minute over the whole soak, across all sessions
+         */
+        public double getJourneysPerMinute() {
+            return elapsedMinutes == 0 ? 0 : journeyCount / elapsedMinutes;
+        }
+
+        /**
+         * Change of the median duration of a phase, in milliseconds per minute of soak
+         */
+        public double getPhaseDrift(String phase) {
+            double[] medians = phaseMedians.get(phase);
+            return medians == null ? 0 : driftPerMinute(medians);
+        }
+
+        /**
+         * Change of browser resident memory in MB per minute, or NaN if it was not sampled
+         */
+        public double getRssDrift() {
+            boolean sampled = Arrays.stream(rssMb).anyMatch(v -> !Double.isNaN(v));
+            return sampled ? driftPerMinute(rssMb) : Double.NaN;
+        }
+
+        /**
+         * Log the summary, per-window tables and time-series charts
+         */
+        public void logToReport() {
+            ExtentReportManager.logTable(new String[][]{
+                    {"Sessions", "Duration", "Journeys", "Errors", "Error rate", "Journeys/min", "RSS drift"},
+                    {String.valueOf(sessions), df.get().format(elapsedMinutes) + " min", String.valueOf(journeyCount),
+                            String.valueOf(errorCount), rateFormat.get().format(getErrorRate()),
+                            df.get().format(getJourneysPerMinute()), mbPerMinute(getRssDrift())}
+            });
+
+            List<String[]> drift = new ArrayList<>();
+            drift.add(new String[]{"Phase", "First window median", "Last window median", "Drift"});
+            for (String phase : phaseNames) {
+                double[] medians = phaseMedians.get(phase);
+                drift.add(new String[]{phase, ms(first(medians)), ms(last(medians)),
+                        df.get().format(getPhaseDrift(phase)) + " ms/min"});
+            }
+            ExtentReportManager.logTable(drift.toArray(new String[0][]));
+
+            List<String[]> windows = new ArrayList<>();
+            List<String> header = new ArrayList<>(Arrays.asList("Window", "Journeys/min", "Error rate", "Browser RSS"));
+            for (String phase : phaseNames) {
+                header.add(phase + " p50");
+            }
+            windows.add(header.toArray(new String[0]));
+            for (int w = 0; w < windowStart.length; w++) {
+                List<String> row = new ArrayList<>(Arrays.asList(df.get().format(windowStart[w]) + " min",
+                        df.get().format(journeysPerMinute[w]),
+                        Double.isNaN(errorRate[w]) ? "-" : rateFormat.get().format(errorRate[w]),
+                        Double.isNaN(rssMb[w]) ? "-" : df.get().format(rssMb[w]) + " MB"));
+                for (String phase : phaseNames) {
+                    row.add(ms(phaseMedians.get(phase)[w]));
+                }
+                windows.add(row.toArray(new String[0]));
+            }
+            ExtentReportManager.logTable(windows.toArray(new String[0][]));
+
+            if (!errors.isEmpty()) {
+                List<String[]> rows = new ArrayList<>();
+                rows.add(new String[]{"Error", "Count"});
+                Map<Integer, List<String>> byCount = new TreeMap<>(Collections.reverseOrder());
+                errors.forEach((error, count) -> byCount.computeIfAbsent(count, k -> new ArrayList<>()).add(error));
+                byCount.forEach((count, messages) -> messages.forEach(message -> {
+                    if (rows.size() <= ERRORS_LOGGED) {
+                        rows.add(new String[]{message, String.valueOf(count)});
+                    }
+                }));
+                ExtentReportManager.logTable(rows.toArray(new String[0][]));
+            }
+
+            ExtentReportManager.logHtml(new SvgChart(name + ": throughput", "minutes", "per minute")
+                    .series("journeys", windowStart, journeysPerMinute)
+                    .series("errors", windowStart, errorsPerMinute)
+                    .render());
+            SvgChart latency = new SvgChart(name + ": median phase latency", "minutes", "ms");
+            phaseMedians.forEach((phase, medians) -> latency.series(phase, windowStart, medians));
+            ExtentReportManager.logHtml(latency.render());
+            if (!Double.isNaN(getRssDrift())) {
+                ExtentReportManager.logHtml(new SvgChart(name + ": browser memory", "minutes", "RSS MB")
+                        .series("RSS", windowStart, rssMb)
+                        .render());
+            }
+        }
+
+        private static double first(double[] values) {
+            return Arrays.stream(values).filter(v -> !Double.isNaN(v)).findFirst().orElse(Double.NaN);
+        }
+
+        private static double last(double[] values) {
+            for (int i = values.length - 1; i >= 0; i--) {
+                if (!Double.isNaN(values[i])) {
+                    return values[i];
+                }
+            }
+            return Double.NaN;
+        }
+
+        private static String ms(double value) {
+            return Double.isNaN(value) ? "-" : df.get().format(value) + " ms";
+        }
+
+        private static String mbPerMinute(double value) {
+            return Double.isNaN(value) ? "-" : df.get().format(value) + " MB/min";
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + journeyCount + " journeys and " + errorCount + " errors in " +
+                    df.get().format(elapsedMinutes) + " min (" + df.get().format(getJourneysPerMinute()) + " journeys/min, " +
+                    rateFormat.get().format(getErrorRate()) + " errors, RSS drift " + mbPerMinute(getRssDrift()) + ")";
+        }
+    }
+}
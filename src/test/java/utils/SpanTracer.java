@@ -0,0 +1,595 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traces a test as a tree of timed spans, test → step → page-object method → explicit wait →
+ * WebDriver command → browser network request, and exports it in the OpenTelemetry trace format
+ * (OTLP/JSON), so a slow test can be read as a waterfall instead of a list of STEP lines.
+ *
+ * Spans come from the existing hooks: BaseTest starts and finishes the trace,
+ * ExtentReportManager.logStep starts steps, TimedWait brackets waits, CommandProfiler reports
+ * commands, and CDP Network events give the browser's requests (Chromium only). Page-object spans
+ * are inferred from the stack at each command: a method of the pages package is open from its first
+ * command until a command is issued outside it, so back-to-back calls of the same method show as
+ * one span.
+ *
+ * logToReport() writes test-output/traces/&lt;test&gt;-&lt;timestamp&gt;.otlp.json, which an OTLP
+ * collector, Jaeger or Grafana Tempo accepts, links it and adds a waterfall down to page-object
+ * methods and waits. Tracing is opt-in with -Dtrace.spans=true.
+ */
+public class SpanTracer {
+    private static final ThreadLocal<SpanTracer> CURRENT = new ThreadLocal<>();
+    private static final StackWalker STACK = StackWalker.getInstance();
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    // OTLP enum values
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_CLIENT = 3;
+    private static final int STATUS_ERROR = 2;
+
+    private static final String COMMAND_ATTRIBUTE = "webdriver.command";
+    private static final int WATERFALL_ROWS = 150;
+
+    private final String testName;
+    private final String traceId = randomHex(16);
+    private final long startEpochNanos;
+    private final long startNanoTime = System.nanoTime();
+    // Every span, open or not, in start order; guarded by this as network spans arrive on the DevTools thread
+    private final List<Span> spans = new ArrayList<>();
+    private final Span root;
+
+    // Open spans of the test thread
+    private Span step;
+    private final List<Span> pageSpans = new ArrayList<>();
+    private final Deque<Span> waits = new ArrayDeque<>();
+    private final Deque<Span> commands = new ArrayDeque<>();
+    private long lastActivity;
+
+    // Innermost open span, the parent of network requests
+    private volatile Span current;
+    private final Map<String, Span> requests = new ConcurrentHashMap<>();
+    private volatile boolean finished;
+
+    private SpanTracer(String testClass, String testName) {
+        Instant now = Instant.now();
+        this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.testName = testName;
+        this.root = open(null, testName, KIND_INTERNAL, startEpochNanos);
+        root.attribute("test.class", testClass);
+        root.attribute("test.name", testName);
+        current = root;
+        lastActivity = startEpochNanos;
+    }
+
+    /**
+     * Whether span tracing was requested with -Dtrace.spans=true
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("trace.spans");
+    }
+
+    /**
+     * Start tracing the test running on this thread
+     */
+    public static SpanTracer start(String testClass, String testName) {
+        SpanTracer tracer = new SpanTracer(testClass, testName);
+        CURRENT.set(tracer);
+        return tracer;
+    }
+
+    /**
+     * This thread's tracer, or null when the test is not traced
+     */
+    public static SpanTracer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * End every open span of this thread's trace
+     * @return the tracer, or null when the test was not traced
+     */
+    public static SpanTracer finish() {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer == null) {
+            return null;
+        }
+        CURRENT.remove();
+        tracer.close();
+        return tracer;
+    }
+
+    /**
+     * Mark the test span of this thread's trace as failed, so the exported trace shows the test's
+     * outcome; call it before the trace is finished and written
+     */
+    public static void testFailed(Throwable cause) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null) {
+            synchronized (tracer) {
+                tracer.root.error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+            }
+        }
+    }
+
+    /**
+     * Add the browser's network requests to the trace, as children of the span open when they start
+     * @return false if the browser does not speak CDP
+     */
+    @SuppressWarnings("unchecked")
+    public boolean traceNetwork(WebDriver driver) {
+        if (!DriverManager.supportsCdp(driver)) {
+            return false;
+        }
+        DevTools devTools = DriverManager.getDevTools(driver);
+        devTools.addListener(new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE)),
+                (Map<String, Object> data) -> requestStarted(data, (Map<String, Object>) data.get("request")));
+        devTools.addListener(new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE)),
+                (Map<String, Object> data) -> responseReceived(data, (Map<String, Object>) data.get("response")));
+        devTools.addListener(new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE)),
+                (Map<String, Object> data) -> requestFinished(data, null));
+        devTools.addListener(new Event<>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE)),
+                (Map<String, Object> data) -> requestFinished(data, String.valueOf(data.get("errorText"))));
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        return true;
+    }
+
+    /**
+     * A step of this thread's test starts, ending the previous one and any open page-object spans
+     */
+    static void step(String message) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null) {
+            // Steps follow each other without gaps
+            long now = tracer.now();
+            tracer.closePageSpans();
+            tracer.end(tracer.step, now);
+            tracer.step = tracer.open(tracer.root, "STEP: " + message, KIND_INTERNAL, now);
+            tracer.current = tracer.step;
+        }
+    }
+
+    /**
+     * A WebDriver command is sent, e.g. "WebElement.click"
+     */
+    static void commandStarted(String command) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null) {
+            if (tracer.waits.isEmpty() && tracer.commands.isEmpty()) {
+                tracer.syncPageSpans();
+            }
+            Span span = tracer.open(tracer.innermost(), command, KIND_INTERNAL, tracer.now());
+            span.attribute(COMMAND_ATTRIBUTE, command);
+            tracer.commands.push(span);
+            tracer.current = span;
+        }
+    }
+
+    /**
+     * The last command sent has returned or thrown
+     */
+    static void commandFinished(String callSite, boolean failed) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null && !tracer.commands.isEmpty()) {
+            Span span = tracer.commands.pop();
+            span.attribute("code.function", callSite);
+            if (failed) {
+                span.error = "Command failed";
+            }
+            tracer.lastActivity = tracer.now();
+            tracer.end(span, tracer.lastActivity);
+            tracer.current = tracer.innermost();
+        }
+    }
+
+    /**
+     * An explicit wait starts polling its condition
+     */
+    static void waitStarted(String condition, long timeoutMillis) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null) {
+            if (tracer.waits.isEmpty() && tracer.commands.isEmpty()) {
+                tracer.syncPageSpans();
+            }
+            Span span = tracer.open(tracer.innermost(), "wait: " + condition, KIND_INTERNAL, tracer.now());
+            span.attribute("wait.condition", condition);
+            span.attribute("wait.timeout_ms", timeoutMillis);
+            tracer.waits.push(span);
+            tracer.current = span;
+        }
+    }
+
+    /**
+     * The innermost explicit wait returned or timed out
+     */
+    static void waitFinished(boolean satisfied) {
+        SpanTracer tracer = CURRENT.get();
+        if (tracer != null && !tracer.waits.isEmpty()) {
+            Span span = tracer.waits.pop();
+            span.attribute("wait.satisfied", satisfied);
+            if (!satisfied) {
+                span.error = "Timed out";
+            }
+            tracer.lastActivity = tracer.now();
+            tracer.end(span, tracer.lastActivity);
+            tracer.current = tracer.innermost();
+        }
+    }
+
+    private Span innermost() {
+        if (!commands.isEmpty()) {
+            return commands.peek();
+        }
+        if (!waits.isEmpty()) {
+            return waits.peek();
+        }
+        if (!pageSpans.isEmpty()) {
+            return pageSpans.get(pageSpans.size() - 1);
+        }
+        return step != null ? step : root;
+    }
+
+    /**
+     * Make the open page-object spans match the page-object methods on the stack: spans of methods
+     * that have returned end with their last command, methods newly entered get a span
+     */
+    private void syncPageSpans() {
+        List<String> methods = pageObjectMethods();
+        int common = 0;
+        while (common < pageSpans.size() && common < methods.size()
+                && pageSpans.get(common).getName().equals(methods.get(common))) {
+            common++;
+        }
+        while (pageSpans.size() > common) {
+            end(pageSpans.remove(pageSpans.size() - 1), lastActivity);
+        }
+        long start = now();
+        for (int i = common; i < methods.size(); i++) {
+            Span parent = pageSpans.isEmpty() ? (step != null ? step : root) : pageSpans.get(pageSpans.size() - 1);
+            Span span = open(parent, methods.get(i), KIND_INTERNAL, start);
+            span.attribute("code.function", methods.get(i));
+            pageSpans.add(span);
+        }
+    }
+
+    private void closePageSpans() {
+        while (!pageSpans.isEmpty()) {
+            end(pageSpans.remove(pageSpans.size() - 1), lastActivity);
+        }
+    }
+
+    /**
+     * Page-object methods on the stack, outermost first, e.g. ["CartPage.deleteAllItems"]
+     */
+    private static List<String> pageObjectMethods() {
+        List<String> innermostFirst = STACK.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("pages."))
+                .map(frame -> CommandProfiler.methodName(frame.getClassName(), frame.getMethodName()))
+                .toList());
+        List<String> methods = new ArrayList<>();
+        for (int i = innermostFirst.size() - 1; i >= 0; i--) {
+            // A lambda inside a page-object method shows as the method itself
+            if (methods.isEmpty() || !methods.get(methods.size() - 1).equals(innermostFirst.get(i))) {
+                methods.add(innermostFirst.get(i));
+            }
+        }
+        return methods;
+    }
+
+    private void requestStarted(Map<String, Object> data, Map<String, Object> request) {
+        String url = String.valueOf(request.get("url"));
+        if (finished || url.startsWith("data:")) {
+            return;
+        }
+        long start = (long) (((Number) data.get("wallTime")).doubleValue() * 1_000_000_000L);
+        String method = String.valueOf(request.get("method"));
+        Span span = open(current, method + " " + shortUrl(url), KIND_CLIENT, start);
+        synchronized (this) {
+            span.attribute("http.request.method", method);
+            span.attribute("url.full", url);
+            if (data.get("type") != null) {
+                span.attribute("cdp.resource_type", String.valueOf(data.get("type")));
+            }
+            span.monotonicStart = ((Number) data.get("timestamp")).doubleValue();
+        }
+        // A redirect reuses the request id; the earlier hop stays open until the trace ends
+        requests.put(String.valueOf(data.get("requestId")), span);
+    }
+
+    private void responseReceived(Map<String, Object> data, Map<String, Object> response) {
+        Span span = requests.get(String.valueOf(data.get("requestId")));
+        if (span != null && response != null) {
+            synchronized (this) {
+                span.attribute("http.response.status_code", ((Number) response.get("status")).longValue());
+            }
+        }
+    }
+
+    private void requestFinished(Map<String, Object> data, String error) {
+        Span span = requests.remove(String.valueOf(data.get("requestId")));
+        if (span == null) {
+            return;
+        }
+        double seconds = ((Number) data.get("timestamp")).doubleValue() - span.monotonicStart;
+        synchronized (this) {
+            if (data.get("encodedDataLength") instanceof Number bytes) {
+                span.attribute("cdp.encoded_data_length", bytes.longValue());
+            }
+            if (error != null) {
+                span.error = error;
+            }
+            span.end = span.start + (long) (seconds * 1_000_000_000L);
+        }
+    }
+
+    private static String shortUrl(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getHost() == null ? url : uri.getHost() + (uri.getPath() == null ? "" : uri.getPath());
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private synchronized Span open(Span parent, String name, int kind, long start) {
+        Span span = new Span(parent, name, kind, start);
+        spans.add(span);
+        return span;
+    }
+
+    private synchronized void end(Span span, long end) {
+        if (span != null && span.end == 0) {
+            span.end = Math.max(span.start, end);
+        }
+    }
+
+    private void close() {
+        finished = true;
+        long end = now();
+        while (!commands.isEmpty()) {
+            end(commands.pop(), end);
+        }
+        while (!waits.isEmpty()) {
+            end(waits.pop(), end);
+        }
+        closePageSpans();
+        end(step, end);
+        synchronized (this) {
+            for (Span request : requests.values()) {
+                request.attribute("cdp.incomplete", true);
+            }
+        }
+        for (Span request : requests.values()) {
+            end(request, end);
+        }
+        requests.clear();
+        end(root, end);
+        current = null;
+    }
+
+    private long now() {
+        return startEpochNanos + (System.nanoTime() - startNanoTime);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Every span of the trace in start order
+     */
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Save the trace next to the report, link it and show a waterfall of the test's steps,
+     * page-object methods and waits; WebDriver commands and network requests are only in the file
+     */
+    public void logToReport() {
+        Path file = write();
+        List<Span> all = getSpans();
+        long commandCount = all.stream().filter(Span::isCommand).count();
+        long requestCount = all.stream().filter(span -> span.kind == KIND_CLIENT).count();
+        ExtentReportManager.logLink("Span trace (OTLP JSON, " + all.size() + " spans: " + commandCount +
+                " WebDriver commands, " + requestCount + " network requests)", file);
+
+        Map<Span, List<Span>> children = new LinkedHashMap<>();
+        for (Span span : all) {
+            if (span.parent != null) {
+                children.computeIfAbsent(span.parent, parent -> new ArrayList<>()).add(span);
+            }
+        }
+        SvgWaterfall waterfall = new SvgWaterfall(testName + ": spans");
+        int rows = addRows(waterfall, root, 0, children, 0);
+        ExtentReportManager.logHtml(waterfall.render());
+        if (rows > WATERFALL_ROWS) {
+            ExtentReportManager.logInfo("Waterfall shows the first " + WATERFALL_ROWS + " of " + rows +
+                    " spans; the trace file has them all");
+        }
+    }
+
+    /**
+     * Add a span and its descendants, except commands and requests, to the waterfall
+     * @return the number of rows including those left out for space
+     */
+    private int addRows(SvgWaterfall waterfall, Span span, int depth, Map<Span, List<Span>> children, int rows) {
+        List<Span> direct = children.getOrDefault(span, List.of());
+        long commandCount = direct.stream().filter(Span::isCommand).count();
+        long requestCount = direct.stream().filter(child -> child.kind == KIND_CLIENT).count();
+        String counts = commandCount + requestCount == 0 ? ""
+                : " [" + commandCount + " cmd, " + requestCount + " req]";
+        if (rows < WATERFALL_ROWS) {
+            waterfall.row(span.name + counts, depth, (span.start - startEpochNanos) / 1_000_000.0, span.getDurationMillis());
+        }
+        rows++;
+        for (Span child : direct) {
+            if (!child.isCommand() && child.kind != KIND_CLIENT) {
+                rows = addRows(waterfall, child, depth + 1, children, rows);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Write the trace as an OTLP/JSON ExportTraceServiceRequest
+     */
+    public Path write() {
+        List<Map<String, Object>> otlpSpans = new ArrayList<>();
+        synchronized (this) {
+            for (Span span : spans) {
+                otlpSpans.add(span.toOtlp(traceId));
+            }
+        }
+        Map<String, Object> request = Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", List.of(otlpAttribute("service.name", "demoblaze-tests"))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", SpanTracer.class.getName()),
+                        "spans", otlpSpans)))));
+
+        String fileName = testName.replaceAll("[^A-Za-z0-9._-]+", "-") + "-" +
+                new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()) + ".otlp.json";
+        Path file = Paths.get(System.getProperty("user.dir"), "test-output", "traces", fileName);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(request), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write span trace " + file, e);
+        }
+        return file;
+    }
+
+    private static Map<String, Object> otlpAttribute(String key, Object value) {
+        Map<String, Object> typed;
+        if (value instanceof Boolean bool) {
+            typed = Map.of("boolValue", bool);
+        } else if (value instanceof Long || value instanceof Integer) {
+            // 64-bit integers are strings in OTLP/JSON
+            typed = Map.of("intValue", String.valueOf(value));
+        } else {
+            typed = Map.of("stringValue", String.valueOf(value));
+        }
+        return Map.of("key", key, "value", typed);
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", ThreadLocalRandom.current().nextInt(256)));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public String toString() {
+        return testName + ": trace " + traceId + ", " + getSpans().size() + " spans";
+    }
+
+    /**
+     * One timed operation of the trace
+     */
+    public static class Span {
+        private final String spanId = randomHex(8);
+        private final Span parent;
+        private final String name;
+        private final int kind;
+        private final long start;
+        private long end;
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private String error;
+        // CDP monotonic clock reading of a network request's start, in seconds
+        private double monotonicStart;
+
+        private Span(Span parent, String name, int kind, long start) {
+            this.parent = parent;
+            this.name = name;
+            this.kind = kind;
+            this.start = start;
+        }
+
+        private void attribute(String key, Object value) {
+            attributes.put(key, value);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Parent span, or null for the test itself
+         */
+        public Span getParent() {
+            return parent;
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * Error message, or null if the operation succeeded
+         */
+        public String getError() {
+            return error;
+        }
+
+        public boolean isCommand() {
+            return attributes.containsKey(COMMAND_ATTRIBUTE);
+        }
+
+        public double getDurationMillis() {
+            return end == 0 ? 0 : (end - start) / 1_000_000.0;
+        }
+
+        private Map<String, Object> toOtlp(String traceId) {
+            Map<String, Object> otlp = new LinkedHashMap<>();
+            otlp.put("traceId", traceId);
+            otlp.put("spanId", spanId);
+            if (parent != null) {
+                otlp.put("parentSpanId", parent.spanId);
+            }
+            otlp.put("name", name);
+            otlp.put("kind", kind);
+            otlp.put("startTimeUnixNano", String.valueOf(start));
+            otlp.put("endTimeUnixNano", String.valueOf(Math.max(start, end)));
+            List<Map<String, Object>> otlpAttributes = new ArrayList<>();
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                otlpAttributes.add(otlpAttribute(attribute.getKey(), attribute.getValue()));
+            }
+            otlp.put("attributes", otlpAttributes);
+            if (error != null) {
+                otlp.put("status", Map.of("code", STATUS_ERROR, "message", error));
+            }
+            return otlp;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + df.get().format(getDurationMillis()) + " ms)";
+        }
+    }
+}
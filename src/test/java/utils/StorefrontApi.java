@@ -0,0 +1,203 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thin client for the JSON API behind the DemoBlaze pages (the same calls the site's own
+ * JavaScript makes). Used to prepare and clean up server-side state without a browser.
+ *
+ * The API root defaults to TestData.API_URL and can point at a local stand-in with
+ * -Ddemoblaze.apiUrl=http://localhost:8080/
+ */
+public class StorefrontApi {
+    private static final Json JSON = new Json();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(TestData.PAGE_LOAD_TIMEOUT);
+
+    private final String apiUrl;
+    private final HttpClient client;
+
+    public StorefrontApi() {
+        this(TestData.API_URL);
+    }
+
+    public StorefrontApi(String apiUrl) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(TestData.DEFAULT_WAIT_SECONDS))
+                .build();
+    }
+
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * Register a user; completes with true when the account exists afterwards
+     * (a "user already exist" answer counts, so warm-ups can be retried)
+     */
+    public CompletableFuture<Boolean> signUpAsync(String username, String password) {
+        return postAsync("signup", credentials(username, password)).thenApply(body -> {
+            String error = errorMessage(body);
+            return error == null || error.toLowerCase(Locale.ROOT).contains("already exist");
+        });
+    }
+
+    /**
+     * Log in and return the auth token the site stores in its tokenp_ cookie
+     */
+    public String login(String username, String password) {
+        String body = post("login", credentials(username, password));
+        String error = errorMessage(body);
+        if (error != null) {
+            throw new IllegalStateException("Login failed for " + username + ": " + error);
+        }
+        String token = JSON.toType(body, String.class);
+        return token.startsWith("Auth_token: ") ? token.substring("Auth_token: ".length()) : token;
+    }
+
+    public void addToCart(String token, int productId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", UUID.randomUUID().toString());
+        payload.put("cookie", token);
+        payload.put("prod_id", productId);
+        payload.put("flag", true);
+        post("addtocart", payload);
+    }
+
+    /**
+     * IDs of the cart entries of a logged-in user
+     */
+    public List<String> viewCart(String token) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("cookie", token);
+        payload.put("flag", true);
+        List<String> ids = new ArrayList<>();
+        for (Map<String, Object> item : items(post("viewcart", payload))) {
+            ids.add(String.valueOf(item.get("id")));
+        }
+        return ids;
+    }
+
+    public void deleteItem(String cartEntryId) {
+        post("deleteitem", Map.of("id", cartEntryId));
+    }
+
+    /**
+     * First page of the product catalogue, as shown on the home page
+     */
+    public List<Map<String, Object>> entries() {
+        return items(get("entries"));
+    }
+
+    /**
+     * Products of one category: "phone", "notebook" or "monitor"
+     */
+    public List<Map<String, Object>> byCategory(String category) {
+        return items(post("bycat", Map.of("cat", category)));
+    }
+
+    /**
+     * Details of one product, as shown on its product page
+     */
+    public Map<String, Object> view(int productId) {
+        return JSON.toType(post("view", Map.of("id", String.valueOf(productId))), Json.MAP_TYPE);
+    }
+
+    /**
+     * Place the order for a logged-in user's cart; like the site, this empties the cart
+     */
+    public void placeOrder(String token) {
+        post("deletecart", Map.of("cookie", token));
+    }
+
+    /**
+     * Remove every entry from a logged-in user's cart
+     * @return number of entries removed
+     */
+    public int clearCart(String token) {
+        List<String> ids = viewCart(token);
+        for (String id : ids) {
+            deleteItem(id);
+        }
+        return ids.size();
+    }
+
+    public String post(String endpoint, Object payload) {
+        return postAsync(endpoint, payload).join();
+    }
+
+    public CompletableFuture<String> postAsync(String endpoint, Object payload) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + endpoint))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(payload), StandardCharsets.UTF_8))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> checkStatus(endpoint, response));
+    }
+
+    public String get(String endpoint) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + endpoint))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            return checkStatus(endpoint, client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Request to " + endpoint + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request to " + endpoint + " was interrupted", e);
+        }
+    }
+
+    // The site sends base64 encoded passwords, so the API expects the same
+    private static Map<String, Object> credentials(String username, String password) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("username", username);
+        payload.put("password", Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8)));
+        return payload;
+    }
+
+    private static String checkStatus(String endpoint, HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Request to " + endpoint + " returned HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static String errorMessage(String body) {
+        if (body == null || body.isBlank() || !body.trim().startsWith("{")) {
+            return null;
+        }
+        Object message = JSON.toType(body, Json.MAP_TYPE) instanceof Map<?, ?> map ? map.get("errorMessage") : null;
+        return message == null ? null : message.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> items(String body) {
+        if (body == null || body.isBlank()) {
+            return Collections.emptyList();
+        }
+        Map<String, Object> result = JSON.toType(body, Json.MAP_TYPE);
+        Object items = result.get("Items");
+        return items instanceof List<?> list ? (List<Map<String, Object>>) list : Collections.emptyList();
+    }
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The API calls behind the UI flows, replayed as LoadGenerator scenarios:
+ * <ul>
+ *     <li>browse: home page catalogue, a category and a product page</li>
+ *     <li>shop: log in, view a product, add it to the cart, view the cart and remove the item</li>
+ *     <li>order: log in, add two products, view the cart and place the order</li>
+ * </ul>
+ * Logged-in scenarios use accounts registered once before the load starts.
+ */
+public class StorefrontScenarios {
+    private static final String[] CATEGORIES = {"phone", "notebook", "monitor"};
+    private static final int PRODUCTS = 15;
+    private static final String PASSWORD = "load123";
+
+    private final StorefrontApi api;
+    private final List<String> usernames = new ArrayList<>();
+
+    /**
+     * Register the accounts the logged-in scenarios use
+     */
+    public StorefrontScenarios(StorefrontApi api, int accounts) {
+        this.api = api;
+        List<CompletableFuture<Boolean>> signUps = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            String username = UniqueIdentity.username();
+            usernames.add(username);
+            signUps.add(api.signUpAsync(username, PASSWORD));
+        }
+        for (int i = 0; i < accounts; i++) {
+            if (!signUps.get(i).join()) {
+                throw new IllegalStateException("Could not register load account " + usernames.get(i));
+            }
+        }
+    }
+
+    /**
+     * Add the scenarios to a generator, weighted by a mix such as "browse:6,shop:3,order:1"
+     * (-Dload.mix, default "browse:6,shop:3,order:1")
+     */
+    public LoadGenerator addTo(LoadGenerator generator) {
+        return addTo(generator, System.getProperty("load.mix", "browse:6,shop:3,order:1"));
+    }
+
+    public LoadGenerator addTo(LoadGenerator generator, String mix) {
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            switch (parts[0].trim()) {
+                case "browse":
+                    generator.scenario("browse", weight, this::browse);
+                    break;
+                case "shop":
+                    generator.scenario("shop", weight, this::shop);
+                    break;
+                case "order":
+                    generator.scenario("order", weight, this::order);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown scenario in load mix: " + parts[0]);
+            }
+        }
+        return generator;
+    }
+
+    public void browse(LoadGenerator.Requests requests) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        requests.time("entries", api::entries);
+        requests.time("bycat", () -> api.byCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        requests.time("view", () -> api.view(randomProduct()));
+    }
+
+    public void shop(LoadGenerator.Requests requests) {
+        String token = requests.time("login", () -> api.login(randomUser(), PASSWORD));
+        int productId = randomProduct();
+        requests.time("view", () -> api.view(productId));
+        requests.time("addtocart", () -> api.addToCart(token, productId));
+        List<String> cart = requests.time("viewcart", () -> api.viewCart(token));
+        for (String id : cart) {
+            requests.time("deleteitem", () -> api.deleteItem(id));
+        }
+    }
+
+    public void order(LoadGenerator.Requests requests) {
+        String token = requests.time("login", () -> api.login(randomUser(), PASSWORD));
+        requests.time("addtocart", () -> api.addToCart(token, randomProduct()));
+        requests.time("addtocart", () -> api.addToCart(token, randomProduct()));
+        requests.time("viewcart", () -> api.viewCart(token));
+        requests.time("order", () -> api.placeOrder(token));
+    }
+
+    private String randomUser() {
+        return usernames.get(ThreadLocalRandom.current().nextInt(usernames.size()));
+    }
+
+    private static int randomProduct() {
+        return ThreadLocalRandom.current().nextInt(PRODUCTS) + 1;
+    }
+}
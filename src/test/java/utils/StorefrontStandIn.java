@@ -0,0 +1,306 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for the DemoBlaze JSON API, served on a local port, so load can be
+ * generated without hitting the public site.
+ *
+ * It answers the calls StorefrontApi makes with the same shapes as the real API and keeps users,
+ * sessions and carts in memory. Each request holds one of a fixed number of workers for a fixed
+ * service time, so the stand-in saturates like a real backend: at most workers / serviceTime
+ * requests per second, with queueing delay growing as the arrival rate approaches that capacity.
+ *
+ * <pre>
+ * try (StorefrontStandIn standIn = StorefrontStandIn.start(8, Duration.ofMillis(5))) {
+ *     StorefrontApi api = new StorefrontApi(standIn.getApiUrl());
+ *     ...
+ * }
+ * </pre>
+ */
+public class StorefrontStandIn implements AutoCloseable {
+    private static final Json JSON = new Json();
+    private static final List<Map<String, Object>> PRODUCTS = List.of(
+            product(1, "Samsung galaxy s6", "phone", 360, "galaxy_s6.jpg"),
+            product(2, "Nokia lumia 1520", "phone", 820, "Lumia_1520.jpg"),
+            product(3, "Nexus 6", "phone", 650, "Nexus_6.jpg"),
+            product(4, "Samsung galaxy s7", "phone", 800, "galaxy_s7.jpg"),
+            product(5, "Iphone 6 32gb", "phone", 790, "iphone_6.jpg"),
+            product(6, "Sony xperia z5", "phone", 320, "xperia_z5.jpg"),
+            product(7, "HTC One M9", "phone", 700, "HTC_M9.jpg"),
+            product(8, "Sony vaio i5", "notebook", 790, "sony_vaio_5.jpg"),
+            product(9, "Sony vaio i7", "notebook", 790, "sony_vaio_5.jpg"),
+            product(10, "Apple monitor 24", "monitor", 400, "apple_cinema.jpg"),
+            product(11, "MacBook air", "notebook", 700, "macbook_air.jpg"),
+            product(12, "Dell i7 8gb", "notebook", 700, "dell.jpg"),
+            product(13, "2017 Dell 15.6 Inch", "notebook", 700, "dell.jpg"),
+            product(14, "ASUS Full HD", "monitor", 230, "asusm.jpg"),
+            product(15, "MacBook Pro", "notebook", 1100, "macbook_pro.jpg"));
+    // The real home page shows the first nine products and pages through the rest
+    private static final int ENTRIES_PAGE_SIZE = 9;
+
+    static {
+        // Without TCP_NODELAY every small response waits for the client's delayed ACK (about 40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Duration serviceTime;
+    private final Map<String, String> users = new ConcurrentHashMap<>();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final Map<String, List<Map<String, Object>>> carts = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private StorefrontStandIn(int workers, Duration serviceTime) throws IOException {
+        this.serviceTime = serviceTime;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(this.workers);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Start a stand-in on a free local port
+     * @param workers requests served in parallel
+     * @param serviceTime time each request holds its worker
+     */
+    public static StorefrontStandIn start(int workers, Duration serviceTime) {
+        try {
+            return new StorefrontStandIn(workers, serviceTime);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the storefront stand-in: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stand-in configured with -Dstandin.workers (default 8) and -Dstandin.serviceTime in
+     * milliseconds (default 5)
+     */
+    public static StorefrontStandIn fromSystemProperties() {
+        return start(Integer.getInteger("standin.workers", 8),
+                Duration.ofMillis(Integer.getInteger("standin.serviceTime", 5)));
+    }
+
+    /**
+     * API root to pass to StorefrontApi, e.g. "http://127.0.0.1:41234/"
+     */
+    public String getApiUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Serve a browser's calls to the public API from this stand-in, so its pages show the stand-in's
+     * data and feel its load. Requires CDP; close the returned interceptor to stop routing.
+     */
+    public NetworkInterceptor routeBrowser(WebDriver driver) {
+        HttpClient client = HttpClient.newHttpClient();
+        Filter route = next -> request -> request.getUri().startsWith(TestData.PUBLIC_API_URL)
+                ? forward(client, request)
+                : next.execute(request);
+        return new NetworkInterceptor(DriverManager.unwrap(driver), route);
+    }
+
+    private HttpResponse forward(HttpClient client, HttpRequest request) {
+        String path = request.getUri().substring(TestData.PUBLIC_API_URL.length());
+        byte[] body = Contents.bytes(request.getContent());
+        java.net.http.HttpRequest.Builder forwarded = java.net.http.HttpRequest.newBuilder(URI.create(getApiUrl() + path))
+                .method(request.getMethod().name(), body.length == 0
+                        ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                        : java.net.http.HttpRequest.BodyPublishers.ofByteArray(body));
+        if (body.length > 0) {
+            forwarded.header("Content-Type", "application/json");
+        }
+        try {
+            java.net.http.HttpResponse<byte[]> response =
+                    client.send(forwarded.build(), java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse answer = new HttpResponse()
+                    .setStatus(response.statusCode())
+                    .setContent(Contents.bytes(response.body()));
+            response.headers().map().forEach((name, values) -> {
+                if (!name.equalsIgnoreCase("content-length") && !name.equalsIgnoreCase("transfer-encoding")) {
+                    values.forEach(value -> answer.addHeader(name, value));
+                }
+            });
+            return answer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not forward " + path + " to the stand-in", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Forwarding " + path + " to the stand-in was interrupted", e);
+        }
+    }
+
+    /**
+     * Requests served so far
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
+            if ("OPTIONS".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            try {
+                Thread.sleep(serviceTime.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            String endpoint = exchange.getRequestURI().getPath().replaceFirst("^/", "");
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Map<String, Object> payload = body.isBlank() ? Map.of() : JSON.toType(body, Json.MAP_TYPE);
+            Object response = respond(endpoint, payload);
+            if (response == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] bytes = JSON.toJson(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * The JSON answer of one endpoint, or null if it does not exist
+     */
+    private Object respond(String endpoint, Map<String, Object> payload) {
+        switch (endpoint) {
+            case "entries":
+                return Map.of("Items", PRODUCTS.subList(0, ENTRIES_PAGE_SIZE),
+                        "LastEvaluatedKey", Map.of("id", String.valueOf(ENTRIES_PAGE_SIZE)));
+            case "bycat": {
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (Map<String, Object> product : PRODUCTS) {
+                    if (product.get("cat").equals(payload.get("cat"))) {
+                        items.add(product);
+                    }
+                }
+                return Map.of("Items", items);
+            }
+            case "view": {
+                int id = Integer.parseInt(String.valueOf(payload.get("id")));
+                return id >= 1 && id <= PRODUCTS.size() ? PRODUCTS.get(id - 1) : Map.of();
+            }
+            case "signup":
+                return users.putIfAbsent(String.valueOf(payload.get("username")),
+                        String.valueOf(payload.get("password"))) == null ? "" : error("This user already exist.");
+            case "login": {
+                String username = String.valueOf(payload.get("username"));
+                String password = users.get(username);
+                if (password == null) {
+                    return error("User does not exist.");
+                }
+                if (!password.equals(payload.get("password"))) {
+                    return error("Wrong password.");
+                }
+                String token = Base64.getEncoder().encodeToString(
+                        (username + System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+                sessions.put(token, username);
+                return "Auth_token: " + token;
+            }
+            case "check": {
+                // The site checks its tokenp_ cookie on every page to show "Welcome <user>"
+                String username = sessions.get(String.valueOf(payload.get("token")));
+                return username == null ? error("Token has expired.")
+                        : Map.of("Item", Map.of("token", payload.get("token"), "username", username));
+            }
+            case "addtocart": {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("cookie", payload.get("cookie"));
+                item.put("flag", payload.get("flag"));
+                item.put("id", payload.get("id"));
+                item.put("prod_id", payload.get("prod_id"));
+                cart(payload).add(item);
+                return "";
+            }
+            case "viewcart": {
+                List<Map<String, Object>> cart = cart(payload);
+                synchronized (cart) {
+                    return Map.of("Items", new ArrayList<>(cart));
+                }
+            }
+            case "deleteitem":
+                for (List<Map<String, Object>> cart : carts.values()) {
+                    cart.removeIf(item -> item.get("id").equals(payload.get("id")));
+                }
+                return "Item deleted.";
+            case "deletecart":
+                cart(payload).clear();
+                return "Item deleted.";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Cart of the user behind a token; anonymous visitors get a cart of their own per cookie
+     */
+    private List<Map<String, Object>> cart(Map<String, Object> payload) {
+        String cookie = String.valueOf(payload.get("cookie"));
+        String owner = sessions.getOrDefault(cookie, cookie);
+        return carts.computeIfAbsent(owner, k -> Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("errorMessage", message);
+    }
+
+    private static Map<String, Object> product(int id, String title, String category, int price, String image) {
+        Map<String, Object> product = new LinkedHashMap<>();
+        product.put("cat", category);
+        product.put("desc", title);
+        product.put("id", id);
+        product.put("img", "imgs/" + image);
+        product.put("price", (double) price);
+        product.put("title", title);
+        return product;
+    }
+}
@@ -0,0 +1,260 @@
+package utils;
+
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Measures the wall time of the test suite under JUnit's parallel execution at several thread
+ * counts, to show how much running browsers side by side speeds the suite up on this host.
+ *
+ * Every thread count runs in a fresh JVM on the current test class path, so the browsers, account
+ * pool, session slots and report of one run do not carry over into the next. The child runs the
+ * selected classes through the JUnit Platform launcher with a fixed pool of that many threads (one
+ * thread runs the suite sequentially, as a plain build does); adaptive parallelism is off, so the
+ * thread count alone decides how many browsers run at once. Each child writes its own report, and
+ * its console output goes to test-output/benchmark/suite-&lt;N&gt;-threads.log.
+ *
+ * <pre>
+ * List&lt;SuiteBenchmark.Result&gt; results = SuiteBenchmark.fromSystemProperties().run();
+ * SuiteBenchmark.logToReport(results);
+ * </pre>
+ */
+public class SuiteBenchmark {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> rateFormat = ThreadLocal.withInitial(() -> new DecimalFormat("0%"));
+    private static final String RESULT_PREFIX = "SUITE BENCHMARK ";
+    private static final Pattern RESULT = Pattern.compile(Pattern.quote(RESULT_PREFIX)
+            + "wallMillis=(\\d+) tests=(\\d+) failed=(\\d+) skipped=(\\d+)");
+    // Settings of the account pool and the site that the children run with too
+    private static final String PASSED_THROUGH_PREFIX = "demoblaze.";
+
+    private final int[] threadCounts;
+    private final List<String> selectors;
+    private final Path logDir = Paths.get(System.getProperty("user.dir"), "test-output", "benchmark");
+
+    /**
+     * @param selectors fully qualified test classes or packages to run
+     */
+    public SuiteBenchmark(int[] threadCounts, List<String> selectors) {
+        if (threadCounts.length == 0 || Arrays.stream(threadCounts).anyMatch(threads -> threads < 1)) {
+            throw new IllegalArgumentException("benchmark.threads must list thread counts of at least 1");
+        }
+        if (selectors.isEmpty()) {
+            throw new IllegalArgumentException("benchmark.classes must name at least one class or package");
+        }
+        this.threadCounts = threadCounts.clone();
+        this.selectors = List.copyOf(selectors);
+    }
+
+    /**
+     * Benchmark configured with -Dbenchmark.threads (default 1,2,4,8) and -Dbenchmark.classes, a
+     * comma-separated list of classes or packages (default the tests.base package)
+     */
+    public static SuiteBenchmark fromSystemProperties() {
+        int[] threadCounts = Arrays.stream(System.getProperty("benchmark.threads", "1,2,4,8").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        List<String> selectors = Arrays.stream(System.getProperty("benchmark.classes", "tests.base").split(","))
+                .map(String::trim)
+                .filter(selector -> !selector.isEmpty())
+                .toList();
+        return new SuiteBenchmark(threadCounts, selectors);
+    }
+
+    /**
+     * Run the suite once per thread count, one after another
+     */
+    public List<Result> run() throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        List<Result> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            results.add(runChild(threads));
+        }
+        return results;
+    }
+
+    /**
+     * Run the suite in a child JVM with the given number of threads and read its result line
+     */
+    private Result runChild(int threads) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Djunit.jupiter.execution.parallel.enabled=" + (threads > 1));
+        command.add("-Djunit.jupiter.execution.parallel.config.strategy=fixed");
+        command.add("-Djunit.jupiter.execution.parallel.config.fixed.parallelism=" + threads);
+        command.add("-Dparallel.adaptive=false");
+        for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+            if (property.getKey().toString().startsWith(PASSED_THROUGH_PREFIX)) {
+                command.add("-D" + property.getKey() + "=" + property.getValue());
+            }
+        }
+        command.add(SuiteBenchmark.class.getName());
+        command.addAll(selectors);
+
+        Path log = logDir.resolve("suite-" + threads + "-threads.log");
+        ExtentReportManager.logInfo("Running " + String.join(", ", selectors) + " with " + threads
+                + (threads == 1 ? " thread" : " threads"));
+        Process child = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        int exitCode = child.waitFor();
+
+        List<String> output = Files.readAllLines(log);
+        for (int i = output.size() - 1; i >= 0; i--) {
+            Matcher matcher = RESULT.matcher(output.get(i));
+            if (matcher.find()) {
+                return new Result(threads, Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                        Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4)), log);
+            }
+        }
+        throw new IllegalStateException("The run with " + threads + " threads exited with " + exitCode
+                + " without a result; see " + log);
+    }
+
+    /**
+     * Entry point of the child JVM: run the given classes or packages and print the result line
+     */
+    public static void main(String[] args) {
+        LauncherDiscoveryRequestBuilder request = LauncherDiscoveryRequestBuilder.request();
+        for (String selector : args) {
+            try {
+                request.selectors(selectClass(Class.forName(selector)));
+            } catch (ClassNotFoundException e) {
+                request.selectors(selectPackage(selector));
+            }
+        }
+        LauncherDiscoveryRequest discoveryRequest = request.build();
+
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        long start = System.nanoTime();
+        LauncherFactory.create().execute(discoveryRequest, listener);
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        TestExecutionSummary summary = listener.getSummary();
+        summary.printFailuresTo(new PrintWriter(System.out, true), 5);
+        System.out.println(RESULT_PREFIX + "wallMillis=" + wallMillis + " tests=" + summary.getTestsFoundCount()
+                + " failed=" + summary.getTestsFailedCount() + " skipped=" + summary.getTestsSkippedCount());
+        // Browser drivers leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    /**
+     * Log the wall times, the speed-up over the first (usually sequential) run and the parallel
+     * efficiency, with a chart of the speed-up against the ideal
+     */
+    public static void logToReport(List<Result> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Result baseline = results.get(0);
+        String[][] rows = new String[results.size() + 1][];
+        rows[0] = new String[]{"Threads", "Wall time (s)", "Tests", "Failed", "Skipped", "Speed-up", "Efficiency", "Log"};
+        double[] threads = new double[results.size()];
+        double[] speedups = new double[results.size()];
+        double[] ideal = new double[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            double speedup = (double) baseline.getWallMillis() / Math.max(1, result.getWallMillis());
+            double efficiency = speedup * baseline.getThreads() / result.getThreads();
+            rows[i + 1] = new String[]{String.valueOf(result.getThreads()), df.get().format(result.getWallMillis() / 1000.0),
+                    String.valueOf(result.getTests()), String.valueOf(result.getFailed()),
+                    String.valueOf(result.getSkipped()), df.get().format(speedup) + "x", rateFormat.get().format(efficiency),
+                    result.getLog().getFileName().toString()};
+            threads[i] = result.getThreads();
+            speedups[i] = speedup;
+            ideal[i] = (double) result.getThreads() / baseline.getThreads();
+        }
+        ExtentReportManager.logTable(rows);
+        ExtentReportManager.logHtml(new SvgChart("Suite speed-up over " + baseline.getThreads()
+                + (baseline.getThreads() == 1 ? " thread" : " threads"), "threads", "speed-up")
+                .series("Measured", threads, speedups)
+                .series("Ideal", threads, ideal)
+                .render());
+
+        // Tests that only fail side by side share state that no resource lock covers
+        for (Result result : results) {
+            if (result.getFailed() > baseline.getFailed()) {
+                ExtentReportManager.logWarning(result.getFailed() + " tests failed with " + result.getThreads()
+                        + " threads against " + baseline.getFailed() + " with " + baseline.getThreads()
+                        + "; see " + result.getLog() + " for tests that may need a resource lock");
+            }
+        }
+    }
+
+    /**
+     * The suite's wall time and test counts at one thread count
+     */
+    public static class Result {
+        private final int threads;
+        private final long wallMillis;
+        private final int tests;
+        private final int failed;
+        private final int skipped;
+        private final Path log;
+
+        Result(int threads, long wallMillis, int tests, int failed, int skipped, Path log) {
+            this.threads = threads;
+            this.wallMillis = wallMillis;
+            this.tests = tests;
+            this.failed = failed;
+            this.skipped = skipped;
+            this.log = log;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public int getTests() {
+            return tests;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * The child JVM's console output
+         */
+        public Path getLog() {
+            return log;
+        }
+
+        @Override
+        public String toString() {
+            return threads + (threads == 1 ? " thread: " : " threads: ") + df.get().format(wallMillis / 1000.0) + " s, "
+                    + tests + " tests, " + failed + " failed";
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal inline SVG line chart for the HTML report, so time series need no charting library
+ * or external files.
+ *
+ * <pre>
+ * String svg = new SvgChart("Journeys per minute", "minutes", "journeys/min")
+ *         .series("journeys", minutes, perMinute)
+ *         .render();
+ * ExtentReportManager.logHtml(svg);
+ * </pre>
+ */
+public class SvgChart {
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 260;
+    private static final int LEFT = 60;
+    private static final int RIGHT = 150;
+    private static final int TOP = 30;
+    private static final int BOTTOM = 40;
+    private static final int TICKS = 5;
+    private static final String[] COLORS = {"#4e79a7", "#f28e2b", "#e15759", "#76b7b2", "#59a14f", "#edc948",
+            "#b07aa1", "#ff9da7"};
+
+    // SVG coordinates always use '.' as the decimal separator
+    private static final ThreadLocal<DecimalFormat> tickFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.##", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+
+    private final String title;
+    private final String xLabel;
+    private final String yLabel;
+    private final List<Series> series = new ArrayList<>();
+
+    public SvgChart(String title, String xLabel, String yLabel) {
+        this.title = title;
+        this.xLabel = xLabel;
+        this.yLabel = yLabel;
+    }
+
+    /**
+     * Add a line; points with NaN values are skipped
+     */
+    public SvgChart series(String name, double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Series " + name + " has " + x.length + " x and " + y.length + " y values");
+        }
+        series.add(new Series(name, x, y));
+        return this;
+    }
+
+    /**
+     * The chart as an &lt;svg&gt; element
+     */
+    public String render() {
+        double minX = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = 0;
+        for (Series line : series) {
+            for (int i = 0; i < line.x.length; i++) {
+                if (Double.isNaN(line.y[i])) {
+                    continue;
+                }
+                minX = Math.min(minX, line.x[i]);
+                maxX = Math.max(maxX, line.x[i]);
+                maxY = Math.max(maxY, line.y[i]);
+            }
+        }
+        if (minX > maxX) {
+            minX = 0;
+            maxX = 1;
+        }
+        if (maxX == minX) {
+            maxX = minX + 1;
+        }
+        maxY = maxY <= 0 ? 1 : maxY * 1.1;
+
+        int plotWidth = WIDTH - LEFT - RIGHT;
+        int plotHeight = HEIGHT - TOP - BOTTOM;
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH).append("\" height=\"")
+                .append(HEIGHT).append("\" style=\"background:#fff;font:11px sans-serif\">");
+        svg.append(text(LEFT, 18, escape(title), "font-weight:bold;font-size:13px"));
+
+        // Axes, grid lines and tick labels
+        for (int i = 0; i <= TICKS; i++) {
+            double y = TOP + plotHeight - (double) plotHeight * i / TICKS;
+            svg.append(line(LEFT, y, LEFT + plotWidth, y, "#e0e0e0"));
+            svg.append(text(LEFT - 6, y + 4, tickFormat.get().format(maxY * i / TICKS), "text-anchor:end"));
+            double x = LEFT + (double) plotWidth * i / TICKS;
+            svg.append(text(x, TOP + plotHeight + 15, tickFormat.get().format(minX + (maxX - minX) * i / TICKS),
+                    "text-anchor:middle"));
+        }
+        svg.append(line(LEFT, TOP, LEFT, TOP + plotHeight, "#333"));
+        svg.append(line(LEFT, TOP + plotHeight, LEFT + plotWidth, TOP + plotHeight, "#333"));
+        svg.append(text(LEFT + plotWidth / 2.0, HEIGHT - 6, escape(xLabel), "text-anchor:middle"));
+        String middle = tickFormat.get().format(TOP + plotHeight / 2.0);
+        svg.append("<text x=\"14\" y=\"").append(middle).append("\" transform=\"rotate(-90 14 ").append(middle)
+                .append(")\" style=\"text-anchor:middle\">").append(escape(yLabel)).append("</text>");
+
+        // One polyline per series, with its legend entry on the right
+        for (int s = 0; s < series.size(); s++) {
+            Series line = series.get(s);
+            String color = COLORS[s % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < line.x.length; i++) {
+                if (Double.isNaN(line.y[i])) {
+                    continue;
+                }
+                double px = LEFT + (line.x[i] - minX) / (maxX - minX) * plotWidth;
+                double py = TOP + plotHeight - line.y[i] / maxY * plotHeight;
+                points.append(tickFormat.get().format(px)).append(',').append(tickFormat.get().format(py)).append(' ');
+            }
+            svg.append("<polyline fill=\"none\" stroke-width=\"2\" stroke=\"").append(color)
+                    .append("\" points=\"").append(points.toString().trim()).append("\"/>");
+            double legendY = TOP + 10 + s * 16;
+            svg.append(line(LEFT + plotWidth + 12, legendY - 4, LEFT + plotWidth + 28, legendY - 4, color));
+            svg.append(text(LEFT + plotWidth + 32, legendY, escape(line.name), ""));
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static String line(double x1, double y1, double x2, double y2, String color) {
+        return "<line x1=\"" + tickFormat.get().format(x1) + "\" y1=\"" + tickFormat.get().format(y1) + "\" x2=\"" +
+                tickFormat.get().format(x2) + "\" y2=\"" + tickFormat.get().format(y2) + "\" stroke=\"" + color + "\"/>";
+    }
+
+    private static String text(double x, double y, String content, String style) {
+        return "<text x=\"" + tickFormat.get().format(x) + "\" y=\"" + tickFormat.get().format(y) + "\" style=\"" + style +
+                "\">" + content + "</text>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static final class Series {
+        private final String name;
+        private final double[] x;
+        private final double[] y;
+
+        private Series(String name, double[] x, double[] y) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
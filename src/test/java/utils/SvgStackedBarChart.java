@@ -0,0 +1,145 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal inline SVG chart of horizontal stacked bars for the HTML report, e.g. how the wall time
+ * of each test splits into categories. The companion of SvgChart for breakdowns rather than series.
+ *
+ * <pre>
+ * String svg = new SvgStackedBarChart("Where the time went", "s", "Sleeps", "Waits", "Commands")
+ *         .bar("TC_CART_010", 38.0, 4.2, 9.1)
+ *         .render();
+ * ExtentReportManager.logHtml(svg);
+ * </pre>
+ */
+public class SvgStackedBarChart {
+    private static final int WIDTH = 720;
+    private static final int LABEL_WIDTH = 220;
+    private static final int VALUE_WIDTH = 70;
+    private static final int TOP = 30;
+    private static final int LEGEND_ROW = 16;
+    private static final int LEGEND_COLUMNS = 4;
+    private static final int BAR_HEIGHT = 16;
+    private static final int BAR_GAP = 6;
+    private static final int LABEL_CHARS = 34;
+    private static final String[] COLORS = {"#4e79a7", "#f28e2b", "#e15759", "#76b7b2", "#59a14f", "#edc948",
+            "#b07aa1", "#ff9da7", "#9c755f", "#bab0ac"};
+
+    // SVG coordinates always use '.' as the decimal separator
+    private static final ThreadLocal<DecimalFormat> coordinateFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.##", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+    private static final ThreadLocal<DecimalFormat> valueFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    private final String title;
+    private final String unit;
+    private final String[] segments;
+    private final List<String> labels = new ArrayList<>();
+    private final List<double[]> bars = new ArrayList<>();
+
+    /**
+     * @param segments names of the parts every bar is made of, in stacking order
+     */
+    public SvgStackedBarChart(String title, String unit, String... segments) {
+        this.title = title;
+        this.unit = unit;
+        this.segments = segments;
+    }
+
+    /**
+     * Add a bar with one value per segment; negative and NaN values are drawn as 0
+     */
+    public SvgStackedBarChart bar(String label, double... values) {
+        if (values.length != segments.length) {
+            throw new IllegalArgumentException("Bar " + label + " has " + values.length + " values for " +
+                    segments.length + " segments");
+        }
+        labels.add(label);
+        bars.add(values);
+        return this;
+    }
+
+    /**
+     * The chart as an &lt;svg&gt; element; every bar is scaled to the longest total
+     */
+    public String render() {
+        double maxTotal = 0;
+        for (double[] values : bars) {
+            maxTotal = Math.max(maxTotal, total(values));
+        }
+        if (maxTotal <= 0) {
+            maxTotal = 1;
+        }
+
+        int legendRows = (segments.length + LEGEND_COLUMNS - 1) / LEGEND_COLUMNS;
+        int barsTop = TOP + legendRows * LEGEND_ROW + 8;
+        int height = barsTop + bars.size() * (BAR_HEIGHT + BAR_GAP) + 8;
+        int plotWidth = WIDTH - LABEL_WIDTH - VALUE_WIDTH;
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH).append("\" height=\"")
+                .append(height).append("\" style=\"background:#fff;font:11px sans-serif\">");
+        svg.append(text(8, 18, escape(title), "font-weight:bold;font-size:13px"));
+
+        // Legend in rows above the bars
+        int legendWidth = (WIDTH - 16) / LEGEND_COLUMNS;
+        for (int s = 0; s < segments.length; s++) {
+            double x = 8 + (s % LEGEND_COLUMNS) * legendWidth;
+            double y = TOP + (s / LEGEND_COLUMNS) * LEGEND_ROW;
+            svg.append(rect(x, y, 10, 10, COLORS[s % COLORS.length]));
+            svg.append(text(x + 14, y + 9, escape(segments[s]), ""));
+        }
+
+        // One bar per row, its label on the left and its total on the right
+        for (int b = 0; b < bars.size(); b++) {
+            double[] values = bars.get(b);
+            double y = barsTop + b * (BAR_HEIGHT + BAR_GAP);
+            svg.append(text(LABEL_WIDTH - 6, y + BAR_HEIGHT - 4, escape(shorten(labels.get(b))), "text-anchor:end"));
+            double x = LABEL_WIDTH;
+            for (int s = 0; s < values.length; s++) {
+                double width = value(values[s]) / maxTotal * plotWidth;
+                if (width > 0) {
+                    svg.append(rect(x, y, width, BAR_HEIGHT, COLORS[s % COLORS.length]));
+                    x += width;
+                }
+            }
+            svg.append(text(x + 4, y + BAR_HEIGHT - 4, valueFormat.get().format(total(values)) + " " + escape(unit), ""));
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static double total(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value(value);
+        }
+        return total;
+    }
+
+    private static double value(double value) {
+        return Double.isNaN(value) || value < 0 ? 0 : value;
+    }
+
+    private static String shorten(String label) {
+        return label.length() <= LABEL_CHARS ? label : label.substring(0, LABEL_CHARS - 1) + "…";
+    }
+
+    private static String rect(double x, double y, double width, double height, String color) {
+        return "<rect x=\"" + coordinateFormat.get().format(x) + "\" y=\"" + coordinateFormat.get().format(y) + "\" width=\"" +
+                coordinateFormat.get().format(width) + "\" height=\"" + coordinateFormat.get().format(height) + "\" fill=\"" +
+                color + "\"/>";
+    }
+
+    private static String text(double x, double y, String content, String style) {
+        return "<text x=\"" + coordinateFormat.get().format(x) + "\" y=\"" + coordinateFormat.get().format(y) + "\" style=\"" +
+                style + "\">" + content + "</text>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
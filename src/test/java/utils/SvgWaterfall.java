@@ -0,0 +1,128 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal inline SVG waterfall for the HTML report: one row per span, indented by depth, with a
+ * bar from its start to its end on a shared time axis.
+ *
+ * <pre>
+ * String svg = new SvgWaterfall("TC_CHK_001 spans")
+ *         .row("TC_CHK_001", 0, 0, 5200)
+ *         .row("STEP: Add product to cart", 1, 40, 1800)
+ *         .render();
+ * ExtentReportManager.logHtml(svg);
+ * </pre>
+ */
+public class SvgWaterfall {
+    private static final int WIDTH = 720;
+    private static final int LABEL_WIDTH = 280;
+    private static final int RIGHT = 20;
+    private static final int TOP = 44;
+    private static final int ROW_HEIGHT = 16;
+    private static final int INDENT = 10;
+    private static final int TICKS = 5;
+    private static final int LABEL_CHARS = 44;
+    private static final String[] COLORS = {"#4e79a7", "#f28e2b", "#59a14f", "#e15759", "#76b7b2", "#b07aa1"};
+
+    // SVG coordinates always use '.' as the decimal separator
+    private static final ThreadLocal<DecimalFormat> coordinateFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.##", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+    private static final ThreadLocal<DecimalFormat> tickFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.##"));
+    private static final ThreadLocal<DecimalFormat> durationFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0"));
+
+    private final String title;
+    private final List<Row> rows = new ArrayList<>();
+
+    public SvgWaterfall(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Add a span; rows are drawn in the order they are added
+     * @param depth nesting level, 0 for the root
+     */
+    public SvgWaterfall row(String label, int depth, double startMillis, double durationMillis) {
+        rows.add(new Row(label, depth, startMillis, Math.max(0, durationMillis)));
+        return this;
+    }
+
+    /**
+     * The waterfall as an &lt;svg&gt; element, its time axis from 0 to the latest end
+     */
+    public String render() {
+        double maxEnd = 0;
+        for (Row row : rows) {
+            maxEnd = Math.max(maxEnd, row.start + row.duration);
+        }
+        if (maxEnd <= 0) {
+            maxEnd = 1;
+        }
+
+        int plotWidth = WIDTH - LABEL_WIDTH - RIGHT;
+        int height = TOP + rows.size() * ROW_HEIGHT + 10;
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH).append("\" height=\"")
+                .append(height).append("\" style=\"background:#fff;font:11px sans-serif\">");
+        svg.append(text(8, 18, escape(title), "font-weight:bold;font-size:13px"));
+
+        // Time axis in seconds along the top, with grid lines through the rows
+        for (int i = 0; i <= TICKS; i++) {
+            double x = LABEL_WIDTH + (double) plotWidth * i / TICKS;
+            svg.append(text(x, TOP - 8, tickFormat.get().format(maxEnd * i / TICKS / 1000.0) + " s", "text-anchor:middle"));
+            svg.append("<line x1=\"").append(coordinateFormat.get().format(x)).append("\" y1=\"").append(TOP - 4)
+                    .append("\" x2=\"").append(coordinateFormat.get().format(x)).append("\" y2=\"").append(height - 6)
+                    .append("\" stroke=\"#e0e0e0\"/>");
+        }
+
+        for (int r = 0; r < rows.size(); r++) {
+            Row row = rows.get(r);
+            double y = TOP + r * ROW_HEIGHT;
+            svg.append(text(8 + row.depth * INDENT, y + ROW_HEIGHT - 4, escape(shorten(row.label, row.depth)), ""));
+            double x = LABEL_WIDTH + row.start / maxEnd * plotWidth;
+            double width = Math.max(1, row.duration / maxEnd * plotWidth);
+            svg.append("<rect x=\"").append(coordinateFormat.get().format(x)).append("\" y=\"")
+                    .append(coordinateFormat.get().format(y + 2)).append("\" width=\"").append(coordinateFormat.get().format(width))
+                    .append("\" height=\"").append(ROW_HEIGHT - 4).append("\" fill=\"")
+                    .append(COLORS[Math.min(row.depth, COLORS.length - 1)]).append("\"><title>")
+                    .append(escape(row.label)).append(": ").append(durationFormat.get().format(row.duration))
+                    .append(" ms</title></rect>");
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static String shorten(String label, int depth) {
+        // Indented labels have less room
+        int chars = Math.max(10, LABEL_CHARS - depth * 2);
+        return label.length() <= chars ? label : label.substring(0, chars - 1) + "…";
+    }
+
+    private static String text(double x, double y, String content, String style) {
+        return "<text x=\"" + coordinateFormat.get().format(x) + "\" y=\"" + coordinateFormat.get().format(y) + "\" style=\"" +
+                style + "\">" + content + "</text>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static final class Row {
+        private final String label;
+        private final int depth;
+        private final double start;
+        private final double duration;
+
+        private Row(String label, int depth, double start, double duration) {
+            this.label = label;
+            this.depth = depth;
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+}
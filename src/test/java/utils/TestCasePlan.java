@@ -0,0 +1,331 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compiled plan of the verification test case sheet, cached by the SHA-256 of the workbook.
+ *
+ * The first run streams rows straight out of the workbook and writes the plan to
+ * target/testcase-plans/&lt;hash&gt;.v&lt;format&gt;.tsv as the rows go by; later runs (or later calls
+ * in the same JVM) read the plan instead of parsing the spreadsheet again. Editing the workbook
+ * changes the hash, so a stale plan is never used, and changing the plan layout changes the
+ * format, so plans written by older code are never read. The hash is kept in a stamp file with the
+ * workbook's size and modification time, and the workbook is hashed again only when those change.
+ */
+public class TestCasePlan {
+    // Layout of the plan files; bump it whenever encode/decode or TestCaseRow.toFields change
+    private static final int FORMAT_VERSION = 2;
+    private static final Path PLAN_DIR = Paths.get(System.getProperty("user.dir"), "target", "testcase-plans");
+    private static final Map<String, List<TestCaseRow>> memoryCache = new ConcurrentHashMap<>();
+
+    private TestCasePlan() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Stream the test cases of the workbook, from the cache when the workbook is unchanged.
+     * The stream is lazy; close it (or consume it fully) to release the workbook.
+     */
+    public static Stream<TestCaseRow> load(Path workbook) {
+        String key = planKey(workbook);
+
+        List<TestCaseRow> cached = memoryCache.get(key);
+        if (cached != null) {
+            return cached.stream();
+        }
+
+        Path planFile = PLAN_DIR.resolve(key + ".tsv");
+        if (Files.isRegularFile(planFile)) {
+            return readPlan(planFile, key);
+        }
+        return compilePlan(workbook, planFile, key);
+    }
+
+    /**
+     * The file the plan of the workbook is cached in, whether or not it has been compiled yet
+     */
+    public static Path planFile(Path workbook) {
+        return PLAN_DIR.resolve(planKey(workbook) + ".tsv");
+    }
+
+    private static String planKey(Path workbook) {
+        return workbookHash(workbook) + ".v" + FORMAT_VERSION;
+    }
+
+    /**
+     * SHA-256 of the workbook, taken from its stamp file while the workbook's size and modification
+     * time are unchanged
+     */
+    private static String workbookHash(Path workbook) {
+        Path absolute = workbook.toAbsolutePath().normalize();
+        String fingerprint;
+        try {
+            fingerprint = absolute + "\t" + Files.size(absolute) + "\t" + Files.getLastModifiedTime(absolute).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the attributes of " + workbook, e);
+        }
+        Path stampFile = PLAN_DIR.resolve(Integer.toHexString(absolute.toString().hashCode()) + ".stamp");
+        try {
+            if (Files.isRegularFile(stampFile)) {
+                String stamp = Files.readString(stampFile, StandardCharsets.UTF_8);
+                if (stamp.startsWith(fingerprint + "\t")) {
+                    return stamp.substring(fingerprint.length() + 1).trim();
+                }
+            }
+        } catch (IOException e) {
+            // An unreadable stamp only costs hashing the workbook again
+        }
+
+        String hash = sha256(absolute);
+        try {
+            Files.createDirectories(PLAN_DIR);
+            Path tempFile = Files.createTempFile(PLAN_DIR, "stamp", ".tmp");
+            try {
+                Files.writeString(tempFile, fingerprint + "\t" + hash + "\n", StandardCharsets.UTF_8);
+                Files.move(tempFile, stampFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // Without a stamp the next load hashes the workbook again
+        }
+        return hash;
+    }
+
+    /**
+     * Hex SHA-256 of a file, read in chunks
+     */
+    static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not hash " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Stream<TestCaseRow> readPlan(Path planFile, String key) {
+        try {
+            Stream<String> lines = Files.lines(planFile, StandardCharsets.UTF_8);
+            PlanReader planReader = new PlanReader(lines.iterator(), key);
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(planReader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(lines::close);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test case plan " + planFile, e);
+        }
+    }
+
+    private static Stream<TestCaseRow> compilePlan(Path workbook, Path planFile, String key) {
+        TestCaseSheetReader reader = null;
+        Path tempFile = null;
+        try {
+            reader = new TestCaseSheetReader(workbook);
+            Files.createDirectories(PLAN_DIR);
+            tempFile = Files.createTempFile(PLAN_DIR, key, ".tmp");
+            BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+            Stream<TestCaseRow> source = reader.rows();
+
+            PlanWriter planWriter = new PlanWriter(source.iterator(), writer, tempFile, planFile, key);
+            TestCaseSheetReader sheetReader = reader;
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(planWriter, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        planWriter.abandonIfIncomplete();
+                        source.close();
+                        try {
+                            sheetReader.close();
+                        } catch (IOException e) {
+                            // The plan is already written; a failed close only leaks a file handle
+                        }
+                    });
+        } catch (IOException e) {
+            UncheckedIOException failure = new UncheckedIOException("Could not compile test case plan from " + workbook, e);
+            try {
+                if (tempFile != null) {
+                    Files.deleteIfExists(tempFile);
+                }
+                if (reader != null) {
+                    reader.close();
+                }
+            } catch (IOException cleanup) {
+                failure.addSuppressed(cleanup);
+            }
+            throw failure;
+        }
+    }
+
+    // Tab separated; tabs, newlines and backslashes inside cells are escaped
+    private static String encode(TestCaseRow row) {
+        StringBuilder line = new StringBuilder();
+        for (String field : row.toFields()) {
+            if (line.length() > 0) {
+                line.append('\t');
+            }
+            line.append(field.replace("\\", "\\\\").replace("\t", "\\t")
+                    .replace("\r", "\\r").replace("\n", "\\n"));
+        }
+        return line.toString();
+    }
+
+    private static TestCaseRow decode(String line) {
+        String[] fields = line.split("\t", -1);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = unescape(fields[i]);
+        }
+        return TestCaseRow.fromFields(fields);
+    }
+
+    private static String unescape(String field) {
+        StringBuilder out = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()) {
+                char escaped = field.charAt(++i);
+                out.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Decodes the rows of a plan file; caches them in memory only once the last row is read, so a
+     * stream closed early never leaves a partial plan behind
+     */
+    private static class PlanReader implements Iterator<TestCaseRow> {
+        private final Iterator<String> lines;
+        private final String key;
+        private final List<TestCaseRow> rows = new ArrayList<>();
+
+        PlanReader(Iterator<String> lines, String key) {
+            this.lines = lines;
+            this.key = key;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (lines.hasNext()) {
+                return true;
+            }
+            memoryCache.putIfAbsent(key, Collections.unmodifiableList(rows));
+            return false;
+        }
+
+        @Override
+        public TestCaseRow next() {
+            TestCaseRow row = decode(lines.next());
+            rows.add(row);
+            return row;
+        }
+    }
+
+    /**
+     * Hands rows through while appending them to the plan; publishes the plan once the last row is read
+     */
+    private static class PlanWriter implements Iterator<TestCaseRow> {
+        private final Iterator<TestCaseRow> source;
+        private final BufferedWriter writer;
+        private final Path tempFile;
+        private final Path planFile;
+        private final String key;
+        private final List<TestCaseRow> rows = new ArrayList<>();
+        private boolean done;
+
+        PlanWriter(Iterator<TestCaseRow> source, BufferedWriter writer, Path tempFile, Path planFile, String key) {
+            this.source = source;
+            this.writer = writer;
+            this.tempFile = tempFile;
+            this.planFile = planFile;
+            this.key = key;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            if (source.hasNext()) {
+                return true;
+            }
+            publish();
+            return false;
+        }
+
+        @Override
+        public TestCaseRow next() {
+            TestCaseRow row = source.next();
+            rows.add(row);
+            try {
+                writer.write(encode(row));
+                writer.newLine();
+            } catch (IOException e) {
+                abandonIfIncomplete();
+                throw new UncheckedIOException("Could not write test case plan", e);
+            }
+            return row;
+        }
+
+        private void publish() {
+            done = true;
+            try {
+                writer.close();
+                Files.move(tempFile, planFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                memoryCache.put(key, Collections.unmodifiableList(rows));
+            } catch (IOException e) {
+                UncheckedIOException failure = new UncheckedIOException("Could not publish test case plan " + planFile, e);
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException cleanup) {
+                    failure.addSuppressed(cleanup);
+                }
+                throw failure;
+            }
+        }
+
+        /**
+         * A partially consumed stream must not leave a truncated plan behind
+         */
+        void abandonIfIncomplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                writer.close();
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                // Leftover temp files are ignored by load()
+            }
+        }
+    }
+}
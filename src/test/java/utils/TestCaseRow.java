@@ -0,0 +1,87 @@
+package utils;
+
+/**
+ * One test case row from the verification test case sheet
+ */
+public class TestCaseRow {
+    private final String sheet;
+    private final int rowNumber;
+    private final String id;
+    private final String description;
+    private final String preCondition;
+    private final String steps;
+    private final String testData;
+    private final String expectedResult;
+    private final String priority;
+
+    public TestCaseRow(String sheet, int rowNumber, String id, String description, String preCondition,
+                       String steps, String testData, String expectedResult, String priority) {
+        this.sheet = sheet;
+        this.rowNumber = rowNumber;
+        this.id = id;
+        this.description = description;
+        this.preCondition = preCondition;
+        this.steps = steps;
+        this.testData = testData;
+        this.expectedResult = expectedResult;
+        this.priority = priority;
+    }
+
+    public String getSheet() {
+        return sheet;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getPreCondition() {
+        return preCondition;
+    }
+
+    public String getSteps() {
+        return steps;
+    }
+
+    public String getTestData() {
+        return testData;
+    }
+
+    public String getExpectedResult() {
+        return expectedResult;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * Name used for the dynamic test; IDs repeat in the sheet, so the sheet row is included
+     */
+    public String getDisplayName() {
+        return id + ": " + description + " [" + sheet + "!" + rowNumber + "]";
+    }
+
+    String[] toFields() {
+        return new String[]{sheet, String.valueOf(rowNumber), id, description, preCondition, steps,
+                testData, expectedResult, priority};
+    }
+
+    static TestCaseRow fromFields(String[] fields) {
+        return new TestCaseRow(fields[0], Integer.parseInt(fields[1]), fields[2], fields[3], fields[4],
+                fields[5], fields[6], fields[7], fields[8]);
+    }
+
+    @Override
+    public String toString() {
+        return getDisplayName();
+    }
+}
@@ -0,0 +1,329 @@
+package utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader for the verification test case workbook (.xlsx).
+ * Worksheets are parsed row by row with StAX, so rows are handed out while the rest of the
+ * sheet is still unread; only the shared string table is held in memory.
+ */
+public class TestCaseSheetReader implements Closeable {
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipFile zip;
+    private final XMLInputFactory xmlFactory;
+    private final Map<String, String> sheetPaths = new LinkedHashMap<>();
+    private List<String> sharedStrings;
+
+    public TestCaseSheetReader(Path workbook) throws IOException {
+        this.zip = new ZipFile(workbook.toFile());
+        this.xmlFactory = XMLInputFactory.newInstance();
+        // The workbook is trusted, but there is still no reason to resolve DTDs or external entities
+        xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        readSheetIndex();
+    }
+
+    /**
+     * Sheet names in workbook order
+     */
+    public List<String> getSheetNames() {
+        return new ArrayList<>(sheetPaths.keySet());
+    }
+
+    /**
+     * Lazily stream the test case rows of every sheet, in workbook order
+     */
+    public Stream<TestCaseRow> rows() {
+        return getSheetNames().stream().flatMap(this::rows);
+    }
+
+    /**
+     * Lazily stream the test case rows of one sheet; rows without a test case ID are skipped
+     */
+    public Stream<TestCaseRow> rows(String sheetName) {
+        String path = sheetPaths.get(sheetName);
+        if (path == null) {
+            throw new IllegalArgumentException("No sheet named '" + sheetName + "'");
+        }
+        SheetRowIterator iterator = new SheetRowIterator(sheetName, path);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    private void readSheetIndex() throws IOException {
+        Map<String, String> relTargets = new HashMap<>();
+        try (InputStream in = open("xl/_rels/workbook.xml.rels")) {
+            XMLStreamReader xml = xmlFactory.createXMLStreamReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())) {
+                    relTargets.put(xml.getAttributeValue(null, "Id"), xml.getAttributeValue(null, "Target"));
+                }
+            }
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read workbook relationships", e);
+        }
+
+        try (InputStream in = open("xl/workbook.xml")) {
+            XMLStreamReader xml = xmlFactory.createXMLStreamReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    String target = relTargets.get(xml.getAttributeValue(REL_NS, "id"));
+                    if (target != null) {
+                        sheetPaths.put(xml.getAttributeValue(null, "name"),
+                                target.startsWith("/") ? target.substring(1) : "xl/" + target);
+                    }
+                }
+            }
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read workbook sheet list", e);
+        }
+    }
+
+    private List<String> sharedStrings() {
+        if (sharedStrings != null) {
+            return sharedStrings;
+        }
+        List<String> strings = new ArrayList<>();
+        if (zip.getEntry("xl/sharedStrings.xml") != null) {
+            try (InputStream in = open("xl/sharedStrings.xml")) {
+                XMLStreamReader xml = xmlFactory.createXMLStreamReader(in);
+                StringBuilder current = null;
+                int phoneticDepth = 0;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("si".equals(name)) {
+                            current = new StringBuilder();
+                        } else if ("rPh".equals(name)) {
+                            phoneticDepth++;
+                        } else if ("t".equals(name) && current != null && phoneticDepth == 0) {
+                            current.append(xml.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("si".equals(name) && current != null) {
+                            strings.add(current.toString());
+                            current = null;
+                        } else if ("rPh".equals(name)) {
+                            phoneticDepth--;
+                        }
+                    }
+                }
+                xml.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Could not read shared strings", e);
+            }
+        }
+        sharedStrings = Collections.unmodifiableList(strings);
+        return sharedStrings;
+    }
+
+    private InputStream open(String entryName) throws IOException {
+        ZipEntry entry = zip.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException("Workbook entry missing: " + entryName);
+        }
+        return zip.getInputStream(entry);
+    }
+
+    /**
+     * Zero-based column index of a cell reference such as "AB12"
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Pulls one &lt;row&gt; at a time out of a worksheet
+     */
+    private class SheetRowIterator implements Iterator<TestCaseRow> {
+        private final String sheetName;
+        private final InputStream in;
+        private final XMLStreamReader xml;
+        private Map<String, Integer> header;
+        private TestCaseRow next;
+        private boolean finished;
+
+        SheetRowIterator(String sheetName, String path) {
+            this.sheetName = sheetName;
+            try {
+                this.in = open(path);
+                this.xml = xmlFactory.createXMLStreamReader(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Could not open sheet " + sheetName, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !finished) {
+                next = readNextTestCase();
+            }
+            return next != null;
+        }
+
+        @Override
+        public TestCaseRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TestCaseRow row = next;
+            next = null;
+            return row;
+        }
+
+        /**
+         * @return the next row with a test case ID, or null when the row was a header or blank
+         */
+        private TestCaseRow readNextTestCase() {
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                        int rowNumber = Integer.parseInt(xml.getAttributeValue(null, "r"));
+                        Map<Integer, String> cells = readRowCells();
+                        if (cells.isEmpty()) {
+                            continue;
+                        }
+                        if (header == null) {
+                            header = toHeader(cells);
+                            continue;
+                        }
+                        String id = cell(cells, "test case id");
+                        if (id.isEmpty()) {
+                            continue;
+                        }
+                        return new TestCaseRow(sheetName, rowNumber, id,
+                                cell(cells, "test case description"),
+                                cell(cells, "precondition"),
+                                cell(cells, "steps"),
+                                cell(cells, "test data"),
+                                cell(cells, "expected result"),
+                                cell(cells, "priority"));
+                    }
+                }
+                close();
+                return null;
+            } catch (XMLStreamException e) {
+                close();
+                throw new IllegalStateException("Could not read sheet " + sheetName, e);
+            }
+        }
+
+        private Map<Integer, String> readRowCells() throws XMLStreamException {
+            Map<Integer, String> cells = new HashMap<>();
+            int column = -1;
+            String type = null;
+            StringBuilder value = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("c".equals(name)) {
+                        String reference = xml.getAttributeValue(null, "r");
+                        column = reference != null ? columnIndex(reference) : column + 1;
+                        type = xml.getAttributeValue(null, "t");
+                        value = new StringBuilder();
+                    } else if (("v".equals(name) || "t".equals(name)) && value != null) {
+                        value.append(xml.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("c".equals(name) && value != null) {
+                        String text = resolve(type, value.toString()).trim();
+                        if (!text.isEmpty()) {
+                            cells.put(column, text);
+                        }
+                        value = null;
+                    } else if ("row".equals(name)) {
+                        break;
+                    }
+                }
+            }
+            return cells;
+        }
+
+        private String resolve(String type, String raw) {
+            if ("s".equals(type) && !raw.isEmpty()) {
+                return sharedStrings().get(Integer.parseInt(raw.trim()));
+            }
+            if ("b".equals(type)) {
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            }
+            return raw;
+        }
+
+        private Map<String, Integer> toHeader(Map<Integer, String> cells) {
+            Map<String, Integer> columns = new HashMap<>();
+            for (Map.Entry<Integer, String> entry : cells.entrySet()) {
+                columns.put(entry.getValue().trim().toLowerCase(Locale.ROOT), entry.getKey());
+            }
+            return columns;
+        }
+
+        private String cell(Map<Integer, String> cells, String headerName) {
+            Integer column = header.get(headerName);
+            if (column == null) {
+                return "";
+            }
+            return cells.getOrDefault(column, "");
+        }
+
+        void close() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                xml.close();
+                in.close();
+            } catch (XMLStreamException | IOException e) {
+                // Nothing useful to do if closing the sheet stream fails
+            }
+        }
+    }
+}
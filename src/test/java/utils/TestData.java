@@ -9,6 +9,10 @@ public class TestData {
     public static final String CART_URL = BASE_URL + "cart.html";
     public static final String PRODUCT_URL = BASE_URL + "prod.html?idp_=1";
 
+    // JSON API used by the site's own scripts; override with -Ddemoblaze.apiUrl for a local stand-in
+    public static final String PUBLIC_API_URL = "https://api.demoblaze.com/";
+    public static final String API_URL = System.getProperty("demoblaze.apiUrl", PUBLIC_API_URL);
+
     // Test user credentials - using same credentials for all test cases as requested
     public static final String TEST_USERNAME = "Rama27";
     public static final String TEST_PASSWORD = "rama123";
@@ -31,11 +35,26 @@ public class TestData {
     public static final String INVALID_PASSWORD = "wrongpass";
 
     // Registration test users
-    // Note: For registration tests, you might want to generate unique usernames
+    // Unique across threads and surefire forks - see UniqueIdentity
     public static String getUniqueUsername() {
-        return "user" + System.currentTimeMillis();
+        return UniqueIdentity.username();
+    }
+
+    public static String getUniqueEmail() {
+        return UniqueIdentity.email();
+    }
+
+    public static String getUniqueOrderName() {
+        return UniqueIdentity.orderName();
+    }
+
+    public static String getUnregisteredUsername() {
+        return UniqueIdentity.unregisteredUsername();
     }
 
+    // Verification test case sheet, relative to the project root
+    public static final String TEST_CASES_SHEET = "TestcasesSheet/Verfication_testing_TestCases.xlsx";
+
     // Product IDs for product tests
     public static final String VALID_PRODUCT_ID = "1"; // Samsung Galaxy S6
     public static final String INVALID_PRODUCT_ID = "999";
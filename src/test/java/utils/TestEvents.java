@@ -0,0 +1,210 @@
+package utils;
+
+import com.aventstack.extentreports.Status;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Custom JDK Flight Recorder events for the test harness, so a recording of a parallel run can be
+ * opened in JDK Mission Control and the harness's CPU and allocation correlated with what the tests
+ * were doing: test and step spans, explicit waits with their condition, screenshots, and browser
+ * sessions being started and quit. The events are under "DemoBlaze" in the event browser.
+ *
+ * Events cost nothing while no recording is running. Run with -Djfr.record=true to record the whole
+ * run to test-output/DemoBlaze-Test-Run-&lt;time&gt;.jfr (written when the JVM exits), with the JDK
+ * settings named by -Djfr.settings (default "profile"). A recording started with
+ * -XX:StartFlightRecording picks up the events too.
+ */
+public final class TestEvents {
+    private static final ThreadLocal<TestSpan> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<StepSpan> currentStep = new ThreadLocal<>();
+    private static Recording recording;
+
+    private TestEvents() {
+        // Static helpers and event types only
+    }
+
+    /**
+     * Start recording the whole run if -Djfr.record=true; later calls do nothing
+     * @return the file the recording is written to on exit, or null when not recording
+     */
+    public static synchronized Path recordRunIfRequested() {
+        if (recording != null) {
+            return recording.getDestination();
+        }
+        if (!Boolean.getBoolean("jfr.record")) {
+            return null;
+        }
+        try {
+            Path reportDir = Paths.get(System.getProperty("user.dir"), "test-output");
+            Files.createDirectories(reportDir);
+            Path file = reportDir.resolve("DemoBlaze-Test-Run-" +
+                    new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date()) + ".jfr");
+
+            recording = new Recording(Configuration.getConfiguration(System.getProperty("jfr.settings", "profile")));
+            recording.setName("DemoBlaze test run");
+            recording.setDestination(file);
+            recording.setDumpOnExit(true);
+            recording.start();
+            return file;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not start the flight recording: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Begin the span of the test running on this thread
+     */
+    public static void testStarted(String testClass, String testName) {
+        TestSpan test = new TestSpan();
+        test.testClass = testClass;
+        test.testName = testName;
+        test.begin();
+        currentTest.set(test);
+    }
+
+    /**
+     * End the span of this thread's test and its last step, with the outcome JUnit gave the test
+     */
+    public static void testFinished(Status outcome) {
+        endStep();
+        TestSpan test = currentTest.get();
+        if (test != null) {
+            currentTest.remove();
+            test.status = outcome.name();
+            test.commit();
+        }
+    }
+
+    /**
+     * A step of this thread's test starts, ending the previous one; steps outside a test are ignored
+     */
+    static void step(String message) {
+        endStep();
+        TestSpan test = currentTest.get();
+        if (test != null) {
+            StepSpan step = new StepSpan();
+            step.testName = test.testName;
+            step.step = message;
+            step.begin();
+            currentStep.set(step);
+        }
+    }
+
+    private static void endStep() {
+        StepSpan step = currentStep.get();
+        if (step != null) {
+            currentStep.remove();
+            step.commit();
+        }
+    }
+
+    @Name("demoblaze.Test")
+    @Label("Test")
+    @Category({"DemoBlaze", "Tests"})
+    @Description("A test from setUp to tearDown")
+    static class TestSpan extends Event {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test")
+        String testName;
+
+        @Label("Status")
+        @Description("Outcome of the test in JUnit")
+        String status;
+    }
+
+    @Name("demoblaze.Step")
+    @Label("Step")
+    @Category({"DemoBlaze", "Tests"})
+    @Description("A step logged with ExtentReportManager.logStep, until the next step or the end of the test")
+    static class StepSpan extends Event {
+        @Label("Test")
+        String testName;
+
+        @Label("Step")
+        String step;
+    }
+
+    @Name("demoblaze.Wait")
+    @Label("Explicit Wait")
+    @Category({"DemoBlaze", "WebDriver"})
+    @Description("A WebDriverWait until its condition held or it timed out")
+    static class WaitSpan extends Event {
+        @Label("Condition")
+        String condition;
+
+        @Label("Call Site")
+        @Description("Page-object or test method that waited")
+        String callSite;
+
+        @Label("Timeout")
+        @Timespan(Timespan.MILLISECONDS)
+        long timeout;
+
+        @Label("Satisfied")
+        boolean satisfied;
+    }
+
+    @Name("demoblaze.Screenshot")
+    @Label("Screenshot")
+    @Category({"DemoBlaze", "Reporting"})
+    @Description("A screenshot captured and attached to the report")
+    static class ScreenshotSpan extends Event {
+        @Label("Name")
+        String name;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+
+    /**
+     * A browser session being started for a test; begun when the lease starts, committed once
+     * the browser is up
+     */
+    @Name("demoblaze.DriverLease")
+    @Label("Driver Lease")
+    @Category({"DemoBlaze", "WebDriver"})
+    @Description("Starting a browser session for a test")
+    public static class DriverLease extends Event {
+        @Label("Browser")
+        String browser;
+
+        public DriverLease(String browser) {
+            this.browser = browser;
+        }
+    }
+
+    /**
+     * A browser session being quit; begun when the return starts, committed once the browser is gone
+     */
+    @Name("demoblaze.DriverReturn")
+    @Label("Driver Return")
+    @Category({"DemoBlaze", "WebDriver"})
+    @Description("Quitting the browser session of a test")
+    public static class DriverReturn extends Event {
+        @Label("Browser")
+        String browser;
+
+        public DriverReturn(String browser) {
+            this.browser = browser;
+        }
+    }
+}
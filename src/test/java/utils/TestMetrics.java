@@ -0,0 +1,342 @@
+package utils;
+
+import com.aventstack.extentreports.Status;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Metrics of the suite in the Prometheus text exposition format, so continuous runs can be
+ * graphed: tests started and finished by class and outcome, test durations by class, browser
+ * startup times and peak memory, tests running, account pool utilization, screenshot sizes and
+ * the latency samples of PerformanceRunner operations.
+ *
+ * The test lifecycle feeds the registry (BaseTest, TestOutcomeWatcher, BrowserLease,
+ * ExtentReportManager, PerformanceRunner). Every report flush, i.e. after each test class, writes
+ * the registry to test-output/demoblaze-tests.prom (or -Dmetrics.file), replacing the file atomically so the
+ * node_exporter textfile collector never reads half of it; after the last class it holds the
+ * whole run. With -Dmetrics.port=&lt;port&gt; the registry is also served at
+ * http://127.0.0.1:&lt;port&gt;/metrics while the tests run.
+ */
+public final class TestMetrics {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Histogram buckets, in seconds or bytes
+    private static final double[] TEST_SECONDS = {1, 2, 5, 10, 20, 30, 60, 120, 300, 600};
+    private static final double[] STARTUP_SECONDS = {0.25, 0.5, 1, 2, 3, 5, 10, 20, 30};
+    private static final double[] SCREENSHOT_BYTES = {25_000, 50_000, 100_000, 200_000, 500_000, 1_000_000,
+            2_000_000, 5_000_000};
+    private static final double[] BROWSER_BYTES = {100e6, 200e6, 300e6, 500e6, 750e6, 1e9, 1.5e9, 2e9, 4e9};
+    private static final double[] OPERATION_SECONDS = {0.05, 0.1, 0.25, 0.5, 1, 2, 3, 5, 10, 30};
+
+    private static final ThreadLocal<DecimalFormat> valueFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.######", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+
+    private static final ThreadLocal<RunningTest> runningTest = new ThreadLocal<>();
+    private static final long startEpochSeconds = System.currentTimeMillis() / 1000;
+
+    // Guarded by the class lock; label values in label order, joined by '\n'
+    private static final Map<String, Long> testsStarted = new TreeMap<>();
+    private static final Map<String, Long> testsFinished = new TreeMap<>();
+    private static final Map<String, Histogram> testDurations = new TreeMap<>();
+    private static final Map<String, Histogram> driverStartups = new TreeMap<>();
+    private static final Map<String, Histogram> operationLatencies = new TreeMap<>();
+    private static final Map<String, Histogram> browserPeakRss = new TreeMap<>();
+    private static final Histogram screenshotSizes = new Histogram(SCREENSHOT_BYTES);
+    private static int testsRunning;
+
+    private static HttpServer server;
+
+    private TestMetrics() {
+        // Static registry only
+    }
+
+    /**
+     * A test of the given class starts on this thread
+     */
+    public static synchronized void testStarted(String testClass) {
+        runningTest.set(new RunningTest(testClass, System.nanoTime()));
+        testsStarted.merge(testClass, 1L, Long::sum);
+        testsRunning++;
+    }
+
+    /**
+     * This thread's test has finished, with the outcome JUnit gave it
+     */
+    public static void testFinished(Status outcome) {
+        RunningTest test = runningTest.get();
+        if (test == null) {
+            return;
+        }
+        runningTest.remove();
+        testFinished(test, outcome.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static synchronized void testFinished(RunningTest test, String status) {
+        testsFinished.merge(test.testClass + "\n" + status, 1L, Long::sum);
+        testDurations.computeIfAbsent(test.testClass, key -> new Histogram(TEST_SECONDS))
+                .observe((System.nanoTime() - test.startNanos) / 1e9);
+        testsRunning--;
+    }
+
+    /**
+     * A browser session took the given time to start
+     */
+    public static synchronized void driverStarted(String browser, long nanos) {
+        driverStartups.computeIfAbsent(browser, key -> new Histogram(STARTUP_SECONDS)).observe(nanos / 1e9);
+    }
+
+    /**
+     * Peak resident memory of a test's browser processes
+     */
+    public static synchronized void browserPeakRss(String testClass, long bytes) {
+        browserPeakRss.computeIfAbsent(testClass, key -> new Histogram(BROWSER_BYTES)).observe(bytes);
+    }
+
+    /**
+     * A screenshot of the given size was attached to the report
+     */
+    public static synchronized void screenshotCaptured(long bytes) {
+        screenshotSizes.observe(bytes);
+    }
+
+    /**
+     * The measured samples of a PerformanceRunner operation
+     */
+    public static synchronized void operationMeasured(PerformanceRunner.Result result) {
+        Histogram latencies = operationLatencies.computeIfAbsent(result.getOperation(),
+                key -> new Histogram(OPERATION_SECONDS));
+        for (double millis : result.getSamples()) {
+            latencies.observe(millis / 1000);
+        }
+    }
+
+    /**
+     * The registry in the Prometheus text exposition format
+     */
+    public static synchronized String render() {
+        StringBuilder out = new StringBuilder();
+        header(out, "demoblaze_run_start_time_seconds", "gauge", "Time the test run started, in seconds since the epoch");
+        sample(out, "demoblaze_run_start_time_seconds", "", startEpochSeconds);
+
+        header(out, "demoblaze_tests_started_total", "counter", "Tests started, by class");
+        testsStarted.forEach((testClass, count) ->
+                sample(out, "demoblaze_tests_started_total", labels("class", testClass), count));
+
+        header(out, "demoblaze_tests_total", "counter", "Tests finished, by class and JUnit outcome");
+        testsFinished.forEach((key, count) -> {
+            String[] values = key.split("\n", 2);
+            sample(out, "demoblaze_tests_total", labels("class", values[0], "status", values[1]), count);
+        });
+
+        header(out, "demoblaze_tests_running", "gauge", "Tests running right now");
+        sample(out, "demoblaze_tests_running", "", testsRunning);
+
+        header(out, "demoblaze_test_duration_seconds", "histogram", "Test wall time from setUp to tearDown, by class");
+        testDurations.forEach((testClass, histogram) ->
+                histogram.render(out, "demoblaze_test_duration_seconds", labels("class", testClass)));
+
+        header(out, "demoblaze_driver_startup_seconds", "histogram", "Time to start a browser session, by browser");
+        driverStartups.forEach((browser, histogram) ->
+                histogram.render(out, "demoblaze_driver_startup_seconds", labels("browser", browser)));
+
+        header(out, "demoblaze_browser_peak_rss_bytes", "histogram",
+                "Peak resident memory of a test's driver and browser processes, by class");
+        browserPeakRss.forEach((testClass, histogram) ->
+                histogram.render(out, "demoblaze_browser_peak_rss_bytes", labels("class", testClass)));
+
+        ParallelismController parallelism = ParallelismController.started();
+        if (parallelism != null) {
+            header(out, "demoblaze_browser_sessions_allowed", "gauge", "Browser sessions the parallelism controller allows at once");
+            sample(out, "demoblaze_browser_sessions_allowed", "", parallelism.getLimit());
+            header(out, "demoblaze_browser_sessions_running", "gauge", "Browser sessions holding a slot right now");
+            sample(out, "demoblaze_browser_sessions_running", "", parallelism.getActive());
+        }
+
+        AccountPool pool = AccountPool.started();
+        if (pool != null) {
+            header(out, "demoblaze_account_pool_capacity", "gauge", "Accounts in the pool");
+            sample(out, "demoblaze_account_pool_capacity", "", pool.capacity());
+            header(out, "demoblaze_account_pool_in_use", "gauge", "Accounts leased right now");
+            sample(out, "demoblaze_account_pool_in_use", "", pool.inUse());
+            header(out, "demoblaze_account_pool_in_use_peak", "gauge", "Most accounts leased at once");
+            sample(out, "demoblaze_account_pool_in_use_peak", "", pool.peakInUse());
+            header(out, "demoblaze_account_pool_leases_total", "counter", "Accounts leased");
+            sample(out, "demoblaze_account_pool_leases_total", "", pool.leaseCount());
+            header(out, "demoblaze_account_pool_lease_wait_max_seconds", "gauge", "Longest wait for a free account");
+            sample(out, "demoblaze_account_pool_lease_wait_max_seconds", "", pool.maxWaitMillis() / 1000.0);
+        }
+
+        header(out, "demoblaze_screenshot_bytes", "histogram", "Size of screenshots attached to the report");
+        screenshotSizes.render(out, "demoblaze_screenshot_bytes", "");
+
+        header(out, "demoblaze_operation_latency_seconds", "histogram",
+                "Measured iterations of PerformanceRunner operations, by operation");
+        operationLatencies.forEach((operation, histogram) ->
+                histogram.render(out, "demoblaze_operation_latency_seconds", labels("operation", operation)));
+        return out.toString();
+    }
+
+    /**
+     * Replace the metrics file (-Dmetrics.file, default test-output/demoblaze-tests.prom) with the
+     * registry
+     */
+    public static Path write() {
+        Path file = Paths.get(System.getProperty("metrics.file",
+                Paths.get(System.getProperty("user.dir"), "test-output", "demoblaze-tests.prom").toString()));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, render(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * Serve the registry at /metrics if -Dmetrics.port is set; later calls do nothing
+     * @return the endpoint URL, or null when not serving
+     */
+    public static synchronized String serveIfRequested() {
+        Integer port = Integer.getInteger("metrics.port");
+        return server != null || port != null ? serve(port == null ? 0 : port) : null;
+    }
+
+    /**
+     * Serve the registry at /metrics on the loopback interface
+     * @param port the port, or 0 for a free one
+     * @return the endpoint URL
+     */
+    public static synchronized String serve(int port) {
+        if (server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not serve metrics on port " + port + ": " + e.getMessage(), e);
+            }
+            server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+                // Must not keep the test JVM alive
+                Thread thread = new Thread(runnable, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/metrics", TestMetrics::handle);
+            server.start();
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/metrics";
+    }
+
+    /**
+     * Stop serving the registry
+     */
+    public static synchronized void stopServing() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body = render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels.isEmpty() ? "" : "{" + labels + "}").append(' ')
+                .append(format(value)).append('\n');
+    }
+
+    /**
+     * Label pairs without braces, e.g. class="CartTest",status="pass"
+     */
+    private static String labels(String... namesAndValues) {
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            pairs.add(namesAndValues[i] + "=\"" + namesAndValues[i + 1].replace("\\", "\\\\")
+                    .replace("\"", "\\\"").replace("\n", "\\n") + "\"");
+        }
+        return String.join(",", pairs);
+    }
+
+    private static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        return valueFormat.get().format(value);
+    }
+
+    /**
+     * Cumulative histogram with fixed upper bounds, as Prometheus expects
+     */
+    private static final class Histogram {
+        private final double[] bounds;
+        private final long[] counts;
+        private long count;
+        private double sum;
+
+        private Histogram(double[] bounds) {
+            this.bounds = bounds;
+            this.counts = new long[bounds.length];
+        }
+
+        private void observe(double value) {
+            for (int i = 0; i < bounds.length; i++) {
+                if (value <= bounds[i]) {
+                    counts[i]++;
+                }
+            }
+            count++;
+            sum += value;
+        }
+
+        private void render(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            for (int i = 0; i < bounds.length; i++) {
+                sample(out, name + "_bucket", prefix + "le=\"" + format(bounds[i]) + "\"", counts[i]);
+            }
+            sample(out, name + "_bucket", prefix + "le=\"+Inf\"", count);
+            sample(out, name + "_sum", labels, sum);
+            sample(out, name + "_count", labels, count);
+        }
+    }
+
+    private static final class RunningTest {
+        private final String testClass;
+        private final long startNanos;
+
+        private RunningTest(String testClass, long startNanos) {
+            this.testClass = testClass;
+            this.startNanos = startNanos;
+        }
+    }
+}
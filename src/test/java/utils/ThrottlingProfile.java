@@ -0,0 +1,113 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named device and network conditions for performance runs, applied to a Chrome session through
+ * CDP Emulation.setCPUThrottlingRate and Network.emulateNetworkConditions.
+ *
+ * The network presets follow Chrome DevTools: the nominal 3G latency and throughput are adjusted
+ * by the same factors DevTools uses, so results compare with a DevTools or Lighthouse run.
+ * Select profiles with -Dperf.profiles=desktop,mid-tier-mobile,low-end-mobile.
+ */
+public enum ThrottlingProfile {
+    DESKTOP("desktop", "Desktop, no throttling", 1, 0, -1, -1),
+    MID_TIER_MOBILE("mid-tier-mobile", "Mid-tier mobile: 4x CPU, fast 3G", 4, 562.5, 180_000, 84_375),
+    LOW_END_MOBILE("low-end-mobile", "Low-end mobile: 6x CPU, slow 3G", 6, 2000, 50_000, 50_000);
+
+    private static final String DEFAULT_PROFILES = "desktop,mid-tier-mobile";
+
+    private final String name;
+    private final String description;
+    private final double cpuSlowdown;
+    private final double latencyMillis;
+    private final long downloadBytesPerSecond;
+    private final long uploadBytesPerSecond;
+
+    ThrottlingProfile(String name, String description, double cpuSlowdown, double latencyMillis,
+                      long downloadBytesPerSecond, long uploadBytesPerSecond) {
+        this.name = name;
+        this.description = description;
+        this.cpuSlowdown = cpuSlowdown;
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+    }
+
+    /**
+     * Profiles listed in -Dperf.profiles (default desktop and mid-tier-mobile), in the given order
+     */
+    public static List<ThrottlingProfile> fromSystemProperties() {
+        List<ThrottlingProfile> profiles = new ArrayList<>();
+        for (String name : System.getProperty("perf.profiles", DEFAULT_PROFILES).split(",")) {
+            if (!name.isBlank()) {
+                profiles.add(forName(name));
+            }
+        }
+        if (profiles.isEmpty()) {
+            throw new IllegalArgumentException("perf.profiles must name at least one profile");
+        }
+        return profiles;
+    }
+
+    /**
+     * Profile by name, e.g. "mid-tier-mobile"
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static ThrottlingProfile forName(String name) {
+        String wanted = name.trim().toLowerCase(Locale.ROOT);
+        for (ThrottlingProfile profile : values()) {
+            if (profile.name.equals(wanted)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown throttling profile '" + name + "'");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Whether this profile slows the CPU or the network at all
+     */
+    public boolean isThrottled() {
+        return cpuSlowdown > 1 || latencyMillis > 0 || downloadBytesPerSecond > 0;
+    }
+
+    /**
+     * Throttle the browser session; the conditions last for the session, across navigations.
+     * Call it before the first navigation so the first page load is throttled too.
+     * @return false if the browser does not speak CDP and the session runs unthrottled
+     */
+    public boolean apply(WebDriver driver) {
+        if (!isThrottled()) {
+            return true;
+        }
+        if (!DriverManager.supportsCdp(driver)) {
+            return false;
+        }
+        DriverManager.executeCdpCommand(driver, "Emulation.setCPUThrottlingRate", Map.of("rate", cpuSlowdown));
+        DriverManager.executeCdpCommand(driver, "Network.enable", Map.of());
+        DriverManager.executeCdpCommand(driver, "Network.emulateNetworkConditions", Map.of(
+                "offline", false,
+                "latency", latencyMillis,
+                "downloadThroughput", downloadBytesPerSecond,
+                "uploadThroughput", uploadBytesPerSecond));
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,331 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accounts for where the wall time of a test goes: browser start, browser quit, navigation, explicit
+ * waits, hard sleeps, other WebDriver commands, screenshots and reporting. Whatever is left is
+ * our own test code. Tells us which of these to optimize first.
+ *
+ * An account is kept per thread between start and finish. Time is charged by the code doing the
+ * work: BaseTest brackets browser start and quit, sleep() replaces Thread.sleep, TimedWait brackets
+ * explicit waits, ExtentReportManager brackets logging and screenshots, and CommandProfiler charges
+ * every other WebDriver command, counting commands polled inside a plain FluentWait, and the polling
+ * intervals between them, as waits.
+ * Brackets nest; the outermost one is charged, e.g. the command taking a screenshot counts as
+ * screenshot time.
+ *
+ * <pre>
+ * TimeAccount.start("CartTest", "TC_CART_010: Verify total cart capacity");
+ * ...
+ * TimeAccount.sleep(2000);
+ * ...
+ * TimeAccount.finish().logToReport();
+ * </pre>
+ */
+public class TimeAccount {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> percentFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0%"));
+    private static final String TEST_CODE = "Test code";
+
+    private static final ThreadLocal<TimeAccount> CURRENT = new ThreadLocal<>();
+    private static final List<TimeAccount> finished = new ArrayList<>();
+    // Suite summary in the report, replaced every time a test class finishes
+    private static ExtentTest suiteSummary;
+
+    public enum Category {
+        STARTUP("Browser start"),
+        TEARDOWN("Browser quit"),
+        NAVIGATION("Navigation"),
+        WAIT("Explicit waits"),
+        SLEEP("Hard sleeps"),
+        COMMAND("WebDriver commands"),
+        SCREENSHOT("Screenshots"),
+        REPORTING("Reporting");
+
+        private final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final String testClass;
+    private final String testName;
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[Category.values().length];
+    private long endNanos;
+
+    // Outermost open bracket
+    private int depth;
+    private Category bracketCategory;
+    private long bracketStart;
+
+    // Last charged interval, to count the polling interval between two wait polls as waiting
+    private Category lastCategory;
+    private long lastEnd;
+
+    private TimeAccount(String testClass, String testName) {
+        this.testClass = testClass;
+        this.testName = testName;
+    }
+
+    /**
+     * Open an account for the test running on this thread, replacing any unfinished one
+     */
+    public static TimeAccount start(String testClass, String testName) {
+        TimeAccount account = new TimeAccount(testClass, testName);
+        CURRENT.set(account);
+        return account;
+    }
+
+    /**
+     * Close this thread's account and add it to the suite totals
+     * @return the account, or null if none was started
+     */
+    public static TimeAccount finish() {
+        TimeAccount account = CURRENT.get();
+        if (account == null) {
+            return null;
+        }
+        CURRENT.remove();
+        account.endNanos = System.nanoTime();
+        synchronized (TimeAccount.class) {
+            finished.add(account);
+        }
+        return account;
+    }
+
+    /**
+     * Whether a test on this thread is being accounted
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Start charging this thread's time to a category until the matching end()
+     */
+    public static void begin(Category category) {
+        TimeAccount account = CURRENT.get();
+        if (account != null && account.depth++ == 0) {
+            account.bracketCategory = category;
+            account.bracketStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Close the innermost bracket opened by begin()
+     */
+    public static void end() {
+        TimeAccount account = CURRENT.get();
+        if (account != null && account.depth > 0 && --account.depth == 0) {
+            account.charge(account.bracketCategory, account.bracketStart, System.nanoTime());
+        }
+    }
+
+    /**
+     * Charge an interval measured by the caller, unless it falls inside a bracket
+     */
+    public static void record(Category category, long startNanos, long endNanos) {
+        TimeAccount account = CURRENT.get();
+        if (account != null && account.depth == 0) {
+            account.charge(category, startNanos, endNanos);
+        }
+    }
+
+    /**
+     * Thread.sleep charged as a hard sleep
+     */
+    public static void sleep(long millis) throws InterruptedException {
+        begin(Category.SLEEP);
+        try {
+            Thread.sleep(millis);
+        } finally {
+            end();
+        }
+    }
+
+    private void charge(Category category, long start, long end) {
+        nanos[category.ordinal()] += end - start;
+        if (category == Category.WAIT && lastCategory == Category.WAIT && start > lastEnd) {
+            nanos[category.ordinal()] += start - lastEnd;
+        }
+        lastCategory = category;
+        lastEnd = end;
+    }
+
+    public String getTestClass() {
+        return testClass;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public double getMillis(Category category) {
+        return nanos[category.ordinal()] / 1_000_000.0;
+    }
+
+    /**
+     * Wall time from start to finish (or until now), in milliseconds
+     */
+    public double getWallMillis() {
+        return ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Wall time not charged to any category: our own test code, in milliseconds
+     */
+    public double getTestCodeMillis() {
+        double charged = 0;
+        for (Category category : Category.values()) {
+            charged += getMillis(category);
+        }
+        return Math.max(0, getWallMillis() - charged);
+    }
+
+    /**
+     * Time the test spent idle: hard sleeps plus explicit waits, in milliseconds
+     */
+    public double getIdleMillis() {
+        return getMillis(Category.SLEEP) + getMillis(Category.WAIT);
+    }
+
+    /**
+     * Log the breakdown of this test as a table and a stacked bar
+     */
+    public void logToReport() {
+        ExtentReportManager.logTable(table(List.of(this)));
+        ExtentReportManager.logHtml(chart("Where the time went", List.of(this), false));
+    }
+
+    /**
+     * Log the breakdown of every finished test of a class as its own entry in the report, then
+     * refresh the suite summary
+     */
+    public static void logClassSummary(String testClass) {
+        List<TimeAccount> accounts = new ArrayList<>();
+        synchronized (TimeAccount.class) {
+            for (TimeAccount account : finished) {
+                if (account.testClass.equals(testClass)) {
+                    accounts.add(account);
+                }
+            }
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+        ExtentReportManager.logSummary(null, "Time accounting: " + testClass,
+                "Where the wall time of the " + testClass + " tests went", "Time accounting", () -> {
+                    ExtentReportManager.logHtml(chart(testClass + " tests", accounts, false));
+                    ExtentReportManager.logTable(table(accounts));
+                });
+        logSuiteSummary();
+    }
+
+    /**
+     * Replace the suite summary in the report: a bar per test class, suite totals and the idle
+     * time wasted on sleeps and waits
+     */
+    private static synchronized void logSuiteSummary() {
+        List<TimeAccount> accounts = new ArrayList<>(finished);
+        double idle = 0;
+        double wall = 0;
+        for (TimeAccount account : accounts) {
+            idle += account.getIdleMillis();
+            wall += account.getWallMillis();
+        }
+        String wasted = "Idle time wasted on hard sleeps and explicit waits: " + seconds(idle) + " of " +
+                seconds(wall) + " (" + percentFormat.get().format(wall == 0 ? 0 : idle / wall) + ") across " +
+                accounts.size() + " tests";
+        suiteSummary = ExtentReportManager.logSummary(suiteSummary, "Time accounting: suite",
+                "Where the wall time of all tests so far went", "Time accounting", () -> {
+                    ExtentReportManager.logWarning(wasted);
+                    ExtentReportManager.logHtml(chart("Test classes", accounts, true));
+                    ExtentReportManager.logTable(table(accounts));
+                });
+    }
+
+    /**
+     * Time and share of wall time per category, summed over the accounts
+     */
+    private static String[][] table(List<TimeAccount> accounts) {
+        Map<String, Double> totals = totals(accounts);
+        double wall = 0;
+        for (TimeAccount account : accounts) {
+            wall += account.getWallMillis();
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Category", "Time", "Share"});
+        for (Map.Entry<String, Double> total : totals.entrySet()) {
+            rows.add(new String[]{total.getKey(), seconds(total.getValue()),
+                    percentFormat.get().format(wall == 0 ? 0 : total.getValue() / wall)});
+        }
+        rows.add(new String[]{"Wall time", seconds(wall), percentFormat.get().format(wall == 0 ? 0 : 1)});
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Stacked bars in seconds, one per account or, grouped, one per test class
+     */
+    private static String chart(String title, List<TimeAccount> accounts, boolean byClass) {
+        Map<String, List<TimeAccount>> bars = new LinkedHashMap<>();
+        for (TimeAccount account : accounts) {
+            bars.computeIfAbsent(byClass ? account.testClass : account.testName, name -> new ArrayList<>()).add(account);
+        }
+        SvgStackedBarChart chart = new SvgStackedBarChart(title, "s", segmentNames());
+        for (Map.Entry<String, List<TimeAccount>> bar : bars.entrySet()) {
+            double[] values = totals(bar.getValue()).values().stream().mapToDouble(millis -> millis / 1000.0).toArray();
+            chart.bar(bar.getKey(), values);
+        }
+        return chart.render();
+    }
+
+    private static String[] segmentNames() {
+        List<String> names = new ArrayList<>();
+        for (Category category : Category.values()) {
+            names.add(category.getLabel());
+        }
+        names.add(TEST_CODE);
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Milliseconds per category, then test code, summed over the accounts
+     */
+    private static Map<String, Double> totals(List<TimeAccount> accounts) {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            totals.put(category.getLabel(), accounts.stream().mapToDouble(account -> account.getMillis(category)).sum());
+        }
+        totals.put(TEST_CODE, accounts.stream().mapToDouble(TimeAccount::getTestCodeMillis).sum());
+        return totals;
+    }
+
+    private static String seconds(double millis) {
+        return df.get().format(millis / 1000.0) + " s";
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        for (Map.Entry<String, Double> total : totals(List.of(this)).entrySet()) {
+            if (total.getValue() > 0) {
+                parts.add(total.getKey() + " " + seconds(total.getValue()));
+            }
+        }
+        return testName + ": " + seconds(getWallMillis()) + " wall time; " + String.join(", ", parts);
+    }
+}
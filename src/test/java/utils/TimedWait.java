@@ -0,0 +1,56 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that reports every until(): its time is charged to explicit waits in the
+ * TimeAccount, a TestEvents wait event records the condition and whether it held, and a traced
+ * test gets a wait span. Use it wherever a WebDriverWait would be created.
+ */
+public class TimedWait extends WebDriverWait {
+
+    public TimedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    public TimedWait(WebDriver driver, Duration timeout, Duration sleep) {
+        super(driver, timeout, sleep);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        TestEvents.WaitSpan event = new TestEvents.WaitSpan();
+        if (event.isEnabled()) {
+            event.condition = describe(isTrue);
+            event.callSite = CommandProfiler.callSite();
+            event.timeout = timeout.toMillis();
+        }
+        event.begin();
+        TimeAccount.begin(TimeAccount.Category.WAIT);
+        if (SpanTracer.current() != null) {
+            SpanTracer.waitStarted(describe(isTrue), timeout.toMillis());
+        }
+        try {
+            V value = super.until(isTrue);
+            event.satisfied = true;
+            return value;
+        } finally {
+            SpanTracer.waitFinished(event.satisfied);
+            TimeAccount.end();
+            event.commit();
+        }
+    }
+
+    /**
+     * ExpectedConditions describe themselves, e.g. "visibility of element located by By.id: cartur";
+     * lambdas do not
+     */
+    static String describe(Object condition) {
+        String description = String.valueOf(condition);
+        return description.contains("$$Lambda") ? "lambda" : description;
+    }
+}
@@ -0,0 +1,189 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records a Chrome DevTools trace (CDP Tracing domain) of whatever the browser does between
+ * start() and stop(), with the same categories as the DevTools Performance panel.
+ *
+ * stop() saves the trace as test-output/traces/&lt;name&gt;-&lt;timestamp&gt;.json, which opens in
+ * the DevTools Performance panel, chrome://tracing or ui.perfetto.dev, and summarizes it with
+ * TraceSummary. Tracing is opt-in with -Dperf.trace=true because traces are large.
+ */
+public class TraceRecorder {
+    private static final List<String> CATEGORIES = List.of(
+            "devtools.timeline",
+            "disabled-by-default-devtools.timeline",
+            "disabled-by-default-devtools.timeline.frame",
+            "toplevel",
+            "v8.execute",
+            "blink.user_timing",
+            "loading",
+            "latencyInfo");
+
+    // Chrome flushes its trace buffers after Tracing.end; large traces take a few seconds
+    private static final long COMPLETE_TIMEOUT_SECONDS = 30;
+
+    // The tracing listeners of each DevTools connection are added once and feed whichever recorder
+    // is running; DevTools can only clear all of its listeners, SpanTracer's Network ones included
+    private static final Map<DevTools, AtomicReference<TraceRecorder>> recording =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final AtomicReference<TraceRecorder> current;
+    // Trace events arrive on the DevTools connection's thread
+    private final ConcurrentLinkedQueue<Map<String, Object>> events = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch complete = new CountDownLatch(1);
+
+    private TraceRecorder(DevTools devTools, AtomicReference<TraceRecorder> current) {
+        this.devTools = devTools;
+        this.current = current;
+    }
+
+    /**
+     * Whether tracing was requested with -Dperf.trace=true
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("perf.trace");
+    }
+
+    /**
+     * Start tracing the driver's current tab
+     * @throws UnsupportedOperationException if the browser does not speak CDP (Firefox)
+     * @throws IllegalStateException if the browser is already being traced
+     */
+    public static TraceRecorder start(WebDriver driver) {
+        DevTools devTools = DriverManager.getDevTools(driver);
+        AtomicReference<TraceRecorder> current = recording.computeIfAbsent(devTools, TraceRecorder::listen);
+        TraceRecorder recorder = new TraceRecorder(devTools, current);
+        if (!current.compareAndSet(null, recorder)) {
+            throw new IllegalStateException("A trace of this browser is already being recorded");
+        }
+        try {
+            devTools.send(new Command<Void>("Tracing.start", Map.of(
+                    "transferMode", "ReportEvents",
+                    "traceConfig", Map.of(
+                            "recordMode", "recordAsMuchAsPossible",
+                            "includedCategories", CATEGORIES))));
+        } catch (RuntimeException e) {
+            current.set(null);
+            throw e;
+        }
+        return recorder;
+    }
+
+    /**
+     * Add the tracing listeners to a DevTools connection
+     * @return the recorder the listeners hand events to, none while no trace is recorded
+     */
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<TraceRecorder> listen(DevTools devTools) {
+        AtomicReference<TraceRecorder> current = new AtomicReference<>();
+        devTools.addListener(new Event<>("Tracing.dataCollected", input -> input.read(Json.MAP_TYPE)),
+                (Map<String, Object> data) -> {
+                    TraceRecorder recorder = current.get();
+                    if (recorder != null && data.get("value") instanceof List<?> chunk) {
+                        for (Object event : chunk) {
+                            if (event instanceof Map<?, ?> map) {
+                                recorder.events.add((Map<String, Object>) map);
+                            }
+                        }
+                    }
+                });
+        devTools.addListener(new Event<>("Tracing.tracingComplete", input -> input.read(Json.MAP_TYPE)),
+                data -> {
+                    TraceRecorder recorder = current.get();
+                    if (recorder != null) {
+                        recorder.complete.countDown();
+                    }
+                });
+        return current;
+    }
+
+    /**
+     * End tracing, save the trace next to the report and summarize it
+     * @param name file name prefix, e.g. the operation name
+     */
+    public Trace stop(String name) {
+        devTools.send(new Command<Void>("Tracing.end", Map.of()));
+        try {
+            if (!complete.await(COMPLETE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                ExtentReportManager.logWarning("Trace of " + name + " did not complete within " +
+                        COMPLETE_TIMEOUT_SECONDS + " s; it may be cut short");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            current.compareAndSet(this, null);
+        }
+
+        List<Map<String, Object>> traceEvents = new ArrayList<>(events);
+        Path file = write(name, traceEvents);
+        return new Trace(file, TraceSummary.of(traceEvents));
+    }
+
+    private static Path write(String name, List<Map<String, Object>> traceEvents) {
+        String fileName = name.replaceAll("[^A-Za-z0-9._-]+", "-") + "-" +
+                new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()) + ".json";
+        Path file = Paths.get(System.getProperty("user.dir"), "test-output", "traces", fileName);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(Map.of("traceEvents", traceEvents)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write trace " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * A saved trace and its summary
+     */
+    public static class Trace {
+        private final Path file;
+        private final TraceSummary summary;
+
+        private Trace(Path file, TraceSummary summary) {
+            this.file = file;
+            this.summary = summary;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public TraceSummary getSummary() {
+            return summary;
+        }
+
+        /**
+         * Log the breakdown, the top long tasks and a link to the trace file
+         */
+        public void logToReport(String operation, int longTaskLimit) {
+            summary.logToReport(operation, longTaskLimit);
+            ExtentReportManager.logLink("Trace of " + operation + " (open in DevTools Performance panel or " +
+                    "ui.perfetto.dev)", file);
+        }
+    }
+}
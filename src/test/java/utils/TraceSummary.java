@@ -0,0 +1,391 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Breaks a Chrome trace (Trace Event Format, as recorded by TraceRecorder) down into where the
+ * renderer's main thread spent the traced time.
+ *
+ * Main-thread time is attributed by event name, the way the DevTools Performance panel does:
+ * each event's self time goes to its own category, or to its parent's category when the event
+ * name is not known. Time when the main thread was free but a request was in flight counts as
+ * network wait; the rest of the window is idle. Top-level tasks over 50 ms are long tasks.
+ */
+public class TraceSummary {
+    public static final String SCRIPTING = "scripting";
+    public static final String RENDERING = "rendering";
+    public static final String PAINTING = "painting";
+    public static final String LOADING = "loading";
+    public static final String OTHER = "other";
+    public static final String NETWORK_WAIT = "network wait";
+    public static final String IDLE = "idle";
+
+    // Same threshold as the Long Tasks API
+    private static final double LONG_TASK_MICROS = 50_000;
+
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+    private static final Map<String, String> CATEGORY_BY_EVENT = new HashMap<>();
+
+    static {
+        for (String name : List.of("EventDispatch", "TimerFire", "FireIdleCallback", "FireAnimationFrame",
+                "FunctionCall", "EvaluateScript", "v8.compile", "v8.compileModule", "v8.evaluateModule",
+                "v8.run", "v8.callFunction", "V8.Execute", "RunMicrotasks", "XHRReadyStateChange", "XHRLoad",
+                "MinorGC", "MajorGC", "BlinkGC.AtomicPhase", "V8.GCScavenger", "V8.GCFinalizeMC",
+                "CompileScript", "CompileCode", "CacheScript")) {
+            CATEGORY_BY_EVENT.put(name, SCRIPTING);
+        }
+        for (String name : List.of("Layout", "UpdateLayoutTree", "RecalculateStyles", "ScheduleStyleRecalculation",
+                "InvalidateLayout", "HitTest", "PrePaint", "UpdateLayerTree", "Layerize",
+                "IntersectionObserverController::computeIntersections")) {
+            CATEGORY_BY_EVENT.put(name, RENDERING);
+        }
+        for (String name : List.of("Paint", "PaintImage", "PaintSetup", "CompositeLayers", "Commit", "RasterTask",
+                "Decode Image", "ImageDecodeTask", "Decode LazyPixelRef", "GPUTask")) {
+            CATEGORY_BY_EVENT.put(name, PAINTING);
+        }
+        for (String name : List.of("ParseHTML", "ParseAuthorStyleSheet", "ResourceReceivedData")) {
+            CATEGORY_BY_EVENT.put(name, LOADING);
+        }
+    }
+
+    private final double windowMicros;
+    private final Map<String, Double> micros = new LinkedHashMap<>();
+    private final List<LongTask> longTasks = new ArrayList<>();
+
+    private TraceSummary(double windowMicros) {
+        this.windowMicros = windowMicros;
+        for (String category : List.of(SCRIPTING, RENDERING, PAINTING, LOADING, OTHER, NETWORK_WAIT, IDLE)) {
+            micros.put(category, 0.0);
+        }
+    }
+
+    /**
+     * Summarize raw trace events (the objects of the "traceEvents" array)
+     */
+    public static TraceSummary of(List<Map<String, Object>> events) {
+        double start = Double.MAX_VALUE;
+        double end = 0;
+        for (Map<String, Object> event : events) {
+            if ("M".equals(event.get("ph")) || number(event, "ts") <= 0) {
+                continue;
+            }
+            start = Math.min(start, number(event, "ts"));
+            end = Math.max(end, number(event, "ts") + number(event, "dur"));
+        }
+        if (end <= start) {
+            return new TraceSummary(0);
+        }
+
+        TraceSummary summary = new TraceSummary(end - start);
+        List<Node> mainThread = mainThreadEvents(events);
+        List<double[]> busy = summary.attributeMainThread(mainThread, start);
+        List<double[]> network = networkIntervals(events, end);
+
+        double busyMicros = length(busy);
+        double networkWait = length(network) - overlap(network, busy);
+        summary.micros.put(NETWORK_WAIT, networkWait);
+        summary.micros.put(IDLE, Math.max(0, summary.windowMicros - busyMicros - networkWait));
+        summary.longTasks.sort(Comparator.comparingDouble(LongTask::getDuration).reversed());
+        return summary;
+    }
+
+    /**
+     * Length of the traced window in milliseconds
+     */
+    public double getWindow() {
+        return windowMicros / 1000;
+    }
+
+    /**
+     * Milliseconds spent in a category, e.g. TraceSummary.SCRIPTING
+     */
+    public double get(String category) {
+        return micros.getOrDefault(category, 0.0) / 1000;
+    }
+
+    /**
+     * Categories and their milliseconds, in display order
+     */
+    public Map<String, Double> getBreakdown() {
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        micros.forEach((category, value) -> breakdown.put(category, value / 1000));
+        return breakdown;
+    }
+
+    /**
+     * Main-thread tasks over 50 ms, longest first
+     */
+    public List<LongTask> getLongTasks() {
+        return longTasks;
+    }
+
+    /**
+     * Log the breakdown and the top long tasks as tables
+     */
+    public void logToReport(String operation, int longTaskLimit) {
+        String[] header = new String[micros.size() + 2];
+        String[] values = new String[micros.size() + 2];
+        header[0] = "Operation";
+        values[0] = operation;
+        header[1] = "Traced";
+        values[1] = df.get().format(getWindow()) + " ms";
+        int column = 2;
+        for (Map.Entry<String, Double> entry : micros.entrySet()) {
+            header[column] = entry.getKey();
+            values[column] = df.get().format(entry.getValue() / 1000) + " ms (" + percent(entry.getValue()) + ")";
+            column++;
+        }
+        ExtentReportManager.logTable(new String[][]{header, values});
+
+        if (longTasks.isEmpty()) {
+            return;
+        }
+        int count = Math.min(longTaskLimit, longTasks.size());
+        String[][] rows = new String[count + 1][];
+        rows[0] = new String[]{"Long task", "Start", "Duration", "Mostly", "Longest activity"};
+        for (int i = 0; i < count; i++) {
+            LongTask task = longTasks.get(i);
+            rows[i + 1] = new String[]{String.valueOf(i + 1), df.get().format(task.getStart()) + " ms",
+                    df.get().format(task.getDuration()) + " ms", task.getCategory(), task.getActivity()};
+        }
+        ExtentReportManager.logTable(rows);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("traced " + df.get().format(getWindow()) + " ms:");
+        micros.forEach((category, value) -> text.append(' ').append(category).append('=')
+                .append(df.get().format(value / 1000)).append(" ms"));
+        return text.append(", long tasks=").append(longTasks.size()).toString();
+    }
+
+    private String percent(double value) {
+        return windowMicros > 0 ? df.get().format(100 * value / windowMicros) + "%" : "-";
+    }
+
+    /**
+     * Attribute self times to categories and collect long tasks
+     * @return the busy intervals of the main thread (its top-level events)
+     */
+    private List<double[]> attributeMainThread(List<Node> nodes, double windowStart) {
+        List<double[]> busy = new ArrayList<>();
+        List<Node> stack = new ArrayList<>();
+        List<Node> topLevel = new ArrayList<>();
+        for (Node node : nodes) {
+            while (!stack.isEmpty() && stack.get(stack.size() - 1).end <= node.start) {
+                stack.remove(stack.size() - 1);
+            }
+            if (stack.isEmpty()) {
+                node.category = CATEGORY_BY_EVENT.getOrDefault(node.name, OTHER);
+                topLevel.add(node);
+                busy.add(new double[]{node.start, node.end});
+            } else {
+                Node parent = stack.get(stack.size() - 1);
+                node.parent = parent;
+                node.category = CATEGORY_BY_EVENT.getOrDefault(node.name, parent.category);
+                parent.self -= Math.min(node.end, parent.end) - node.start;
+            }
+            stack.add(node);
+        }
+
+        for (Node node : nodes) {
+            double self = Math.max(0, node.self);
+            micros.merge(node.category, self, Double::sum);
+            Node root = node.root();
+            root.selfByCategory.merge(node.category, self, Double::sum);
+            if (node != root && CATEGORY_BY_EVENT.containsKey(node.name)
+                    && (root.longest == null || node.end - node.start > root.longest.end - root.longest.start)) {
+                root.longest = node;
+            }
+        }
+        for (Node task : topLevel) {
+            if (task.end - task.start > LONG_TASK_MICROS) {
+                longTasks.add(new LongTask(task, windowStart));
+            }
+        }
+        return union(busy);
+    }
+
+    /**
+     * Complete events of the busiest renderer main thread, sorted so parents come before children
+     */
+    private static List<Node> mainThreadEvents(List<Map<String, Object>> events) {
+        Set<String> mainThreads = new HashSet<>();
+        for (Map<String, Object> event : events) {
+            if ("M".equals(event.get("ph")) && "thread_name".equals(event.get("name"))
+                    && event.get("args") instanceof Map<?, ?> args && "CrRendererMain".equals(args.get("name"))) {
+                mainThreads.add(threadKey(event));
+            }
+        }
+
+        Map<String, List<Node>> byThread = new HashMap<>();
+        for (Map<String, Object> event : events) {
+            if ("X".equals(event.get("ph")) && mainThreads.contains(threadKey(event)) && number(event, "dur") > 0) {
+                byThread.computeIfAbsent(threadKey(event), key -> new ArrayList<>()).add(new Node(event));
+            }
+        }
+        List<Node> busiest = byThread.values().stream()
+                .max(Comparator.comparingDouble(list -> list.stream().mapToDouble(n -> n.end - n.start).sum()))
+                .orElse(new ArrayList<>());
+        busiest.sort(Comparator.comparingDouble((Node n) -> n.start).thenComparing(n -> -(n.end - n.start)));
+        return busiest;
+    }
+
+    /**
+     * From each request's ResourceSendRequest to its ResourceFinish, or to the end of the trace
+     */
+    private static List<double[]> networkIntervals(List<Map<String, Object>> events, double traceEnd) {
+        Map<Object, double[]> requests = new LinkedHashMap<>();
+        for (Map<String, Object> event : events) {
+            Object name = event.get("name");
+            if (!(event.get("args") instanceof Map<?, ?> args) || !(args.get("data") instanceof Map<?, ?> data)) {
+                continue;
+            }
+            Object requestId = data.get("requestId");
+            if ("ResourceSendRequest".equals(name)) {
+                requests.put(requestId, new double[]{number(event, "ts"), traceEnd});
+            } else if ("ResourceFinish".equals(name) && requests.containsKey(requestId)) {
+                requests.get(requestId)[1] = number(event, "ts");
+            }
+        }
+        return union(new ArrayList<>(requests.values()));
+    }
+
+    private static List<double[]> union(List<double[]> intervals) {
+        intervals.sort(Comparator.comparingDouble(interval -> interval[0]));
+        List<double[]> merged = new ArrayList<>();
+        for (double[] interval : intervals) {
+            double[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(new double[]{interval[0], interval[1]});
+            }
+        }
+        return merged;
+    }
+
+    private static double length(List<double[]> intervals) {
+        return intervals.stream().mapToDouble(interval -> interval[1] - interval[0]).sum();
+    }
+
+    // Both lists are sorted and disjoint within themselves
+    private static double overlap(List<double[]> a, List<double[]> b) {
+        double total = 0;
+        int j = 0;
+        for (double[] x : a) {
+            while (j < b.size() && b.get(j)[1] <= x[0]) {
+                j++;
+            }
+            for (int k = j; k < b.size() && b.get(k)[0] < x[1]; k++) {
+                total += Math.min(x[1], b.get(k)[1]) - Math.max(x[0], b.get(k)[0]);
+            }
+        }
+        return total;
+    }
+
+    private static String threadKey(Map<String, Object> event) {
+        return event.get("pid") + ":" + event.get("tid");
+    }
+
+    private static double number(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+
+    /**
+     * One complete (ph "X") main-thread event while it is being attributed
+     */
+    private static final class Node {
+        private final String name;
+        private final double start;
+        private final double end;
+        private final Map<String, Object> args;
+        private final Map<String, Double> selfByCategory = new HashMap<>();
+        private double self;
+        private String category;
+        private Node parent;
+        private Node longest;
+
+        @SuppressWarnings("unchecked")
+        private Node(Map<String, Object> event) {
+            this.name = String.valueOf(event.get("name"));
+            this.start = number(event, "ts");
+            this.end = start + number(event, "dur");
+            this.args = event.get("args") instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+            this.self = end - start;
+        }
+
+        private Node root() {
+            Node node = this;
+            while (node.parent != null) {
+                node = node.parent;
+            }
+            return node;
+        }
+    }
+
+    /**
+     * A main-thread task over 50 ms
+     */
+    public static class LongTask {
+        private final double start;
+        private final double duration;
+        private final String category;
+        private final String activity;
+
+        private LongTask(Node task, double windowStart) {
+            this.start = (task.start - windowStart) / 1000;
+            this.duration = (task.end - task.start) / 1000;
+            this.category = task.selfByCategory.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(OTHER);
+            this.activity = task.longest == null ? task.name : describe(task.longest);
+        }
+
+        // e.g. "FunctionCall (https://www.demoblaze.com/index.js:12)"
+        private static String describe(Node node) {
+            if (node.args.get("data") instanceof Map<?, ?> data && data.get("url") instanceof String url
+                    && !url.isEmpty()) {
+                Object line = data.get("lineNumber");
+                return node.name + " (" + url + (line != null ? ":" + line : "") + ")";
+            }
+            return node.name;
+        }
+
+        /**
+         * Start in milliseconds from the beginning of the trace
+         */
+        public double getStart() {
+            return start;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        /**
+         * The category with the most self time inside the task
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * The longest known activity inside the task, with its script URL when there is one
+         */
+        public String getActivity() {
+            return activity;
+        }
+    }
+}
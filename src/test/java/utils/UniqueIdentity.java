@@ -0,0 +1,88 @@
+package utils;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out identities (usernames, emails, order names) that are unique across threads and
+ * across the JVM forks of one test run.
+ *
+ * Every identity is built from three parts:
+ * <ul>
+ *   <li>a run prefix, shared by all forks when the build passes -Ddemoblaze.runId,
+ *       otherwise the run start time plus random characters</li>
+ *   <li>a process tag: the fork tag, taken from -Ddemoblaze.forkId (surefire's fork number) or the
+ *       process id, plus random characters drawn once per JVM</li>
+ *   <li>a per-JVM sequence number from an AtomicLong, so no locking is needed</li>
+ * </ul>
+ * The build's run id only has a resolution of one second and fork numbers restart at 1 in every
+ * build, so the random part keeps builds started in the same second on different hosts apart.
+ */
+public class UniqueIdentity {
+    private static final String RUN_PREFIX = resolveRunPrefix();
+    private static final String PROCESS_TAG = resolveForkTag() + randomChars(4);
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private UniqueIdentity() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Run prefix shared by all forks of this run
+     */
+    public static String runPrefix() {
+        return RUN_PREFIX;
+    }
+
+    /**
+     * Unique token of the form &lt;run&gt;_&lt;process&gt;_&lt;sequence&gt;
+     */
+    public static String next() {
+        return RUN_PREFIX + "_" + PROCESS_TAG + "_" + Long.toString(sequence.incrementAndGet(), 36);
+    }
+
+    public static String username() {
+        return "user_" + next();
+    }
+
+    public static String email() {
+        return "user_" + next() + "@demoblaze.test";
+    }
+
+    public static String orderName() {
+        return "Order " + next();
+    }
+
+    /**
+     * Username that no account is registered under
+     */
+    public static String unregisteredUsername() {
+        return "invaliduser_" + next();
+    }
+
+    private static String resolveRunPrefix() {
+        String runId = System.getProperty("demoblaze.runId", "").trim();
+        if (!runId.isEmpty() && !runId.contains("${")) {
+            return runId.replaceAll("[^A-Za-z0-9]", "");
+        }
+        // No shared id from the build: start time plus randomness keeps concurrent runs apart
+        return Long.toString(System.currentTimeMillis() / 1000, 36) + randomChars(4);
+    }
+
+    private static String resolveForkTag() {
+        String forkId = System.getProperty("demoblaze.forkId", "").trim();
+        if (!forkId.isEmpty() && !forkId.contains("${")) {
+            return "f" + forkId.replaceAll("[^A-Za-z0-9]", "");
+        }
+        return "p" + Long.toString(ProcessHandle.current().pid(), 36);
+    }
+
+    private static String randomChars(int count) {
+        SecureRandom random = new SecureRandom();
+        StringBuilder chars = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            chars.append(Character.forDigit(random.nextInt(36), 36));
+        }
+        return chars.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.opentest4j.TestAbortedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs a table of input rows against one browser session.
+ * The setup state is built once, a cheap reset runs between rows, and every row is
+ * reported as its own JUnit dynamic test and as its own node in the Extent report.
+ *
+ * Use from a {@code @TestFactory} method so BaseTest opens the browser once for the whole table.
+ * The rows share that browser, so they must run one after another on the factory's thread: annotate
+ * the factory with {@code @Execution(ExecutionMode.SAME_THREAD)}, or rows scheduled on another
+ * worker thread under JUnit's parallel execution are refused.
+ * <pre>
+ * &#64;TestFactory
+ * &#64;Execution(ExecutionMode.SAME_THREAD)
+ * ...
+ * return ValidationMatrix.&lt;Credentials&gt;of("Login validation")
+ *         .setUp(this::openLoginModal)
+ *         .reset(this::resetLoginModal)
+ *         .row("Empty username", new Credentials("", "secret"))
+ *         .run(this::checkLoginRejected);
+ * </pre>
+ */
+public class ValidationMatrix<T> {
+    private final String name;
+    private final List<Row<T>> rows = new ArrayList<>();
+    private Runnable setUp = () -> { };
+    private Runnable reset = () -> { };
+
+    // The factory's thread, the only one allowed to drive the shared session
+    private final Thread owner = Thread.currentThread();
+    // Session state shared by the rows of one run
+    private boolean sessionReady;
+    private boolean needsReset;
+
+    private ValidationMatrix(String name) {
+        this.name = name;
+    }
+
+    public static <T> ValidationMatrix<T> of(String name) {
+        return new ValidationMatrix<>(name);
+    }
+
+    /**
+     * Steps that bring the session into the state every row starts from, run once before the first row
+     * (and again only if a reset fails)
+     */
+    public ValidationMatrix<T> setUp(Runnable setUp) {
+        this.setUp = setUp;
+        return this;
+    }
+
+    /**
+     * Cheap steps that undo what a row changed, run before every row except the first
+     */
+    public ValidationMatrix<T> reset(Runnable reset) {
+        this.reset = reset;
+        return this;
+    }
+
+    public ValidationMatrix<T> row(String rowName, T input) {
+        rows.add(new Row<>(rowName, input));
+        return this;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Build one dynamic test per row; rows execute in declaration order in the current session
+     * @param check Steps and assertions for a single row
+     */
+    public Stream<DynamicTest> run(ThrowingConsumer<T> check) {
+        ExtentReportManager.logStep("Running " + name + " matrix (" + rows.size() + " rows in one session)");
+        return rows.stream().map(row -> dynamicTest(row.name, row.input, check));
+    }
+
+    /**
+     * Build the dynamic test for a single row outside the declared table, e.g. for rows that are
+     * streamed from a file; it shares this matrix's session, setup and reset
+     */
+    public DynamicTest dynamicTest(String rowName, T input, ThrowingConsumer<T> check) {
+        Row<T> row = new Row<>(rowName, input);
+        return DynamicTest.dynamicTest(row.name, () -> runRow(row, check));
+    }
+
+    private void runRow(Row<T> row, ThrowingConsumer<T> check) throws Throwable {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Row '" + row.name + "' of " + name + " ran on " + Thread.currentThread().getName()
+                    + " instead of " + owner.getName() + "; the rows share one session, so annotate the @TestFactory"
+                    + " with @Execution(ExecutionMode.SAME_THREAD)");
+        }
+        ExtentTest parent = ExtentReportManager.getTest();
+        ExtentReportManager.createNode(row.name, name);
+        try {
+            prepareSession();
+            check.accept(row.input);
+            ExtentReportManager.logPass(row.name);
+        } catch (TestAbortedException e) {
+            ExtentReportManager.logSkip(row.name + ": " + e.getMessage());
+            throw e;
+        } catch (Throwable t) {
+            ExtentReportManager.logFail(row.name + ": " + t.getMessage());
+            ExtentReportManager.captureScreenshot(row.name + " - Failure");
+            throw t;
+        } finally {
+            needsReset = true;
+            if (parent != null) {
+                ExtentReportManager.setTest(parent);
+            }
+        }
+    }
+
+    private void prepareSession() {
+        if (sessionReady && needsReset) {
+            try {
+                ExtentReportManager.logStep("Resetting state from previous row");
+                reset.run();
+            } catch (RuntimeException e) {
+                // The cheap reset could not recover the page; rebuild the setup state instead
+                ExtentReportManager.logWarning("Reset failed, repeating setup: " + e.getMessage());
+                sessionReady = false;
+            }
+        }
+        if (!sessionReady) {
+            ExtentReportManager.logStep("Setting up " + name + " session");
+            setUp.run();
+            sessionReady = true;
+        }
+        needsReset = false;
+    }
+
+    private static final class Row<T> {
+        private final String name;
+        private final T input;
+
+        private Row(String name, T input) {
+            this.name = name;
+            this.input = input;
+        }
+    }
+}
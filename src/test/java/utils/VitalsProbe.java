@@ -0,0 +1,210 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.text.DecimalFormat;
+import java.util.Map;
+
+/**
+ * Collects Core Web Vitals (LCP, CLS, INP) plus FCP and long tasks with PerformanceObserver.
+ *
+ * install() registers the observer script through CDP Page.addScriptToEvaluateOnNewDocument,
+ * so it runs in every document before the page's own scripts and sees the very first paint.
+ * Call it before the first navigation. read() returns what the current document has recorded so far.
+ *
+ * Page-level metrics (FCP, LCP) describe the document load. Interaction metrics (INP, CLS,
+ * long tasks) can be scoped to a single action, such as opening a modal, by calling startInteraction() first.
+ */
+public class VitalsProbe {
+    private static final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+    private static final ThreadLocal<DecimalFormat> clsFormat =
+            ThreadLocal.withInitial(() -> new DecimalFormat("0.000"));
+
+    /**
+     * Observer script. CLS uses session windows (gap under 1s, window under 5s); INP is the
+     * longest interaction, or the 98th percentile once more than 50 interactions were seen.
+     */
+    private static final String OBSERVER_SCRIPT =
+            "(function () {" +
+            "  if (window.__vitals || typeof PerformanceObserver === 'undefined') { return; }" +
+            "  var v = window.__vitals = {fcp: null, lcp: null, cls: 0, clsWindow: 0, clsFirst: 0, clsLast: 0," +
+            "    interactions: {}, longTasks: 0, longTaskTime: 0, blockingTime: 0};" +
+            "  function observe(type, callback, options) {" +
+            "    try {" +
+            "      var o = {type: type, buffered: true};" +
+            "      for (var k in options) { o[k] = options[k]; }" +
+            "      new PerformanceObserver(function (list) { list.getEntries().forEach(callback); }).observe(o);" +
+            "    } catch (e) { /* entry type not supported by this browser */ }" +
+            "  }" +
+            "  observe('paint', function (e) { if (e.name === 'first-contentful-paint') { v.fcp = e.startTime; } });" +
+            "  observe('largest-contentful-paint', function (e) { v.lcp = e.startTime; });" +
+            "  observe('layout-shift', function (e) {" +
+            "    if (e.hadRecentInput) { return; }" +
+            "    if (v.clsWindow > 0 && e.startTime - v.clsLast < 1000 && e.startTime - v.clsFirst < 5000) {" +
+            "      v.clsWindow += e.value;" +
+            "    } else { v.clsWindow = e.value; v.clsFirst = e.startTime; }" +
+            "    v.clsLast = e.startTime;" +
+            "    v.cls = Math.max(v.cls, v.clsWindow);" +
+            "  });" +
+            "  observe('event', function (e) {" +
+            "    if (!e.interactionId) { return; }" +
+            "    v.interactions[e.interactionId] = Math.max(v.interactions[e.interactionId] || 0, e.duration);" +
+            "  }, {durationThreshold: 16});" +
+            "  observe('longtask', function (e) {" +
+            "    v.longTasks++; v.longTaskTime += e.duration; v.blockingTime += Math.max(0, e.duration - 50);" +
+            "  });" +
+            "})();";
+
+    private static final String READ_SCRIPT =
+            "var v = window.__vitals;" +
+            "if (!v) { return null; }" +
+            "var d = Object.keys(v.interactions).map(function (k) { return v.interactions[k]; })" +
+            "  .sort(function (a, b) { return b - a; });" +
+            "var inp = d.length === 0 ? null : d[Math.min(d.length - 1, Math.floor(d.length / 50))];" +
+            "return {fcp: v.fcp, lcp: v.lcp, cls: v.cls, inp: inp, interactions: d.length," +
+            "  longTasks: v.longTasks, longTaskTime: v.longTaskTime, blockingTime: v.blockingTime};";
+
+    private static final String START_INTERACTION_SCRIPT =
+            "var v = window.__vitals;" +
+            "if (v) { v.cls = 0; v.clsWindow = 0; v.interactions = {};" +
+            "  v.longTasks = 0; v.longTaskTime = 0; v.blockingTime = 0; }";
+
+    private VitalsProbe() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Register the observers for every document this driver loads from now on.
+     * Without CDP (non-Chromium browsers) the script is injected into the current document
+     * only; buffered entries still give FCP, LCP and CLS, but later navigations need inject().
+     * @return true if the probe was registered for new documents
+     */
+    public static boolean install(WebDriver driver) {
+        if (DriverManager.supportsCdp(driver)) {
+            DriverManager.executeCdpCommand(driver, "Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", OBSERVER_SCRIPT));
+            return true;
+        }
+        inject(driver);
+        return false;
+    }
+
+    /**
+     * Inject the observers into the current document (no-op if already present)
+     */
+    public static void inject(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(OBSERVER_SCRIPT);
+    }
+
+    /**
+     * Clear CLS, INP and long task accumulators so the next read covers only what follows
+     */
+    public static void startInteraction(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(START_INTERACTION_SCRIPT);
+    }
+
+    /**
+     * Vitals recorded by the current document so far
+     */
+    @SuppressWarnings("unchecked")
+    public static Vitals read(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_SCRIPT);
+        if (result == null) {
+            inject(driver);
+            result = ((JavascriptExecutor) driver).executeScript(READ_SCRIPT);
+        }
+        return new Vitals(result instanceof Map ? (Map<String, Object>) result : Map.of());
+    }
+
+    /**
+     * Snapshot of the probe's values; a null metric was not observed (e.g. INP without interactions)
+     */
+    public static class Vitals {
+        private final Double fcp;
+        private final Double lcp;
+        private final double cls;
+        private final Double inp;
+        private final long interactions;
+        private final long longTasks;
+        private final double longTaskTime;
+        private final double blockingTime;
+
+        private Vitals(Map<String, Object> values) {
+            this.fcp = optional(values.get("fcp"));
+            this.lcp = optional(values.get("lcp"));
+            Double clsValue = optional(values.get("cls"));
+            this.cls = clsValue == null ? 0 : clsValue;
+            this.inp = optional(values.get("inp"));
+            Double count = optional(values.get("interactions"));
+            this.interactions = count == null ? 0 : count.longValue();
+            Double tasks = optional(values.get("longTasks"));
+            this.longTasks = tasks == null ? 0 : tasks.longValue();
+            Double taskTime = optional(values.get("longTaskTime"));
+            this.longTaskTime = taskTime == null ? 0 : taskTime;
+            Double blocking = optional(values.get("blockingTime"));
+            this.blockingTime = blocking == null ? 0 : blocking;
+        }
+
+        public Double getFcp() {
+            return fcp;
+        }
+
+        public Double getLcp() {
+            return lcp;
+        }
+
+        public double getCls() {
+            return cls;
+        }
+
+        public Double getInp() {
+            return inp;
+        }
+
+        public long getInteractions() {
+            return interactions;
+        }
+
+        public long getLongTasks() {
+            return longTasks;
+        }
+
+        public double getLongTaskTime() {
+            return longTaskTime;
+        }
+
+        /**
+         * Sum of long task time beyond 50 ms each, as in Total Blocking Time
+         */
+        public double getBlockingTime() {
+            return blockingTime;
+        }
+
+        /**
+         * Report row: name, FCP, LCP, CLS, INP, long tasks, blocking time
+         */
+        public String[] toRow(String name) {
+            return new String[]{name, ms(fcp), ms(lcp), clsFormat.get().format(cls), ms(inp),
+                    String.valueOf(longTasks), ms(blockingTime)};
+        }
+
+        public static String[] header() {
+            return new String[]{"Page / action", "FCP", "LCP", "CLS", "INP", "Long tasks", "Blocking time"};
+        }
+
+        @Override
+        public String toString() {
+            return "FCP=" + ms(fcp) + " LCP=" + ms(lcp) + " CLS=" + clsFormat.get().format(cls) + " INP=" + ms(inp) +
+                    " longTasks=" + longTasks + " blocking=" + ms(blockingTime);
+        }
+
+        private static String ms(Double value) {
+            return value == null ? "n/a" : df.get().format(value) + " ms";
+        }
+
+        private static Double optional(Object value) {
+            return value instanceof Number n ? n.doubleValue() : null;
+        }
+    }
+}